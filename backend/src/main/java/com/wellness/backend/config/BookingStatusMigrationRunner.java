@@ -16,6 +16,9 @@ public class BookingStatusMigrationRunner implements CommandLineRunner {
         // Ensure any legacy NULL statuses are set to PENDING
         jdbcTemplate.update("UPDATE session_bookings SET status = 'PENDING' WHERE status IS NULL");
         jdbcTemplate.update("UPDATE bookings SET status = 'PENDING' WHERE status IS NULL");
+        // Rows from before optimistic locking start at version 0
+        jdbcTemplate.update("UPDATE session_bookings SET version = 0 WHERE version IS NULL");
+        jdbcTemplate.update("UPDATE bookings SET version = 0 WHERE version IS NULL");
     }
 }
 
@@ -0,0 +1,79 @@
+package com.wellness.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Splits traffic between a primary and a read replica pool. Only active when
+ * app.datasource.replica.jdbc-url is set; otherwise Spring Boot's single
+ * datasource is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.jdbc-url")
+@RequiredArgsConstructor
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    private final DataSourceProperties dataSourceProperties;
+
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryPool() {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaPool() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica");
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Value("${app.datasource.replica.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(readYourWritesWindow);
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primaryPool(),
+                ReplicaRoutingDataSource.Route.REPLICA, replicaPool()));
+        routing.setDefaultTargetDataSource(primaryPool());
+        routing.afterPropertiesSet();
+
+        log.info("🔀 Read-only transactions routed to replica pool (read-your-writes window {})",
+                readYourWritesWindow);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Boot's default holds the first connection for the whole open-in-view
+     * session, so a write after a read in the same request would reuse the
+     * replica connection. Releasing after each transaction lets every
+     * transaction be routed on its own.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,83 @@
+package com.wellness.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the
+ * primary. A user whose write committed within the read-your-writes window
+ * keeps reading from the primary, so a booking they just changed cannot come
+ * back stale because of replica lag.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the route is chosen when the
+ * physical connection is fetched, which has to happen after the transaction's
+ * read-only flag is set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowMillis;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(Duration readYourWritesWindow) {
+        this.windowMillis = readYourWritesWindow.toMillis();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+
+        // Only an actual read-only transaction may go to the replica. Lazy loads
+        // and SUPPORTS methods running without a transaction stay on the primary.
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // The window starts when the write becomes visible, not when it began;
+                // a rolled-back transaction wrote nothing
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recordWrite(user);
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+
+        Long lastWrite = user != null ? lastWriteByUser.get(user) : null;
+        if (lastWrite != null && System.currentTimeMillis() - lastWrite <= windowMillis) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    private void recordWrite(String user) {
+        long now = System.currentTimeMillis();
+        lastWriteByUser.put(user, now);
+        if (lastWriteByUser.size() > PURGE_THRESHOLD) {
+            lastWriteByUser.values().removeIf(at -> now - at > windowMillis);
+        }
+    }
+
+    private String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+}
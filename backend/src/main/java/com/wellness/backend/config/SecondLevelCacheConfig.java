@@ -0,0 +1,62 @@
+package com.wellness.backend.config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Bounded Ehcache regions backing Hibernate's second-level cache. Each instance
+ * caches locally, so the TTL also caps how long another instance's update can
+ * stay invisible here.
+ *
+ * The same manager also holds the idempotency region, which is not a
+ * Hibernate region but a bounded front for the idempotency_keys table.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String USERS_BY_EMAIL_REGION = "users-by-email";
+    public static final String PRODUCTS_REGION = "products";
+    public static final String IDEMPOTENCY_REGION = "idempotency-responses";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // A manager of our own rather than the provider's JVM-wide default, so that
+        // closing one application context does not close another's regions
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("urn:wellness:cache:" + UUID.randomUUID()),
+                new DefaultConfiguration(getClass().getClassLoader()));
+        createRegion(cacheManager, USERS_REGION, 10_000, Duration.ofMinutes(10));
+        createRegion(cacheManager, USERS_BY_EMAIL_REGION, 10_000, Duration.ofMinutes(10));
+        createRegion(cacheManager, PRODUCTS_REGION, 5_000, Duration.ofMinutes(30));
+        createRegion(cacheManager, IDEMPOTENCY_REGION, 10_000, Duration.ofHours(1));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private void createRegion(CacheManager cacheManager, String region, long entries, Duration ttl) {
+        cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                        ResourcePoolsBuilder.heap(entries))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))));
+    }
+}
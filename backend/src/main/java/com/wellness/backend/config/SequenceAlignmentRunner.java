@@ -0,0 +1,76 @@
+package com.wellness.backend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves every id sequence past the rows already in its table. Tables that were
+ * filled through AUTO_INCREMENT (schema.sql/data.sql or older deployments) would
+ * otherwise hand out ids that already exist.
+ *
+ * The pooled optimizer treats the value it reads as the top of a block of
+ * {@link #ALLOCATION_SIZE} ids, so the sequence is set to max(id) plus a full
+ * block. Runs before any other startup task that inserts rows.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceAlignmentRunner implements CommandLineRunner {
+
+    /** Must match allocationSize on the entities' @SequenceGenerator. */
+    public static final int ALLOCATION_SIZE = 50;
+
+    // sequence, table, id column
+    private static final String[][] SEQUENCES = {
+            { "users_seq", "users", "id" },
+            { "bookings_seq", "bookings", "id" },
+            { "session_bookings_seq", "session_bookings", "id" },
+            { "notifications_seq", "notifications", "id" },
+            { "orders_seq", "orders", "order_id" },
+            { "unified_bookings_seq", "unified_bookings", "id" },
+            { "provider_availability_seq", "provider_availability", "id" },
+            { "provider_availability_templates_seq", "provider_availability_templates", "id" },
+            { "waitlist_entries_seq", "waitlist_entries", "id" }
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        boolean nativeSequences = "H2".equalsIgnoreCase(product);
+
+        for (String[] seq : SEQUENCES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + seq[2] + ") FROM " + seq[1], Long.class);
+            if (maxId == null) {
+                continue;
+            }
+            long target = maxId + ALLOCATION_SIZE;
+
+            if (nativeSequences) {
+                Long current = jdbcTemplate.queryForObject(
+                        "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = UPPER(?)",
+                        Long.class, seq[0]);
+                if (current != null && current < target) {
+                    jdbcTemplate.execute("ALTER SEQUENCE " + seq[0] + " RESTART WITH " + target);
+                    log.info("🔢 Sequence {} moved to {}", seq[0], target);
+                }
+            } else {
+                // MySQL has no sequences; Hibernate emulates each one with a single-row next_val table
+                int updated = jdbcTemplate.update("UPDATE " + seq[0] + " SET next_val = ? WHERE next_val < ?",
+                        target, target);
+                if (updated > 0) {
+                    log.info("🔢 Sequence {} moved to {}", seq[0], target);
+                }
+            }
+        }
+    }
+}
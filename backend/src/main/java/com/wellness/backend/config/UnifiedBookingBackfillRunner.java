@@ -0,0 +1,57 @@
+package com.wellness.backend.config;
+
+import com.wellness.backend.service.UnifiedBookingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds unified_bookings from the legacy tables in id-ordered chunks, one
+ * transaction per chunk. Safe to rerun and to run alongside live traffic:
+ * rows that already have a mirror are skipped, and a failure is logged
+ * instead of aborting startup. Disable with unified-bookings.backfill.enabled=false once a
+ * deployment has completed it.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+@Slf4j
+public class UnifiedBookingBackfillRunner implements CommandLineRunner {
+
+    private final UnifiedBookingService unifiedBookingService;
+
+    @Value("${unified-bookings.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+
+        int bookingChunks = 0;
+        int sessionChunks = 0;
+        try {
+            Long cursor = 0L;
+            while ((cursor = unifiedBookingService.backfillBookingsChunk(cursor)) != null) {
+                bookingChunks++;
+            }
+
+            cursor = 0L;
+            while ((cursor = unifiedBookingService.backfillSessionsChunk(cursor)) != null) {
+                sessionChunks++;
+            }
+        } catch (RuntimeException e) {
+            // Dual writes keep working without it, and the next start runs it again
+            log.error("❌ Unified booking backfill stopped after {} booking and {} session chunks", bookingChunks,
+                    sessionChunks, e);
+            return;
+        }
+
+        log.info("🔁 Unified booking backfill scanned {} booking and {} session chunks", bookingChunks,
+                sessionChunks);
+    }
+}
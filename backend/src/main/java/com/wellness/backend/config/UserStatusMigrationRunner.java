@@ -0,0 +1,64 @@
+package com.wellness.backend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Locale;
+
+/**
+ * Upper-cases users.role and users.verification_status. The practitioner
+ * directory and marketplace feed match 'PROVIDER' and 'APPROVED' exactly so
+ * they can seek idx_user_directory; rows saved as "approved" or "Provider"
+ * by older admin edits would otherwise never be listed.
+ *
+ * Also drops idx_user_role_verification, a prefix of idx_user_directory left
+ * behind by earlier releases; schema updates add indexes but never drop them.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatusMigrationRunner implements CommandLineRunner {
+
+    private static final String SUPERSEDED_INDEX = "idx_user_role_verification";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        int roles = jdbcTemplate.update(
+                "UPDATE users SET role = UPPER(TRIM(role)) WHERE role <> UPPER(TRIM(role))");
+        int statuses = jdbcTemplate.update("UPDATE users SET verification_status = UPPER(TRIM(verification_status)) "
+                + "WHERE verification_status <> UPPER(TRIM(verification_status))");
+        if (roles > 0 || statuses > 0) {
+            log.info("🔠 Normalised {} user roles and {} verification statuses", roles, statuses);
+        }
+        if (hasIndex("users", SUPERSEDED_INDEX)) {
+            jdbcTemplate.execute("DROP INDEX " + SUPERSEDED_INDEX + " ON users");
+            log.info("🗑 Dropped {}, superseded by idx_user_directory", SUPERSEDED_INDEX);
+        }
+    }
+
+    private boolean hasIndex(String table, String index) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, name, false, true)) {
+                while (indexes.next()) {
+                    if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+}
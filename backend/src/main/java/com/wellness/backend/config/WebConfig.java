@@ -20,13 +20,6 @@ public class WebConfig {
                         .allowCredentials(true)
                         .maxAge(3600);
             }
-
-            @Override
-            public void addResourceHandlers(
-                    org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry registry) {
-                registry.addResourceHandler("/uploads/**")
-                        .addResourceLocations("file:uploads/");
-            }
         };
     }
 }
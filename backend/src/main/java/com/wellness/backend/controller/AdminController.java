@@ -1,8 +1,17 @@
 package com.wellness.backend.controller;
 
+import com.wellness.backend.dto.CacheRegionStatsDTO;
+import com.wellness.backend.dto.WaitlistStatsDTO;
+import com.wellness.backend.event.MarketplaceChangedEvent;
+import com.wellness.backend.event.MarketplaceChangedEvent.Feed;
 import com.wellness.backend.model.UserEntity;
 import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.service.CacheStatisticsService;
+import com.wellness.backend.service.SearchIndexService;
+import com.wellness.backend.service.UserService;
+import com.wellness.backend.service.WaitlistService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,9 +27,24 @@ public class AdminController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserService userService;
+
     @Autowired
     private com.wellness.backend.service.EmailService emailService;
 
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Returns all practitioners (PROVIDERS only)
     @GetMapping("/users")
     public ResponseEntity<List<UserEntity>> getAllPractitioners() {
@@ -52,6 +76,9 @@ public class AdminController {
         user.setVerified(true);
         user.setAdminComment(null); // Clear any previous rejection comment
         userRepository.save(user);
+        userService.evictCachedUser(user.getId());
+        searchIndexService.indexPractitioner(user);
+        eventPublisher.publishEvent(new MarketplaceChangedEvent(Feed.PRACTITIONERS));
         System.out.println("DEBUG: User " + user.getEmail() + " status: " + oldStatus + " → APPROVED");
 
         try {
@@ -82,6 +109,9 @@ public class AdminController {
         }
 
         userRepository.save(user);
+        userService.evictCachedUser(user.getId());
+        searchIndexService.indexPractitioner(user);
+        eventPublisher.publishEvent(new MarketplaceChangedEvent(Feed.PRACTITIONERS));
         System.out.println("DEBUG: User " + user.getEmail() + " status: " + oldStatus + " → REJECTED");
 
         try {
@@ -111,8 +141,23 @@ public class AdminController {
         }
 
         userRepository.save(user);
+        userService.evictCachedUser(user.getId());
+        searchIndexService.indexPractitioner(user);
+        eventPublisher.publishEvent(new MarketplaceChangedEvent(Feed.PRACTITIONERS));
         System.out.println("DEBUG: Reupload requested for user " + user.getEmail());
 
         return ResponseEntity.ok(Collections.singletonMap("message", "Reupload requested successfully"));
     }
+
+    // Second-level cache hit rates per region since startup
+    @GetMapping("/cache-stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStats());
+    }
+
+    // Waitlist fill rate and matching latency on this instance since startup
+    @GetMapping("/waitlist-stats")
+    public ResponseEntity<WaitlistStatsDTO> getWaitlistStats() {
+        return ResponseEntity.ok(waitlistService.getStats());
+    }
 }
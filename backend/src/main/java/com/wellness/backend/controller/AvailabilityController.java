@@ -0,0 +1,48 @@
+package com.wellness.backend.controller;
+
+import com.wellness.backend.dto.AvailabilityBulkRequestDTO;
+import com.wellness.backend.dto.AvailabilityDayDTO;
+import com.wellness.backend.dto.WeeklyAvailabilityDTO;
+import com.wellness.backend.service.AvailabilityService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/availability")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    /** Effective windows and blocks per date, weekly template already applied. */
+    @GetMapping("/{providerId}")
+    public ResponseEntity<List<AvailabilityDayDTO>> getAvailability(
+            @PathVariable Long providerId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(availabilityService.getAvailability(providerId, from, to));
+    }
+
+    @GetMapping("/{providerId}/weekly")
+    public ResponseEntity<List<WeeklyAvailabilityDTO>> getWeeklyTemplate(@PathVariable Long providerId) {
+        return ResponseEntity.ok(availabilityService.getWeeklyTemplate(providerId));
+    }
+
+    @PutMapping("/bulk")
+    @PreAuthorize("hasRole('PROVIDER')")
+    public ResponseEntity<Map<String, Object>> bulkUpsert(
+            Principal principal,
+            @Valid @RequestBody AvailabilityBulkRequestDTO request) {
+        return ResponseEntity.ok(availabilityService.bulkUpsert(principal.getName(), request));
+    }
+}
@@ -2,12 +2,19 @@ package com.wellness.backend.controller;
 
 import com.wellness.backend.dto.BookingRequestDTO;
 import com.wellness.backend.dto.BookingResponseDTO;
+import com.wellness.backend.dto.CursorPageDTO;
 import com.wellness.backend.model.BookingStatus;
+import com.wellness.backend.service.BookingExportService;
 import com.wellness.backend.service.BookingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,6 +24,7 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<BookingResponseDTO>> getUserBookings(@PathVariable Long userId) {
@@ -28,6 +36,18 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getClientHistory(userId));
     }
 
+    /** Keyset-paginated patient history; pass the returned nextCursor as cursor. */
+    @GetMapping("/user/{userId}/history/page")
+    public ResponseEntity<CursorPageDTO<BookingResponseDTO>> getUserBookingHistoryPage(
+            @PathVariable Long userId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "status", required = false) BookingStatus status,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(bookingService.getClientHistoryPage(userId, cursor, limit, status, from, to));
+    }
+
     /**
      * Patient Calendar: returns only ACCEPTED / CONFIRMED / RESCHEDULED bookings
      */
@@ -51,6 +71,44 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getPractitionerHistory(practitionerId));
     }
 
+    /** Keyset-paginated practitioner history; pass the returned nextCursor as cursor. */
+    @GetMapping("/practitioner/{practitionerId}/history/page")
+    public ResponseEntity<CursorPageDTO<BookingResponseDTO>> getPractitionerHistoryPage(
+            @PathVariable Long practitionerId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "status", required = false) BookingStatus status,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(
+                bookingService.getPractitionerHistoryPage(practitionerId, cursor, limit, status, from, to));
+    }
+
+    /**
+     * Full practitioner history as CSV or NDJSON, streamed row by row from a
+     * database cursor. Available to the practitioner and to admins.
+     */
+    @GetMapping("/practitioner/{practitionerId}/export")
+    public ResponseEntity<StreamingResponseBody> exportPractitionerHistory(
+            @PathVariable Long practitionerId,
+            @RequestParam(name = "format", defaultValue = "csv") String format,
+            java.security.Principal principal) {
+        if (!BookingExportService.isSupportedFormat(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format + ". Use csv or ndjson");
+        }
+        bookingExportService.assertCanExport(practitionerId, principal.getName());
+
+        boolean csv = BookingExportService.FORMAT_CSV.equalsIgnoreCase(format);
+        String fileName = "bookings_" + practitionerId + (csv ? ".csv" : ".ndjson");
+        StreamingResponseBody body = out -> bookingExportService.exportPractitionerHistory(practitionerId, format,
+                out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(csv ? "text/csv" : "application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
     @GetMapping("/practitioner/{practitionerId}")
     public ResponseEntity<List<BookingResponseDTO>> getPractitionerUpcomingBookings(
             @PathVariable Long practitionerId,
@@ -0,0 +1,30 @@
+package com.wellness.backend.controller;
+
+import com.wellness.backend.dto.PatientDashboardDTO;
+import com.wellness.backend.service.PatientDashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final PatientDashboardService patientDashboardService;
+
+    /**
+     * Everything the patient dashboard shows: upcoming bookings and sessions,
+     * notifications, analytics and orders, with per-section timings in meta.
+     */
+    @GetMapping("/patient")
+    @PreAuthorize("hasRole('CLIENT')")
+    public ResponseEntity<PatientDashboardDTO> getPatientDashboard(Principal principal) {
+        return ResponseEntity.ok(patientDashboardService.getDashboard(principal.getName()));
+    }
+}
@@ -1,17 +1,21 @@
 package com.wellness.backend.controller;
 
+import com.wellness.backend.event.MarketplaceChangedEvent;
+import com.wellness.backend.event.MarketplaceChangedEvent.Feed;
 import com.wellness.backend.model.UserEntity;
 import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.service.SearchIndexService;
+import com.wellness.backend.service.UploadFileService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.net.MalformedURLException;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -24,6 +28,9 @@ import java.util.Collections;
 public class DegreeController {
 
     private final UserRepository userRepository;
+    private final SearchIndexService searchIndexService;
+    private final UploadFileService uploadFileService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final Path uploadDir = Paths.get(
             "C:\\Career\\Internship\\Virtual Internship\\Infosys\\Project\\Image Wellness Marketplace for Alternative Therapies\\backend\\uploads\\degrees");
@@ -46,6 +53,9 @@ public class DegreeController {
             user.setDegreeFile("uploads/degrees/" + fileName);
             user.setVerificationStatus("PENDING");
             userRepository.save(user);
+            // Back to PENDING means the practitioner leaves search until re-approved
+            searchIndexService.indexPractitioner(user);
+            eventPublisher.publishEvent(new MarketplaceChangedEvent(Feed.PRACTITIONERS));
 
             return ResponseEntity.ok(Collections.singletonMap("message", "Degree uploaded successfully"));
         } catch (Exception e) {
@@ -54,35 +64,31 @@ public class DegreeController {
         }
     }
 
-    // 🔹 Download degree
+    // 🔹 Download degree (supports Range for large PDFs and conditional GETs)
     @GetMapping("/{userId}")
-    public ResponseEntity<Resource> getDegree(@PathVariable Long userId) {
-        try {
-            UserEntity user = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            if (user.getDegreeFile() == null)
-                return ResponseEntity.notFound().build();
-
-            Path filePath = Paths.get(user.getDegreeFile());
-            if (!filePath.isAbsolute()) {
-                // Resolve relative paths to the uploadDir
-                filePath = uploadDir.resolve(filePath.getFileName());
-            }
-
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (!resource.exists() || !resource.isReadable())
-                return ResponseEntity.notFound().build();
+    public void getDegree(@PathVariable Long userId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (user.getDegreeFile() == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "inline; filename=\"" + resource.getFilename() + "\"")
-                    .body(resource);
+        Path filePath = Paths.get(user.getDegreeFile());
+        if (!filePath.isAbsolute()) {
+            // Resolve relative paths to the uploadDir
+            filePath = uploadDir.resolve(filePath.getFileName());
+        }
 
-        } catch (MalformedURLException e) {
-            return ResponseEntity.status(500).build();
+        if (!Files.isRegularFile(filePath) || !Files.isReadable(filePath)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "inline; filename=\"" + filePath.getFileName() + "\"");
+        uploadFileService.serve(filePath, request, response);
     }
 }
@@ -0,0 +1,39 @@
+package com.wellness.backend.controller;
+
+import com.wellness.backend.dto.FreeSlotDTO;
+import com.wellness.backend.service.FreeSlotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/slots")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+public class FreeSlotController {
+
+    private final FreeSlotService freeSlotService;
+
+    /**
+     * Providers free between {@code from} and {@code to} on each of
+     * {@code days} days starting at {@code date}, e.g. Ayurveda on Tuesday
+     * 18:00-19:00. With {@code duration} (minutes) any free stretch of that
+     * length inside the window qualifies.
+     */
+    @GetMapping("/free")
+    public ResponseEntity<List<FreeSlotDTO>> findFreeSlots(
+            @RequestParam(name = "specialization", required = false) String specialization,
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(name = "days", defaultValue = "1") int days,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime to,
+            @RequestParam(name = "duration", required = false) Integer duration,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(freeSlotService.findFreeSlots(specialization, date, days, from, to, duration, limit));
+    }
+}
@@ -1,16 +1,30 @@
 package com.wellness.backend.controller;
 
+import com.wellness.backend.dto.CursorPageDTO;
 import com.wellness.backend.dto.ProductRequestDTO;
 import com.wellness.backend.dto.ProductResponseDTO;
+import com.wellness.backend.event.MarketplaceChangedEvent.Feed;
+import com.wellness.backend.model.ImageVariant;
+import com.wellness.backend.model.ProductSort;
+import com.wellness.backend.service.ProductImageService;
+import com.wellness.backend.service.ProductImageService.ImageFile;
+import com.wellness.backend.service.MarketplaceSnapshotService;
 import com.wellness.backend.service.ProductService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/products")
@@ -19,6 +33,8 @@ import java.util.Map;
 public class ProductController {
 
     private final ProductService productService;
+    private final MarketplaceSnapshotService marketplaceSnapshotService;
+    private final ProductImageService productImageService;
 
     @PostMapping(consumes = { "multipart/form-data" })
     public ResponseEntity<ProductResponseDTO> createProduct(@ModelAttribute ProductRequestDTO request)
@@ -34,9 +50,60 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    /** Served from the pre-serialized marketplace snapshot; 304 when If-None-Match matches. */
     @GetMapping
-    public ResponseEntity<List<ProductResponseDTO>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<byte[]> getAllProducts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return marketplaceSnapshotService.serve(Feed.PRODUCTS, ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * Keyset-paginated catalog. sort is newest (default), price_asc,
+     * price_desc or name; pass the returned nextCursor as cursor. Responds
+     * 304 when If-None-Match matches, which the catalog version decides
+     * without running the page query.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<ProductResponseDTO>> getCatalogPage(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "sort", required = false) String sort,
+            WebRequest request) {
+        ProductSort order = ProductSort.parse(sort);
+        String etag = productService.catalogPageEtag(cursor, limit, order);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag)
+                .body(productService.getCatalogPage(cursor, limit, order));
+    }
+
+    /**
+     * A resized product image (size is thumb or web). Images are addressed by
+     * content hash, so a variant never changes and may be cached for a year.
+     * Until the variant exists the original is served, uncached.
+     */
+    @GetMapping("/images/{hash}/{size}")
+    public ResponseEntity<Resource> getProductImage(@PathVariable String hash, @PathVariable String size,
+            WebRequest request) {
+        ImageVariant variant = ImageVariant.parse(size);
+        ImageFile file = productImageService.resolve(hash, variant);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "\"" + hash + "-" + (file.variant() ? variant.pathSegment() : "original") + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CacheControl cacheControl = file.variant()
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache();
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .contentType(MediaType.parseMediaType(file.contentType()))
+                .body(new FileSystemResource(file.path()));
     }
 
     @GetMapping("/provider/{id}")
@@ -0,0 +1,31 @@
+package com.wellness.backend.controller;
+
+import com.wellness.backend.dto.SearchHitDTO;
+import com.wellness.backend.service.SearchIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+public class SearchController {
+
+    private final SearchIndexService searchIndexService;
+
+    /**
+     * Ranked practitioner and product matches for {@code q}. Words may be
+     * prefixes or contain small typos. {@code type} narrows to PRACTITIONER or
+     * PRODUCT.
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchHitDTO>> search(
+            @RequestParam("q") String query,
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(searchIndexService.search(query, type, limit));
+    }
+}
@@ -1,17 +1,29 @@
 package com.wellness.backend.controller;
 
+import com.wellness.backend.dto.CursorPageDTO;
+import com.wellness.backend.dto.DayBulkActionDTO;
+import com.wellness.backend.dto.DayBulkResultDTO;
+import com.wellness.backend.dto.DayStatusDTO;
 import com.wellness.backend.dto.SessionBookingRequestDTO;
 import com.wellness.backend.dto.SessionBookingResponseDTO;
 import com.wellness.backend.dto.SessionRescheduleRequestDTO;
+import com.wellness.backend.dto.SessionSeriesRequestDTO;
+import com.wellness.backend.dto.SessionSeriesResponseDTO;
 import com.wellness.backend.dto.SessionStatusUpdateDTO;
+import com.wellness.backend.model.SessionStatus;
+import com.wellness.backend.service.DayStatusService;
 import com.wellness.backend.service.SessionBookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -21,6 +33,7 @@ import java.util.List;
 public class SessionBookingController {
 
     private final SessionBookingService sessionBookingService;
+    private final DayStatusService dayStatusService;
 
     @PostMapping("/book")
     @PreAuthorize("hasRole('CLIENT')")
@@ -30,6 +43,31 @@ public class SessionBookingController {
         return ResponseEntity.ok(sessionBookingService.bookSession(principal.getName(), request));
     }
 
+    /**
+     * Books a recurring slot. Responds 409 with the conflicting dates when
+     * nothing was booked; with allowPartial the free dates are booked and the
+     * rest are reported.
+     */
+    @PostMapping("/series")
+    @PreAuthorize("hasRole('CLIENT')")
+    public ResponseEntity<SessionSeriesResponseDTO> bookSeries(
+            Principal principal,
+            @Valid @RequestBody SessionSeriesRequestDTO request) {
+        SessionSeriesResponseDTO response = sessionBookingService.bookSeries(principal.getName(), request);
+        if (response.getBooked().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/series/{seriesId}/accept")
+    @PreAuthorize("hasRole('PROVIDER')")
+    public ResponseEntity<List<SessionBookingResponseDTO>> acceptSeries(
+            @PathVariable String seriesId,
+            Principal principal) {
+        return ResponseEntity.ok(sessionBookingService.acceptSeries(seriesId, principal.getName()));
+    }
+
     @GetMapping("/provider/{providerId}")
     @PreAuthorize("hasRole('PROVIDER')")
     public ResponseEntity<List<SessionBookingResponseDTO>> getSessionsForProvider(@PathVariable Long providerId) {
@@ -49,6 +87,28 @@ public class SessionBookingController {
         return ResponseEntity.ok(sessionBookingService.getSessionsHistoryForProvider(providerId));
     }
 
+    @GetMapping("/provider/{providerId}/history/page")
+    @PreAuthorize("hasRole('PROVIDER')")
+    public ResponseEntity<CursorPageDTO<SessionBookingResponseDTO>> getSessionsHistoryPageForProvider(
+            @PathVariable Long providerId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "status", required = false) SessionStatus status,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(sessionBookingService.getSessionsHistoryPageForProvider(
+                providerId, cursor, limit, status, from, to));
+    }
+
+    /** Calendar colour for every day of {@code month} (yyyy-MM) that has sessions. */
+    @GetMapping("/provider/{providerId}/calendar")
+    @PreAuthorize("hasRole('PROVIDER')")
+    public ResponseEntity<List<DayStatusDTO>> getCalendarForProvider(
+            @PathVariable Long providerId,
+            @RequestParam("month") @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return ResponseEntity.ok(dayStatusService.getMonth(providerId, month));
+    }
+
     @GetMapping("/client/{clientId}/history")
     @PreAuthorize("hasRole('CLIENT')")
     public ResponseEntity<List<SessionBookingResponseDTO>> getSessionsHistoryForClient(@PathVariable Long clientId) {
@@ -102,6 +162,24 @@ public class SessionBookingController {
         return ResponseEntity.ok(sessionBookingService.cancelSession(id, principal.getName()));
     }
 
+    /** Cancels all (or the listed) open sessions of the provider on one date. */
+    @PutMapping("/provider/day/cancel")
+    @PreAuthorize("hasRole('PROVIDER')")
+    public ResponseEntity<DayBulkResultDTO> cancelDay(
+            Principal principal,
+            @Valid @RequestBody DayBulkActionDTO request) {
+        return ResponseEntity.ok(sessionBookingService.cancelDay(principal.getName(), request));
+    }
+
+    /** Completes all (or the listed) sessions of the provider awaiting completion on one date. */
+    @PutMapping("/provider/day/complete")
+    @PreAuthorize("hasRole('PROVIDER')")
+    public ResponseEntity<DayBulkResultDTO> completeDay(
+            Principal principal,
+            @Valid @RequestBody DayBulkActionDTO request) {
+        return ResponseEntity.ok(sessionBookingService.completeDay(principal.getName(), request));
+    }
+
     @PutMapping("/{id}/complete")
     @PreAuthorize("hasRole('PROVIDER')")
     public ResponseEntity<SessionBookingResponseDTO> completeSession(
@@ -0,0 +1,37 @@
+package com.wellness.backend.controller;
+
+import com.wellness.backend.dto.SlotHoldDTO;
+import com.wellness.backend.dto.SlotHoldRequestDTO;
+import com.wellness.backend.service.SlotHoldService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/slots/holds")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+public class SlotHoldController {
+
+    private final SlotHoldService slotHoldService;
+
+    /** Reserves the slot for slots.hold.ttl while the booking form is open. */
+    @PostMapping
+    @PreAuthorize("hasRole('CLIENT')")
+    public ResponseEntity<SlotHoldDTO> hold(Principal principal, @Valid @RequestBody SlotHoldRequestDTO request) {
+        return ResponseEntity.ok(slotHoldService.hold(principal.getName(), request));
+    }
+
+    @DeleteMapping("/{token}")
+    @PreAuthorize("hasRole('CLIENT')")
+    public ResponseEntity<Map<String, String>> release(Principal principal, @PathVariable String token) {
+        slotHoldService.release(principal.getName(), token);
+        return ResponseEntity.ok(Collections.singletonMap("message", "Hold released"));
+    }
+}
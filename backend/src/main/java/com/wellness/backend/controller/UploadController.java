@@ -0,0 +1,34 @@
+package com.wellness.backend.controller;
+
+import com.wellness.backend.service.UploadFileService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/** Public files under uploads/ (product images, profile pictures, degree PDFs). */
+@RestController
+@RequiredArgsConstructor
+public class UploadController {
+
+    private static final String PREFIX = "/uploads/";
+
+    private final UploadFileService uploadFileService;
+
+    @RequestMapping(value = "/uploads/**", method = { RequestMethod.GET, RequestMethod.HEAD })
+    public void getUpload(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        Path file = path.startsWith(PREFIX) ? uploadFileService.resolveUpload(path.substring(PREFIX.length())) : null;
+        if (file == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        uploadFileService.serve(file, request, response);
+    }
+}
@@ -1,16 +1,27 @@
 package com.wellness.backend.controller;
 
+import com.wellness.backend.dto.CursorPageDTO;
+import com.wellness.backend.dto.PractitionerCardDTO;
+import com.wellness.backend.event.MarketplaceChangedEvent;
+import com.wellness.backend.event.MarketplaceChangedEvent.Feed;
 import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.service.MarketplaceSnapshotService;
+import com.wellness.backend.service.PractitionerDirectoryService;
+import com.wellness.backend.service.SearchIndexService;
 import com.wellness.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/user")
@@ -25,6 +36,18 @@ public class UserController {
     @Autowired
     private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PractitionerDirectoryService practitionerDirectoryService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private MarketplaceSnapshotService marketplaceSnapshotService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Get logged-in user's profile
     @GetMapping("/profile")
     public ResponseEntity<UserEntity> getProfile() {
@@ -61,17 +84,44 @@ public class UserController {
         }
 
         userService.saveUser(user);
+        userService.evictCachedUser(user.getId());
+        searchIndexService.indexPractitioner(user);
+        if ("PROVIDER".equalsIgnoreCase(user.getRole())) {
+            eventPublisher.publishEvent(new MarketplaceChangedEvent(Feed.PRACTITIONERS));
+        }
         return ResponseEntity.ok(user);
     }
 
     // Public endpoint: returns all APPROVED practitioners (for patient dashboard &
-    // marketplace)
+    // marketplace). Served from the pre-serialized snapshot with a strong ETag.
     @GetMapping("/practitioners")
-    public ResponseEntity<List<UserEntity>> getApprovedPractitioners() {
-        List<UserEntity> approved = userRepository.findByRole("PROVIDER").stream()
-                .filter(u -> "APPROVED".equalsIgnoreCase(u.getVerificationStatus()))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(approved);
+    public ResponseEntity<byte[]> getApprovedPractitioners(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return marketplaceSnapshotService.serve(Feed.PRACTITIONERS, ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * Paginated marketplace directory of approved practitioners. Responds 304
+     * when If-None-Match matches the page's ETag.
+     */
+    @GetMapping("/practitioners/directory")
+    public ResponseEntity<CursorPageDTO<PractitionerCardDTO>> getPractitionerDirectory(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "specialization", required = false) String specialization,
+            @RequestParam(name = "city", required = false) String city,
+            @RequestParam(name = "country", required = false) String country,
+            @RequestParam(name = "minFee", required = false) BigDecimal minFee,
+            @RequestParam(name = "maxFee", required = false) BigDecimal maxFee,
+            WebRequest request) {
+        CursorPageDTO<PractitionerCardDTO> page = practitionerDirectoryService.getDirectoryPage(cursor, limit,
+                specialization, city, country, minFee, maxFee);
+        String etag = practitionerDirectoryService.etagOf(page);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(page);
     }
 
     // Public endpoint: returns all practitioners regardless of status (for
@@ -0,0 +1,44 @@
+package com.wellness.backend.controller;
+
+import com.wellness.backend.dto.WaitlistEntryDTO;
+import com.wellness.backend.dto.WaitlistRequestDTO;
+import com.wellness.backend.service.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    /** Joins a provider's waitlist for one date; freed slots are offered for waitlist.offer.ttl. */
+    @PostMapping
+    @PreAuthorize("hasRole('CLIENT')")
+    public ResponseEntity<WaitlistEntryDTO> join(Principal principal, @Valid @RequestBody WaitlistRequestDTO request) {
+        return ResponseEntity.ok(waitlistService.join(principal.getName(), request));
+    }
+
+    @GetMapping("/mine")
+    @PreAuthorize("hasRole('CLIENT')")
+    public ResponseEntity<List<WaitlistEntryDTO>> getMine(Principal principal) {
+        return ResponseEntity.ok(waitlistService.getMyEntries(principal.getName()));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('CLIENT')")
+    public ResponseEntity<Map<String, String>> leave(Principal principal, @PathVariable Long id) {
+        waitlistService.leave(principal.getName(), id);
+        return ResponseEntity.ok(Collections.singletonMap("message", "Left the waitlist"));
+    }
+}
@@ -0,0 +1,17 @@
+package com.wellness.backend.dto;
+
+import jakarta.validation.Valid;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AvailabilityBulkRequestDTO {
+
+    /** Replaces the whole weekly template when present; an empty list clears it. */
+    @Valid
+    private List<WeeklyAvailabilityDTO> weekly;
+
+    @Valid
+    private List<DateAvailabilityDTO> dates;
+}
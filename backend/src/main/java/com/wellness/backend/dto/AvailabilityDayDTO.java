@@ -0,0 +1,26 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** A provider's effective availability on one date, with templates already expanded. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityDayDTO {
+
+    public static final String SOURCE_DATE = "DATE";
+    public static final String SOURCE_TEMPLATE = "TEMPLATE";
+    public static final String SOURCE_NONE = "NONE";
+
+    private LocalDate date;
+    private String source;
+    private List<TimeRangeDTO> windows;
+    private List<TimeRangeDTO> blocks;
+}
@@ -0,0 +1,18 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** One published (or blocked) availability window, selected for the free-slot index. */
+@Data
+@AllArgsConstructor
+public class AvailabilityWindowRow {
+    private Long providerId;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private boolean blocked;
+}
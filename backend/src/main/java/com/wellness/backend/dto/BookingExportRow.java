@@ -0,0 +1,27 @@
+package com.wellness.backend.dto;
+
+import com.wellness.backend.model.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat row produced by a JPQL constructor expression for history exports. It is
+ * not a managed entity, so streaming rows does not grow the persistence
+ * context.
+ */
+@Data
+@AllArgsConstructor
+public class BookingExportRow {
+    private Long id;
+    private LocalDateTime bookingDate;
+    private BookingStatus status;
+    private String clientName;
+    private String clientEmail;
+    private BigDecimal sessionFee;
+    private Integer duration;
+    private boolean refunded;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,46 @@
+package com.wellness.backend.dto;
+
+import com.wellness.backend.model.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Constructor-expression projection holding exactly the columns that
+ * {@link BookingResponseDTO} needs. Read endpoints select this instead of
+ * hydrating BookingEntity and both UserEntity rows. History reads select it
+ * from unified_bookings, which covers hot and archived bookings in one table.
+ */
+@Data
+@AllArgsConstructor
+public class BookingSummaryRow {
+    private Long id;
+    private Long userId;
+    private String clientName;
+    private String clientEmail;
+    private LocalDateTime bookingDate;
+    private Integer duration;
+    private String notes;
+    private String practitionerComment;
+    private BookingStatus status;
+    private BigDecimal sessionFee;
+    private boolean refunded;
+
+    private Long practitionerId;
+    private String practitionerName;
+    private String practitionerSpecialization;
+    private String practitionerProfileImage;
+    private BigDecimal practitionerSessionFee;
+
+    /** For selects from unified_bookings, which stores the status by name. */
+    public BookingSummaryRow(Long id, Long userId, String clientName, String clientEmail, LocalDateTime bookingDate,
+            Integer duration, String notes, String practitionerComment, String status, BigDecimal sessionFee,
+            boolean refunded, Long practitionerId, String practitionerName, String practitionerSpecialization,
+            String practitionerProfileImage, BigDecimal practitionerSessionFee) {
+        this(id, userId, clientName, clientEmail, bookingDate, duration, notes, practitionerComment,
+                BookingStatus.valueOf(status), sessionFee, refunded, practitionerId, practitionerName,
+                practitionerSpecialization, practitionerProfileImage, practitionerSessionFee);
+    }
+}
@@ -0,0 +1,23 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardMetaDTO {
+    private LocalDateTime generatedAt;
+    private long totalMillis;
+    // Time each section's query took on its worker thread
+    private Map<String, Long> sectionMillis;
+    // Sections that failed or timed out; their fields are null in the payload
+    private List<String> failedSections;
+}
@@ -0,0 +1,27 @@
+package com.wellness.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces everything stored for one date. Windows override the weekly
+ * template for that day; blocks are cut out of whichever applies. Both
+ * empty reverts the date to its template.
+ */
+@Data
+public class DateAvailabilityDTO {
+
+    @NotNull
+    private LocalDate date;
+
+    @Valid
+    private List<TimeRangeDTO> windows = new ArrayList<>();
+
+    @Valid
+    private List<TimeRangeDTO> blocks = new ArrayList<>();
+}
@@ -0,0 +1,23 @@
+package com.wellness.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class DayBulkActionDTO {
+
+    @NotNull
+    private LocalDate date;
+
+    // Optional subset of that day's sessions; null selects every eligible one
+    @Size(max = 500)
+    private List<Long> sessionIds;
+
+    // Cancellation only: stored on each cancelled session
+    @Size(max = 500)
+    private String providerMessage;
+}
@@ -0,0 +1,23 @@
+package com.wellness.backend.dto;
+
+import com.wellness.backend.model.SessionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DayBulkResultDTO {
+    private LocalDate date;
+    private SessionStatus status;
+    private int updated;
+    private List<SessionBookingResponseDTO> sessions;
+    // Requested ids that are not on that day or not in a state the action applies to
+    private List<Long> skippedSessionIds;
+}
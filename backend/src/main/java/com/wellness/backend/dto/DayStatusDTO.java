@@ -0,0 +1,20 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DayStatusDTO {
+    private LocalDate date;
+    private String status; // GREEN, YELLOW or null
+    private int total;
+    private int completed;
+    private int notCompleted;
+}
@@ -0,0 +1,26 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** Earliest free slot of the requested length for one provider on one day. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotDTO {
+    private Long providerId;
+    private String providerName;
+    private String specialization;
+    private String city;
+    private BigDecimal sessionFee;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
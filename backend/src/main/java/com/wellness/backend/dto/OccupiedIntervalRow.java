@@ -0,0 +1,15 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/** Start and length of a booking or session that takes up a provider's time. */
+@Data
+@AllArgsConstructor
+public class OccupiedIntervalRow {
+    private Long providerId;
+    private LocalDateTime startAt;
+    private Integer duration;
+}
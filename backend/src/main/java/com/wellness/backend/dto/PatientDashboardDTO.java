@@ -0,0 +1,25 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientDashboardDTO {
+    private Long userId;
+    private String name;
+
+    private List<BookingResponseDTO> bookings;
+    private List<SessionBookingResponseDTO> sessions;
+    private List<NotificationDTO> notifications;
+    private PatientAnalyticsDTO analytics;
+    private List<OrderDTO> orders;
+
+    private DashboardMetaDTO meta;
+}
@@ -0,0 +1,25 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Public directory entry for an approved practitioner. Selected directly in
+ * JPQL so admin-only fields such as adminComment and degreeFile are never
+ * loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PractitionerCardDTO {
+    private Long id;
+    private String name;
+    private String specialization;
+    private String city;
+    private String country;
+    private String profileImage;
+    private BigDecimal sessionFee;
+}
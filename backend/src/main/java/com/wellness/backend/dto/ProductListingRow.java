@@ -0,0 +1,24 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Constructor-expression projection for catalog pages: the product columns
+ * plus the provider's id read from the foreign key, so no provider row is
+ * loaded.
+ */
+@Data
+@AllArgsConstructor
+public class ProductListingRow {
+    private Long productId;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Long providerId;
+    private String imageUrl;
+    private LocalDateTime createdAt;
+}
@@ -12,5 +12,8 @@ public class ProductResponseDTO {
     private BigDecimal price;
     private Long providerId;
     private String imageUrl;
+    // Resized renditions for grids and detail views
+    private String thumbnailUrl;
+    private String webImageUrl;
     private LocalDateTime createdAt;
 }
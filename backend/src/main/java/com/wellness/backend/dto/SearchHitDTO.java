@@ -0,0 +1,30 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/** One ranked search result: an approved practitioner or a product. */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDTO {
+
+    public static final String TYPE_PRACTITIONER = "PRACTITIONER";
+    public static final String TYPE_PRODUCT = "PRODUCT";
+
+    private String type;
+    private Long id;
+    private String name;
+    // Specialization and city for practitioners, a description excerpt for products
+    private String detail;
+    private String imageUrl;
+    // Session fee for practitioners, price for products
+    private BigDecimal price;
+    private Long providerId;
+    private float score;
+}
@@ -0,0 +1,21 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/** An occurrence of a series that could not be booked. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesConflictDTO {
+
+    public static final String OUTSIDE_AVAILABILITY = "OUTSIDE_AVAILABILITY";
+    public static final String ALREADY_BOOKED = "ALREADY_BOOKED";
+    public static final String HELD = "HELD";
+
+    private LocalDate date;
+    private String reason;
+}
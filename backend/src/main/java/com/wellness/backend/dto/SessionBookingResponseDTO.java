@@ -30,6 +30,7 @@ public class SessionBookingResponseDTO {
     private SessionStatus status;
     private String providerMessage;
     private String dateStatusColor;
+    private String seriesId;
 
     private boolean reminderSent;
     private boolean refunded;
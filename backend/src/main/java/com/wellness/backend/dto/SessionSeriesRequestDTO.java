@@ -0,0 +1,44 @@
+package com.wellness.backend.dto;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** The same slot every {@code intervalWeeks} weeks, {@code occurrences} times, starting at {@code firstDate}. */
+@Data
+public class SessionSeriesRequestDTO {
+
+    @NotNull
+    private Long providerId;
+
+    @NotNull
+    @FutureOrPresent(message = "Session date must not be in the past")
+    private LocalDate firstDate;
+
+    @NotNull
+    private LocalTime startTime;
+
+    @NotNull
+    private LocalTime endTime;
+
+    @NotNull
+    @Min(2)
+    @Max(52)
+    private Integer occurrences;
+
+    @Min(1)
+    @Max(4)
+    private int intervalWeeks = 1;
+
+    @NotBlank
+    private String issueDescription;
+
+    /** Book the occurrences that are free even if others conflict; otherwise nothing is booked. */
+    private boolean allowPartial;
+}
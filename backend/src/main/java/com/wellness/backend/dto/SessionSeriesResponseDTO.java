@@ -0,0 +1,18 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSeriesResponseDTO {
+    private String seriesId;
+    private List<SessionBookingResponseDTO> booked;
+    private List<SeriesConflictDTO> conflicts;
+}
@@ -0,0 +1,25 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A granted hold. Booking the held time as the same patient honours it
+ * automatically, since holds are matched by patient, provider and time; the
+ * token is only needed to release the hold early.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotHoldDTO {
+    private String token;
+    private Long providerId;
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,25 @@
+package com.wellness.backend.dto;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+public class SlotHoldRequestDTO {
+
+    @NotNull
+    private Long providerId;
+
+    @NotNull
+    @FutureOrPresent(message = "Slot date must not be in the past")
+    private LocalDate date;
+
+    @NotNull
+    private LocalTime startTime;
+
+    @NotNull
+    private LocalTime endTime;
+}
@@ -0,0 +1,21 @@
+package com.wellness.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+/** A window within one day; an end of 00:00 means midnight at the end of the day. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeRangeDTO {
+
+    @NotNull
+    private LocalTime startTime;
+
+    @NotNull
+    private LocalTime endTime;
+}
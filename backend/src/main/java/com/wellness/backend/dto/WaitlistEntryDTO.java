@@ -0,0 +1,30 @@
+package com.wellness.backend.dto;
+
+import com.wellness.backend.model.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryDTO {
+    private Long id;
+    private Long providerId;
+    private String providerName;
+    private LocalDate date;
+    private LocalTime earliestStart;
+    private LocalTime latestEnd;
+    private WaitlistStatus status;
+    // Present while an offer is open: book this slot before offerExpiresAt
+    private LocalDateTime offeredStart;
+    private LocalDateTime offeredEnd;
+    private LocalDateTime offerExpiresAt;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package com.wellness.backend.dto;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+public class WaitlistRequestDTO {
+
+    @NotNull
+    private Long providerId;
+
+    @NotNull
+    @FutureOrPresent(message = "Waitlist date must not be in the past")
+    private LocalDate date;
+
+    // Optional; an offered slot must start no earlier and end no later than these
+    private LocalTime earliestStart;
+
+    private LocalTime latestEnd;
+}
@@ -0,0 +1,24 @@
+package com.wellness.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Waitlist matching counters for this instance since startup. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistStatsDTO {
+    private long slotsReleased;
+    private long offersMade;
+    private long offersAccepted;
+    private long offersExpired;
+    private long releasesWithoutWaiter;
+    // offersAccepted / offersMade
+    private double fillRate;
+    // Release committed -> offer held for the next waiter
+    private double averageMatchLatencyMs;
+    private double maxMatchLatencyMs;
+}
@@ -0,0 +1,31 @@
+package com.wellness.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyAvailabilityDTO {
+
+    @NotNull
+    private DayOfWeek dayOfWeek;
+
+    @NotNull
+    private LocalTime startTime;
+
+    @NotNull
+    private LocalTime endTime;
+
+    // Optional inclusive bounds for seasonal schedules
+    private LocalDate validFrom;
+    private LocalDate validUntil;
+}
@@ -0,0 +1,20 @@
+package com.wellness.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A practitioner or product listed on the public marketplace was created,
+ * changed or removed. Published by the write paths after saving; listeners
+ * run only once the write has committed.
+ */
+@Data
+@AllArgsConstructor
+public class MarketplaceChangedEvent {
+
+    public enum Feed {
+        PRACTITIONERS, PRODUCTS
+    }
+
+    private Feed feed;
+}
@@ -0,0 +1,27 @@
+package com.wellness.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A provider's time in [startAt, endAt) became free: a booking or session
+ * was cancelled, rejected or moved, or a waitlist offer lapsed. Published
+ * inside the releasing transaction and delivered after it commits.
+ */
+@Data
+@AllArgsConstructor
+public class SlotReleasedEvent {
+    private Long providerId;
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
+    // Set when the release is an expired waitlist offer
+    private String expiredHoldToken;
+    // System.nanoTime() at release, for matching latency
+    private long releasedAtNanos;
+
+    public static SlotReleasedEvent of(Long providerId, LocalDateTime startAt, LocalDateTime endAt) {
+        return new SlotReleasedEvent(providerId, startAt, endAt, null, System.nanoTime());
+    }
+}
@@ -46,6 +46,15 @@ public class GlobalExceptionHandler {
                                 .body(Collections.singletonMap("error", e.getMessage()));
         }
 
+        // A concurrent status transition won the version check; the client should reload
+        @ExceptionHandler(org.springframework.dao.OptimisticLockingFailureException.class)
+        public ResponseEntity<Map<String, String>> handleOptimisticLockingFailureException(
+                        org.springframework.dao.OptimisticLockingFailureException e) {
+                return ResponseEntity.status(org.springframework.http.HttpStatus.CONFLICT)
+                                .body(Collections.singletonMap("error",
+                                                "This booking was updated by someone else. Please refresh and try again."));
+        }
+
         @ExceptionHandler({ IllegalArgumentException.class, RuntimeException.class })
         public ResponseEntity<Map<String, String>> handleBadRequestExceptions(RuntimeException e) {
                 return ResponseEntity.badRequest()
@@ -0,0 +1,58 @@
+package com.wellness.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One weekly recurring availability window, e.g. every Tuesday 09:00-12:00.
+ * Templates are never expanded into provider_availability rows; readers
+ * apply them to a date on the fly unless that date has its own windows.
+ */
+@Entity
+@Table(name = "provider_availability_templates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_availability_template",
+                columnNames = { "provider_id", "day_of_week", "start_time", "end_time" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityTemplateEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "availability_template_seq")
+    @SequenceGenerator(name = "availability_template_seq", sequenceName = "provider_availability_templates_seq",
+            allocationSize = 50)
+    private Long id;
+
+    // Templates go with their provider
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "provider_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private UserEntity provider;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false, length = 10)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    // 00:00 means midnight at the end of the day
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    // Inclusive bounds; null means open-ended
+    @Column(name = "valid_from")
+    private LocalDate validFrom;
+
+    @Column(name = "valid_until")
+    private LocalDate validUntil;
+}
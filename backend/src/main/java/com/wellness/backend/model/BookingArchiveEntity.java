@@ -0,0 +1,80 @@
+package com.wellness.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a closed {@link BookingEntity}. Rows keep their original id, so
+ * history pages can merge hot and archived rows on the same (date, id) key.
+ * Written only by BookingArchiveService.
+ */
+@Entity
+@Table(name = "bookings_archive", indexes = {
+        @Index(name = "idx_booking_archive_practitioner_date", columnList = "practitioner_id, booking_date, id"),
+        @Index(name = "idx_booking_archive_user_date", columnList = "user_id, booking_date, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
+public class BookingArchiveEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDateTime bookingDate;
+
+    @Column(length = 255)
+    private String notes;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "practitioner_id", nullable = false)
+    private UserEntity practitioner;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private BookingStatus status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "reminder_sent", nullable = false)
+    private boolean reminderSent;
+
+    @Column(name = "refunded", nullable = false)
+    private boolean refunded;
+
+    @Column(name = "session_fee", precision = 19, scale = 2)
+    private java.math.BigDecimal sessionFee;
+
+    @Column(name = "duration")
+    private Integer duration;
+
+    @Column(name = "practitioner_comment", length = 500)
+    private String practitionerComment;
+
+    @Column(name = "reminder_scheduled", nullable = false)
+    private boolean reminderScheduled;
+
+    @Column(name = "reminder_scheduled_at")
+    private LocalDateTime reminderScheduledAt;
+
+    @Column(name = "provider_message_id")
+    private String providerMessageId;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
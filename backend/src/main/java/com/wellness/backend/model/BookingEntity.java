@@ -6,13 +6,19 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings", indexes = {
-        @Index(name = "idx_booking_date", columnList = "booking_date")
+        @Index(name = "idx_booking_date", columnList = "booking_date"),
+        @Index(name = "idx_booking_practitioner_date", columnList = "practitioner_id, booking_date, id"),
+        @Index(name = "idx_booking_user_date", columnList = "user_id, booking_date, id"),
+        @Index(name = "idx_booking_practitioner_status_date", columnList = "practitioner_id, status, booking_date")
 })
+// Updates write only changed columns, so a transition never writes back reminder_sent the poller just set
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,9 +26,15 @@ import java.time.LocalDateTime;
 public class BookingEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
+    // Optimistic lock for concurrent status transitions; left null so Spring Data still treats new rows as new
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @Column(name = "booking_date", nullable = false)
     private LocalDateTime bookingDate;
 
@@ -0,0 +1,7 @@
+package com.wellness.backend.model;
+
+/** Which legacy table a unified booking row mirrors. */
+public enum BookingSource {
+    BOOKING,
+    SESSION
+}
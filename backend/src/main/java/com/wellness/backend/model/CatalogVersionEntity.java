@@ -0,0 +1,30 @@
+package com.wellness.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change counter for a public catalog. Every write to the catalog bumps it,
+ * so the counter alone tells a client whether its cached pages are current.
+ */
+@Entity
+@Table(name = "catalog_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogVersionEntity {
+
+    public static final String PRODUCTS = "products";
+
+    @Id
+    @Column(length = 32)
+    private String id;
+
+    @Column(nullable = false)
+    private long version;
+}
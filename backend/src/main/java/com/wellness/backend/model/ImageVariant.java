@@ -0,0 +1,31 @@
+package com.wellness.backend.model;
+
+/** Resized renditions generated for each product image; all are JPEG. */
+public enum ImageVariant {
+    /** Catalog grids and cards. */
+    THUMB(320),
+    /** Product detail views. */
+    WEB(1280);
+
+    private final int maxWidth;
+
+    ImageVariant(int maxWidth) {
+        this.maxWidth = maxWidth;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public String pathSegment() {
+        return name().toLowerCase();
+    }
+
+    public static ImageVariant parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid image size: " + value + ". Use thumb or web");
+        }
+    }
+}
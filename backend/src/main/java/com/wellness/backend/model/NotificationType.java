@@ -9,5 +9,6 @@ public enum NotificationType {
     SESSION_CANCELLED,
     SESSION_NOT_COMPLETED,
     SESSION_COMPLETED,
-    SESSION_BOOKING_REQUEST
+    SESSION_BOOKING_REQUEST,
+    WAITLIST_OFFER
 }
@@ -1,19 +1,28 @@
 package com.wellness.backend.model;
 
+import com.wellness.backend.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_product_provider", columnList = "provider_id"),
+        @Index(name = "idx_product_created", columnList = "created_at, product_id"),
+        @Index(name = "idx_product_price", columnList = "price, product_id"),
+        @Index(name = "idx_product_name", columnList = "name, product_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PRODUCTS_REGION)
 public class ProductEntity {
 
     @Id
@@ -0,0 +1,17 @@
+package com.wellness.backend.model;
+
+/** Orderings offered by the paginated product catalog; ties are broken by product id. */
+public enum ProductSort {
+    NEWEST, PRICE_ASC, PRICE_DESC, NAME;
+
+    public static ProductSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NEWEST;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sort: " + value + ". Use newest, price_asc, price_desc or name");
+        }
+    }
+}
@@ -18,7 +18,9 @@ import java.time.LocalTime;
 public class ProviderAvailabilityEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "provider_availability_seq")
+    @SequenceGenerator(name = "provider_availability_seq", sequenceName = "provider_availability_seq",
+            allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -36,7 +38,4 @@ public class ProviderAvailabilityEntity {
 
     @Column(name = "is_blocked", columnDefinition = "BOOLEAN DEFAULT FALSE")
     private boolean isBlocked = false;
-
-    @Column(name = "date_status")
-    private String dateStatus; // GREEN, YELLOW
 }
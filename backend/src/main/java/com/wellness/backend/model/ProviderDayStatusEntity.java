@@ -0,0 +1,47 @@
+package com.wellness.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Session counters for one provider and date, adjusted in place on every
+ * session transition. The calendar colour is derived from them, so no
+ * transition has to reload the day's sessions.
+ */
+@Entity
+@Table(name = "provider_day_status")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderDayStatusEntity {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private int total;
+
+    @Column(nullable = false)
+    private int completed;
+
+    @Column(name = "not_completed", nullable = false)
+    private int notCompleted;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "provider_id", nullable = false)
+        private Long providerId;
+
+        @Column(name = "status_date", nullable = false)
+        private LocalDate statusDate;
+    }
+}
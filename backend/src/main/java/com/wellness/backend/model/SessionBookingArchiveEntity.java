@@ -0,0 +1,79 @@
+package com.wellness.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Cold copy of a closed {@link SessionBookingEntity}, keeping its original id.
+ * Written only by BookingArchiveService.
+ */
+@Entity
+@Table(name = "session_bookings_archive", indexes = {
+        @Index(name = "idx_session_archive_provider_date", columnList = "provider_id, session_date, start_time, id"),
+        @Index(name = "idx_session_archive_client", columnList = "client_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionBookingArchiveEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "client_id", nullable = false)
+    private UserEntity client;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "provider_id", nullable = false)
+    private UserEntity provider;
+
+    @Column(name = "session_date", nullable = false)
+    private LocalDate sessionDate;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(nullable = false)
+    private Integer duration;
+
+    @Column(name = "issue_description", columnDefinition = "TEXT", nullable = false)
+    private String issueDescription;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private SessionStatus status;
+
+    @Column(name = "provider_message", columnDefinition = "TEXT")
+    private String providerMessage;
+
+    @Column(name = "reminder_sent", nullable = false)
+    private boolean reminderSent;
+
+    @Column(name = "series_id", length = 36)
+    private String seriesId;
+
+    @Column(name = "refunded", nullable = false)
+    private boolean refunded;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -16,17 +17,27 @@ import java.time.LocalTime;
         @Index(name = "idx_session_provider", columnList = "provider_id"),
         @Index(name = "idx_session_client", columnList = "client_id"),
         @Index(name = "idx_session_date", columnList = "session_date"),
-        @Index(name = "idx_session_status", columnList = "status")
+        @Index(name = "idx_session_status", columnList = "status"),
+        @Index(name = "idx_session_provider_date", columnList = "provider_id, session_date, start_time, id"),
+        @Index(name = "idx_session_series", columnList = "series_id")
 })
+// Updates write only changed columns, so a transition never writes back reminder_sent the poller just set
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class SessionBookingEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "session_booking_seq")
+    @SequenceGenerator(name = "session_booking_seq", sequenceName = "session_bookings_seq", allocationSize = 50)
     private Long id;
 
+    // Optimistic lock for concurrent status transitions; left null so Spring Data still treats new rows as new
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "client_id", nullable = false)
     private UserEntity client;
@@ -60,6 +71,15 @@ public class SessionBookingEntity {
     @Column(name = "reminder_sent", nullable = false)
     private boolean reminderSent = false;
 
+    // Whether SendGrid holds the reminder email; if not, the reminder poller sends it.
+    // Rows from before the column existed were all scheduled through SendGrid.
+    @Column(name = "reminder_email_scheduled", nullable = false, columnDefinition = "BOOLEAN DEFAULT TRUE")
+    private boolean reminderEmailScheduled = false;
+
+    // Shared by the occurrences of a recurring booking; null for one-off sessions
+    @Column(name = "series_id", length = 36)
+    private String seriesId;
+
     @Column(name = "refunded", nullable = false)
     private boolean refunded = false;
 
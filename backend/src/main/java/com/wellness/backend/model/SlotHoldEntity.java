@@ -0,0 +1,45 @@
+package com.wellness.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A short reservation of a provider's time while a patient fills in the
+ * booking form. The row is the cross-node copy of SlotHoldService's
+ * in-memory holds; rows past expires_at are ignored and swept.
+ */
+@Entity
+@Table(name = "slot_holds", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_slot_hold_provider_start", columnNames = { "provider_id", "start_at" })
+}, indexes = {
+        @Index(name = "idx_slot_hold_client", columnList = "client_id"),
+        @Index(name = "idx_slot_hold_expires", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotHoldEntity {
+
+    @Id
+    @Column(length = 36)
+    private String token;
+
+    @Column(name = "provider_id", nullable = false)
+    private Long providerId;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    @Column(name = "end_at", nullable = false)
+    private LocalDateTime endAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,88 @@
+package com.wellness.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Single read model for both booking flows. Every row mirrors one row of
+ * {@code bookings} or {@code session_bookings}, identified by (source,
+ * source_id). It is kept current by dual writes from BookingService and
+ * SessionBookingService and seeded by a chunked backfill at startup.
+ */
+@Entity
+@Table(name = "unified_bookings", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_unified_source", columnNames = { "source", "source_id" })
+}, indexes = {
+        @Index(name = "idx_unified_client_start", columnList = "client_id, start_at"),
+        @Index(name = "idx_unified_provider_start", columnList = "provider_id, start_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnifiedBookingEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "unified_booking_seq")
+    @SequenceGenerator(name = "unified_booking_seq", sequenceName = "unified_bookings_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BookingSource source;
+
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "client_id", nullable = false)
+    private UserEntity client;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "provider_id", nullable = false)
+    private UserEntity provider;
+
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    @Column(name = "duration")
+    private Integer duration;
+
+    /** Name of the source BookingStatus or SessionStatus. */
+    @Column(nullable = false, length = 40)
+    private String status;
+
+    @Column(name = "session_fee", precision = 19, scale = 2)
+    private BigDecimal sessionFee;
+
+    @Column(name = "refunded", nullable = false)
+    private boolean refunded = false;
+
+    /** Counts towards "sessions attended" under the source flow's rules. */
+    @Column(name = "attended", nullable = false)
+    private boolean attended = false;
+
+    /** Counts towards patient spend under the source flow's rules. */
+    @Column(name = "billable", nullable = false)
+    private boolean billable = false;
+
+    @Column(length = 2000)
+    private String notes;
+
+    @Column(name = "provider_comment", length = 2000)
+    private String providerComment;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,76 @@
+package com.wellness.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A patient waiting for a provider's time on one date. Entries are served
+ * first come, first served: idx_waitlist_queue orders the waiting entries
+ * of each (provider, date) by join time, so the head of the queue is one
+ * index seek on every node.
+ */
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+        @Index(name = "idx_waitlist_queue", columnList = "provider_id, wait_date, status, created_at"),
+        @Index(name = "idx_waitlist_client", columnList = "client_id, status"),
+        @Index(name = "idx_waitlist_hold", columnList = "hold_token")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlist_entries_seq")
+    @SequenceGenerator(name = "waitlist_entries_seq", sequenceName = "waitlist_entries_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "provider_id", nullable = false)
+    private UserEntity provider;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", nullable = false)
+    private UserEntity client;
+
+    @Column(name = "wait_date", nullable = false)
+    private LocalDate waitDate;
+
+    // Optional bounds on the offered slot; null accepts any time that day
+    @Column(name = "earliest_start")
+    private LocalTime earliestStart;
+
+    @Column(name = "latest_end")
+    private LocalTime latestEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WaitlistStatus status;
+
+    // The slot hold backing an open offer
+    @Column(name = "hold_token", length = 36)
+    private String holdToken;
+
+    @Column(name = "offered_start")
+    private LocalDateTime offeredStart;
+
+    @Column(name = "offered_end")
+    private LocalDateTime offeredEnd;
+
+    @Column(name = "offer_expires_at")
+    private LocalDateTime offerExpiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+}
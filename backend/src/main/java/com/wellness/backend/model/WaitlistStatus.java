@@ -0,0 +1,9 @@
+package com.wellness.backend.model;
+
+public enum WaitlistStatus {
+    WAITING,
+    OFFERED,
+    FULFILLED,
+    EXPIRED,
+    CANCELLED
+}
@@ -0,0 +1,29 @@
+package com.wellness.backend.repository;
+
+import com.wellness.backend.dto.AvailabilityTemplateRow;
+import com.wellness.backend.model.AvailabilityTemplateEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AvailabilityTemplateRepository extends JpaRepository<AvailabilityTemplateEntity, Long> {
+
+    String TEMPLATE_SELECT = "SELECT new com.wellness.backend.dto.AvailabilityTemplateRow(t.provider.id, t.dayOfWeek, "
+            + "t.startTime, t.endTime, t.validFrom, t.validUntil) FROM AvailabilityTemplateEntity t ";
+
+    @Query(TEMPLATE_SELECT + "WHERE t.provider.id = :providerId")
+    List<AvailabilityTemplateRow> findTemplates(@Param("providerId") Long providerId);
+
+    /** Every provider's weekly windows; a few rows per provider, so the rebuild loads them at once. */
+    @Query(TEMPLATE_SELECT)
+    List<AvailabilityTemplateRow> findAllTemplates();
+
+    @Modifying
+    @Query("DELETE FROM AvailabilityTemplateEntity t WHERE t.provider.id = :providerId")
+    int deleteByProviderId(@Param("providerId") Long providerId);
+}
@@ -0,0 +1,44 @@
+package com.wellness.backend.repository;
+
+import com.wellness.backend.dto.BookingExportRow;
+import com.wellness.backend.model.BookingArchiveEntity;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Archived bookings. History reads go through unified_bookings, where archived
+ * rows keep their mirror; exports stream this table alongside the hot one.
+ */
+@Repository
+public interface BookingArchiveRepository extends JpaRepository<BookingArchiveEntity, Long> {
+
+        /** Copies the given hot rows, ids included, in a single INSERT ... SELECT. */
+        @Modifying
+        @Query("INSERT INTO BookingArchiveEntity (id, version, bookingDate, notes, practitioner, status, user, "
+                        + "createdAt, reminderSent, refunded, sessionFee, duration, practitionerComment, "
+                        + "reminderScheduled, reminderScheduledAt, providerMessageId, archivedAt) "
+                        + "SELECT b.id, COALESCE(b.version, 0), b.bookingDate, b.notes, b.practitioner, b.status, b.user, "
+                        + "b.createdAt, b.reminderSent, b.refunded, b.sessionFee, b.duration, b.practitionerComment, "
+                        + "b.reminderScheduled, b.reminderScheduledAt, b.providerMessageId, :archivedAt "
+                        + "FROM BookingEntity b WHERE b.id IN :ids")
+        int copyFromHot(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+        @QueryHints({
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_READ_ONLY, value = "true")
+        })
+        @Query("SELECT new com.wellness.backend.dto.BookingExportRow(b.id, b.bookingDate, b.status, u.name, u.email, "
+                        + "b.sessionFee, b.duration, b.refunded, b.createdAt) "
+                        + "FROM BookingArchiveEntity b JOIN b.user u WHERE b.practitioner.id = :practitionerId "
+                        + "ORDER BY b.bookingDate DESC, b.id DESC")
+        Stream<BookingExportRow> streamExportRowsByPractitioner(@Param("practitionerId") Long practitionerId);
+}
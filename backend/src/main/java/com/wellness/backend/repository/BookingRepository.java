@@ -1,46 +1,82 @@
 package com.wellness.backend.repository;
 
+import com.wellness.backend.dto.BookingExportRow;
+import com.wellness.backend.dto.BookingSummaryRow;
 import com.wellness.backend.model.BookingEntity;
 import com.wellness.backend.model.BookingStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<BookingEntity, Long> {
 
-        @Query("SELECT b FROM BookingEntity b JOIN FETCH b.user JOIN FETCH b.practitioner WHERE b.user.id = :userId ORDER BY b.bookingDate DESC")
-        List<BookingEntity> findByUser_Id(Long userId);
-
-        @Query("SELECT b FROM BookingEntity b JOIN FETCH b.user JOIN FETCH b.practitioner WHERE b.user.id = :userId AND b.status IN :statuses ORDER BY b.bookingDate DESC")
-        List<BookingEntity> findByUser_IdAndStatusIn(Long userId, List<BookingStatus> statuses);
-
-        @Query("SELECT b FROM BookingEntity b JOIN FETCH b.user JOIN FETCH b.practitioner WHERE b.practitioner.id = :practitionerId ORDER BY b.bookingDate DESC")
-        List<BookingEntity> findByPractitioner_Id(Long practitionerId);
-
-        @Query("SELECT b FROM BookingEntity b JOIN FETCH b.user JOIN FETCH b.practitioner WHERE b.practitioner.id = :practitionerId AND b.status = :status ORDER BY b.bookingDate DESC")
-        List<BookingEntity> findByPractitioner_IdAndStatus(Long practitionerId, BookingStatus status);
-
-        @Query("SELECT b FROM BookingEntity b JOIN FETCH b.user JOIN FETCH b.practitioner " +
+        /**
+         * Read endpoints select {@link BookingSummaryRow} rather than entities, so
+         * only the columns BookingResponseDTO needs are loaded and nothing enters
+         * the persistence context.
+         */
+        String SUMMARY_SELECT = "SELECT new com.wellness.backend.dto.BookingSummaryRow(b.id, u.id, u.name, u.email, "
+                        + "b.bookingDate, b.duration, b.notes, b.practitionerComment, b.status, b.sessionFee, "
+                        + "b.refunded, p.id, p.name, p.specialization, p.profileImage, p.sessionFee) "
+                        + "FROM BookingEntity b JOIN b.user u JOIN b.practitioner p ";
+
+        @Query(SUMMARY_SELECT + "WHERE b.user.id = :userId AND b.status IN :statuses ORDER BY b.bookingDate DESC")
+        List<BookingSummaryRow> findSummariesByUserAndStatusIn(Long userId, List<BookingStatus> statuses);
+
+        /**
+         * Forward-only cursor over a practitioner's full history for exports. Must be
+         * consumed inside a transaction and closed by the caller.
+         */
+        @QueryHints({
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_READ_ONLY, value = "true")
+        })
+        @Query("SELECT new com.wellness.backend.dto.BookingExportRow(b.id, b.bookingDate, b.status, u.name, u.email, "
+                        + "b.sessionFee, b.duration, b.refunded, b.createdAt) "
+                        + "FROM BookingEntity b JOIN b.user u WHERE b.practitioner.id = :practitionerId "
+                        + "ORDER BY b.bookingDate DESC, b.id DESC")
+        Stream<BookingExportRow> streamExportRowsByPractitioner(@Param("practitionerId") Long practitionerId);
+
+        @Query(SUMMARY_SELECT +
                         "WHERE b.user.id = :userId " +
                         "AND b.bookingDate > :now " +
                         "AND b.status NOT IN :excludedStatuses " +
                         "ORDER BY b.bookingDate ASC")
-        List<BookingEntity> findUpcomingBookingsByUser(Long userId, LocalDateTime now,
+        List<BookingSummaryRow> findUpcomingBookingsByUser(Long userId, LocalDateTime now,
                         List<BookingStatus> excludedStatuses);
 
-        @Query("SELECT b FROM BookingEntity b JOIN FETCH b.user JOIN FETCH b.practitioner " +
+        @Query(SUMMARY_SELECT +
                         "WHERE b.practitioner.id = :practitionerId " +
                         "AND b.bookingDate > :now " +
                         "AND b.status NOT IN :excludedStatuses " +
                         "ORDER BY b.bookingDate ASC")
-        List<BookingEntity> findUpcomingBookingsByPractitioner(Long practitionerId, LocalDateTime now,
+        List<BookingSummaryRow> findUpcomingBookingsByPractitioner(Long practitionerId, LocalDateTime now,
                         List<BookingStatus> excludedStatuses);
 
+        /** Id-ordered chunk for the unified booking backfill. */
+        List<BookingEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+        /** Id-ordered chunk of closed bookings eligible for the archive. */
+        @Query("SELECT b.id FROM BookingEntity b WHERE b.status IN :statuses AND b.bookingDate < :cutoff ORDER BY b.id ASC")
+        List<Long> findArchivableIds(@Param("statuses") List<BookingStatus> statuses,
+                        @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+        @Modifying
+        @Query("DELETE FROM BookingEntity b WHERE b.id IN :ids")
+        int deleteByIdIn(@Param("ids") List<Long> ids);
+
         boolean existsByPractitioner_IdAndBookingDate(Long practitionerId, LocalDateTime bookingDate);
 
         @Query("SELECT SUM(b.sessionFee) FROM BookingEntity b WHERE b.practitioner.id = :practitionerId AND b.status IN (com.wellness.backend.model.BookingStatus.ACCEPTED, com.wellness.backend.model.BookingStatus.CONFIRMED, com.wellness.backend.model.BookingStatus.RESCHEDULED, com.wellness.backend.model.BookingStatus.COMPLETED, com.wellness.backend.model.BookingStatus.PENDING_COMPLETION_ACTION) AND b.refunded = false AND b.bookingDate >= :start AND b.bookingDate < :end")
@@ -60,7 +96,18 @@ public interface BookingRepository extends JpaRepository<BookingEntity, Long> {
 
         List<BookingEntity> findByStatusInAndReminderSentFalse(List<BookingStatus> statuses);
 
-        List<BookingEntity> findTop5ByUser_IdOrderByBookingDateDesc(Long userId);
+        @Query("SELECT b FROM BookingEntity b JOIN FETCH b.user JOIN FETCH b.practitioner WHERE b.id = :id")
+        Optional<BookingEntity> findWithPartiesById(@Param("id") Long id);
+
+        /**
+         * Marks a due booking's reminder as sent if it is still in one of
+         * {@code statuses} and nobody sent it yet. Leaves the version alone so
+         * a user transition racing the poller does not fail its optimistic check.
+         */
+        @Modifying
+        @Query("UPDATE BookingEntity b SET b.reminderSent = true " +
+                        "WHERE b.id = :id AND b.reminderSent = false AND b.status IN :statuses")
+        int claimReminder(@Param("id") Long id, @Param("statuses") Collection<BookingStatus> statuses);
 
         @Query("SELECT b FROM BookingEntity b WHERE b.status IN (com.wellness.backend.model.BookingStatus.CONFIRMED, com.wellness.backend.model.BookingStatus.ACCEPTED) "
                         +
@@ -0,0 +1,21 @@
+package com.wellness.backend.repository;
+
+import com.wellness.backend.model.CatalogVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersionEntity, String> {
+
+    @Query("SELECT c.version FROM CatalogVersionEntity c WHERE c.id = :id")
+    Long findVersion(@Param("id") String id);
+
+    /** Atomic increment that creates the counter at 1, so concurrent first bumps cannot collide. */
+    @Modifying
+    @Query(value = "INSERT INTO catalog_versions (id, version) VALUES (:id, 1) "
+            + "ON DUPLICATE KEY UPDATE version = version + 1", nativeQuery = true)
+    int increment(@Param("id") String id);
+}
@@ -0,0 +1,30 @@
+package com.wellness.backend.repository;
+
+import com.wellness.backend.model.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+    @Modifying
+    @Query("UPDATE IdempotencyKeyEntity k SET k.statusCode = :status, k.contentType = :contentType, "
+            + "k.responseBody = :body WHERE k.id = :id AND k.statusCode IS NULL")
+    int complete(@Param("id") String id,
+            @Param("status") int status,
+            @Param("contentType") String contentType,
+            @Param("body") String body);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.id = :id AND k.statusCode IS NULL")
+    int deletePending(@Param("id") String id);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -4,6 +4,7 @@ import com.wellness.backend.model.NotificationEntity;
 import com.wellness.backend.model.NotificationType;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<NotificationEntity, Long> {
@@ -12,6 +13,8 @@ public interface NotificationRepository extends JpaRepository<NotificationEntity
 
     long countByRecipient_IdAndReadFalse(Long recipientId);
 
+    List<NotificationEntity> findByTypeAndRelatedBookingIdIn(NotificationType type, Collection<Long> relatedBookingIds);
+
     boolean existsByRecipient_IdAndTypeAndRelatedBookingId(Long recipientId, NotificationType type,
             Long relatedBookingId);
 }
@@ -4,6 +4,7 @@ import com.wellness.backend.model.OrderEntity;
 import com.wellness.backend.model.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,7 +18,10 @@ public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
 
     // Keeping these for internal use if needed, or I can remove them if they
     // conflict
-    List<OrderEntity> findByUser_Id(Long userId);
+    // Compares the foreign key directly; the derived query joined users, which
+    // led the planner to scan orders (see HotQueryPlanTest)
+    @Query("SELECT o FROM OrderEntity o WHERE o.user.id = :userId")
+    List<OrderEntity> findByUser_Id(@Param("userId") Long userId);
 
     @Query("SELECT SUM(o.totalPrice) FROM OrderEntity o WHERE o.product.provider.id = :providerId AND o.status <> 'CANCELLED' AND o.orderDate >= :start AND o.orderDate < :end")
     java.math.BigDecimal sumProductRevenueByProviderAndDateRange(Long providerId, java.time.LocalDateTime start,
@@ -33,5 +37,6 @@ public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
     java.math.BigDecimal sumProductSpentByPatientAndDateRange(Long userId, java.time.LocalDateTime start,
             java.time.LocalDateTime end);
 
-    List<OrderEntity> findTop5ByUser_IdOrderByOrderDateDesc(Long userId);
+    @Query("SELECT o FROM OrderEntity o WHERE o.user.id = :userId ORDER BY o.orderDate DESC LIMIT 5")
+    List<OrderEntity> findTop5ByUser_IdOrderByOrderDateDesc(@Param("userId") Long userId);
 }
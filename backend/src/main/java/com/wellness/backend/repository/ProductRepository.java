@@ -1,11 +1,52 @@
 package com.wellness.backend.repository;
 
+import com.wellness.backend.dto.ProductListingRow;
 import com.wellness.backend.model.ProductEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
-    List<ProductEntity> findByProvider_Id(Long providerId);
+    // Compares the foreign key directly; the derived query joined users and scanned products
+    @Query("SELECT p FROM ProductEntity p WHERE p.provider.id = :providerId")
+    List<ProductEntity> findByProvider_Id(@Param("providerId") Long providerId);
+
+    String LISTING = "SELECT new com.wellness.backend.dto.ProductListingRow(p.productId, p.name, p.description, "
+            + "p.price, p.provider.id, p.imageUrl, p.createdAt) FROM ProductEntity p ";
+
+    /*
+     * Keyset pages of the catalog, one query per ProductSort. A null cursor
+     * means the first page; each ordering is backed by its own index.
+     */
+
+    @Query(LISTING + "WHERE (:cursorAt IS NULL OR p.createdAt < :cursorAt "
+            + "OR (p.createdAt = :cursorAt AND p.productId < :cursorId)) "
+            + "ORDER BY p.createdAt DESC, p.productId DESC")
+    List<ProductListingRow> findNewestPage(@Param("cursorAt") LocalDateTime cursorAt,
+            @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query(LISTING + "WHERE (:cursorPrice IS NULL OR p.price > :cursorPrice "
+            + "OR (p.price = :cursorPrice AND p.productId > :cursorId)) "
+            + "ORDER BY p.price ASC, p.productId ASC")
+    List<ProductListingRow> findPriceAscPage(@Param("cursorPrice") BigDecimal cursorPrice,
+            @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query(LISTING + "WHERE (:cursorPrice IS NULL OR p.price < :cursorPrice "
+            + "OR (p.price = :cursorPrice AND p.productId < :cursorId)) "
+            + "ORDER BY p.price DESC, p.productId DESC")
+    List<ProductListingRow> findPriceDescPage(@Param("cursorPrice") BigDecimal cursorPrice,
+            @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query(LISTING + "WHERE (:cursorName IS NULL OR p.name > :cursorName "
+            + "OR (p.name = :cursorName AND p.productId > :cursorId)) "
+            + "ORDER BY p.name ASC, p.productId ASC")
+    List<ProductListingRow> findNamePage(@Param("cursorName") String cursorName,
+            @Param("cursorId") Long cursorId, Pageable pageable);
 }
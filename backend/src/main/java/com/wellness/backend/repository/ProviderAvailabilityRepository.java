@@ -1,15 +1,40 @@
 package com.wellness.backend.repository;
 
+import com.wellness.backend.dto.AvailabilityWindowRow;
 import com.wellness.backend.model.ProviderAvailabilityEntity;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProviderAvailabilityRepository extends JpaRepository<ProviderAvailabilityEntity, Long> {
     List<ProviderAvailabilityEntity> findByProviderId(Long providerId);
 
     List<ProviderAvailabilityEntity> findByProviderIdAndAvailableDate(Long providerId, LocalDate availableDate);
+
+    String WINDOW_SELECT = "SELECT new com.wellness.backend.dto.AvailabilityWindowRow(a.provider.id, a.availableDate, "
+            + "a.startTime, a.endTime, a.isBlocked) FROM ProviderAvailabilityEntity a ";
+
+    List<ProviderAvailabilityEntity> findByProviderIdAndAvailableDateIn(Long providerId, Collection<LocalDate> dates);
+
+    /** A provider's date-specific windows and blocks in [from, to). */
+    @Query(WINDOW_SELECT + "WHERE a.provider.id = :providerId AND a.availableDate >= :from AND a.availableDate < :to")
+    List<AvailabilityWindowRow> findWindows(@Param("providerId") Long providerId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /** Every window in [from, to) for the free-slot index rebuild. Must be consumed inside a transaction. */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(WINDOW_SELECT + "WHERE a.availableDate >= :from AND a.availableDate < :to")
+    Stream<AvailabilityWindowRow> streamWindows(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
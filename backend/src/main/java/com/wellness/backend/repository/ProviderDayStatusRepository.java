@@ -0,0 +1,72 @@
+package com.wellness.backend.repository;
+
+import com.wellness.backend.model.ProviderDayStatusEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProviderDayStatusRepository
+        extends JpaRepository<ProviderDayStatusEntity, ProviderDayStatusEntity.Key> {
+
+    /**
+     * Adds the deltas to the day's counters, creating the row on first use.
+     * A single statement, so concurrent transitions on the same day cannot
+     * lose each other's increments.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO provider_day_status (provider_id, status_date, total, completed, not_completed) "
+            + "VALUES (:providerId, :date, :total, :completed, :notCompleted) "
+            + "ON DUPLICATE KEY UPDATE total = total + VALUES(total), completed = completed + VALUES(completed), "
+            + "not_completed = not_completed + VALUES(not_completed)", nativeQuery = true)
+    int adjust(@Param("providerId") Long providerId,
+            @Param("date") LocalDate date,
+            @Param("total") int total,
+            @Param("completed") int completed,
+            @Param("notCompleted") int notCompleted);
+
+    /**
+     * Overwrites the counters of providers in [firstProviderId, lastProviderId]
+     * with counts taken from hot and archived sessions. Counting and writing
+     * are one statement, and MySQL locks the counted session rows while it
+     * runs, so a concurrent transition applies its delta either before the
+     * count or on top of it.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO provider_day_status (provider_id, status_date, total, completed, not_completed) "
+            + "SELECT s.provider_id, s.session_date, COUNT(*), "
+            + "SUM(CASE WHEN s.status = 'COMPLETED' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN s.status = 'NOT_COMPLETED' THEN 1 ELSE 0 END) "
+            + "FROM (SELECT provider_id, session_date, status FROM session_bookings "
+            + "WHERE provider_id BETWEEN :firstProviderId AND :lastProviderId "
+            + "UNION ALL SELECT provider_id, session_date, status FROM session_bookings_archive "
+            + "WHERE provider_id BETWEEN :firstProviderId AND :lastProviderId) s "
+            + "GROUP BY s.provider_id, s.session_date "
+            + "ON DUPLICATE KEY UPDATE total = VALUES(total), completed = VALUES(completed), "
+            + "not_completed = VALUES(not_completed)", nativeQuery = true)
+    int reconcile(@Param("firstProviderId") Long firstProviderId, @Param("lastProviderId") Long lastProviderId);
+
+    /** Zeroes counters in the provider range whose day no longer has any session. */
+    @Modifying
+    @Query(value = "UPDATE provider_day_status d SET total = 0, completed = 0, not_completed = 0 "
+            + "WHERE d.provider_id BETWEEN :firstProviderId AND :lastProviderId "
+            + "AND (d.total <> 0 OR d.completed <> 0 OR d.not_completed <> 0) "
+            + "AND NOT EXISTS (SELECT 1 FROM session_bookings s "
+            + "WHERE s.provider_id = d.provider_id AND s.session_date = d.status_date) "
+            + "AND NOT EXISTS (SELECT 1 FROM session_bookings_archive a "
+            + "WHERE a.provider_id = d.provider_id AND a.session_date = d.status_date)", nativeQuery = true)
+    int clearDaysWithoutSessions(@Param("firstProviderId") Long firstProviderId,
+            @Param("lastProviderId") Long lastProviderId);
+
+    /** A provider's days with sessions in [from, to], served by the primary key. */
+    @Query("SELECT d FROM ProviderDayStatusEntity d WHERE d.id.providerId = :providerId "
+            + "AND d.id.statusDate BETWEEN :from AND :to AND d.total > 0 ORDER BY d.id.statusDate")
+    List<ProviderDayStatusEntity> findRange(@Param("providerId") Long providerId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
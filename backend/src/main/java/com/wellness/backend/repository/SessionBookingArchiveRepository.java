@@ -0,0 +1,60 @@
+package com.wellness.backend.repository;
+
+import com.wellness.backend.model.SessionBookingArchiveEntity;
+import com.wellness.backend.model.SessionStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/** Archived sessions; read queries mirror {@link SessionBookingRepository}. */
+@Repository
+public interface SessionBookingArchiveRepository extends JpaRepository<SessionBookingArchiveEntity, Long> {
+
+        /** Copies the given hot rows, ids included, in a single INSERT ... SELECT. */
+        @Modifying
+        @Query("INSERT INTO SessionBookingArchiveEntity (id, version, client, provider, sessionDate, startTime, "
+                        + "endTime, duration, issueDescription, status, providerMessage, reminderSent, seriesId, "
+                        + "refunded, createdAt, updatedAt, archivedAt) "
+                        + "SELECT s.id, COALESCE(s.version, 0), s.client, s.provider, s.sessionDate, s.startTime, "
+                        + "s.endTime, s.duration, s.issueDescription, s.status, s.providerMessage, s.reminderSent, "
+                        + "s.seriesId, s.refunded, s.createdAt, s.updatedAt, :archivedAt "
+                        + "FROM SessionBookingEntity s WHERE s.id IN :ids")
+        int copyFromHot(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+        @Query("SELECT s FROM SessionBookingArchiveEntity s JOIN FETCH s.client JOIN FETCH s.provider "
+                        + "WHERE s.client.id = :clientId ORDER BY s.sessionDate DESC, s.startTime DESC, s.id DESC")
+        List<SessionBookingArchiveEntity> findHistoryByClient(@Param("clientId") Long clientId);
+
+        @Query("SELECT s FROM SessionBookingArchiveEntity s JOIN FETCH s.client JOIN FETCH s.provider "
+                        + "WHERE s.provider.id = :providerId ORDER BY s.sessionDate DESC, s.startTime DESC, s.id DESC")
+        List<SessionBookingArchiveEntity> findHistoryByProvider(@Param("providerId") Long providerId);
+
+        /** Same contract as {@link SessionBookingRepository#findProviderHistoryPage}. */
+        @Query("SELECT s FROM SessionBookingArchiveEntity s JOIN FETCH s.client JOIN FETCH s.provider " +
+                        "WHERE s.provider.id = :providerId " +
+                        "AND (:status IS NULL OR s.status = :status) " +
+                        "AND (:fromDate IS NULL OR s.sessionDate >= :fromDate) " +
+                        "AND (:toDate IS NULL OR s.sessionDate <= :toDate) " +
+                        "AND (:cursorDate IS NULL OR s.sessionDate < :cursorDate " +
+                        "OR (s.sessionDate = :cursorDate AND (s.startTime < :cursorTime " +
+                        "OR (s.startTime = :cursorTime AND s.id < :cursorId)))) " +
+                        "ORDER BY s.sessionDate DESC, s.startTime DESC, s.id DESC")
+        List<SessionBookingArchiveEntity> findProviderHistoryPage(
+                        @Param("providerId") Long providerId,
+                        @Param("status") SessionStatus status,
+                        @Param("fromDate") LocalDate fromDate,
+                        @Param("toDate") LocalDate toDate,
+                        @Param("cursorDate") LocalDate cursorDate,
+                        @Param("cursorTime") LocalTime cursorTime,
+                        @Param("cursorId") Long cursorId,
+                        Pageable pageable);
+
+}
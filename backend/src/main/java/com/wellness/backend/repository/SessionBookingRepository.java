@@ -2,21 +2,95 @@ package com.wellness.backend.repository;
 
 import com.wellness.backend.model.SessionBookingEntity;
 import com.wellness.backend.model.SessionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SessionBookingRepository extends JpaRepository<SessionBookingEntity, Long> {
 
-        List<SessionBookingEntity> findByProvider_Id(Long providerId);
+        /** Newest first, the order the archive query returns, so the two can be merged. */
+        @Query("SELECT s FROM SessionBookingEntity s JOIN FETCH s.client JOIN FETCH s.provider "
+                        + "WHERE s.provider.id = :providerId "
+                        + "ORDER BY s.sessionDate DESC, s.startTime DESC, s.id DESC")
+        List<SessionBookingEntity> findHistoryByProvider(@Param("providerId") Long providerId);
 
-        List<SessionBookingEntity> findByClient_Id(Long clientId);
+        /** Newest first, the order the archive query returns, so the two can be merged. */
+        @Query("SELECT s FROM SessionBookingEntity s JOIN FETCH s.client JOIN FETCH s.provider "
+                        + "WHERE s.client.id = :clientId "
+                        + "ORDER BY s.sessionDate DESC, s.startTime DESC, s.id DESC")
+        List<SessionBookingEntity> findHistoryByClient(@Param("clientId") Long clientId);
+
+        @Query("SELECT s FROM SessionBookingEntity s JOIN FETCH s.client JOIN FETCH s.provider " +
+                        "WHERE s.seriesId = :seriesId ORDER BY s.sessionDate ASC")
+        List<SessionBookingEntity> findSeries(@Param("seriesId") String seriesId);
+
+        /** A provider's sessions on one date in the given states, with both parties loaded for notifications. */
+        @Query("SELECT s FROM SessionBookingEntity s JOIN FETCH s.client JOIN FETCH s.provider " +
+                        "WHERE s.provider.id = :providerId AND s.sessionDate = :date AND s.status IN :statuses " +
+                        "ORDER BY s.startTime ASC, s.id ASC")
+        List<SessionBookingEntity> findDaySessions(@Param("providerId") Long providerId,
+                        @Param("date") LocalDate date,
+                        @Param("statuses") Collection<SessionStatus> statuses);
+
+        /**
+         * Set-based status change for bulk day operations. Only rows still in
+         * one of {@code from} are touched, and their version is bumped so
+         * concurrent single-session updates fail their optimistic check.
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE SessionBookingEntity s SET s.status = :to, s.version = COALESCE(s.version, 0) + 1, " +
+                        "s.updatedAt = :now " +
+                        "WHERE s.id IN :ids AND s.status IN :from")
+        int transitionAll(@Param("ids") Collection<Long> ids,
+                        @Param("from") Collection<SessionStatus> from,
+                        @Param("to") SessionStatus to,
+                        @Param("now") LocalDateTime now);
+
+        /** Bulk cancel; also retires the sessions' reminders, like cancelSessionReminders. */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE SessionBookingEntity s SET s.status = com.wellness.backend.model.SessionStatus.CANCELLED, " +
+                        "s.reminderSent = true, s.providerMessage = COALESCE(:message, s.providerMessage), " +
+                        "s.version = COALESCE(s.version, 0) + 1, s.updatedAt = :now " +
+                        "WHERE s.id IN :ids AND s.status IN :from")
+        int cancelAll(@Param("ids") Collection<Long> ids,
+                        @Param("from") Collection<SessionStatus> from,
+                        @Param("message") String message,
+                        @Param("now") LocalDateTime now);
+
+        /**
+         * Keyset page of a provider's session history ordered by (sessionDate,
+         * startTime, id) descending. Null filters and a null cursor are ignored.
+         * Backed by idx_session_provider_date.
+         */
+        @Query("SELECT s FROM SessionBookingEntity s JOIN FETCH s.client JOIN FETCH s.provider " +
+                        "WHERE s.provider.id = :providerId " +
+                        "AND (:status IS NULL OR s.status = :status) " +
+                        "AND (:fromDate IS NULL OR s.sessionDate >= :fromDate) " +
+                        "AND (:toDate IS NULL OR s.sessionDate <= :toDate) " +
+                        "AND (:cursorDate IS NULL OR s.sessionDate < :cursorDate " +
+                        "OR (s.sessionDate = :cursorDate AND (s.startTime < :cursorTime " +
+                        "OR (s.startTime = :cursorTime AND s.id < :cursorId)))) " +
+                        "ORDER BY s.sessionDate DESC, s.startTime DESC, s.id DESC")
+        List<SessionBookingEntity> findProviderHistoryPage(
+                        @Param("providerId") Long providerId,
+                        @Param("status") SessionStatus status,
+                        @Param("fromDate") LocalDate fromDate,
+                        @Param("toDate") LocalDate toDate,
+                        @Param("cursorDate") LocalDate cursorDate,
+                        @Param("cursorTime") LocalTime cursorTime,
+                        @Param("cursorId") Long cursorId,
+                        Pageable pageable);
 
         @Query("SELECT s FROM SessionBookingEntity s WHERE s.provider.id = :providerId " +
                         "AND (s.sessionDate > :currentDate OR (s.sessionDate = :currentDate AND s.startTime > :currentTime)) "
@@ -38,9 +112,35 @@ public interface SessionBookingRepository extends JpaRepository<SessionBookingEn
                         @Param("currentTime") LocalTime currentTime,
                         @Param("excludedStatuses") List<SessionStatus> excludedStatuses);
 
+        /** Id-ordered chunk for the unified booking backfill; the provider is needed for its fee. */
+        @Query("SELECT s FROM SessionBookingEntity s JOIN FETCH s.provider WHERE s.id > :id ORDER BY s.id ASC")
+        List<SessionBookingEntity> findBackfillChunk(@Param("id") Long id, Pageable pageable);
+
+        /** Id-ordered chunk of closed sessions eligible for the archive. */
+        @Query("SELECT s.id FROM SessionBookingEntity s WHERE s.status IN :statuses AND s.sessionDate < :cutoff ORDER BY s.id ASC")
+        List<Long> findArchivableIds(@Param("statuses") List<SessionStatus> statuses,
+                        @Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+        @Modifying
+        @Query("DELETE FROM SessionBookingEntity s WHERE s.id IN :ids")
+        int deleteByIdIn(@Param("ids") List<Long> ids);
+
         List<SessionBookingEntity> findByStatusInAndReminderSentFalse(List<SessionStatus> statuses);
 
-        List<SessionBookingEntity> findByProvider_IdAndSessionDate(Long providerId, LocalDate sessionDate);
+        @Query("SELECT s FROM SessionBookingEntity s JOIN FETCH s.client JOIN FETCH s.provider WHERE s.id = :id")
+        Optional<SessionBookingEntity> findWithPartiesById(@Param("id") Long id);
+
+        /**
+         * Marks a due session's reminder, and its emails, as sent if it is
+         * still in one of {@code statuses} and nobody sent it yet. Leaves the
+         * version alone: the flags are the poller's bookkeeping, so a user
+         * transition racing it must not fail its optimistic check.
+         */
+        @Modifying
+        @Query("UPDATE SessionBookingEntity s SET s.reminderSent = true, s.reminderEmailScheduled = true " +
+                        "WHERE s.id = :id AND s.reminderSent = false AND s.status IN :statuses")
+        int claimReminder(@Param("id") Long id, @Param("statuses") Collection<SessionStatus> statuses);
+
 
         List<SessionBookingEntity> findByStatusIn(List<SessionStatus> statuses);
 
@@ -0,0 +1,42 @@
+package com.wellness.backend.repository;
+
+import com.wellness.backend.model.SlotHoldEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SlotHoldRepository extends JpaRepository<SlotHoldEntity, String> {
+
+    /** Unexpired holds on a provider's time overlapping [start, end). */
+    @Query("SELECT h FROM SlotHoldEntity h WHERE h.providerId = :providerId AND h.startAt < :end "
+            + "AND h.endAt > :start AND h.expiresAt > :now")
+    List<SlotHoldEntity> findActiveOverlapping(@Param("providerId") Long providerId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("now") LocalDateTime now);
+
+    long countByClientIdAndExpiresAtAfter(Long clientId, LocalDateTime now);
+
+    /** Frees the unique (provider, start) key held by an expired row that has not been swept yet. */
+    @Modifying
+    @Query("DELETE FROM SlotHoldEntity h WHERE h.providerId = :providerId AND h.startAt = :start "
+            + "AND h.expiresAt <= :now")
+    int deleteExpiredAt(@Param("providerId") Long providerId,
+            @Param("start") LocalDateTime start,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM SlotHoldEntity h WHERE h.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM SlotHoldEntity h WHERE h.token IN :tokens")
+    int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
+}
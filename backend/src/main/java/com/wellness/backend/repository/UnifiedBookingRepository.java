@@ -0,0 +1,148 @@
+package com.wellness.backend.repository;
+
+import com.wellness.backend.dto.BookingSummaryRow;
+import com.wellness.backend.dto.OccupiedIntervalRow;
+import com.wellness.backend.model.BookingSource;
+import com.wellness.backend.model.UnifiedBookingEntity;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface UnifiedBookingRepository extends JpaRepository<UnifiedBookingEntity, Long> {
+
+        Optional<UnifiedBookingEntity> findBySourceAndSourceId(BookingSource source, Long sourceId);
+
+        /** Mirrors a bulk status change of sessions in one statement. */
+        @Modifying
+        @Query("UPDATE UnifiedBookingEntity u SET u.status = :status, u.attended = :attended, u.billable = :billable "
+                        + "WHERE u.source = com.wellness.backend.model.BookingSource.SESSION AND u.sourceId IN :ids")
+        int updateSessionStatus(@Param("ids") Collection<Long> ids,
+                        @Param("status") String status,
+                        @Param("attended") boolean attended,
+                        @Param("billable") boolean billable);
+
+        @Query("SELECT u.sourceId FROM UnifiedBookingEntity u WHERE u.source = :source AND u.sourceId IN :sourceIds")
+        List<Long> findExistingSourceIds(@Param("source") BookingSource source,
+                        @Param("sourceIds") Collection<Long> sourceIds);
+
+        /**
+         * Legacy bookings as {@link BookingSummaryRow}, ids being the booking ids.
+         * Archived bookings keep their mirror, so one query covers hot and cold
+         * rows. Ordered like the keyset cursor: newest first, then by id.
+         */
+        String BOOKING_SUMMARY_SELECT = "SELECT new com.wellness.backend.dto.BookingSummaryRow(u.sourceId, c.id, "
+                        + "c.name, c.email, u.startAt, u.duration, u.notes, u.providerComment, u.status, "
+                        + "u.sessionFee, u.refunded, p.id, p.name, p.specialization, p.profileImage, p.sessionFee) "
+                        + "FROM UnifiedBookingEntity u JOIN u.client c JOIN u.provider p "
+                        + "WHERE u.source = com.wellness.backend.model.BookingSource.BOOKING ";
+
+        String NEWEST_FIRST = " ORDER BY u.startAt DESC, u.sourceId DESC";
+
+        @Query(BOOKING_SUMMARY_SELECT + "AND p.id = :providerId" + NEWEST_FIRST)
+        List<BookingSummaryRow> findBookingSummariesByProvider(@Param("providerId") Long providerId);
+
+        @Query(BOOKING_SUMMARY_SELECT + "AND p.id = :providerId AND u.status = :status" + NEWEST_FIRST)
+        List<BookingSummaryRow> findBookingSummariesByProviderAndStatus(@Param("providerId") Long providerId,
+                        @Param("status") String status);
+
+        @Query(BOOKING_SUMMARY_SELECT + "AND p.id = :providerId AND u.status = :status AND u.startAt < :before"
+                        + NEWEST_FIRST)
+        List<BookingSummaryRow> findBookingSummariesByProviderAndStatusBefore(@Param("providerId") Long providerId,
+                        @Param("status") String status,
+                        @Param("before") LocalDateTime before);
+
+        @Query(BOOKING_SUMMARY_SELECT + "AND c.id = :clientId" + NEWEST_FIRST)
+        List<BookingSummaryRow> findBookingSummariesByClient(@Param("clientId") Long clientId);
+
+        /**
+         * Keyset page of a practitioner's bookings. Null filters and a null cursor
+         * are ignored. Backed by idx_unified_provider_start.
+         */
+        @Query(BOOKING_SUMMARY_SELECT + "AND p.id = :providerId "
+                        + "AND (:status IS NULL OR u.status = :status) "
+                        + "AND (:from IS NULL OR u.startAt >= :from) "
+                        + "AND (:to IS NULL OR u.startAt < :to) "
+                        + "AND (:cursorDate IS NULL OR u.startAt < :cursorDate "
+                        + "OR (u.startAt = :cursorDate AND u.sourceId < :cursorId))" + NEWEST_FIRST)
+        List<BookingSummaryRow> findBookingHistoryPageByProvider(@Param("providerId") Long providerId,
+                        @Param("status") String status,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to,
+                        @Param("cursorDate") LocalDateTime cursorDate,
+                        @Param("cursorId") Long cursorId,
+                        Pageable pageable);
+
+        /** Keyset page of a patient's bookings. Backed by idx_unified_client_start. */
+        @Query(BOOKING_SUMMARY_SELECT + "AND c.id = :clientId "
+                        + "AND (:status IS NULL OR u.status = :status) "
+                        + "AND (:from IS NULL OR u.startAt >= :from) "
+                        + "AND (:to IS NULL OR u.startAt < :to) "
+                        + "AND (:cursorDate IS NULL OR u.startAt < :cursorDate "
+                        + "OR (u.startAt = :cursorDate AND u.sourceId < :cursorId))" + NEWEST_FIRST)
+        List<BookingSummaryRow> findBookingHistoryPageByClient(@Param("clientId") Long clientId,
+                        @Param("status") String status,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to,
+                        @Param("cursorDate") LocalDateTime cursorDate,
+                        @Param("cursorId") Long cursorId,
+                        Pageable pageable);
+
+        long countByClient_IdAndAttendedTrue(Long clientId);
+
+        @Query("SELECT SUM(u.sessionFee) FROM UnifiedBookingEntity u WHERE u.client.id = :clientId AND u.billable = true")
+        BigDecimal sumSpentByClient(@Param("clientId") Long clientId);
+
+        @Query("SELECT SUM(u.sessionFee) FROM UnifiedBookingEntity u WHERE u.client.id = :clientId AND u.billable = true "
+                        + "AND u.startAt >= :start AND u.startAt < :end")
+        BigDecimal sumSpentByClientAndDateRange(@Param("clientId") Long clientId,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end);
+
+        @Query("SELECT SUM(u.sessionFee) FROM UnifiedBookingEntity u WHERE u.provider.id = :providerId "
+                        + "AND u.billable = true")
+        BigDecimal sumEarnedByProvider(@Param("providerId") Long providerId);
+
+        @Query("SELECT SUM(u.sessionFee) FROM UnifiedBookingEntity u WHERE u.provider.id = :providerId "
+                        + "AND u.billable = true AND u.startAt >= :start AND u.startAt < :end")
+        BigDecimal sumEarnedByProviderAndDateRange(@Param("providerId") Long providerId,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end);
+
+        @Query("SELECT u FROM UnifiedBookingEntity u JOIN FETCH u.client JOIN FETCH u.provider "
+                        + "WHERE u.client.id = :clientId ORDER BY u.startAt DESC")
+        List<UnifiedBookingEntity> findRecentByClient(@Param("clientId") Long clientId, Pageable pageable);
+
+        String OCCUPIED_SELECT = "SELECT new com.wellness.backend.dto.OccupiedIntervalRow(u.provider.id, u.startAt, "
+                        + "u.duration) FROM UnifiedBookingEntity u ";
+
+        /** Bookings and sessions holding a provider's time in [start, end). Backed by idx_unified_provider_start. */
+        @Query(OCCUPIED_SELECT + "WHERE u.provider.id = :providerId AND u.startAt >= :start AND u.startAt < :end "
+                        + "AND u.status NOT IN :freeStatuses")
+        List<OccupiedIntervalRow> findOccupiedIntervals(@Param("providerId") Long providerId,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end,
+                        @Param("freeStatuses") Collection<String> freeStatuses);
+
+        /** All providers' occupied intervals in [start, end). Must be consumed inside a transaction. */
+        @QueryHints({
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                        @QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_READ_ONLY, value = "true")
+        })
+        @Query(OCCUPIED_SELECT + "WHERE u.startAt >= :start AND u.startAt < :end AND u.status NOT IN :freeStatuses")
+        Stream<OccupiedIntervalRow> streamOccupiedIntervals(@Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end,
+                        @Param("freeStatuses") Collection<String> freeStatuses);
+}
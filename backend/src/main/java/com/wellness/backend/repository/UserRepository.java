@@ -1,16 +1,60 @@
 package com.wellness.backend.repository;
 
+import com.wellness.backend.dto.PractitionerCardDTO;
 import com.wellness.backend.model.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
 import java.util.Optional;
 import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
-    Optional<UserEntity> findByEmail(String email);
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserRepositoryCustom {
 
     Optional<UserEntity> findByVerificationToken(String token);
 
     List<UserEntity> findByRole(String role);
+
+    List<UserEntity> findByRoleAndVerificationStatus(String role, String verificationStatus);
+
+    /**
+     * Keyset page of approved practitioners ordered by (name, id). Null filters
+     * and a null cursor are ignored. Backed by idx_user_directory.
+     */
+    @Query("SELECT new com.wellness.backend.dto.PractitionerCardDTO(u.id, u.name, u.specialization, u.city, "
+            + "u.country, u.profileImage, u.sessionFee) FROM UserEntity u "
+            + "WHERE u.role = 'PROVIDER' AND u.verificationStatus = 'APPROVED' "
+            + "AND (:specialization IS NULL OR u.specialization = :specialization) "
+            + "AND (:city IS NULL OR u.city = :city) "
+            + "AND (:country IS NULL OR u.country = :country) "
+            + "AND (:minFee IS NULL OR u.sessionFee >= :minFee) "
+            + "AND (:maxFee IS NULL OR u.sessionFee <= :maxFee) "
+            + "AND (:cursorName IS NULL OR u.name > :cursorName "
+            + "OR (u.name = :cursorName AND u.id > :cursorId)) "
+            + "ORDER BY u.name ASC, u.id ASC")
+    List<PractitionerCardDTO> findDirectoryPage(
+            @Param("specialization") String specialization,
+            @Param("city") String city,
+            @Param("country") String country,
+            @Param("minFee") BigDecimal minFee,
+            @Param("maxFee") BigDecimal maxFee,
+            @Param("cursorName") String cursorName,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    /** Keyset page of user ids above the cursor, in id order. */
+    @Query("SELECT u.id FROM UserEntity u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Locks the user's row until the transaction ends. Slot holds and
+     * bookings take the provider's lock before checking for overlaps, so the
+     * check and the write cannot interleave with another node's.
+     */
+    @Query(value = "SELECT id FROM users WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("id") Long id);
 }
@@ -0,0 +1,11 @@
+package com.wellness.backend.repository;
+
+import com.wellness.backend.model.UserEntity;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /** Resolved through the natural-id cache instead of a query on every call. */
+    Optional<UserEntity> findByEmail(String email);
+}
@@ -0,0 +1,65 @@
+package com.wellness.backend.repository;
+
+import com.wellness.backend.model.WaitlistEntryEntity;
+import com.wellness.backend.model.WaitlistStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntryEntity, Long> {
+
+    /** Head of the (provider, date) queue, oldest first. Backed by idx_waitlist_queue. */
+    @Query("SELECT w FROM WaitlistEntryEntity w JOIN FETCH w.client JOIN FETCH w.provider "
+            + "WHERE w.provider.id = :providerId AND w.waitDate = :date "
+            + "AND w.status = com.wellness.backend.model.WaitlistStatus.WAITING "
+            + "ORDER BY w.createdAt ASC, w.id ASC")
+    List<WaitlistEntryEntity> findQueue(@Param("providerId") Long providerId,
+            @Param("date") LocalDate date,
+            Pageable pageable);
+
+    @Query("SELECT w FROM WaitlistEntryEntity w JOIN FETCH w.provider "
+            + "WHERE w.client.id = :clientId AND w.status IN :statuses ORDER BY w.waitDate ASC, w.id ASC")
+    List<WaitlistEntryEntity> findByClient(@Param("clientId") Long clientId,
+            @Param("statuses") Collection<WaitlistStatus> statuses);
+
+    @Query("SELECT w FROM WaitlistEntryEntity w WHERE w.provider.id = :providerId AND w.client.id = :clientId "
+            + "AND w.waitDate = :date AND w.status IN :statuses")
+    List<WaitlistEntryEntity> findOpen(@Param("providerId") Long providerId,
+            @Param("clientId") Long clientId,
+            @Param("date") LocalDate date,
+            @Param("statuses") Collection<WaitlistStatus> statuses);
+
+    long countByClient_IdAndStatusIn(Long clientId, Collection<WaitlistStatus> statuses);
+
+    /** Claims a waiting entry for an offer; 0 if it left the queue meanwhile. */
+    @Modifying
+    @Query("UPDATE WaitlistEntryEntity w SET w.status = com.wellness.backend.model.WaitlistStatus.OFFERED, "
+            + "w.holdToken = :token, w.offeredStart = :start, w.offeredEnd = :end, w.offerExpiresAt = :expiresAt "
+            + "WHERE w.id = :id AND w.status = com.wellness.backend.model.WaitlistStatus.WAITING")
+    int markOffered(@Param("id") Long id,
+            @Param("token") String token,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    /** Closes the offer backed by an expired hold; 0 if it was accepted or withdrawn first. */
+    @Modifying
+    @Query("UPDATE WaitlistEntryEntity w SET w.status = com.wellness.backend.model.WaitlistStatus.EXPIRED, "
+            + "w.closedAt = :now "
+            + "WHERE w.holdToken = :token AND w.status = com.wellness.backend.model.WaitlistStatus.OFFERED")
+    int expireOffer(@Param("token") String token, @Param("now") LocalDateTime now);
+
+    /** Offers whose hold lapsed without an expiry event, e.g. on a node that restarted. */
+    @Query("SELECT w FROM WaitlistEntryEntity w WHERE w.status = com.wellness.backend.model.WaitlistStatus.OFFERED "
+            + "AND w.offerExpiresAt < :cutoff")
+    List<WaitlistEntryEntity> findLapsedOffers(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
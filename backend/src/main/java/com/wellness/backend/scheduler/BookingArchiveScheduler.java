@@ -0,0 +1,50 @@
+package com.wellness.backend.scheduler;
+
+import com.wellness.backend.service.BookingArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Periodically moves closed bookings and sessions older than the retention
+ * window into the archive tables, one chunk per transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "archive.bookings.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class BookingArchiveScheduler {
+
+    private final BookingArchiveService bookingArchiveService;
+
+    @Value("${archive.bookings.retention-days:90}")
+    private int retentionDays;
+
+    @Scheduled(cron = "${archive.bookings.cron:0 30 3 * * *}")
+    public void archiveClosedBookings() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        try {
+            long bookings = 0;
+            int moved;
+            while ((moved = bookingArchiveService.archiveBookingsChunk(cutoff)) > 0) {
+                bookings += moved;
+            }
+
+            long sessions = 0;
+            while ((moved = bookingArchiveService.archiveSessionsChunk(cutoff.toLocalDate())) > 0) {
+                sessions += moved;
+            }
+
+            log.info("🗄 Archived {} bookings and {} sessions closed before {}", bookings, sessions,
+                    cutoff.toLocalDate());
+        } catch (Exception e) {
+            log.error("❌ Error while archiving closed bookings", e);
+        }
+    }
+}
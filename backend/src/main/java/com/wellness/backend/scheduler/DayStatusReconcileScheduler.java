@@ -0,0 +1,36 @@
+package com.wellness.backend.scheduler;
+
+import com.wellness.backend.service.DayStatusService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rewrites the calendar status counters from the sessions at startup and
+ * nightly, so a delta that was missed or applied twice does not stick.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DayStatusReconcileScheduler {
+
+    private final DayStatusService dayStatusService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${day-status.reconcile-cron:0 45 3 * * *}")
+    public void reconcile() {
+        try {
+            int chunks = dayStatusService.reconcile();
+            log.info("🗓️ Reconciled calendar status in {} provider ranges", chunks);
+        } catch (Exception e) {
+            log.error("❌ Error while reconciling calendar status", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.wellness.backend.scheduler;
+
+import com.wellness.backend.service.FreeSlotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the free-slot index at startup and rebuilds it periodically to roll
+ * the horizon past midnight and pick up newly approved providers.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FreeSlotIndexScheduler {
+
+    private final FreeSlotService freeSlotService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        freeSlotService.rebuild();
+    }
+
+    @Scheduled(cron = "${slots.index.rebuild-cron:0 */15 * * * *}")
+    public void rebuild() {
+        try {
+            freeSlotService.rebuild();
+        } catch (Exception e) {
+            log.error("❌ Error while rebuilding the free-slot index", e);
+        }
+    }
+}
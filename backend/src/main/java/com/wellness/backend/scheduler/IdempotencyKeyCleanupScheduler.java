@@ -0,0 +1,27 @@
+package com.wellness.backend.scheduler;
+
+import com.wellness.backend.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyKeyCleanupScheduler {
+
+    private final IdempotencyService idempotencyService;
+
+    @Scheduled(cron = "${idempotency.cleanup-cron:0 5 * * * *}")
+    public void deleteExpiredKeys() {
+        try {
+            int deleted = idempotencyService.deleteExpired();
+            if (deleted > 0) {
+                log.info("🧹 Deleted {} expired idempotency keys", deleted);
+            }
+        } catch (Exception e) {
+            log.error("❌ Idempotency key cleanup failed", e);
+        }
+    }
+}
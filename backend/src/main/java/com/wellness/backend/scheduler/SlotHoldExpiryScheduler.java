@@ -0,0 +1,31 @@
+package com.wellness.backend.scheduler;
+
+import com.wellness.backend.service.SlotHoldService;
+import com.wellness.backend.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotHoldExpiryScheduler {
+
+    private final SlotHoldService slotHoldService;
+    private final WaitlistService waitlistService;
+
+    @Scheduled(fixedDelayString = "${slots.hold.sweep-interval-ms:5000}")
+    public void expireHolds() {
+        try {
+            slotHoldService.expireHolds();
+        } catch (Exception e) {
+            log.error("❌ Slot hold expiry failed", e);
+        }
+        try {
+            waitlistService.expireLapsedOffers();
+        } catch (Exception e) {
+            log.error("❌ Lapsed waitlist offer sweep failed", e);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.wellness.backend.service;
 
 import com.wellness.backend.dto.*;
-import com.wellness.backend.model.BookingStatus;
-import com.wellness.backend.repository.BookingRepository;
+import com.wellness.backend.model.UnifiedBookingEntity;
 import com.wellness.backend.repository.OrderRepository;
+import com.wellness.backend.repository.UnifiedBookingRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -20,10 +22,10 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AnalyticsService {
 
-        private final BookingRepository bookingRepository;
-        private final com.wellness.backend.repository.SessionBookingRepository sessionBookingRepository;
         private final OrderRepository orderRepository;
+        private final UnifiedBookingRepository unifiedBookingRepository;
 
+        @Transactional(readOnly = true)
         public PractitionerAnalyticsDTO getPractitionerAnalytics(Long practitionerId) {
                 LocalDateTime now = LocalDateTime.now();
                 LocalDateTime todayStart = now.with(LocalTime.MIN);
@@ -41,15 +43,14 @@ public class AnalyticsService {
 
                 // Daily
                 BigDecimal sessionToday = orZero(
-                                bookingRepository.sumSessionRevenueByPractitionerAndDateRange(practitionerId,
+                                sessionRevenue(practitionerId,
                                                 todayStart, now));
                 BigDecimal productToday = orZero(
                                 orderRepository.sumProductRevenueByProviderAndDateRange(practitionerId, todayStart,
                                                 now));
                 BigDecimal totalToday = sessionToday.add(productToday);
 
-                BigDecimal sessionYesterday = orZero(bookingRepository
-                                .sumSessionRevenueByPractitionerAndDateRange(practitionerId, yesterdayStart,
+                BigDecimal sessionYesterday = orZero(sessionRevenue(practitionerId, yesterdayStart,
                                                 todayStart));
                 BigDecimal productYesterday = orZero(
                                 orderRepository.sumProductRevenueByProviderAndDateRange(practitionerId, yesterdayStart,
@@ -58,15 +59,14 @@ public class AnalyticsService {
 
                 // Weekly
                 BigDecimal sessionThisWeek = orZero(
-                                bookingRepository.sumSessionRevenueByPractitionerAndDateRange(practitionerId, weekStart,
+                                sessionRevenue(practitionerId, weekStart,
                                                 now));
                 BigDecimal productThisWeek = orZero(
                                 orderRepository.sumProductRevenueByProviderAndDateRange(practitionerId, weekStart,
                                                 now));
                 BigDecimal totalThisWeek = sessionThisWeek.add(productThisWeek);
 
-                BigDecimal sessionPrevWeek = orZero(bookingRepository
-                                .sumSessionRevenueByPractitionerAndDateRange(practitionerId, prevWeekStart, weekStart));
+                BigDecimal sessionPrevWeek = orZero(sessionRevenue(practitionerId, prevWeekStart, weekStart));
                 BigDecimal productPrevWeek = orZero(
                                 orderRepository.sumProductRevenueByProviderAndDateRange(practitionerId, prevWeekStart,
                                                 weekStart));
@@ -74,15 +74,14 @@ public class AnalyticsService {
 
                 // Monthly
                 BigDecimal sessionThisMonth = orZero(
-                                bookingRepository.sumSessionRevenueByPractitionerAndDateRange(practitionerId,
+                                sessionRevenue(practitionerId,
                                                 monthStart, now));
                 BigDecimal productThisMonth = orZero(
                                 orderRepository.sumProductRevenueByProviderAndDateRange(practitionerId, monthStart,
                                                 now));
                 BigDecimal totalThisMonth = sessionThisMonth.add(productThisMonth);
 
-                BigDecimal sessionPrevMonth = orZero(bookingRepository
-                                .sumSessionRevenueByPractitionerAndDateRange(practitionerId, prevMonthStart,
+                BigDecimal sessionPrevMonth = orZero(sessionRevenue(practitionerId, prevMonthStart,
                                                 monthStart));
                 BigDecimal productPrevMonth = orZero(
                                 orderRepository.sumProductRevenueByProviderAndDateRange(practitionerId, prevMonthStart,
@@ -91,15 +90,14 @@ public class AnalyticsService {
 
                 // Yearly
                 BigDecimal sessionThisYear = orZero(
-                                bookingRepository.sumSessionRevenueByPractitionerAndDateRange(practitionerId, yearStart,
+                                sessionRevenue(practitionerId, yearStart,
                                                 now));
                 BigDecimal productThisYear = orZero(
                                 orderRepository.sumProductRevenueByProviderAndDateRange(practitionerId, yearStart,
                                                 now));
                 BigDecimal totalThisYear = sessionThisYear.add(productThisYear);
 
-                BigDecimal sessionPrevYear = orZero(bookingRepository
-                                .sumSessionRevenueByPractitionerAndDateRange(practitionerId, prevYearStart, yearStart));
+                BigDecimal sessionPrevYear = orZero(sessionRevenue(practitionerId, prevYearStart, yearStart));
                 BigDecimal productPrevYear = orZero(
                                 orderRepository.sumProductRevenueByProviderAndDateRange(practitionerId, prevYearStart,
                                                 yearStart));
@@ -107,7 +105,7 @@ public class AnalyticsService {
 
                 // All Time
                 BigDecimal totalSessionAllTime = orZero(
-                                bookingRepository.sumTotalSessionRevenueByPractitioner(practitionerId));
+                                totalSessionRevenue(practitionerId));
                 BigDecimal totalProductAllTime = orZero(
                                 orderRepository.sumTotalProductRevenueByProvider(practitionerId));
                 BigDecimal totalAllTime = totalSessionAllTime.add(totalProductAllTime);
@@ -134,58 +132,35 @@ public class AnalyticsService {
                                 .build();
         }
 
+        @Transactional(readOnly = true)
         public PatientAnalyticsDTO getPatientAnalytics(Long userId) {
                 LocalDateTime now = LocalDateTime.now();
                 LocalDateTime monthStart = now.with(TemporalAdjusters.firstDayOfMonth()).with(LocalTime.MIN);
                 LocalDateTime yearStart = now.with(TemporalAdjusters.firstDayOfYear()).with(LocalTime.MIN);
 
-                long sessionsAttendedLegacy = bookingRepository.countByUser_IdAndStatusIn(userId,
-                                List.of(BookingStatus.ACCEPTED, BookingStatus.CONFIRMED, BookingStatus.RESCHEDULED,
-                                                BookingStatus.COMPLETED, BookingStatus.PENDING_COMPLETION_ACTION));
-                long sessionsAttendedSmart = sessionBookingRepository.countByClient_IdAndStatusIn(userId,
-                                List.of(com.wellness.backend.model.SessionStatus.ACCEPTED,
-                                                com.wellness.backend.model.SessionStatus.CONFIRMED,
-                                                com.wellness.backend.model.SessionStatus.RESCHEDULE_REQUESTED,
-                                                com.wellness.backend.model.SessionStatus.COMPLETED,
-                                                com.wellness.backend.model.SessionStatus.PENDING_COMPLETION_ACTION));
-                long sessionsAttended = sessionsAttendedLegacy + sessionsAttendedSmart;
-
-                BigDecimal totalSessionSpentLegacy = orZero(bookingRepository.sumTotalSessionSpentByPatient(userId));
-                BigDecimal totalSessionSpentSmart = orZero(
-                                sessionBookingRepository.sumTotalSessionSpentByPatient(userId));
-                BigDecimal totalSessionSpent = totalSessionSpentLegacy.add(totalSessionSpentSmart);
+                // Sessions and legacy bookings both live in unified_bookings, so each
+                // metric is a single query instead of one per source table.
+                long sessionsAttended = unifiedBookingRepository.countByClient_IdAndAttendedTrue(userId);
+                BigDecimal totalSessionSpent = orZero(unifiedBookingRepository.sumSpentByClient(userId));
 
                 BigDecimal totalProductSpent = orZero(orderRepository.sumTotalProductSpentByPatient(userId));
                 BigDecimal totalSpent = totalSessionSpent.add(totalProductSpent);
 
                 BigDecimal sessionThisMonth = orZero(
-                                bookingRepository.sumSessionSpentByPatientAndDateRange(userId, monthStart, now));
+                                unifiedBookingRepository.sumSpentByClientAndDateRange(userId, monthStart, now));
                 BigDecimal productThisMonth = orZero(
                                 orderRepository.sumProductSpentByPatientAndDateRange(userId, monthStart, now));
                 BigDecimal monthlySpent = sessionThisMonth.add(productThisMonth);
 
                 BigDecimal sessionThisYear = orZero(
-                                bookingRepository.sumSessionSpentByPatientAndDateRange(userId, yearStart, now));
+                                unifiedBookingRepository.sumSpentByClientAndDateRange(userId, yearStart, now));
                 BigDecimal productThisYear = orZero(
                                 orderRepository.sumProductSpentByPatientAndDateRange(userId, yearStart, now));
                 BigDecimal yearlySpent = sessionThisYear.add(productThisYear);
 
-                List<BookingResponseDTO> recentLegacy = bookingRepository
-                                .findTop5ByUser_IdOrderByBookingDateDesc(userId)
-                                .stream().map(this::mapToBookingDTO).collect(Collectors.toList());
-
-                List<BookingResponseDTO> recentSmart = sessionBookingRepository
-                                .findTop5ByClient_IdOrderBySessionDateDescStartTimeDesc(userId)
-                                .stream().map(this::mapSessionToBookingDTO).collect(Collectors.toList());
-
-                // Merge and take top 5
-                List<BookingResponseDTO> recentSessions = new java.util.ArrayList<>();
-                recentSessions.addAll(recentLegacy);
-                recentSessions.addAll(recentSmart);
-                recentSessions.sort((a, b) -> b.getBookingDate().compareTo(a.getBookingDate()));
-                if (recentSessions.size() > 5) {
-                        recentSessions = recentSessions.subList(0, 5);
-                }
+                List<BookingResponseDTO> recentSessions = unifiedBookingRepository
+                                .findRecentByClient(userId, PageRequest.of(0, 5))
+                                .stream().map(this::mapUnifiedToBookingDTO).collect(Collectors.toList());
 
                 List<OrderDTO> recentOrders = orderRepository.findTop5ByUser_IdOrderByOrderDateDesc(userId)
                                 .stream().map(this::mapToOrderDTO).collect(Collectors.toList());
@@ -202,6 +177,18 @@ public class AnalyticsService {
                                 .build();
         }
 
+        /**
+         * Billable bookings and sessions, hot and archived, from unified_bookings:
+         * one query per range instead of one per source table.
+         */
+        private BigDecimal sessionRevenue(Long practitionerId, LocalDateTime start, LocalDateTime end) {
+                return orZero(unifiedBookingRepository.sumEarnedByProviderAndDateRange(practitionerId, start, end));
+        }
+
+        private BigDecimal totalSessionRevenue(Long practitionerId) {
+                return orZero(unifiedBookingRepository.sumEarnedByProvider(practitionerId));
+        }
+
         private BigDecimal orZero(BigDecimal val) {
                 return val == null ? BigDecimal.ZERO : val;
         }
@@ -216,62 +203,29 @@ public class AnalyticsService {
                                 .doubleValue();
         }
 
-        private BookingResponseDTO mapToBookingDTO(com.wellness.backend.model.BookingEntity b) {
-                BookingResponseDTO dto = new BookingResponseDTO();
-                dto.setId(b.getId());
-                dto.setUserId(b.getUser().getId());
-                dto.setClientName(b.getUser().getName());
-                dto.setBookingDate(b.getBookingDate());
-                if (b.getBookingDate() != null) {
-                        dto.setStartTime(b.getBookingDate().toLocalTime().toString());
-                }
-                dto.setDuration(b.getDuration());
-                dto.setStatus(b.getStatus().name());
-                dto.setNotes(b.getNotes());
-                dto.setPractitionerComment(b.getPractitionerComment());
-                dto.setSessionFee(b.getSessionFee());
-
-                if (b.getPractitioner() != null) {
-                        String profileImg = b.getPractitioner().getProfileImage();
-                        if (profileImg != null && !profileImg.startsWith("http")) {
-                                profileImg = "http://localhost:8080/uploads/" + profileImg;
-                        }
-                        dto.setPractitioner(UserDTO.builder()
-                                        .id(b.getPractitioner().getId())
-                                        .fullName(b.getPractitioner().getName())
-                                        .specialization(b.getPractitioner().getSpecialization())
-                                        .profileImage(profileImg)
-                                        .build());
-                }
-                return dto;
-        }
-
-        private BookingResponseDTO mapSessionToBookingDTO(com.wellness.backend.model.SessionBookingEntity s) {
+        private BookingResponseDTO mapUnifiedToBookingDTO(UnifiedBookingEntity u) {
                 BookingResponseDTO dto = new BookingResponseDTO();
-                dto.setId(s.getId());
-                dto.setUserId(s.getClient().getId());
-                dto.setClientName(s.getClient().getName());
-                // Combine date and time for consistent LocalDateTime handling
-                dto.setBookingDate(LocalDateTime.of(s.getSessionDate(), s.getStartTime()));
-                dto.setStartTime(s.getStartTime().toString());
-                dto.setDuration(s.getDuration());
-                dto.setStatus(s.getStatus().name());
-                dto.setNotes(s.getIssueDescription());
-                dto.setPractitionerComment(s.getProviderMessage());
-                dto.setSessionFee(s.getProvider().getSessionFee());
-
-                if (s.getProvider() != null) {
-                        String profileImg = s.getProvider().getProfileImage();
-                        if (profileImg != null && !profileImg.startsWith("http")) {
-                                profileImg = "http://localhost:8080/uploads/" + profileImg;
-                        }
-                        dto.setPractitioner(UserDTO.builder()
-                                        .id(s.getProvider().getId())
-                                        .fullName(s.getProvider().getName())
-                                        .specialization(s.getProvider().getSpecialization())
-                                        .profileImage(profileImg)
-                                        .build());
+                dto.setId(u.getSourceId());
+                dto.setUserId(u.getClient().getId());
+                dto.setClientName(u.getClient().getName());
+                dto.setBookingDate(u.getStartAt());
+                dto.setStartTime(u.getStartAt().toLocalTime().toString());
+                dto.setDuration(u.getDuration());
+                dto.setStatus(u.getStatus());
+                dto.setNotes(u.getNotes());
+                dto.setPractitionerComment(u.getProviderComment());
+                dto.setSessionFee(u.getSessionFee());
+
+                String profileImg = u.getProvider().getProfileImage();
+                if (profileImg != null && !profileImg.startsWith("http")) {
+                        profileImg = "http://localhost:8080/uploads/" + profileImg;
                 }
+                dto.setPractitioner(UserDTO.builder()
+                                .id(u.getProvider().getId())
+                                .fullName(u.getProvider().getName())
+                                .specialization(u.getProvider().getSpecialization())
+                                .profileImage(profileImg)
+                                .build());
                 return dto;
         }
 
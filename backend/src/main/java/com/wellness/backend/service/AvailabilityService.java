@@ -0,0 +1,264 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.AvailabilityBulkRequestDTO;
+import com.wellness.backend.dto.AvailabilityDayDTO;
+import com.wellness.backend.dto.AvailabilityTemplateRow;
+import com.wellness.backend.dto.AvailabilityWindowRow;
+import com.wellness.backend.dto.DateAvailabilityDTO;
+import com.wellness.backend.dto.TimeRangeDTO;
+import com.wellness.backend.dto.WeeklyAvailabilityDTO;
+import com.wellness.backend.exception.ForbiddenActionException;
+import com.wellness.backend.exception.ResourceNotFoundException;
+import com.wellness.backend.model.AvailabilityTemplateEntity;
+import com.wellness.backend.model.ProviderAvailabilityEntity;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.AvailabilityTemplateRepository;
+import com.wellness.backend.repository.ProviderAvailabilityRepository;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.util.SlotBitmaps;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Provider schedules: a weekly recurring template plus date-specific
+ * windows and blocks in provider_availability. Templates are expanded when
+ * read, so a year-long schedule is a handful of rows instead of one row per
+ * date.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityService {
+
+    public static final int MAX_RANGE_DAYS = 92;
+    public static final int MAX_DATES_PER_REQUEST = 366;
+    public static final int MAX_WEEKLY_WINDOWS = 100;
+
+    private static final Comparator<TimeRangeDTO> BY_START = Comparator.comparing(TimeRangeDTO::getStartTime);
+
+    private final UserRepository userRepository;
+    private final ProviderAvailabilityRepository providerAvailabilityRepository;
+    private final AvailabilityTemplateRepository availabilityTemplateRepository;
+    private final FreeSlotService freeSlotService;
+
+    /** Effective availability for each date in [{@code from}, {@code to}], inclusive. */
+    @Transactional(readOnly = true)
+    public List<AvailabilityDayDTO> getAvailability(Long providerId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        requireProvider(providerId);
+        return getEffectiveAvailability(providerId, from, to);
+    }
+
+    /** Unchecked expansion for internal callers such as series booking; one query per source. */
+    @Transactional(readOnly = true)
+    public List<AvailabilityDayDTO> getEffectiveAvailability(Long providerId, LocalDate from, LocalDate to) {
+        List<AvailabilityTemplateRow> templates = availabilityTemplateRepository.findTemplates(providerId);
+        Map<LocalDate, List<AvailabilityWindowRow>> byDate = providerAvailabilityRepository
+                .findWindows(providerId, from, to.plusDays(1)).stream()
+                .collect(Collectors.groupingBy(AvailabilityWindowRow::getDate));
+
+        List<AvailabilityDayDTO> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            List<TimeRangeDTO> windows = new ArrayList<>();
+            List<TimeRangeDTO> blocks = new ArrayList<>();
+            for (AvailabilityWindowRow row : byDate.getOrDefault(date, List.of())) {
+                (row.isBlocked() ? blocks : windows).add(new TimeRangeDTO(row.getStartTime(), row.getEndTime()));
+            }
+
+            String source = AvailabilityDayDTO.SOURCE_DATE;
+            if (windows.isEmpty()) {
+                LocalDate day = date;
+                templates.stream()
+                        .filter(t -> t.appliesOn(day))
+                        .forEach(t -> windows.add(new TimeRangeDTO(t.getStartTime(), t.getEndTime())));
+                source = windows.isEmpty() ? AvailabilityDayDTO.SOURCE_NONE : AvailabilityDayDTO.SOURCE_TEMPLATE;
+            }
+            windows.sort(BY_START);
+            blocks.sort(BY_START);
+            days.add(AvailabilityDayDTO.builder()
+                    .date(date)
+                    .source(source)
+                    .windows(windows)
+                    .blocks(blocks)
+                    .build());
+        }
+        return days;
+    }
+
+    @Transactional(readOnly = true)
+    public List<WeeklyAvailabilityDTO> getWeeklyTemplate(Long providerId) {
+        requireProvider(providerId);
+        return availabilityTemplateRepository.findTemplates(providerId).stream()
+                .sorted(Comparator.comparing(AvailabilityTemplateRow::getDayOfWeek)
+                        .thenComparing(AvailabilityTemplateRow::getStartTime))
+                .map(t -> WeeklyAvailabilityDTO.builder()
+                        .dayOfWeek(t.getDayOfWeek())
+                        .startTime(t.getStartTime())
+                        .endTime(t.getEndTime())
+                        .validFrom(t.getValidFrom())
+                        .validUntil(t.getValidUntil())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Applies a whole schedule change in one transaction: the weekly template
+     * is replaced if given, and each listed date has its rows replaced. All
+     * inserts go out as JDBC batches. The free-slot index is refreshed for
+     * the affected days once the transaction commits.
+     */
+    @Transactional
+    public Map<String, Object> bulkUpsert(String providerEmail, AvailabilityBulkRequestDTO request) {
+        UserEntity provider = userRepository.findByEmail(providerEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + providerEmail));
+        if (!"PROVIDER".equals(provider.getRole())) {
+            throw new ForbiddenActionException("Only providers can publish availability");
+        }
+        List<WeeklyAvailabilityDTO> weekly = request.getWeekly();
+        List<DateAvailabilityDTO> dates = request.getDates() != null ? request.getDates() : List.of();
+        if (weekly == null && dates.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+
+        int templatesSaved = 0;
+        if (weekly != null) {
+            templatesSaved = replaceWeeklyTemplate(provider, weekly);
+        }
+        int rowsSaved = dates.isEmpty() ? 0 : replaceDates(provider, dates);
+
+        if (weekly != null) {
+            freeSlotService.refreshProviderAfterCommit(provider.getId());
+        } else {
+            LocalDate first = dates.stream().map(DateAvailabilityDTO::getDate).min(LocalDate::compareTo).orElseThrow();
+            LocalDate last = dates.stream().map(DateAvailabilityDTO::getDate).max(LocalDate::compareTo).orElseThrow();
+            freeSlotService.refreshAfterCommit(provider.getId(), first, last.plusDays(1));
+        }
+
+        log.info("🗓️ Availability updated for provider {}: {} weekly windows, {} dates ({} rows)",
+                provider.getId(), weekly != null ? templatesSaved : "unchanged", dates.size(), rowsSaved);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("message", "Availability updated successfully");
+        if (weekly != null) {
+            result.put("weeklyWindows", templatesSaved);
+        }
+        result.put("dates", dates.size());
+        return result;
+    }
+
+    private int replaceWeeklyTemplate(UserEntity provider, List<WeeklyAvailabilityDTO> weekly) {
+        if (weekly.size() > MAX_WEEKLY_WINDOWS) {
+            throw new IllegalArgumentException("At most " + MAX_WEEKLY_WINDOWS + " weekly windows are allowed");
+        }
+        Set<String> seen = new HashSet<>();
+        List<AvailabilityTemplateEntity> templates = new ArrayList<>();
+        for (WeeklyAvailabilityDTO dto : weekly) {
+            validateRange(dto.getStartTime(), dto.getEndTime());
+            if (dto.getValidFrom() != null && dto.getValidUntil() != null
+                    && dto.getValidUntil().isBefore(dto.getValidFrom())) {
+                throw new IllegalArgumentException("validUntil must not be before validFrom");
+            }
+            if (!seen.add(dto.getDayOfWeek() + "|" + dto.getStartTime() + "|" + dto.getEndTime())) {
+                continue;
+            }
+            AvailabilityTemplateEntity template = new AvailabilityTemplateEntity();
+            template.setProvider(provider);
+            template.setDayOfWeek(dto.getDayOfWeek());
+            template.setStartTime(dto.getStartTime());
+            template.setEndTime(dto.getEndTime());
+            template.setValidFrom(dto.getValidFrom());
+            template.setValidUntil(dto.getValidUntil());
+            templates.add(template);
+        }
+
+        availabilityTemplateRepository.deleteByProviderId(provider.getId());
+        availabilityTemplateRepository.saveAll(templates);
+        return templates.size();
+    }
+
+    private int replaceDates(UserEntity provider, List<DateAvailabilityDTO> dates) {
+        if (dates.size() > MAX_DATES_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_DATES_PER_REQUEST + " dates can be updated at once");
+        }
+        LocalDate today = LocalDate.now();
+        Set<LocalDate> dateSet = new HashSet<>();
+        for (DateAvailabilityDTO dto : dates) {
+            if (dto.getDate().isBefore(today)) {
+                throw new IllegalArgumentException("Cannot change availability for past date " + dto.getDate());
+            }
+            if (!dateSet.add(dto.getDate())) {
+                throw new IllegalArgumentException("Date " + dto.getDate() + " is listed more than once");
+            }
+        }
+
+        List<ProviderAvailabilityEntity> existing = providerAvailabilityRepository
+                .findByProviderIdAndAvailableDateIn(provider.getId(), dateSet);
+
+        List<ProviderAvailabilityEntity> rows = new ArrayList<>();
+        for (DateAvailabilityDTO dto : dates) {
+            Set<String> seen = new HashSet<>();
+            addRows(rows, seen, provider, dto.getDate(), dto.getWindows(), false);
+            addRows(rows, seen, provider, dto.getDate(), dto.getBlocks(), true);
+        }
+
+        if (!existing.isEmpty()) {
+            providerAvailabilityRepository.deleteAllInBatch(existing);
+        }
+        providerAvailabilityRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    private void addRows(List<ProviderAvailabilityEntity> rows, Set<String> seen, UserEntity provider,
+            LocalDate date, List<TimeRangeDTO> ranges, boolean blocked) {
+        if (ranges == null) {
+            return;
+        }
+        for (TimeRangeDTO range : ranges) {
+            validateRange(range.getStartTime(), range.getEndTime());
+            // The unique key is (provider, date, start, end), whether or not the row is a block
+            if (!seen.add(range.getStartTime() + "|" + range.getEndTime())) {
+                throw new IllegalArgumentException("Duplicate window " + range.getStartTime() + "-"
+                        + range.getEndTime() + " on " + date);
+            }
+            ProviderAvailabilityEntity row = new ProviderAvailabilityEntity();
+            row.setProvider(provider);
+            row.setAvailableDate(date);
+            row.setStartTime(range.getStartTime());
+            row.setEndTime(range.getEndTime());
+            row.setBlocked(blocked);
+            rows.add(row);
+        }
+    }
+
+    private void validateRange(LocalTime start, LocalTime end) {
+        if (SlotBitmaps.endMinuteOfDay(end) <= SlotBitmaps.minuteOfDay(start)) {
+            throw new IllegalArgumentException("Window end " + end + " must be after its start " + start);
+        }
+    }
+
+    private void requireProvider(Long providerId) {
+        UserEntity provider = userRepository.findById(providerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Provider not found: " + providerId));
+        if (!"PROVIDER".equals(provider.getRole())) {
+            throw new ResourceNotFoundException("Provider not found: " + providerId);
+        }
+    }
+}
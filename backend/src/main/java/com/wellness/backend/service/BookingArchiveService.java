@@ -0,0 +1,65 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.model.BookingStatus;
+import com.wellness.backend.model.SessionStatus;
+import com.wellness.backend.repository.BookingArchiveRepository;
+import com.wellness.backend.repository.BookingRepository;
+import com.wellness.backend.repository.SessionBookingArchiveRepository;
+import com.wellness.backend.repository.SessionBookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves closed bookings and sessions out of the hot tables. Each chunk copies
+ * rows into the archive and deletes them from the hot table in one
+ * transaction, so a row is always in exactly one of the two.
+ *
+ * Archived rows keep their unified_bookings mirror, and since they are in a
+ * final state no transition can reach them again.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingArchiveService {
+
+    public static final int ARCHIVE_CHUNK_SIZE = 500;
+
+    private static final List<BookingStatus> CLOSED_BOOKING_STATUSES = List.of(BookingStatus.COMPLETED,
+            BookingStatus.CANCELLED, BookingStatus.REJECTED, BookingStatus.NOT_COMPLETED);
+    private static final List<SessionStatus> CLOSED_SESSION_STATUSES = List.of(SessionStatus.COMPLETED,
+            SessionStatus.CANCELLED, SessionStatus.REJECTED, SessionStatus.NOT_COMPLETED);
+
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final SessionBookingRepository sessionBookingRepository;
+    private final SessionBookingArchiveRepository sessionBookingArchiveRepository;
+
+    /** Archives one chunk of closed bookings dated before {@code cutoff}; returns the number moved. */
+    @Transactional
+    public int archiveBookingsChunk(LocalDateTime cutoff) {
+        List<Long> ids = bookingRepository.findArchivableIds(CLOSED_BOOKING_STATUSES, cutoff,
+                PageRequest.of(0, ARCHIVE_CHUNK_SIZE));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        bookingArchiveRepository.copyFromHot(ids, LocalDateTime.now());
+        return bookingRepository.deleteByIdIn(ids);
+    }
+
+    /** Session counterpart of {@link #archiveBookingsChunk(LocalDateTime)}. */
+    @Transactional
+    public int archiveSessionsChunk(LocalDate cutoff) {
+        List<Long> ids = sessionBookingRepository.findArchivableIds(CLOSED_SESSION_STATUSES, cutoff,
+                PageRequest.of(0, ARCHIVE_CHUNK_SIZE));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        sessionBookingArchiveRepository.copyFromHot(ids, LocalDateTime.now());
+        return sessionBookingRepository.deleteByIdIn(ids);
+    }
+}
@@ -0,0 +1,144 @@
+package com.wellness.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.wellness.backend.dto.BookingExportRow;
+import com.wellness.backend.exception.ForbiddenActionException;
+import com.wellness.backend.exception.ResourceNotFoundException;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.BookingArchiveRepository;
+import com.wellness.backend.repository.BookingRepository;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.util.SortedMerge;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams a practitioner's full booking history as CSV or NDJSON. Rows are read
+ * through a forward-only cursor and written straight to the response, so memory
+ * use does not depend on the number of bookings. Hot and archived rows are
+ * merged on the fly into one newest-first sequence.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final String CSV_HEADER = "id,booking_date,status,client_name,client_email,session_fee,duration,refunded,created_at";
+    private static final int FLUSH_EVERY = 1000;
+    // Leading characters that make Excel, LibreOffice and Sheets treat a cell as a formula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    private static final Comparator<BookingExportRow> NEWEST_FIRST = Comparator
+            .comparing(BookingExportRow::getBookingDate, Comparator.reverseOrder())
+            .thenComparing(BookingExportRow::getId, Comparator.reverseOrder());
+
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    /** Only the practitioner themselves or an admin may export a history. */
+    @Transactional(readOnly = true)
+    public void assertCanExport(Long practitionerId, String requesterEmail) {
+        UserEntity requester = userRepository.findByEmail(requesterEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + requesterEmail));
+        if (!"ADMIN".equalsIgnoreCase(requester.getRole()) && !requester.getId().equals(practitionerId)) {
+            throw new ForbiddenActionException("You are not allowed to export this history");
+        }
+    }
+
+    public static boolean isSupportedFormat(String format) {
+        return FORMAT_CSV.equalsIgnoreCase(format) || FORMAT_NDJSON.equalsIgnoreCase(format);
+    }
+
+    /**
+     * Must run inside the transaction it opens: the cursor is only valid while the
+     * connection is held.
+     */
+    @Transactional(readOnly = true)
+    public long exportPractitionerHistory(Long practitionerId, String format, OutputStream out) throws IOException {
+        boolean csv = FORMAT_CSV.equalsIgnoreCase(format);
+        ObjectWriter jsonWriter = objectMapper.writerFor(BookingExportRow.class);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count = 0;
+
+        if (csv) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<BookingExportRow> hot = bookingRepository.streamExportRowsByPractitioner(practitionerId);
+                Stream<BookingExportRow> archived = bookingArchiveRepository
+                        .streamExportRowsByPractitioner(practitionerId)) {
+            Iterator<BookingExportRow> it = SortedMerge.merge(hot.iterator(), archived.iterator(), NEWEST_FIRST);
+            while (it.hasNext()) {
+                BookingExportRow row = it.next();
+                if (csv) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("📤 Exported {} bookings for practitioner {} as {}", count, practitionerId, format);
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, BookingExportRow row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(row.getBookingDate() != null ? row.getBookingDate().toString() : "");
+        writer.write(',');
+        writer.write(row.getStatus() != null ? row.getStatus().name() : "");
+        writer.write(',');
+        writer.write(csvEscape(row.getClientName()));
+        writer.write(',');
+        writer.write(csvEscape(row.getClientEmail()));
+        writer.write(',');
+        writer.write(row.getSessionFee() != null ? row.getSessionFee().toPlainString() : "");
+        writer.write(',');
+        writer.write(row.getDuration() != null ? row.getDuration().toString() : "");
+        writer.write(',');
+        writer.write(String.valueOf(row.isRefunded()));
+        writer.write(',');
+        writer.write(row.getCreatedAt() != null ? row.getCreatedAt().toString() : "");
+        writer.write('\n');
+    }
+
+    /**
+     * Quotes values that contain separators, and prefixes values a spreadsheet
+     * would evaluate as a formula with a single quote.
+     */
+    static String csvEscape(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if (FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
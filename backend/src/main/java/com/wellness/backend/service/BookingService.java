@@ -2,21 +2,30 @@ package com.wellness.backend.service;
 
 import com.wellness.backend.dto.BookingRequestDTO;
 import com.wellness.backend.dto.BookingResponseDTO;
+import com.wellness.backend.dto.BookingSummaryRow;
+import com.wellness.backend.dto.CursorPageDTO;
 import com.wellness.backend.dto.UserDTO;
 import com.wellness.backend.exception.BookingConflictException;
 import com.wellness.backend.model.BookingEntity;
 import com.wellness.backend.model.BookingStatus;
 import com.wellness.backend.model.UserEntity;
 import com.wellness.backend.repository.BookingRepository;
+import com.wellness.backend.repository.UnifiedBookingRepository;
 import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.util.KeysetCursor;
+import com.wellness.backend.util.OptimisticRetry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,11 +33,25 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BookingService {
 
+    /** States a booking never leaves; accept, reject and cancel are refused from these. */
+    private static final Set<BookingStatus> FINAL_STATES = Set.of(BookingStatus.REJECTED, BookingStatus.CANCELLED,
+            BookingStatus.COMPLETED, BookingStatus.NOT_COMPLETED);
+
+    /** States in which a booking is still going ahead and gets a reminder. */
+    private static final List<BookingStatus> REMINDER_STATUSES = List.of(BookingStatus.CONFIRMED,
+            BookingStatus.ACCEPTED);
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final EmailService emailService;
     private final ReminderService reminderService;
+    private final UnifiedBookingService unifiedBookingService;
+    private final UnifiedBookingRepository unifiedBookingRepository;
+    private final SlotHoldService slotHoldService;
+    private final WaitlistService waitlistService;
+    private final OptimisticRetry optimisticRetry;
+    private final TransactionTemplate transactionTemplate;
 
     public BookingResponseDTO createBooking(BookingRequestDTO request) {
         // Validate bookingDate is in the future
@@ -36,12 +59,6 @@ public class BookingService {
             throw new IllegalArgumentException("Booking date must be in the future");
         }
 
-        // Check for conflicts
-        if (bookingRepository.existsByPractitioner_IdAndBookingDate(request.getPractitionerId(),
-                request.getBookingDate())) {
-            throw new BookingConflictException("This time slot is already booked.");
-        }
-
         UserEntity user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -60,7 +77,19 @@ public class BookingService {
         booking.setReminderSent(false);
         booking.setNotes(request.getNotes());
 
-        BookingEntity saved = bookingRepository.save(booking);
+        BookingEntity saved = transactionTemplate.execute(status -> {
+            // The booking form has no end time; it takes the default one-hour slot. The claim
+            // locks the provider until the booking commits, so the conflict check below holds.
+            slotHoldService.claimForBooking(practitioner.getId(), user.getId(), request.getBookingDate(),
+                    request.getBookingDate().plusMinutes(FreeSlotService.DEFAULT_DURATION_MINUTES));
+            if (bookingRepository.existsByPractitioner_IdAndBookingDate(practitioner.getId(),
+                    request.getBookingDate())) {
+                throw new BookingConflictException("This time slot is already booked.");
+            }
+            return saveAndMirror(booking);
+        });
+        waitlistService.markFulfilled(practitioner.getId(), user.getId(), saved.getBookingDate(),
+                saved.getBookingDate().plusMinutes(FreeSlotService.DEFAULT_DURATION_MINUTES));
         notificationService.notifyBookingRequest(saved);
         // Email the patient confirming the booking request was received
         try {
@@ -76,16 +105,16 @@ public class BookingService {
         List<BookingStatus> excluded = List.of(BookingStatus.COMPLETED, BookingStatus.NOT_COMPLETED);
 
         return bookingRepository.findUpcomingBookingsByUser(clientId, now, excluded).stream()
-                .map(this::mapToResponseDTO)
+                .map(this::mapSummaryToResponseDTO)
                 .collect(Collectors.toList());
     }
 
     /** Returns patient bookings filtered to calendar-relevant statuses only. */
     public List<BookingResponseDTO> getClientCalendarBookings(Long clientId) {
-        return bookingRepository.findByUser_IdAndStatusIn(
+        return bookingRepository.findSummariesByUserAndStatusIn(
                 clientId,
                 List.of(BookingStatus.ACCEPTED, BookingStatus.CONFIRMED, BookingStatus.RESCHEDULED)).stream()
-                .map(this::mapToResponseDTO)
+                .map(this::mapSummaryToResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -95,21 +124,24 @@ public class BookingService {
         List<BookingStatus> excluded = List.of(BookingStatus.COMPLETED, BookingStatus.NOT_COMPLETED);
 
         return bookingRepository.findUpcomingBookingsByPractitioner(practitionerId, now, excluded).stream()
-                .map(this::mapToResponseDTO)
+                .map(this::mapSummaryToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<BookingResponseDTO> getPractitionerBookingsByStatus(Long practitionerId, BookingStatus status) {
-        return bookingRepository.findByPractitioner_IdAndStatus(practitionerId, status).stream()
-                .map(this::mapToResponseDTO)
+        return unifiedBookingRepository.findBookingSummariesByProviderAndStatus(practitionerId, status.name())
+                .stream()
+                .map(this::mapSummaryToResponseDTO)
                 .collect(Collectors.toList());
     }
 
     public BookingResponseDTO acceptBooking(Long id) {
         BookingEntity booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
+        assertNotFinal(booking, "accepted");
         booking.setStatus(BookingStatus.CONFIRMED);
-        BookingEntity saved = bookingRepository.save(booking);
+        BookingEntity saved = saveAndMirror(booking);
         // Notify patient via in-app + email
         notificationService.notifyBookingAcceptedForClient(saved);
         try {
@@ -124,8 +156,9 @@ public class BookingService {
     public BookingResponseDTO rejectBooking(Long id) {
         BookingEntity booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
+        assertNotFinal(booking, "rejected");
         booking.setStatus(BookingStatus.REJECTED);
-        BookingEntity saved = bookingRepository.save(booking);
+        BookingEntity saved = saveAndMirror(booking);
         // Notify patient via in-app + email
         notificationService.notifyBookingRejectedForClient(saved);
         try {
@@ -149,7 +182,7 @@ public class BookingService {
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid date or time format. Expected yyyy-MM-dd and HH:mm");
         }
-        BookingEntity saved = bookingRepository.save(booking);
+        BookingEntity saved = saveAndMirror(booking);
         // Notify patient via in-app + email
         notificationService.notifyBookingRescheduledForClient(saved);
         try {
@@ -159,16 +192,24 @@ public class BookingService {
         return mapToResponseDTO(saved);
     }
 
-    /** Patient/Practitioner cancels a pending/accepted booking */
+    /**
+     * Patient/Practitioner cancels a pending/accepted booking. Cancelling is still
+     * valid after most concurrent transitions, so a version conflict is retried
+     * against the fresh state instead of being returned to the caller.
+     */
     public BookingResponseDTO cancelBooking(Long id, String cancellerEmail) {
-        BookingEntity booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
-
         UserEntity canceller = userRepository.findByEmail(cancellerEmail)
                 .orElseThrow(() -> new RuntimeException("Canceller not found"));
 
-        booking.setStatus(BookingStatus.CANCELLED);
-        BookingEntity saved = bookingRepository.save(booking);
+        BookingEntity saved = optimisticRetry.withRetry("booking " + id, () -> {
+            BookingEntity booking = bookingRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Booking not found"));
+            assertNotFinal(booking, "cancelled");
+            booking.setStatus(BookingStatus.CANCELLED);
+            BookingEntity updated = bookingRepository.save(booking);
+            unifiedBookingService.record(updated);
+            return updated;
+        });
 
         // Notify the other party
         try {
@@ -190,7 +231,7 @@ public class BookingService {
             throw new IllegalStateException("Booking is not in RESCHEDULED state");
         }
         booking.setStatus(BookingStatus.CONFIRMED);
-        BookingEntity saved = bookingRepository.save(booking);
+        BookingEntity saved = saveAndMirror(booking);
         // Notify patient of acceptance
         notificationService.notifyBookingAcceptedForClient(saved);
         try {
@@ -214,7 +255,7 @@ public class BookingService {
         }
 
         booking.setStatus(BookingStatus.COMPLETED);
-        BookingEntity saved = bookingRepository.save(booking);
+        BookingEntity saved = saveAndMirror(booking);
 
         // Notify both parties
         notificationService.notifyBookingCompleted(saved);
@@ -240,7 +281,7 @@ public class BookingService {
 
         booking.setStatus(BookingStatus.NOT_COMPLETED);
         booking.setRefunded(true);
-        BookingEntity saved = bookingRepository.save(booking);
+        BookingEntity saved = saveAndMirror(booking);
 
         // Notify both parties
         notificationService.notifyBookingNotCompleted(saved);
@@ -253,74 +294,163 @@ public class BookingService {
         return mapToResponseDTO(saved);
     }
 
+    @Transactional(readOnly = true)
     public List<BookingResponseDTO> getPractitionerHistory(Long practitionerId) {
-        return bookingRepository.findByPractitioner_Id(practitionerId).stream()
-                .map(this::mapToResponseDTO)
+        return unifiedBookingRepository.findBookingSummariesByProvider(practitionerId).stream()
+                .map(this::mapSummaryToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<BookingResponseDTO> getPractitionerSessionHistory(Long practitionerId) {
-        LocalDateTime now = LocalDateTime.now();
         // Strictly follow logic: status = COMPLETED and time passed
-        return bookingRepository.findByPractitioner_IdAndStatus(practitionerId, BookingStatus.COMPLETED).stream()
-                .filter(b -> b.getBookingDate().isBefore(now))
-                .map(this::mapToResponseDTO)
+        LocalDateTime now = LocalDateTime.now();
+        return unifiedBookingRepository.findBookingSummariesByProviderAndStatusBefore(practitionerId,
+                BookingStatus.COMPLETED.name(), now).stream()
+                .map(this::mapSummaryToResponseDTO)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<BookingResponseDTO> getClientHistory(Long clientId) {
-        return bookingRepository.findByUser_Id(clientId).stream()
-                .map(this::mapToResponseDTO)
+        return unifiedBookingRepository.findBookingSummariesByClient(clientId).stream()
+                .map(this::mapSummaryToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset-paginated practitioner history, newest first. {@code from} and
+     * {@code to} are inclusive calendar days.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookingResponseDTO> getPractitionerHistoryPage(Long practitionerId, String cursor,
+            Integer limit, BookingStatus status, LocalDate from, LocalDate to) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(limit);
+
+        LocalDateTime cursorDate = position != null ? position.getDate() : null;
+        Long cursorId = position != null ? position.getId() : null;
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+
+        List<BookingSummaryRow> rows = unifiedBookingRepository.findBookingHistoryPageByProvider(practitionerId,
+                nameOf(status), startOf(from), endOf(to), cursorDate, cursorId, window);
+
+        return KeysetCursor.toPage(rows, pageSize, this::mapSummaryToResponseDTO,
+                b -> KeysetCursor.encode(b.getBookingDate(), b.getId()));
+    }
+
+    /** Keyset-paginated patient history, newest first. */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookingResponseDTO> getClientHistoryPage(Long clientId, String cursor, Integer limit,
+            BookingStatus status, LocalDate from, LocalDate to) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(limit);
+
+        LocalDateTime cursorDate = position != null ? position.getDate() : null;
+        Long cursorId = position != null ? position.getId() : null;
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+
+        List<BookingSummaryRow> rows = unifiedBookingRepository.findBookingHistoryPageByClient(clientId,
+                nameOf(status), startOf(from), endOf(to), cursorDate, cursorId, window);
+
+        return KeysetCursor.toPage(rows, pageSize, this::mapSummaryToResponseDTO,
+                b -> KeysetCursor.encode(b.getBookingDate(), b.getId()));
+    }
+
+    private String nameOf(BookingStatus status) {
+        return status != null ? status.name() : null;
+    }
+
+    private LocalDateTime startOf(LocalDate day) {
+        return day != null ? day.atStartOfDay() : null;
+    }
+
+    private LocalDateTime endOf(LocalDate day) {
+        return day != null ? day.plusDays(1).atStartOfDay() : null;
+    }
+
     /**
      * Finds confirmed bookings that have passed and moves them to
-     * PENDING_COMPLETION_ACTION
+     * PENDING_COMPLETION_ACTION. Each booking commits on its own; one that a user
+     * changed concurrently is skipped so the scheduler never overwrites that
+     * change, and is picked up again on the next run if still stale.
      */
-    @Transactional
     public void autoProcessSessionCompletion() {
         LocalDateTime nowIst = LocalDateTime.now(ZoneId.of("Asia/Kolkata"));
         List<BookingEntity> stale = bookingRepository.findStaleConfirmedBookings(nowIst);
 
         if (!stale.isEmpty()) {
             log.info("⏳ Auto-completing {} stale bookings to PENDING_COMPLETION_ACTION...", stale.size());
-            for (BookingEntity booking : stale) {
-                booking.setStatus(BookingStatus.PENDING_COMPLETION_ACTION);
-                bookingRepository.save(booking);
-                // Optional: notify practitioner that they need to confirm completion
+            for (BookingEntity candidate : stale) {
+                optimisticRetry.tryOnce("auto-completion of booking " + candidate.getId(), () -> {
+                    BookingEntity booking = bookingRepository.findById(candidate.getId()).orElse(null);
+                    if (booking == null || (booking.getStatus() != BookingStatus.CONFIRMED
+                            && booking.getStatus() != BookingStatus.ACCEPTED)) {
+                        return;
+                    }
+                    booking.setStatus(BookingStatus.PENDING_COMPLETION_ACTION);
+                    bookingRepository.save(booking);
+                    unifiedBookingService.record(booking);
+                    // Optional: notify practitioner that they need to confirm completion
+                });
             }
         }
     }
 
     /**
      * Runs every 5 mins from scheduler. Sends reminders for sessions starting in
-     * 30-35 mins.
+     * 30-35 mins. Each booking is claimed with a conditional update that commits
+     * before the reminder goes out, so it is sent at most once and a failure on
+     * one booking does not undo the others.
      */
-    @Transactional
     public void processSessionReminders() {
         LocalDateTime now = LocalDateTime.now();
-        List<BookingEntity> candidates = bookingRepository
-                .findByStatusInAndReminderSentFalse(List.of(BookingStatus.CONFIRMED, BookingStatus.ACCEPTED));
+        List<BookingEntity> candidates = bookingRepository.findByStatusInAndReminderSentFalse(REMINDER_STATUSES);
 
         log.info("🔍 Checking {} bookings for in-app reminders...", candidates.size());
 
-        for (BookingEntity booking : candidates) {
-            if (isReminderDue(booking, now)) {
+        for (BookingEntity candidate : candidates) {
+            if (isReminderDue(candidate, now)) {
                 try {
+                    BookingEntity booking = transactionTemplate.execute(status -> {
+                        BookingEntity current = bookingRepository.findWithPartiesById(candidate.getId()).orElse(null);
+                        return current != null
+                                && bookingRepository.claimReminder(current.getId(), REMINDER_STATUSES) == 1
+                                        ? current : null;
+                    });
+                    if (booking == null) {
+                        log.info("⏭ Skipping reminder for booking {}: changed since it was read", candidate.getId());
+                        continue;
+                    }
                     log.info("📩 Sending in-app reminder for booking ID: {}", booking.getId());
                     // Email is now handled by persistent SendGrid scheduler
                     notificationService.notifyBookingReminder(booking);
-                    booking.setReminderSent(true);
-                    bookingRepository.save(booking);
                 } catch (Exception e) {
-                    log.error("❌ Failed to send in-app reminder for booking {}: {}", booking.getId(), e.getMessage());
+                    log.error("❌ Failed to send in-app reminder for booking {}: {}", candidate.getId(), e.getMessage());
                 }
             }
         }
     }
 
+    /**
+     * Saves a booking together with its unified_bookings mirror, so a failure
+     * leaves neither written. Callers already inside a transaction join it.
+     */
+    private BookingEntity saveAndMirror(BookingEntity booking) {
+        return transactionTemplate.execute(status -> {
+            BookingEntity saved = bookingRepository.save(booking);
+            unifiedBookingService.record(saved);
+            return saved;
+        });
+    }
+
+    private void assertNotFinal(BookingEntity booking, String action) {
+        if (FINAL_STATES.contains(booking.getStatus())) {
+            throw new IllegalStateException(
+                    "Booking can no longer be " + action + ". Current status: " + booking.getStatus());
+        }
+    }
+
     private boolean isReminderDue(BookingEntity booking, LocalDateTime now) {
         LocalDateTime start = booking.getBookingDate();
         if (start == null)
@@ -339,6 +469,42 @@ public class BookingService {
         return due;
     }
 
+    /** Same shape as {@link #mapToResponseDTO}, built from a projection row. */
+    private BookingResponseDTO mapSummaryToResponseDTO(BookingSummaryRow row) {
+        BookingResponseDTO dto = new BookingResponseDTO();
+        dto.setId(row.getId());
+        dto.setUserId(row.getUserId());
+        dto.setClientName(row.getClientName());
+        dto.setClientEmail(row.getClientEmail());
+
+        dto.setBookingDate(row.getBookingDate());
+        if (row.getBookingDate() != null) {
+            dto.setStartTime(row.getBookingDate().toLocalTime().toString());
+            int duration = row.getDuration() != null ? row.getDuration() : 60;
+            dto.setEndTime(row.getBookingDate().plusMinutes(duration).toLocalTime().toString());
+        }
+        dto.setDuration(row.getDuration());
+        dto.setNotes(row.getNotes());
+        dto.setPractitionerComment(row.getPractitionerComment());
+        dto.setStatus(row.getStatus() != null ? row.getStatus().name() : null);
+        dto.setSessionFee(row.getSessionFee());
+        dto.setRefunded(row.isRefunded());
+
+        String profileImg = row.getPractitionerProfileImage();
+        if (profileImg != null && !profileImg.startsWith("http")) {
+            profileImg = "http://localhost:8080/uploads/" + profileImg;
+        }
+        dto.setPractitioner(UserDTO.builder()
+                .id(row.getPractitionerId())
+                .fullName(row.getPractitionerName())
+                .specialization(row.getPractitionerSpecialization())
+                .profileImage(profileImg)
+                .sessionFee(row.getPractitionerSessionFee())
+                .build());
+
+        return dto;
+    }
+
     private BookingResponseDTO mapToResponseDTO(BookingEntity entity) {
         BookingResponseDTO dto = new BookingResponseDTO();
         dto.setId(entity.getId());
@@ -0,0 +1,44 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.config.SecondLevelCacheConfig;
+import com.wellness.backend.dto.CacheRegionStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/** Hit/miss counters for the second-level cache regions since startup. */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private static final List<String> REGIONS = List.of(SecondLevelCacheConfig.USERS_REGION,
+            SecondLevelCacheConfig.USERS_BY_EMAIL_REGION, SecondLevelCacheConfig.PRODUCTS_REGION);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatsDTO> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return REGIONS.stream()
+                .map(region -> toDto(region, statistics.getDomainDataRegionStatistics(region)))
+                .collect(Collectors.toList());
+    }
+
+    private CacheRegionStatsDTO toDto(String region, CacheRegionStatistics stats) {
+        long hits = stats != null ? stats.getHitCount() : 0;
+        long misses = stats != null ? stats.getMissCount() : 0;
+        long lookups = hits + misses;
+        return CacheRegionStatsDTO.builder()
+                .region(region)
+                .hitCount(hits)
+                .missCount(misses)
+                .putCount(stats != null ? stats.getPutCount() : 0)
+                .hitRatio(lookups == 0 ? 0.0 : (double) hits / lookups)
+                .build();
+    }
+}
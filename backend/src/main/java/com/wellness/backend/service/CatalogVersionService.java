@@ -0,0 +1,29 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.repository.CatalogVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Shared change counters for public catalogs, stored in catalog_versions so
+ * every instance agrees on them. Writers bump after saving; readers take the
+ * version before querying, so a page is never labelled newer than its data.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionService {
+
+    private final CatalogVersionRepository catalogVersionRepository;
+
+    @Transactional(readOnly = true)
+    public long current(String catalog) {
+        Long version = catalogVersionRepository.findVersion(catalog);
+        return version != null ? version : 0L;
+    }
+
+    @Transactional
+    public void bump(String catalog) {
+        catalogVersionRepository.increment(catalog);
+    }
+}
@@ -0,0 +1,139 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.DayStatusDTO;
+import com.wellness.backend.model.ProviderDayStatusEntity;
+import com.wellness.backend.model.SessionStatus;
+import com.wellness.backend.repository.ProviderDayStatusRepository;
+import com.wellness.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Per-day calendar colour for providers: YELLOW once any session of the day
+ * was not completed, GREEN when every session of the day is completed.
+ * Backed by counters that each session transition adjusts by its delta, so
+ * archived sessions keep counting and no transition reloads the day. A
+ * periodic reconcile rewrites the counters from the sessions themselves.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DayStatusService {
+
+    public static final String GREEN = "GREEN";
+    public static final String YELLOW = "YELLOW";
+
+    /** Provider ids per reconcile transaction. */
+    public static final int RECONCILE_CHUNK = 500;
+
+    private final ProviderDayStatusRepository providerDayStatusRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public static String statusOf(int total, int completed, int notCompleted) {
+        if (notCompleted > 0) {
+            return YELLOW;
+        }
+        return total > 0 && completed == total ? GREEN : null;
+    }
+
+    @Transactional(readOnly = true)
+    public String getStatus(Long providerId, LocalDate date) {
+        return providerDayStatusRepository.findById(new ProviderDayStatusEntity.Key(providerId, date))
+                .map(d -> statusOf(d.getTotal(), d.getCompleted(), d.getNotCompleted()))
+                .orElse(null);
+    }
+
+    /** Every day of the month that has sessions, in one primary-key range scan. */
+    @Transactional(readOnly = true)
+    public List<DayStatusDTO> getMonth(Long providerId, YearMonth month) {
+        return providerDayStatusRepository.findRange(providerId, month.atDay(1), month.atEndOfMonth()).stream()
+                .map(d -> DayStatusDTO.builder()
+                        .date(d.getId().getStatusDate())
+                        .status(statusOf(d.getTotal(), d.getCompleted(), d.getNotCompleted()))
+                        .total(d.getTotal())
+                        .completed(d.getCompleted())
+                        .notCompleted(d.getNotCompleted())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Moves a session's contribution from its previous provider, date and
+     * status to the new ones. {@code oldProviderId} is null for a new
+     * session. Runs in the caller's transaction.
+     */
+    public void recordTransition(Long oldProviderId, LocalDate oldDate, String oldStatus,
+            Long newProviderId, LocalDate newDate, String newStatus) {
+        if (oldProviderId != null && oldProviderId.equals(newProviderId) && Objects.equals(oldDate, newDate)) {
+            int completed = flag(newStatus, SessionStatus.COMPLETED) - flag(oldStatus, SessionStatus.COMPLETED);
+            int notCompleted = flag(newStatus, SessionStatus.NOT_COMPLETED)
+                    - flag(oldStatus, SessionStatus.NOT_COMPLETED);
+            if (completed != 0 || notCompleted != 0) {
+                providerDayStatusRepository.adjust(newProviderId, newDate, 0, completed, notCompleted);
+            }
+            return;
+        }
+        if (oldProviderId != null && oldDate != null) {
+            providerDayStatusRepository.adjust(oldProviderId, oldDate, -1,
+                    -flag(oldStatus, SessionStatus.COMPLETED), -flag(oldStatus, SessionStatus.NOT_COMPLETED));
+        }
+        if (newProviderId != null && newDate != null) {
+            providerDayStatusRepository.adjust(newProviderId, newDate, 1,
+                    flag(newStatus, SessionStatus.COMPLETED), flag(newStatus, SessionStatus.NOT_COMPLETED));
+        }
+    }
+
+    /**
+     * Moves many sessions of one provider and date to {@code newStatus} with
+     * a single counter update.
+     */
+    public void recordDayTransition(Long providerId, LocalDate date, List<String> oldStatuses, String newStatus) {
+        int completed = 0;
+        int notCompleted = 0;
+        for (String oldStatus : oldStatuses) {
+            completed += flag(newStatus, SessionStatus.COMPLETED) - flag(oldStatus, SessionStatus.COMPLETED);
+            notCompleted += flag(newStatus, SessionStatus.NOT_COMPLETED) - flag(oldStatus, SessionStatus.NOT_COMPLETED);
+        }
+        if (completed != 0 || notCompleted != 0) {
+            providerDayStatusRepository.adjust(providerId, date, 0, completed, notCompleted);
+        }
+    }
+
+    /**
+     * Recomputes every counter from hot and archived sessions, one range of
+     * {@link #RECONCILE_CHUNK} user ids per transaction. Counters that
+     * drifted (a missed delta, a session removed outside the services, days
+     * that predate the table) are corrected; correct ones are rewritten with
+     * the same values. Returns the number of provider ranges processed.
+     */
+    public int reconcile() {
+        int chunks = 0;
+        long afterId = 0;
+        List<Long> ids;
+        while (!(ids = userRepository.findIdsAfter(afterId, PageRequest.of(0, RECONCILE_CHUNK))).isEmpty()) {
+            Long first = ids.get(0);
+            Long last = ids.get(ids.size() - 1);
+            transactionTemplate.executeWithoutResult(status -> {
+                providerDayStatusRepository.reconcile(first, last);
+                providerDayStatusRepository.clearDaysWithoutSessions(first, last);
+            });
+            afterId = last;
+            chunks++;
+        }
+        return chunks;
+    }
+
+    private int flag(String status, SessionStatus expected) {
+        return expected.name().equals(status) ? 1 : 0;
+    }
+}
@@ -7,6 +7,7 @@ import com.sendgrid.Method;
 import com.sendgrid.helpers.mail.Mail;
 import com.sendgrid.helpers.mail.objects.Email;
 import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Personalization;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
@@ -17,11 +18,20 @@ import lombok.extern.slf4j.Slf4j;
 import jakarta.annotation.PostConstruct;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 
 @Service
 @Slf4j
 public class EmailService {
 
+        // SendGrid accepts at most 1000 personalizations per request
+        private static final int MAX_PERSONALIZATIONS = 1000;
+
+        // SendGrid rejects a send_at more than 72 hours after the request
+        public static final Duration MAX_SEND_AT_AHEAD = Duration.ofHours(72);
+
         @Autowired
         private JavaMailSender mailSender;
 
@@ -323,6 +333,32 @@ public class EmailService {
 
         public void sendSessionCancelledEmail(com.wellness.backend.model.SessionBookingEntity session,
                         com.wellness.backend.model.UserEntity canceller) {
+                sendEmail(buildSessionCancelledMessage(session, canceller));
+        }
+
+        /**
+         * Cancellation emails for many sessions, delivered over a single SMTP
+         * connection instead of one connection per message.
+         */
+        public void sendSessionCancelledEmails(List<com.wellness.backend.model.SessionBookingEntity> sessions,
+                        com.wellness.backend.model.UserEntity canceller) {
+                if (sessions.isEmpty()) {
+                        return;
+                }
+                SimpleMailMessage[] messages = sessions.stream()
+                                .map(session -> buildSessionCancelledMessage(session, canceller))
+                                .toArray(SimpleMailMessage[]::new);
+                try {
+                        log.info("📧 Sending {} cancellation emails in one batch...", messages.length);
+                        mailSender.send(messages);
+                        log.info("✅ Cancellation email batch sent");
+                } catch (org.springframework.mail.MailException e) {
+                        log.error("❌ SMTP Error while sending cancellation batch: {}", e.getMessage());
+                }
+        }
+
+        private SimpleMailMessage buildSessionCancelledMessage(com.wellness.backend.model.SessionBookingEntity session,
+                        com.wellness.backend.model.UserEntity canceller) {
                 boolean cancelledByProvider = canceller.getId().equals(session.getProvider().getId());
                 com.wellness.backend.model.UserEntity recipient = cancelledByProvider ? session.getClient()
                                 : session.getProvider();
@@ -339,6 +375,26 @@ public class EmailService {
                                 + "Time: " + session.getStartTime() + "\n\n"
                                 + "If this was unexpected, please contact support or the other party.\n\n"
                                 + "Best regards,\nWellness Hub");
+                return message;
+        }
+
+        public void sendWaitlistOfferEmail(com.wellness.backend.model.WaitlistEntryEntity entry) {
+                com.wellness.backend.model.UserEntity client = entry.getClient();
+
+                SimpleMailMessage message = new SimpleMailMessage();
+                message.setFrom(fromEmail);
+                message.setTo(client.getEmail());
+                message.setSubject("⏳ Wellness Hub – A Slot Opened Up");
+
+                message.setText("Dear " + client.getName() + ",\n\n"
+                                + "A slot you were waiting for is now available.\n\n"
+                                + "Practitioner: " + entry.getProvider().getName() + "\n"
+                                + "Date: " + entry.getOfferedStart().toLocalDate() + "\n"
+                                + "Time: " + entry.getOfferedStart().toLocalTime() + " - "
+                                + entry.getOfferedEnd().toLocalTime() + "\n\n"
+                                + "We are holding it for you until " + entry.getOfferExpiresAt().toLocalTime().withNano(0)
+                                + ". After that it will be offered to the next person on the waitlist.\n\n"
+                                + "Best regards,\nWellness Hub");
                 sendEmail(message);
         }
 
@@ -366,15 +422,7 @@ public class EmailService {
         }
 
         public void sendSessionCompletedEmail(com.wellness.backend.model.SessionBookingEntity session) {
-                String dateTime = session.getSessionDate() + " at " + session.getStartTime();
-                String commonText = "Hello,\n\n"
-                                + "The session scheduled for " + dateTime + " has been marked as COMPLETED.\n\n"
-                                + "Session Details:\n"
-                                + "Date & Time: " + dateTime + "\n"
-                                + "Client: " + session.getClient().getName() + "\n"
-                                + "Practitioner: " + session.getProvider().getName() + "\n\n"
-                                + "We hope you had a productive session. Thank you for using Wellness Hub!\n\n"
-                                + "Best regards,\nWellness Hub";
+                String commonText = sessionCompletedText(session);
 
                 // Email to Client
                 sendImmediateSendGridEmail(session.getClient().getEmail(),
@@ -387,6 +435,68 @@ public class EmailService {
                                 "Dear " + session.getProvider().getName() + ",\n\n" + commonText);
         }
 
+        /**
+         * The same emails as sendSessionCompletedEmail for many sessions, sent
+         * as one SendGrid request per {@value #MAX_PERSONALIZATIONS}
+         * recipients; each personalization fills in its own name and text.
+         */
+        public void sendSessionCompletedEmails(List<com.wellness.backend.model.SessionBookingEntity> sessions) {
+                if (apiKey == null || apiKey.isBlank()) {
+                        log.error("❌ SendGrid API key missing. Cannot send {} completion emails", sessions.size() * 2);
+                        return;
+                }
+                List<Personalization> personalizations = new java.util.ArrayList<>();
+                for (com.wellness.backend.model.SessionBookingEntity session : sessions) {
+                        String commonText = sessionCompletedText(session);
+                        personalizations.add(personalized(session.getClient(), commonText));
+                        personalizations.add(personalized(session.getProvider(), commonText));
+                }
+
+                SendGrid sg = new SendGrid(apiKey);
+                for (int from = 0; from < personalizations.size(); from += MAX_PERSONALIZATIONS) {
+                        Mail mail = new Mail();
+                        mail.setFrom(new Email(fromEmail));
+                        mail.setSubject("✅ Wellness Hub – Session Completed Confirmation");
+                        mail.addContent(new Content("text/plain", "Dear -name-,\n\n-text-"));
+                        personalizations.subList(from, Math.min(from + MAX_PERSONALIZATIONS, personalizations.size()))
+                                        .forEach(mail::addPersonalization);
+
+                        Request request = new Request();
+                        try {
+                                request.setMethod(Method.POST);
+                                request.setEndpoint("mail/send");
+                                request.setBody(mail.build());
+
+                                log.info("📧 Sending {} completion emails in one SendGrid request",
+                                                mail.getPersonalization().size());
+                                Response response = sg.api(request);
+                                log.info("✅ SendGrid Response: {}", response.getStatusCode());
+                        } catch (IOException ex) {
+                                log.error("❌ SendGrid Error while sending completion batch: {}", ex.getMessage());
+                        }
+                }
+        }
+
+        private Personalization personalized(com.wellness.backend.model.UserEntity recipient, String text) {
+                Personalization personalization = new Personalization();
+                personalization.addTo(new Email(recipient.getEmail()));
+                personalization.addSubstitution("-name-", recipient.getName());
+                personalization.addSubstitution("-text-", text);
+                return personalization;
+        }
+
+        private String sessionCompletedText(com.wellness.backend.model.SessionBookingEntity session) {
+                String dateTime = session.getSessionDate() + " at " + session.getStartTime();
+                return "Hello,\n\n"
+                                + "The session scheduled for " + dateTime + " has been marked as COMPLETED.\n\n"
+                                + "Session Details:\n"
+                                + "Date & Time: " + dateTime + "\n"
+                                + "Client: " + session.getClient().getName() + "\n"
+                                + "Practitioner: " + session.getProvider().getName() + "\n\n"
+                                + "We hope you had a productive session. Thank you for using Wellness Hub!\n\n"
+                                + "Best regards,\nWellness Hub";
+        }
+
         public void sendBookingNotCompletedEmail(com.wellness.backend.model.BookingEntity booking) {
                 String dateTime = booking.getBookingDate().toString().replace("T", " at ");
                 String commonText = "Hello,\n\n"
@@ -477,6 +587,72 @@ public class EmailService {
                 }
         }
 
+        /** Whether SendGrid will accept {@code sendAt} (epoch seconds) as a send time now. */
+        public static boolean isSchedulable(long sendAt) {
+                return sendAt <= Instant.now().plus(MAX_SEND_AT_AHEAD).getEpochSecond();
+        }
+
+        /**
+         * Schedules the same reminder for one recipient at several times in a
+         * single SendGrid request, one personalization per send time (at most
+         * 1000). Send times beyond {@link #MAX_SEND_AT_AHEAD} are left out; the
+         * reminder poller emails those sessions when they come due. Returns the
+         * batch's message id, or null if nothing was accepted.
+         */
+        public String sendScheduledReminderBatch(String to, String subject, String body, List<Long> sendAts) {
+
+                List<Long> schedulable = sendAts.stream().filter(EmailService::isSchedulable).toList();
+                if (schedulable.isEmpty()) {
+                        log.info("⏭ No reminder to {} falls within SendGrid's scheduling window yet", to);
+                        return null;
+                }
+
+                if (apiKey == null || apiKey.isBlank()) {
+                        log.error("❌ SendGrid API key missing. Cannot schedule reminder emails to {}", to);
+                        return null;
+                }
+
+                Mail mail = new Mail();
+                mail.setFrom(new Email(fromEmail));
+                mail.setSubject(subject);
+                mail.addContent(new Content("text/plain", body));
+                for (Long sendAt : schedulable) {
+                        Personalization personalization = new Personalization();
+                        personalization.addTo(new Email(to));
+                        personalization.setSendAt(sendAt);
+                        mail.addPersonalization(personalization);
+                }
+
+                SendGrid sg = new SendGrid(apiKey);
+                Request request = new Request();
+
+                try {
+                        request.setMethod(Method.POST);
+                        request.setEndpoint("mail/send");
+                        request.setBody(mail.build());
+
+                        log.info("📧 Scheduling {} SendGrid emails to {} in one request", schedulable.size(), to);
+
+                        Response response = sg.api(request);
+
+                        if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
+                                log.info("✅ SendGrid accepted scheduled email batch");
+
+                                if (response.getHeaders() != null) {
+                                        return response.getHeaders().getOrDefault("X-Message-Id", "PENDING");
+                                }
+                                return "SENT";
+                        }
+
+                        log.error("❌ SendGrid batch scheduling failed. Status={}", response.getStatusCode());
+                        return null;
+
+                } catch (IOException ex) {
+                        log.error("❌ SendGrid Error while scheduling batch to {}: {}", to, ex.getMessage());
+                        return null;
+                }
+        }
+
         private void sendEmail(SimpleMailMessage message) {
                 String recipient = (message.getTo() != null && message.getTo().length > 0) ? message.getTo()[0]
                                 : "unknown";
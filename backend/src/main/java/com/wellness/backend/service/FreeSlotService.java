@@ -0,0 +1,420 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.AvailabilityTemplateRow;
+import com.wellness.backend.dto.AvailabilityWindowRow;
+import com.wellness.backend.dto.FreeSlotDTO;
+import com.wellness.backend.dto.OccupiedIntervalRow;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.AvailabilityTemplateRepository;
+import com.wellness.backend.repository.ProviderAvailabilityRepository;
+import com.wellness.backend.repository.UnifiedBookingRepository;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.util.SlotBitmaps;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Answers "who is free on these days, in this time window, for this long"
+ * across all approved providers without touching the database.
+ *
+ * Each provider has one free-slot bitmap per day over a rolling horizon:
+ * published availability minus blocks minus bookings and sessions that hold
+ * the time. A day's availability is its own windows if it has any, otherwise
+ * the provider's weekly template for that weekday. Memory is two longs per provider-day, so 10k providers over 90
+ * days take about 15 MB. A booking or session change refreshes only the
+ * affected provider-days once its transaction commits; a periodic rebuild
+ * rolls the horizon forward and picks up new providers.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FreeSlotService {
+
+    public static final int MAX_DAYS_PER_QUERY = 14;
+    public static final int MAX_RESULTS = 100;
+
+    /** Legacy bookings may have no duration; they hold an hour like the booking form's default. */
+    public static final int DEFAULT_DURATION_MINUTES = 60;
+
+    /** Unified booking statuses that give the time back. */
+    public static final List<String> FREE_STATUSES = List.of("REJECTED", "CANCELLED", "NOT_COMPLETED");
+
+    private final UserRepository userRepository;
+    private final ProviderAvailabilityRepository providerAvailabilityRepository;
+    private final AvailabilityTemplateRepository availabilityTemplateRepository;
+    private final UnifiedBookingRepository unifiedBookingRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${slots.index.horizon-days:90}")
+    private int horizonDays;
+
+    private final Object lock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(LocalDate.now(), 0, Map.of(), Map.of());
+    private Set<ProviderDay> touchedWhileBuilding;
+
+    private static class ProviderSlots {
+        final Long id;
+        final String name;
+        final String specialization;
+        final String city;
+        final BigDecimal sessionFee;
+        final AtomicLongArray free;
+
+        ProviderSlots(UserEntity user, long[] free) {
+            this.id = user.getId();
+            this.name = user.getName();
+            this.specialization = user.getSpecialization();
+            this.city = user.getCity();
+            this.sessionFee = user.getSessionFee();
+            this.free = new AtomicLongArray(free);
+        }
+    }
+
+    private static class Snapshot {
+        final LocalDate baseDate;
+        final int days;
+        final Map<Long, ProviderSlots> byId;
+        final Map<String, List<ProviderSlots>> bySpecialization;
+
+        Snapshot(LocalDate baseDate, int days, Map<Long, ProviderSlots> byId,
+                Map<String, List<ProviderSlots>> bySpecialization) {
+            this.baseDate = baseDate;
+            this.days = days;
+            this.byId = byId;
+            this.bySpecialization = bySpecialization;
+        }
+
+        int dayIndex(LocalDate date) {
+            long index = ChronoUnit.DAYS.between(baseDate, date);
+            return index >= 0 && index < days ? (int) index : -1;
+        }
+    }
+
+    private static class ProviderDay {
+        final Long providerId;
+        final LocalDate date;
+
+        ProviderDay(Long providerId, LocalDate date) {
+            this.providerId = providerId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ProviderDay other && providerId.equals(other.providerId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * providerId.hashCode() + date.hashCode();
+        }
+    }
+
+    /**
+     * Earliest free start per provider and day in [{@code from}, {@code to}).
+     * Without a duration the whole window must be free.
+     */
+    public List<FreeSlotDTO> findFreeSlots(String specialization, LocalDate date, int days, LocalTime from,
+            LocalTime to, Integer durationMinutes, Integer limit) {
+        Snapshot current = snapshot;
+        if (days < 1 || days > MAX_DAYS_PER_QUERY) {
+            throw new IllegalArgumentException("days must be between 1 and " + MAX_DAYS_PER_QUERY);
+        }
+        if (current.dayIndex(date) < 0 || current.dayIndex(date.plusDays(days - 1)) < 0) {
+            throw new IllegalArgumentException("Dates must fall within the next " + horizonDays + " days");
+        }
+
+        int fromSlot = SlotBitmaps.ceilSlot(SlotBitmaps.minuteOfDay(from));
+        int toSlot = SlotBitmaps.floorSlot(SlotBitmaps.endMinuteOfDay(to));
+        int length = durationMinutes == null ? toSlot - fromSlot
+                : (durationMinutes + SlotBitmaps.SLOT_MINUTES - 1) / SlotBitmaps.SLOT_MINUTES;
+        if (length <= 0 || length > toSlot - fromSlot) {
+            throw new IllegalArgumentException("The time window is shorter than the requested duration");
+        }
+        int max = limit == null || limit <= 0 ? 20 : Math.min(limit, MAX_RESULTS);
+
+        Collection<ProviderSlots> candidates = specialization == null || specialization.isBlank()
+                ? current.byId.values()
+                : current.bySpecialization.getOrDefault(specialization.trim().toLowerCase(Locale.ROOT), List.of());
+
+        LocalDate today = LocalDate.now();
+        int nowSlot = SlotBitmaps.ceilSlot(SlotBitmaps.minuteOfDay(LocalTime.now()));
+        List<FreeSlotDTO> results = new ArrayList<>();
+        for (int d = 0; d < days; d++) {
+            LocalDate day = date.plusDays(d);
+            int offset = current.dayIndex(day) * SlotBitmaps.WORDS_PER_DAY;
+            // Slots that already started today are not offered
+            int firstStart = day.equals(today) ? Math.max(fromSlot, nowSlot) : fromSlot;
+            int lastStart = toSlot - length;
+
+            for (ProviderSlots provider : candidates) {
+                long[] starts = SlotBitmaps.runStarts(provider.free.get(offset), provider.free.get(offset + 1),
+                        length);
+                int slot = SlotBitmaps.firstSetSlot(starts[0], starts[1], firstStart, lastStart);
+                if (slot >= 0) {
+                    results.add(FreeSlotDTO.builder()
+                            .providerId(provider.id)
+                            .providerName(provider.name)
+                            .specialization(provider.specialization)
+                            .city(provider.city)
+                            .sessionFee(provider.sessionFee)
+                            .date(day)
+                            .startTime(SlotBitmaps.timeOf(slot))
+                            .endTime(SlotBitmaps.timeOf(slot + length))
+                            .build());
+                }
+            }
+        }
+
+        results.sort(Comparator.comparing(FreeSlotDTO::getDate)
+                .thenComparing(FreeSlotDTO::getStartTime)
+                .thenComparing(FreeSlotDTO::getProviderName, Comparator.nullsLast(Comparator.naturalOrder())));
+        return results.size() > max ? new ArrayList<>(results.subList(0, max)) : results;
+    }
+
+    /**
+     * Recomputes a provider's day once the current transaction commits, or
+     * right away when there is none. Called for both the old and the new day
+     * of a rescheduled booking.
+     */
+    public void refreshAfterCommit(Long providerId, LocalDate date) {
+        if (date != null) {
+            refreshAfterCommit(providerId, date, date.plusDays(1));
+        }
+    }
+
+    /** Same for every day in [{@code from}, {@code to}), e.g. after a schedule change. */
+    public void refreshAfterCommit(Long providerId, LocalDate from, LocalDate to) {
+        if (providerId == null || from == null || to == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshDays(providerId, from, to);
+                }
+            });
+        } else {
+            refreshDays(providerId, from, to);
+        }
+    }
+
+    /** Every day of the horizon, e.g. after the provider's weekly template changed. */
+    public void refreshProviderAfterCommit(Long providerId) {
+        LocalDate today = LocalDate.now();
+        refreshAfterCommit(providerId, today, today.plusDays(horizonDays));
+    }
+
+    public void refreshDay(Long providerId, LocalDate date) {
+        refreshDays(providerId, date, date.plusDays(1));
+    }
+
+    /** Recomputes a provider's days in [{@code from}, {@code to}) with one query per source. */
+    public void refreshDays(Long providerId, LocalDate from, LocalDate to) {
+        Snapshot current = snapshot;
+        LocalDate start = from.isBefore(current.baseDate) ? current.baseDate : from;
+        LocalDate horizonEnd = current.baseDate.plusDays(current.days);
+        LocalDate end = to.isAfter(horizonEnd) ? horizonEnd : to;
+
+        synchronized (lock) {
+            if (touchedWhileBuilding != null) {
+                for (LocalDate d = from; d.isBefore(to); d = d.plusDays(1)) {
+                    touchedWhileBuilding.add(new ProviderDay(providerId, d));
+                }
+            }
+        }
+
+        ProviderSlots provider = current.byId.get(providerId);
+        if (provider == null || !start.isBefore(end)) {
+            return;
+        }
+
+        int days = (int) ChronoUnit.DAYS.between(start, end);
+        long[] words = new long[days * SlotBitmaps.WORDS_PER_DAY];
+        BitSet overridden = new BitSet(days);
+        List<AvailabilityWindowRow> windows = providerAvailabilityRepository.findWindows(providerId, start, end);
+        windows.stream().filter(w -> !w.isBlocked()).forEach(w -> {
+            overridden.set(offsetOf(start, w.getDate()) / SlotBitmaps.WORDS_PER_DAY);
+            markAvailable(words, offsetOf(start, w.getDate()), w.getStartTime(), w.getEndTime());
+        });
+        applyTemplates(words, start, days, availabilityTemplateRepository.findTemplates(providerId), overridden);
+        windows.stream().filter(AvailabilityWindowRow::isBlocked)
+                .forEach(w -> markBusy(words, offsetOf(start, w.getDate()), w));
+        unifiedBookingRepository.findOccupiedIntervals(providerId, start.atStartOfDay(), end.atStartOfDay(),
+                FREE_STATUSES)
+                .forEach(o -> markOccupied(words, offsetOf(start, o.getStartAt().toLocalDate()), o));
+
+        int base = current.dayIndex(start) * SlotBitmaps.WORDS_PER_DAY;
+        for (int i = 0; i < words.length; i++) {
+            provider.free.set(base + i, words[i]);
+        }
+    }
+
+    /**
+     * Rebuilds every bitmap for the horizon starting today. Streams
+     * date-specific availability and bookings in three passes, expanding
+     * weekly templates onto days without their own windows after the first,
+     * so blocks and bookings are always applied after the windows they cut
+     * into.
+     *
+     * Not transactional itself: the load runs in a read-only transaction, and
+     * the days touched meanwhile are refreshed after it has ended, each with
+     * a fresh read of its own.
+     */
+    public void rebuild() {
+        synchronized (lock) {
+            touchedWhileBuilding = new HashSet<>();
+        }
+        Set<ProviderDay> touched;
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> load());
+        } finally {
+            synchronized (lock) {
+                touched = touchedWhileBuilding;
+                touchedWhileBuilding = null;
+            }
+        }
+
+        // Changes committed while the snapshot was loading may be missing from it
+        touched.forEach(key -> refreshDay(key.providerId, key.date));
+    }
+
+    private void load() {
+        LocalDate baseDate = LocalDate.now();
+        LocalDate endDate = baseDate.plusDays(horizonDays);
+        int wordsPerProvider = horizonDays * SlotBitmaps.WORDS_PER_DAY;
+
+        Map<Long, UserEntity> providers = new HashMap<>();
+        Map<Long, long[]> bits = new HashMap<>();
+        for (UserEntity user : userRepository.findByRoleAndVerificationStatus("PROVIDER", "APPROVED")) {
+            providers.put(user.getId(), user);
+            bits.put(user.getId(), new long[wordsPerProvider]);
+        }
+
+        Map<Long, BitSet> overridden = new HashMap<>();
+        try (Stream<AvailabilityWindowRow> rows = providerAvailabilityRepository.streamWindows(baseDate, endDate)) {
+            rows.filter(w -> !w.isBlocked()).forEach(w -> {
+                long[] words = bits.get(w.getProviderId());
+                if (words != null) {
+                    int offset = offsetOf(baseDate, w.getDate());
+                    overridden.computeIfAbsent(w.getProviderId(), id -> new BitSet(horizonDays))
+                            .set(offset / SlotBitmaps.WORDS_PER_DAY);
+                    markAvailable(words, offset, w.getStartTime(), w.getEndTime());
+                }
+            });
+        }
+        availabilityTemplateRepository.findAllTemplates().stream()
+                .filter(t -> bits.containsKey(t.getProviderId()))
+                .collect(Collectors.groupingBy(AvailabilityTemplateRow::getProviderId))
+                .forEach((id, templates) -> applyTemplates(bits.get(id), baseDate, horizonDays, templates,
+                        overridden.getOrDefault(id, new BitSet())));
+        try (Stream<AvailabilityWindowRow> rows = providerAvailabilityRepository.streamWindows(baseDate, endDate)) {
+            rows.filter(AvailabilityWindowRow::isBlocked).forEach(w -> {
+                long[] words = bits.get(w.getProviderId());
+                if (words != null) {
+                    markBusy(words, offsetOf(baseDate, w.getDate()), w);
+                }
+            });
+        }
+        try (Stream<OccupiedIntervalRow> rows = unifiedBookingRepository.streamOccupiedIntervals(
+                baseDate.atStartOfDay(), endDate.atStartOfDay(), FREE_STATUSES)) {
+            rows.forEach(o -> {
+                long[] words = bits.get(o.getProviderId());
+                if (words != null) {
+                    markOccupied(words, offsetOf(baseDate, o.getStartAt().toLocalDate()), o);
+                }
+            });
+        }
+
+        Map<Long, ProviderSlots> byId = new HashMap<>();
+        Map<String, List<ProviderSlots>> bySpecialization = new HashMap<>();
+        providers.forEach((id, user) -> {
+            ProviderSlots slots = new ProviderSlots(user, bits.get(id));
+            byId.put(id, slots);
+            if (user.getSpecialization() != null && !user.getSpecialization().isBlank()) {
+                bySpecialization.computeIfAbsent(user.getSpecialization().trim().toLowerCase(Locale.ROOT),
+                        s -> new ArrayList<>()).add(slots);
+            }
+        });
+
+        synchronized (lock) {
+            snapshot = new Snapshot(baseDate, horizonDays, Collections.unmodifiableMap(byId),
+                    Collections.unmodifiableMap(bySpecialization));
+        }
+        log.info("📅 Free-slot index rebuilt: {} providers × {} days", byId.size(), horizonDays);
+    }
+
+    private int offsetOf(LocalDate baseDate, LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(baseDate, date) * SlotBitmaps.WORDS_PER_DAY;
+    }
+
+    /** Opens each template window on the days in range that have no windows of their own. */
+    private void applyTemplates(long[] words, LocalDate baseDate, int days, List<AvailabilityTemplateRow> templates,
+            BitSet overridden) {
+        if (templates.isEmpty()) {
+            return;
+        }
+        for (int d = 0; d < days; d++) {
+            if (overridden.get(d)) {
+                continue;
+            }
+            LocalDate date = baseDate.plusDays(d);
+            for (AvailabilityTemplateRow template : templates) {
+                if (template.appliesOn(date)) {
+                    markAvailable(words, d * SlotBitmaps.WORDS_PER_DAY, template.getStartTime(),
+                            template.getEndTime());
+                }
+            }
+        }
+    }
+
+    private void markAvailable(long[] words, int offset, LocalTime start, LocalTime end) {
+        SlotBitmaps.setRange(words, offset, SlotBitmaps.ceilSlot(SlotBitmaps.minuteOfDay(start)),
+                SlotBitmaps.floorSlot(SlotBitmaps.endMinuteOfDay(end)), true);
+    }
+
+    private void markBusy(long[] words, int offset, AvailabilityWindowRow window) {
+        SlotBitmaps.setRange(words, offset,
+                SlotBitmaps.floorSlot(SlotBitmaps.minuteOfDay(window.getStartTime())),
+                SlotBitmaps.ceilSlot(SlotBitmaps.endMinuteOfDay(window.getEndTime())), false);
+    }
+
+    private void markOccupied(long[] words, int offset, OccupiedIntervalRow interval) {
+        LocalDateTime start = interval.getStartAt();
+        int duration = interval.getDuration() != null && interval.getDuration() > 0 ? interval.getDuration()
+                : DEFAULT_DURATION_MINUTES;
+        int startMinute = SlotBitmaps.minuteOfDay(start.toLocalTime());
+        // Bookings running past midnight are clipped to their start day
+        SlotBitmaps.setRange(words, offset, SlotBitmaps.floorSlot(startMinute),
+                SlotBitmaps.ceilSlot(Math.min(24 * 60, startMinute + duration)), false);
+    }
+}
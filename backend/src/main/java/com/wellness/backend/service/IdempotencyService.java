@@ -0,0 +1,187 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.config.SecondLevelCacheConfig;
+import com.wellness.backend.model.IdempotencyKeyEntity;
+import com.wellness.backend.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Stores the first response to each Idempotency-Key so retries replay it
+ * instead of creating another booking or order.
+ *
+ * Lookups go to a bounded in-memory region first and to idempotency_keys
+ * after that. A request claims its key by inserting a row without a status
+ * code, whose primary key turns concurrent duplicates on other nodes away;
+ * duplicates on this node wait for the running request and replay its
+ * response, or claim the key themselves if that request gave it up.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    // A duplicate waits at most this long for the first request before getting a 409
+    private static final long WAIT_SECONDS = 30;
+    // A claim older than this was left behind by a request that never finished
+    private static final Duration ABANDONED_AFTER = Duration.ofMinutes(2);
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<Object, Object> responses;
+    private final Duration ttl;
+
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+            PlatformTransactionManager transactionManager, CacheManager hibernateCacheManager,
+            @Value("${idempotency.ttl:PT24H}") Duration ttl) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.responses = hibernateCacheManager.getCache(SecondLevelCacheConfig.IDEMPOTENCY_REGION);
+        this.ttl = ttl;
+    }
+
+    /** A stored response, with the digest of the request that produced it. */
+    public record StoredResponse(String requestHash, int status, String contentType, String body) {
+    }
+
+    public enum Outcome {
+        /** The caller owns the key and must run the request, then call complete or abandon. */
+        PROCEED,
+        REPLAY,
+        /** The key was used before with a different request body. */
+        MISMATCH,
+        IN_PROGRESS
+    }
+
+    public record Claim(Outcome outcome, StoredResponse response) {
+    }
+
+    public Claim claim(String id, String requestHash) {
+        return claim(id, requestHash, System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS));
+    }
+
+    private Claim claim(String id, String requestHash, long deadlineNanos) {
+        Object hit = responses.get(id);
+        if (hit != null) {
+            return replay((StoredResponse) hit, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return await(id, running, requestHash, deadlineNanos);
+        }
+
+        try {
+            Optional<IdempotencyKeyEntity> existing = idempotencyKeyRepository.findById(id);
+            LocalDateTime now = LocalDateTime.now();
+            if (existing.isPresent()) {
+                IdempotencyKeyEntity row = existing.get();
+                if (row.getStatusCode() != null && row.getExpiresAt().isAfter(now)) {
+                    StoredResponse stored = new StoredResponse(row.getRequestHash(), row.getStatusCode(),
+                            row.getContentType(), row.getResponseBody());
+                    responses.put(id, stored);
+                    release(id, mine, stored);
+                    return replay(stored, requestHash);
+                }
+                if (row.getStatusCode() == null && row.getCreatedAt().isAfter(now.minus(ABANDONED_AFTER))) {
+                    // Claimed by a request running on another node
+                    release(id, mine, null);
+                    return new Claim(Outcome.IN_PROGRESS, null);
+                }
+                transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.deleteById(id));
+            }
+
+            transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.saveAndFlush(
+                    new IdempotencyKeyEntity(id, requestHash, null, null, null, now, now.plus(ttl))));
+            return new Claim(Outcome.PROCEED, null);
+        } catch (DataIntegrityViolationException e) {
+            release(id, mine, null);
+            return new Claim(Outcome.IN_PROGRESS, null);
+        } catch (RuntimeException e) {
+            release(id, mine, null);
+            throw e;
+        }
+    }
+
+    /**
+     * Records the response of a request that claimed its key. Server errors
+     * are not stored, so the client's next retry runs the request again.
+     */
+    public void complete(String id, StoredResponse response) {
+        if (response.status() >= 500) {
+            abandon(id);
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.complete(id,
+                    response.status(), response.contentType(), response.body()));
+            responses.put(id, response);
+        } finally {
+            release(id, inFlight.get(id), response);
+        }
+    }
+
+    /** Gives the key up after the request failed without a response worth replaying. */
+    public void abandon(String id) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.deletePending(id));
+        } finally {
+            release(id, inFlight.get(id), null);
+        }
+    }
+
+    public int deleteExpired() {
+        Integer deleted = transactionTemplate.execute(
+                status -> idempotencyKeyRepository.deleteExpired(LocalDateTime.now()));
+        return deleted != null ? deleted : 0;
+    }
+
+    private Claim await(String id, CompletableFuture<StoredResponse> running, String requestHash,
+            long deadlineNanos) {
+        try {
+            StoredResponse response = running.get(Math.max(0, deadlineNanos - System.nanoTime()),
+                    TimeUnit.NANOSECONDS);
+            // No response means the first request failed and gave the key up, or found it claimed
+            // on another node; claiming again either runs this request or reports the other node
+            return response != null ? replay(response, requestHash) : claim(id, requestHash, deadlineNanos);
+        } catch (TimeoutException | ExecutionException e) {
+            return new Claim(Outcome.IN_PROGRESS, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Claim(Outcome.IN_PROGRESS, null);
+        }
+    }
+
+    private Claim replay(StoredResponse response, String requestHash) {
+        return response.requestHash().equals(requestHash)
+                ? new Claim(Outcome.REPLAY, response)
+                : new Claim(Outcome.MISMATCH, null);
+    }
+
+    private void release(String id, CompletableFuture<StoredResponse> future, StoredResponse response) {
+        if (future != null) {
+            inFlight.remove(id, future);
+            future.complete(response);
+        }
+    }
+}
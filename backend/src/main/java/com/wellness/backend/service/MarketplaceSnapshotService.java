@@ -0,0 +1,206 @@
+package com.wellness.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wellness.backend.event.MarketplaceChangedEvent;
+import com.wellness.backend.event.MarketplaceChangedEvent.Feed;
+import com.wellness.backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Public marketplace feeds (approved practitioners and all products) kept as
+ * ready-to-send JSON, plain and gzipped. Requests are answered from these
+ * bytes without touching the database or Jackson; catalog changes rebuild
+ * the affected feed in the background, and readers keep getting the previous
+ * snapshot until the new one is swapped in.
+ *
+ * Snapshots are local to each instance. A periodic rebuild picks up changes
+ * made through other instances.
+ */
+@Service
+@Slf4j
+public class MarketplaceSnapshotService {
+
+    private final UserRepository userRepository;
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<Feed, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // Feeds with a rebuild queued but not yet started; further changes coalesce into it
+    private final Set<Feed> pending = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "marketplace-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** One serialized feed. The gzip body is a different representation, so it has its own strong tag. */
+    public record Snapshot(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+    }
+
+    public MarketplaceSnapshotService(UserRepository userRepository, ProductService productService,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        refreshAll();
+    }
+
+    @Scheduled(fixedDelayString = "${marketplace.snapshot.refresh-interval-ms:300000}",
+            initialDelayString = "${marketplace.snapshot.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refreshAll();
+    }
+
+    /**
+     * Runs after the publishing write commits, so a rolled-back write never
+     * triggers a rebuild. Writers without a transaction have already
+     * committed when they publish, so the event is handled straight away.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMarketplaceChanged(MarketplaceChangedEvent event) {
+        requestRefresh(event.getFeed());
+    }
+
+    /**
+     * Serves a feed with a strong ETag: 304 when If-None-Match matches,
+     * otherwise the gzipped bytes to clients that accept them and the plain
+     * JSON to everyone else.
+     */
+    public ResponseEntity<byte[]> serve(Feed feed, String ifNoneMatch, String acceptEncoding) {
+        Snapshot snapshot = get(feed);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setCacheControl(CacheControl.noCache());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (matches(ifNoneMatch, snapshot)) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new ResponseEntity<>(gzip ? snapshot.gzip() : snapshot.json(), headers, HttpStatus.OK);
+    }
+
+    public Snapshot get(Feed feed) {
+        Snapshot snapshot = snapshots.get(feed);
+        if (snapshot == null) {
+            // Only before the startup build has finished
+            snapshot = snapshots.computeIfAbsent(feed, this::build);
+        }
+        return snapshot;
+    }
+
+    private void refreshAll() {
+        for (Feed feed : Feed.values()) {
+            requestRefresh(feed);
+        }
+    }
+
+    private void requestRefresh(Feed feed) {
+        if (!pending.add(feed)) {
+            return;
+        }
+        refresher.execute(() -> {
+            // Cleared before loading, so a change made during the load queues another rebuild
+            pending.remove(feed);
+            long started = System.currentTimeMillis();
+            try {
+                Snapshot snapshot = build(feed);
+                snapshots.put(feed, snapshot);
+                log.info("🛒 Marketplace {} snapshot rebuilt: {} bytes ({} gzipped) in {} ms", feed,
+                        snapshot.json().length, snapshot.gzip().length, System.currentTimeMillis() - started);
+            } catch (RuntimeException e) {
+                log.error("❌ Marketplace {} snapshot rebuild failed, keeping the previous one", feed, e);
+            }
+        });
+    }
+
+    private Snapshot build(Feed feed) {
+        // Serialized inside the transaction so lazy associations can still load
+        byte[] json = readOnlyTransaction.execute(status -> serialize(feed, switch (feed) {
+            case PRACTITIONERS -> userRepository.findByRoleAndVerificationStatus("PROVIDER", "APPROVED");
+            case PRODUCTS -> productService.getAllProducts();
+        }));
+        String hash = DigestUtils.md5DigestAsHex(json);
+        return new Snapshot(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+    }
+
+    private byte[] serialize(Feed feed, Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize marketplace " + feed, e);
+        }
+    }
+
+    private boolean matches(String ifNoneMatch, Snapshot snapshot) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(snapshot.etag()) || tag.equals(snapshot.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] input) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
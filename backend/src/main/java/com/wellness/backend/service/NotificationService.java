@@ -7,13 +7,16 @@ import com.wellness.backend.model.NotificationEntity;
 import com.wellness.backend.model.NotificationType;
 import com.wellness.backend.model.SessionBookingEntity;
 import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.model.WaitlistEntryEntity;
 import com.wellness.backend.repository.NotificationRepository;
 import com.wellness.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,8 +30,12 @@ public class NotificationService {
         public List<NotificationDTO> getNotificationsForUser(String email) {
                 UserEntity user = userRepository.findByEmail(email)
                                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + email));
+                return getNotificationsForUserId(user.getId());
+        }
 
-                return notificationRepository.findByRecipient_IdOrderByCreatedAtDesc(user.getId())
+        @Transactional(readOnly = true)
+        public List<NotificationDTO> getNotificationsForUserId(Long userId) {
+                return notificationRepository.findByRecipient_IdOrderByCreatedAtDesc(userId)
                                 .stream()
                                 .map(this::toDto)
                                 .collect(Collectors.toList());
@@ -200,6 +207,19 @@ public class NotificationService {
                 createNotification(recipient, NotificationType.SESSION_CANCELLED, message, session.getId());
         }
 
+        /** Bulk counterpart of notifySessionCancelled for a provider cancelling a day; one batched insert. */
+        @Transactional
+        public void notifySessionsCancelledByProvider(List<SessionBookingEntity> sessions, UserEntity provider) {
+                List<NotificationEntity> batch = new ArrayList<>();
+                for (SessionBookingEntity session : sessions) {
+                        String message = String.format("🚫 %s has cancelled the session scheduled for %s at %s",
+                                        provider.getName(), session.getSessionDate(), session.getStartTime());
+                        batch.add(newNotification(session.getClient(), NotificationType.SESSION_CANCELLED, message,
+                                        session.getId()));
+                }
+                saveNew(NotificationType.SESSION_CANCELLED, batch);
+        }
+
         @Transactional
         public void notifySessionNotCompleted(SessionBookingEntity session) {
                 UserEntity client = session.getClient();
@@ -243,6 +263,22 @@ public class NotificationService {
                 createNotification(provider, NotificationType.SESSION_COMPLETED, message, session.getId());
         }
 
+        /** Bulk counterpart of notifySessionCompleted for a provider closing out a day. */
+        @Transactional
+        public void notifySessionsCompleted(List<SessionBookingEntity> sessions) {
+                List<NotificationEntity> batch = new ArrayList<>();
+                for (SessionBookingEntity session : sessions) {
+                        String message = String.format(
+                                        "✅ Your session on %s at %s has been marked as COMPLETED. We hope it was productive!",
+                                        session.getSessionDate(), session.getStartTime());
+                        batch.add(newNotification(session.getClient(), NotificationType.SESSION_COMPLETED, message,
+                                        session.getId()));
+                        batch.add(newNotification(session.getProvider(), NotificationType.SESSION_COMPLETED, message,
+                                        session.getId()));
+                }
+                saveNew(NotificationType.SESSION_COMPLETED, batch);
+        }
+
         @Transactional
         public void notifyBookingCompleted(BookingEntity booking) {
                 UserEntity client = booking.getUser();
@@ -260,6 +296,17 @@ public class NotificationService {
                 createNotification(practitioner, NotificationType.SESSION_COMPLETED, message, booking.getId());
         }
 
+        @Transactional
+        public void notifyWaitlistOffer(WaitlistEntryEntity entry) {
+                String message = String.format(
+                                "⏳ A slot with %s opened up on %s at %s. Book it before %s to keep it.",
+                                entry.getProvider().getName(),
+                                entry.getOfferedStart().toLocalDate(),
+                                entry.getOfferedStart().toLocalTime(),
+                                entry.getOfferExpiresAt().toLocalTime().withNano(0));
+                createNotification(entry.getClient(), NotificationType.WAITLIST_OFFER, message, entry.getId());
+        }
+
         private void createNotification(UserEntity recipient, NotificationType type, String message, Long relatedId) {
                 // Prevent duplicate notifications for the same event and recipient
                 if (notificationRepository.existsByRecipient_IdAndTypeAndRelatedBookingId(recipient.getId(), type,
@@ -267,13 +314,33 @@ public class NotificationService {
                         return;
                 }
 
+                notificationRepository.save(newNotification(recipient, type, message, relatedId));
+        }
+
+        // Same duplicate rule as createNotification, checked with one query for the whole batch
+        private void saveNew(NotificationType type, List<NotificationEntity> candidates) {
+                if (candidates.isEmpty()) {
+                        return;
+                }
+                Set<String> existing = notificationRepository.findByTypeAndRelatedBookingIdIn(type,
+                                candidates.stream().map(NotificationEntity::getRelatedBookingId).collect(Collectors.toSet()))
+                                .stream()
+                                .map(n -> n.getRecipient().getId() + ":" + n.getRelatedBookingId())
+                                .collect(Collectors.toSet());
+                notificationRepository.saveAll(candidates.stream()
+                                .filter(n -> !existing.contains(n.getRecipient().getId() + ":" + n.getRelatedBookingId()))
+                                .collect(Collectors.toList()));
+        }
+
+        private NotificationEntity newNotification(UserEntity recipient, NotificationType type, String message,
+                        Long relatedId) {
                 NotificationEntity entity = new NotificationEntity();
                 entity.setRecipient(recipient);
                 entity.setType(type);
                 entity.setMessage(message);
                 entity.setRelatedBookingId(relatedId);
                 entity.setRead(false);
-                notificationRepository.save(entity);
+                return entity;
         }
 
         private NotificationDTO toDto(NotificationEntity entity) {
@@ -7,12 +7,13 @@ import com.wellness.backend.exception.ResourceNotFoundException;
 import com.wellness.backend.model.OrderEntity;
 import com.wellness.backend.model.ProductEntity;
 import com.wellness.backend.model.UserEntity;
-import com.wellness.backend.repository.BookingRepository;
 import com.wellness.backend.repository.OrderRepository;
 import com.wellness.backend.repository.ProductRepository;
+import com.wellness.backend.repository.UnifiedBookingRepository;
 import com.wellness.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -30,8 +31,9 @@ public class OrderService {
         private final OrderRepository orderRepository;
         private final ProductRepository productRepository;
         private final UserRepository userRepository;
-        private final BookingRepository bookingRepository;
+        private final UnifiedBookingRepository unifiedBookingRepository;
 
+        @Transactional(readOnly = true)
         public List<OrderDTO> getOrdersByUserId(Long userId) {
                 return orderRepository.findByUser_Id(userId).stream()
                                 .map(this::toOrderDto)
@@ -78,8 +80,8 @@ public class OrderService {
                                 .mapToDouble(o -> o.getTotalPrice().doubleValue())
                                 .sum();
 
-                // Get session revenue
-                BigDecimal sessionRev = bookingRepository.sumTotalSessionRevenueByPractitioner(providerId);
+                // Get session revenue (bookings and sessions, hot and archived)
+                BigDecimal sessionRev = unifiedBookingRepository.sumEarnedByProvider(providerId);
                 double totalSessionRevenue = sessionRev != null ? sessionRev.doubleValue() : 0.0;
 
                 double totalRevenue = productRevenue + totalSessionRevenue;
@@ -95,8 +97,9 @@ public class OrderService {
                 // Also add session revenue to monthly split if available for current month
                 LocalDateTime now = LocalDateTime.now();
 
-                BigDecimal sessionMonthly = bookingRepository.sumSessionRevenueByPractitionerAndDateRange(
-                                providerId, now.withDayOfMonth(1).with(java.time.LocalTime.MIN), now);
+                LocalDateTime monthStart = now.withDayOfMonth(1).with(java.time.LocalTime.MIN);
+                BigDecimal sessionMonthly = unifiedBookingRepository.sumEarnedByProviderAndDateRange(
+                                providerId, monthStart, now);
                 double currentMonthSessionRev = sessionMonthly != null ? sessionMonthly.doubleValue() : 0.0;
 
                 return PractitionerStatsDTO.builder()
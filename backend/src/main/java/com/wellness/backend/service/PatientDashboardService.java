@@ -0,0 +1,155 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.DashboardMetaDTO;
+import com.wellness.backend.dto.PatientDashboardDTO;
+import com.wellness.backend.exception.ResourceNotFoundException;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the patient dashboard in one request. The user is resolved once and
+ * the five independent sections are loaded in parallel, each in its own
+ * read-only transaction, so the response takes about as long as the slowest
+ * section instead of the sum of all of them.
+ *
+ * A section that fails or runs past the timeout is left null and listed in
+ * the metadata rather than failing the whole dashboard. So is a section the
+ * pool has no room for: it is never run on the request thread, where the
+ * timeout could not bound it.
+ */
+@Service
+@Slf4j
+public class PatientDashboardService {
+
+    private final UserRepository userRepository;
+    private final BookingService bookingService;
+    private final SessionBookingService sessionBookingService;
+    private final NotificationService notificationService;
+    private final AnalyticsService analyticsService;
+    private final OrderService orderService;
+    private final Duration sectionTimeout;
+
+    private final ThreadPoolExecutor pool;
+    // Carries the caller's SecurityContext so replica routing sees the same user
+    private final ExecutorService executor;
+
+    public PatientDashboardService(UserRepository userRepository, BookingService bookingService,
+            SessionBookingService sessionBookingService, NotificationService notificationService,
+            AnalyticsService analyticsService, OrderService orderService,
+            @Value("${dashboard.executor.threads:8}") int threads,
+            @Value("${dashboard.executor.queue-capacity:200}") int queueCapacity,
+            @Value("${dashboard.section-timeout:PT5S}") Duration sectionTimeout) {
+        this.userRepository = userRepository;
+        this.bookingService = bookingService;
+        this.sessionBookingService = sessionBookingService;
+        this.notificationService = notificationService;
+        this.analyticsService = analyticsService;
+        this.orderService = orderService;
+        this.sectionTimeout = sectionTimeout;
+
+        AtomicInteger counter = new AtomicInteger();
+        // When the queue is full a section is rejected and reported as failed
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "dashboard-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor = new DelegatingSecurityContextExecutorService(pool);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public PatientDashboardDTO getDashboard(String email) {
+        long started = System.nanoTime();
+        UserEntity user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + email));
+        Long userId = user.getId();
+
+        Map<String, Long> timings = new LinkedHashMap<>();
+        List<String> failed = new ArrayList<>();
+
+        long deadline = System.nanoTime() + sectionTimeout.toNanos();
+        var bookings = submit("bookings", () -> bookingService.getClientUpcomingBookings(userId));
+        var sessions = submit("sessions", () -> sessionBookingService.getSessionsForClient(userId));
+        var notifications = submit("notifications", () -> notificationService.getNotificationsForUserId(userId));
+        var analytics = submit("analytics", () -> analyticsService.getPatientAnalytics(userId));
+        var orders = submit("orders", () -> orderService.getOrdersByUserId(userId));
+
+        PatientDashboardDTO dashboard = PatientDashboardDTO.builder()
+                .userId(userId)
+                .name(user.getName())
+                .bookings(join(bookings, deadline, timings, failed))
+                .sessions(join(sessions, deadline, timings, failed))
+                .notifications(join(notifications, deadline, timings, failed))
+                .analytics(join(analytics, deadline, timings, failed))
+                .orders(join(orders, deadline, timings, failed))
+                .build();
+
+        dashboard.setMeta(DashboardMetaDTO.builder()
+                .generatedAt(LocalDateTime.now())
+                .totalMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                .sectionMillis(timings)
+                .failedSections(failed)
+                .build());
+        return dashboard;
+    }
+
+    private <T> Section<T> submit(String name, Supplier<T> loader) {
+        try {
+            return new Section<>(name, CompletableFuture.supplyAsync(() -> {
+                long started = System.nanoTime();
+                T value = loader.get();
+                return new Timed<>(value, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            }, executor));
+        } catch (RejectedExecutionException e) {
+            // join() reports it with the other failed sections
+            return new Section<>(name, CompletableFuture.failedFuture(e));
+        }
+    }
+
+    private <T> T join(Section<T> section, long deadline, Map<String, Long> timings, List<String> failed) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            Timed<T> result = section.future().get(remaining, TimeUnit.NANOSECONDS);
+            timings.put(section.name(), result.millis());
+            return result.value();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("⚠️ Dashboard section {} failed: {}", section.name(), e.toString());
+        }
+        section.future().cancel(true);
+        failed.add(section.name());
+        return null;
+    }
+
+    private record Section<T>(String name, CompletableFuture<Timed<T>> future) {
+    }
+
+    private record Timed<T>(T value, long millis) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.wellness.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wellness.backend.dto.CursorPageDTO;
+import com.wellness.backend.dto.PractitionerCardDTO;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Marketplace directory of approved practitioners, filtered and paged in SQL.
+ * Pages are ordered by (name, id); the cursor is the last card's position.
+ */
+@Service
+@RequiredArgsConstructor
+public class PractitionerDirectoryService {
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PractitionerCardDTO> getDirectoryPage(String cursor, Integer limit, String specialization,
+            String city, String country, BigDecimal minFee, BigDecimal maxFee) {
+        int pageSize = KeysetCursor.pageSize(limit);
+        Long cursorId = null;
+        String cursorName = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                cursorId = Long.parseLong(raw.substring(0, sep));
+                cursorName = raw.substring(sep + 1);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<PractitionerCardDTO> rows = userRepository.findDirectoryPage(blankToNull(specialization),
+                blankToNull(city), blankToNull(country), minFee, maxFee, cursorName, cursorId,
+                PageRequest.of(0, pageSize + 1));
+
+        return KeysetCursor.toPage(rows, pageSize, card -> card,
+                card -> Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        (card.getId() + "|" + card.getName()).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Strong validator for a directory page: a hash of its JSON form, so any
+     * instance produces the same tag for the same content.
+     */
+    public String etagOf(CursorPageDTO<PractitionerCardDTO> page) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(page)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize directory page", e);
+        }
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,474 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.model.ImageVariant;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Product images stored by content: an upload is written once under its
+ * SHA-256, so re-uploading the same file reuses the existing blob. Resized
+ * JPEG variants are generated on a small background pool and kept in a
+ * size-bounded disk cache evicted least recently served first; an evicted or
+ * not yet generated variant is rebuilt on its next request while the
+ * original is served in its place.
+ *
+ * Image headers are read before any decode, and images above
+ * {@link #MAX_PIXELS} are refused on upload and never decoded, since a
+ * small compressed file can claim dimensions that would fill the heap.
+ */
+@Service
+@Slf4j
+public class ProductImageService {
+
+    public static final String BLOB_DIR = "uploads/products/blobs";
+
+    private static final Pattern BLOB_PATH = Pattern.compile("^uploads/products/blobs/[0-9a-f]{2}/([0-9a-f]{64})\\.[a-z0-9]+$");
+    private static final Pattern HASH = Pattern.compile("^[0-9a-f]{64}$");
+    private static final Set<String> EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "webp", "bmp");
+    private static final float JPEG_QUALITY = 0.82f;
+    // 25 MP decodes to about 100 MB of pixels; larger uploads are refused
+    public static final long MAX_PIXELS = 25_000_000L;
+    // Upload checks decode every 8th pixel of every 8th row, enough to walk the whole stream
+    private static final int VERIFY_SUBSAMPLING = 8;
+
+    private final Path blobRoot = Paths.get(BLOB_DIR);
+    private final Path variantRoot;
+    private final long variantCacheMaxBytes;
+    private final ThreadPoolExecutor pool;
+
+    // Variant files in least-recently-served order, with their sizes; guarded by itself
+    private final LinkedHashMap<Path, Long> variantCache = new LinkedHashMap<>(256, 0.75f, true);
+    private long variantCacheBytes;
+
+    private final Set<String> generating = ConcurrentHashMap.newKeySet();
+    // Blobs ImageIO cannot decode (e.g. WebP); served as originals without retrying
+    private final Set<String> undecodable = ConcurrentHashMap.newKeySet();
+
+    public ProductImageService(@Value("${product-images.variant-dir:cache/product-variants}") String variantDir,
+            @Value("${product-images.variant-cache-max-bytes:536870912}") long variantCacheMaxBytes,
+            @Value("${product-images.executor.threads:2}") int threads,
+            @Value("${product-images.executor.queue-capacity:100}") int queueCapacity) {
+        this.variantRoot = Paths.get(variantDir);
+        this.variantCacheMaxBytes = variantCacheMaxBytes;
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "product-image-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** Rebuilds the LRU order from the variant files left by a previous run, oldest first. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadVariantCache() {
+        if (!Files.isDirectory(variantRoot)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(variantRoot)) {
+            List<Path> existing = new ArrayList<>(files.filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().endsWith(".jpg")).toList());
+            existing.sort((a, b) -> Long.compare(lastModified(a), lastModified(b)));
+            for (Path file : existing) {
+                admit(file, Files.size(file));
+            }
+            log.info("🖼️ Product image variant cache loaded: {} files, {} bytes", existing.size(), variantCacheBytes);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not scan product image variants: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stores an upload under its content hash and queues its variants.
+     * Returns the blob's path relative to the server root, as kept in
+     * ProductEntity.imageUrl.
+     */
+    public String store(MultipartFile file) throws IOException {
+        String extension = extensionOf(file.getOriginalFilename());
+        Files.createDirectories(blobRoot);
+        Path temp = Files.createTempFile(blobRoot, "upload-", ".tmp");
+        String hash;
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                    OutputStream out = Files.newOutputStream(temp)) {
+                in.transferTo(out);
+            }
+            hash = HexFormat.of().formatHex(digest.digest());
+            verifyImage(temp, extension);
+            Path blob = blobPath(hash, extension);
+            if (Files.exists(blob)) {
+                log.info("🖼️ Product image {} already stored, reusing it", hash);
+            } else {
+                Files.createDirectories(blob.getParent());
+                moveInto(temp, blob);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            requestVariant(hash, variant);
+        }
+        return BLOB_DIR + "/" + hash.substring(0, 2) + "/" + hash + "." + extension;
+    }
+
+    /** The content hash of a stored blob path, or null for images saved before content addressing. */
+    public String hashOf(String imageUrl) {
+        if (imageUrl == null) {
+            return null;
+        }
+        Matcher matcher = BLOB_PATH.matcher(imageUrl);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * The file to send for a variant request: the variant when it is on
+     * disk, otherwise the original (and the variant is queued). Null when
+     * the blob does not exist.
+     */
+    public ImageFile resolve(String hash, ImageVariant variant) {
+        if (!HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid image id");
+        }
+        Path variantFile = variantPath(hash, variant);
+        if (Files.isRegularFile(variantFile)) {
+            touch(variantFile);
+            return new ImageFile(variantFile, "image/jpeg", true);
+        }
+        Path original = findBlob(hash);
+        if (original == null) {
+            return null;
+        }
+        requestVariant(hash, variant);
+        return new ImageFile(original, contentTypeOf(original), false);
+    }
+
+    /** A file to serve; {@code variant} is false when the original stands in for a missing variant. */
+    public record ImageFile(Path path, String contentType, boolean variant) {
+    }
+
+    private void requestVariant(String hash, ImageVariant variant) {
+        if (undecodable.contains(hash) || !generating.add(hash + ":" + variant)) {
+            return;
+        }
+        try {
+            pool.execute(() -> {
+                try {
+                    generate(hash, variant);
+                } catch (Exception e) {
+                    log.warn("⚠️ Could not build {} variant of product image {}: {}", variant, hash, e.toString());
+                } finally {
+                    generating.remove(hash + ":" + variant);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Queue full: the next request for this variant tries again
+            generating.remove(hash + ":" + variant);
+        }
+    }
+
+    private void generate(String hash, ImageVariant variant) throws IOException {
+        Path target = variantPath(hash, variant);
+        if (Files.exists(target)) {
+            return;
+        }
+        Path original = findBlob(hash);
+        if (original == null) {
+            return;
+        }
+        BufferedImage source = decode(original, 1);
+        if (source == null) {
+            undecodable.add(hash);
+            return;
+        }
+
+        BufferedImage resized = resize(source, variant.getMaxWidth());
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+        try {
+            writeJpeg(resized, temp);
+            moveInto(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        admit(target, Files.size(target));
+    }
+
+    /**
+     * Decodes the first image of a file, reading only its header first.
+     * Returns null when ImageIO has no reader for the format or the image is
+     * larger than {@link #MAX_PIXELS}.
+     */
+    BufferedImage decode(Path file, int subsampling) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            ImageReader reader = readerFor(in);
+            if (reader == null) {
+                return null;
+            }
+            try {
+                if (tooLarge(reader)) {
+                    log.warn("⚠️ Product image {} is {}x{}, over the {} pixel limit", file.getFileName(),
+                            reader.getWidth(0), reader.getHeight(0), MAX_PIXELS);
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Refuses an upload that is not a decodable image within
+     * {@link #MAX_PIXELS}. WebP, which ImageIO cannot read, is checked by its
+     * signature only.
+     */
+    void verifyImage(Path file, String extension) throws IOException {
+        if (extension.equals("webp")) {
+            if (!isWebp(file)) {
+                throw new IllegalArgumentException("Product image is not a valid WebP file");
+            }
+            return;
+        }
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            ImageReader reader = readerFor(in);
+            if (reader == null) {
+                throw new IllegalArgumentException("Product image is not a valid image file");
+            }
+            try {
+                if (tooLarge(reader)) {
+                    throw new IllegalArgumentException("Product image is too large: at most "
+                            + MAX_PIXELS / 1_000_000 + " megapixels");
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(VERIFY_SUBSAMPLING, VERIFY_SUBSAMPLING, 0, 0);
+                reader.read(0, param);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Product image could not be decoded", e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static ImageReader readerFor(ImageInputStream in) {
+        if (in == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(in, true, true);
+        return reader;
+    }
+
+    private static boolean tooLarge(ImageReader reader) throws IOException {
+        return (long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS;
+    }
+
+    private static boolean isWebp(Path file) throws IOException {
+        byte[] header = new byte[12];
+        try (InputStream in = Files.newInputStream(file)) {
+            if (in.readNBytes(header, 0, header.length) < header.length) {
+                return false;
+            }
+        }
+        return new String(header, 0, 4, StandardCharsets.US_ASCII).equals("RIFF")
+                && new String(header, 8, 4, StandardCharsets.US_ASCII).equals("WEBP");
+    }
+
+    /** Scales down to maxWidth (never up) onto an opaque canvas, since JPEG has no alpha. */
+    private BufferedImage resize(BufferedImage source, int maxWidth) {
+        int width = Math.min(source.getWidth(), maxWidth);
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage out = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private void admit(Path file, long size) {
+        List<Path> evicted = new ArrayList<>();
+        synchronized (variantCache) {
+            Long previous = variantCache.put(file, size);
+            variantCacheBytes += size - (previous != null ? previous : 0);
+            Iterator<Map.Entry<Path, Long>> eldest = variantCache.entrySet().iterator();
+            while (variantCacheBytes > variantCacheMaxBytes && eldest.hasNext()) {
+                Map.Entry<Path, Long> entry = eldest.next();
+                if (entry.getKey().equals(file)) {
+                    continue;
+                }
+                variantCacheBytes -= entry.getValue();
+                evicted.add(entry.getKey());
+                eldest.remove();
+            }
+        }
+        for (Path path : evicted) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("⚠️ Could not evict product image variant {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private void touch(Path file) {
+        synchronized (variantCache) {
+            variantCache.get(file);
+        }
+    }
+
+    private Path findBlob(String hash) {
+        Path dir = blobRoot.resolve(hash.substring(0, 2));
+        if (!Files.isDirectory(dir)) {
+            return null;
+        }
+        try (DirectoryStream<Path> matches = Files.newDirectoryStream(dir, hash + ".*")) {
+            Iterator<Path> it = matches.iterator();
+            return it.hasNext() ? it.next() : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path blobPath(String hash, String extension) {
+        return blobRoot.resolve(hash.substring(0, 2)).resolve(hash + "." + extension);
+    }
+
+    private Path variantPath(String hash, ImageVariant variant) {
+        return variantRoot.resolve(variant.pathSegment()).resolve(hash.substring(0, 2)).resolve(hash + ".jpg");
+    }
+
+    private void moveInto(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // The same content was stored concurrently
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private String extensionOf(String filename) {
+        if (filename != null) {
+            int dot = filename.lastIndexOf('.');
+            if (dot >= 0) {
+                String ext = filename.substring(dot + 1).toLowerCase();
+                if (EXTENSIONS.contains(ext)) {
+                    return ext.equals("jpeg") ? "jpg" : ext;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Product image must be a JPG, PNG, GIF, WebP or BMP file");
+    }
+
+    private String contentTypeOf(Path file) {
+        String name = file.getFileName().toString();
+        String ext = name.substring(name.lastIndexOf('.') + 1);
+        return switch (ext) {
+            case "jpg" -> "image/jpeg";
+            case "png" -> "image/png";
+            case "gif" -> "image/gif";
+            case "webp" -> "image/webp";
+            case "bmp" -> "image/bmp";
+            default -> "application/octet-stream";
+        };
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
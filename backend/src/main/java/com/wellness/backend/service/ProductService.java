@@ -1,24 +1,35 @@
 package com.wellness.backend.service;
 
+import com.wellness.backend.dto.CursorPageDTO;
+import com.wellness.backend.dto.ProductListingRow;
 import com.wellness.backend.dto.ProductRequestDTO;
 import com.wellness.backend.dto.ProductResponseDTO;
+import com.wellness.backend.event.MarketplaceChangedEvent;
+import com.wellness.backend.event.MarketplaceChangedEvent.Feed;
 import com.wellness.backend.exception.ForbiddenActionException;
 import com.wellness.backend.exception.ResourceNotFoundException;
+import com.wellness.backend.model.CatalogVersionEntity;
+import com.wellness.backend.model.ImageVariant;
 import com.wellness.backend.model.ProductEntity;
+import com.wellness.backend.model.ProductSort;
 import com.wellness.backend.model.UserEntity;
 import com.wellness.backend.repository.ProductRepository;
 import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,9 +38,12 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final SearchIndexService searchIndexService;
+    private final CatalogVersionService catalogVersionService;
+    private final ProductImageService productImageService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private final String UPLOAD_DIR = "uploads/products";
-
+    @Transactional
     public ProductResponseDTO createProduct(ProductRequestDTO request) throws IOException {
         if (request.getPrice().compareTo(java.math.BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Price must be greater than zero");
@@ -46,13 +60,17 @@ public class ProductService {
         product.setProvider(provider);
 
         if (request.getImage() != null && !request.getImage().isEmpty()) {
-            product.setImageUrl(saveImage(request.getImage()));
+            product.setImageUrl(productImageService.store(request.getImage()));
         }
 
         ProductEntity saved = productRepository.save(product);
+        catalogVersionService.bump(CatalogVersionEntity.PRODUCTS);
+        searchIndexService.indexProduct(saved);
+        eventPublisher.publishEvent(new MarketplaceChangedEvent(Feed.PRODUCTS));
         return mapToResponseDTO(saved);
     }
 
+    @Transactional
     public ProductResponseDTO updateProduct(Long id, ProductRequestDTO request) throws IOException {
         ProductEntity product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
@@ -66,10 +84,13 @@ public class ProductService {
         product.setPrice(request.getPrice());
 
         if (request.getImage() != null && !request.getImage().isEmpty()) {
-            product.setImageUrl(saveImage(request.getImage()));
+            product.setImageUrl(productImageService.store(request.getImage()));
         }
 
         ProductEntity updated = productRepository.save(product);
+        catalogVersionService.bump(CatalogVersionEntity.PRODUCTS);
+        searchIndexService.indexProduct(updated);
+        eventPublisher.publishEvent(new MarketplaceChangedEvent(Feed.PRODUCTS));
         return mapToResponseDTO(updated);
     }
 
@@ -79,12 +100,73 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page of the catalog in the given order. Rows are projected with
+     * the provider id from the foreign key, so no provider is loaded.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProductResponseDTO> getCatalogPage(String cursor, Integer limit, ProductSort sort) {
+        int pageSize = KeysetCursor.pageSize(limit);
+        PageRequest fetch = PageRequest.of(0, pageSize + 1);
+        Long cursorId = null;
+        String cursorValue = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                cursorId = Long.parseLong(raw.substring(0, sep));
+                cursorValue = raw.substring(sep + 1);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<ProductListingRow> rows;
+        try {
+            rows = switch (sort) {
+                case NEWEST -> productRepository.findNewestPage(
+                        cursorValue != null ? LocalDateTime.parse(cursorValue) : null, cursorId, fetch);
+                case PRICE_ASC -> productRepository.findPriceAscPage(
+                        cursorValue != null ? new BigDecimal(cursorValue) : null, cursorId, fetch);
+                case PRICE_DESC -> productRepository.findPriceDescPage(
+                        cursorValue != null ? new BigDecimal(cursorValue) : null, cursorId, fetch);
+                case NAME -> productRepository.findNamePage(cursorValue, cursorId, fetch);
+            };
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        return KeysetCursor.toPage(rows, pageSize, this::mapToResponseDTO,
+                row -> Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        (row.getProductId() + "|" + sortValue(row, sort)).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Strong validator for a catalog page, derived from the catalog version
+     * and the page parameters alone, so a revalidation costs one key lookup.
+     */
+    public String catalogPageEtag(String cursor, Integer limit, ProductSort sort) {
+        long version = catalogVersionService.current(CatalogVersionEntity.PRODUCTS);
+        String params = sort + "|" + KeysetCursor.pageSize(limit) + "|" + (cursor == null ? "" : cursor);
+        return "\"products-v" + version + "-"
+                + DigestUtils.md5DigestAsHex(params.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private String sortValue(ProductListingRow row, ProductSort sort) {
+        return switch (sort) {
+            case NEWEST -> row.getCreatedAt().toString();
+            case PRICE_ASC, PRICE_DESC -> row.getPrice().toPlainString();
+            case NAME -> row.getName();
+        };
+    }
+
     public List<ProductResponseDTO> getProviderProducts(Long providerId) {
         return productRepository.findByProvider_Id(providerId).stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public void deleteProduct(Long id, Long providerId) {
         ProductEntity product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
@@ -94,19 +176,9 @@ public class ProductService {
         }
 
         productRepository.delete(product);
-    }
-
-    private String saveImage(MultipartFile file) throws IOException {
-        Path uploadPath = Paths.get(UPLOAD_DIR);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-
-        String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-        Path filePath = uploadPath.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-        return "uploads/products/" + fileName;
+        catalogVersionService.bump(CatalogVersionEntity.PRODUCTS);
+        searchIndexService.removeProduct(id);
+        eventPublisher.publishEvent(new MarketplaceChangedEvent(Feed.PRODUCTS));
     }
 
     private ProductResponseDTO mapToResponseDTO(ProductEntity entity) {
@@ -116,14 +188,48 @@ public class ProductService {
         dto.setDescription(entity.getDescription());
         dto.setPrice(entity.getPrice());
         dto.setProviderId(entity.getProvider().getId());
+        setImageUrls(dto, entity.getImageUrl());
+        dto.setCreatedAt(entity.getCreatedAt());
+        return dto;
+    }
 
-        String imgUrl = entity.getImageUrl();
-        if (imgUrl != null && !imgUrl.startsWith("http")) {
-            imgUrl = "http://localhost:8080/" + imgUrl;
+    private ProductResponseDTO mapToResponseDTO(ProductListingRow row) {
+        ProductResponseDTO dto = new ProductResponseDTO();
+        dto.setProductId(row.getProductId());
+        dto.setName(row.getName());
+        dto.setDescription(row.getDescription());
+        dto.setPrice(row.getPrice());
+        dto.setProviderId(row.getProviderId());
+        setImageUrls(dto, row.getImageUrl());
+        dto.setCreatedAt(row.getCreatedAt());
+        return dto;
+    }
+
+    /**
+     * imageUrl stays the original upload. Content-addressed images also get
+     * their resized variants; older images fall back to the original.
+     */
+    private void setImageUrls(ProductResponseDTO dto, String imageUrl) {
+        String original = publicImageUrl(imageUrl);
+        dto.setImageUrl(original);
+        String hash = productImageService.hashOf(imageUrl);
+        if (hash == null) {
+            dto.setThumbnailUrl(original);
+            dto.setWebImageUrl(original);
+        } else {
+            dto.setThumbnailUrl(variantUrl(hash, ImageVariant.THUMB));
+            dto.setWebImageUrl(variantUrl(hash, ImageVariant.WEB));
         }
-        dto.setImageUrl(imgUrl);
+    }
 
-        dto.setCreatedAt(entity.getCreatedAt());
-        return dto;
+    private String variantUrl(String hash, ImageVariant variant) {
+        return "http://localhost:8080/api/products/images/" + hash + "/" + variant.pathSegment();
+    }
+
+    private String publicImageUrl(String imgUrl) {
+        if (imgUrl != null && !imgUrl.startsWith("http")) {
+            return "http://localhost:8080/" + imgUrl;
+        }
+        return imgUrl;
     }
 }
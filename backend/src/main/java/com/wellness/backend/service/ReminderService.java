@@ -12,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 @Service
 @Slf4j
@@ -102,6 +103,15 @@ public class ReminderService {
                 "Dear %s,\n\nYou have an upcoming session with %s starting in 30 minutes.",
                 session.getProvider().getName(), session.getClient().getName());
 
+        if (!EmailService.isSchedulable(epochSeconds)) {
+            session.setReminderSent(false);
+            session.setReminderEmailScheduled(false);
+            sessionBookingRepository.save(session);
+            log.info("⏭ Session ID: {} is beyond SendGrid's scheduling window — the reminder poller will email it",
+                    session.getId());
+            return;
+        }
+
         String clientMsgId = emailService.sendScheduledReminder(
                 session.getClient().getEmail(), clientSubject, clientBody, epochSeconds);
         log.info("📧 Patient reminder queued for session ID: {} — msgId={}",
@@ -114,6 +124,7 @@ public class ReminderService {
 
         if (clientMsgId != null || providerMsgId != null) {
             session.setReminderSent(false); // Reset to allow poller to send in-app notifications if needed
+            session.setReminderEmailScheduled(true);
             sessionBookingRepository.save(session);
             log.info("✅ Session reminder persisted for session ID: {} at epoch {}", session.getId(), epochSeconds);
         } else {
@@ -121,6 +132,51 @@ public class ReminderService {
         }
     }
 
+    /**
+     * Reminders for sessions of one series, which share a patient and a
+     * provider: one SendGrid request per recipient for the whole series
+     * instead of two per session. Only occurrences whose reminder SendGrid
+     * can schedule now are sent; the reminder poller emails the later ones.
+     */
+    @Transactional
+    public void scheduleSeriesReminders(List<SessionBookingEntity> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        SessionBookingEntity first = sessions.get(0);
+        List<Long> epochs = sessions.stream()
+                .map(s -> calculateEpoch(LocalDateTime.of(s.getSessionDate(), s.getStartTime()).minusMinutes(30)))
+                .toList();
+
+        log.info("🕐 Scheduling {} series reminders for sessions {}..{}", sessions.size(), first.getId(),
+                sessions.get(sessions.size() - 1).getId());
+
+        String clientSubject = "Session Reminder – Starts in 30 Minutes";
+        String clientBody = String.format(
+                "Dear %s,\n\nThis is a reminder that your session with Dr. %s starts in 30 minutes.",
+                first.getClient().getName(), first.getProvider().getName());
+
+        String providerSubject = "Upcoming Session in 30 Minutes";
+        String providerBody = String.format(
+                "Dear %s,\n\nYou have an upcoming session with %s starting in 30 minutes.",
+                first.getProvider().getName(), first.getClient().getName());
+
+        String clientMsgId = emailService.sendScheduledReminderBatch(
+                first.getClient().getEmail(), clientSubject, clientBody, epochs);
+        String providerMsgId = emailService.sendScheduledReminderBatch(
+                first.getProvider().getEmail(), providerSubject, providerBody, epochs);
+
+        boolean accepted = clientMsgId != null || providerMsgId != null;
+        for (int i = 0; i < sessions.size(); i++) {
+            sessions.get(i).setReminderSent(false); // Let the poller send in-app reminders
+            sessions.get(i).setReminderEmailScheduled(accepted && EmailService.isSchedulable(epochs.get(i)));
+        }
+        sessionBookingRepository.saveAll(sessions);
+        long scheduled = sessions.stream().filter(SessionBookingEntity::isReminderEmailScheduled).count();
+        log.info("✅ Series reminders: {} of {} scheduled with SendGrid, the rest left to the poller", scheduled,
+                sessions.size());
+    }
+
     @Transactional
     public void cancelBookingReminders(Long bookingId) {
         bookingRepository.findById(bookingId).ifPresent(booking -> {
@@ -0,0 +1,211 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.SearchHitDTO;
+import com.wellness.backend.model.ProductEntity;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.ProductRepository;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.util.InvertedIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * In-memory search over approved practitioners (name, specialization, city)
+ * and products (name, description). Writers call the index* / remove* methods
+ * after saving, so searches never query the database.
+ *
+ * The index is local to each instance. A periodic rebuild picks up changes
+ * made through other instances; updates that arrive while a rebuild is
+ * loading are applied to both indexes and win over the loaded snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexService {
+
+    public static final int MAX_RESULTS = 50;
+    private static final int DETAIL_LENGTH = 120;
+
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+
+    private final Object lock = new Object();
+    private volatile Indexes current = new Indexes();
+    private Indexes building;
+    private Set<String> touchedWhileBuilding;
+
+    private static class Indexes {
+        final InvertedIndex<Long, SearchHitDTO> practitioners = new InvertedIndex<>();
+        final InvertedIndex<Long, SearchHitDTO> products = new InvertedIndex<>();
+    }
+
+    /** {@code type} is null for both kinds, or one of the SearchHitDTO TYPE_ constants. */
+    public List<SearchHitDTO> search(String query, String type, Integer limit) {
+        int max = limit == null || limit <= 0 ? 20 : Math.min(limit, MAX_RESULTS);
+        Indexes indexes = current;
+        List<SearchHitDTO> hits = new ArrayList<>();
+
+        if (type == null || SearchHitDTO.TYPE_PRACTITIONER.equalsIgnoreCase(type)) {
+            indexes.practitioners.search(query, max)
+                    .forEach(hit -> hits.add(hit.getPayload().toBuilder().score(hit.getScore()).build()));
+        }
+        if (type == null || SearchHitDTO.TYPE_PRODUCT.equalsIgnoreCase(type)) {
+            indexes.products.search(query, max)
+                    .forEach(hit -> hits.add(hit.getPayload().toBuilder().score(hit.getScore()).build()));
+        }
+
+        hits.sort(Comparator.comparing(SearchHitDTO::getScore).reversed());
+        return hits.size() > max ? new ArrayList<>(hits.subList(0, max)) : hits;
+    }
+
+    /** Indexes an approved practitioner, or drops anyone else (e.g. after a rejection). */
+    public void indexPractitioner(UserEntity user) {
+        if (isListed(user)) {
+            apply("practitioner:" + user.getId(), indexes -> upsertPractitioner(indexes, user));
+        } else if ("PROVIDER".equalsIgnoreCase(user.getRole())) {
+            removePractitioner(user.getId());
+        } else {
+            apply("practitioner:" + user.getId(), indexes -> indexes.practitioners.remove(user.getId()));
+        }
+    }
+
+    public void removePractitioner(Long userId) {
+        apply("practitioner:" + userId, indexes -> indexes.practitioners.remove(userId));
+    }
+
+    public void indexProduct(ProductEntity product) {
+        apply("product:" + product.getProductId(), indexes -> upsertProduct(indexes, product));
+    }
+
+    public void removeProduct(Long productId) {
+        apply("product:" + productId, indexes -> indexes.products.remove(productId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.rebuild-interval-ms:600000}",
+            initialDelayString = "${search.index.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Loads a fresh snapshot and swaps it in. Only ids of lazy providers are
+     * read, so no open session is needed.
+     */
+    public void rebuild() {
+        Indexes fresh = new Indexes();
+        synchronized (lock) {
+            building = fresh;
+            touchedWhileBuilding = new HashSet<>();
+        }
+
+        try {
+            List<UserEntity> practitioners = userRepository.findByRoleAndVerificationStatus("PROVIDER", "APPROVED");
+            List<ProductEntity> products = productRepository.findAll();
+
+            synchronized (lock) {
+                // Rows changed since the snapshot was read are already in fresh with newer data
+                for (UserEntity user : practitioners) {
+                    if (!touchedWhileBuilding.contains("practitioner:" + user.getId())) {
+                        upsertPractitioner(fresh, user);
+                    }
+                }
+                for (ProductEntity product : products) {
+                    if (!touchedWhileBuilding.contains("product:" + product.getProductId())) {
+                        upsertProduct(fresh, product);
+                    }
+                }
+                current = fresh;
+            }
+            log.info("🔎 Search index rebuilt: {} practitioners, {} products", fresh.practitioners.size(),
+                    fresh.products.size());
+        } finally {
+            synchronized (lock) {
+                building = null;
+                touchedWhileBuilding = null;
+            }
+        }
+    }
+
+    private void upsertPractitioner(Indexes indexes, UserEntity user) {
+        Map<String, Float> fields = new LinkedHashMap<>();
+        fields.put(user.getName(), 3.0f);
+        fields.merge(nullToEmpty(user.getSpecialization()), 2.0f, Math::max);
+        fields.merge(nullToEmpty(user.getCity()), 1.5f, Math::max);
+        SearchHitDTO hit = SearchHitDTO.builder()
+                .type(SearchHitDTO.TYPE_PRACTITIONER)
+                .id(user.getId())
+                .name(user.getName())
+                .detail(joinNonBlank(user.getSpecialization(), user.getCity()))
+                .imageUrl(user.getProfileImage())
+                .price(user.getSessionFee())
+                .providerId(user.getId())
+                .build();
+        indexes.practitioners.upsert(user.getId(), fields, hit);
+    }
+
+    private void upsertProduct(Indexes indexes, ProductEntity product) {
+        Map<String, Float> fields = new LinkedHashMap<>();
+        fields.put(product.getName(), 3.0f);
+        fields.merge(nullToEmpty(product.getDescription()), 1.0f, Math::max);
+
+        String imgUrl = product.getImageUrl();
+        if (imgUrl != null && !imgUrl.startsWith("http")) {
+            imgUrl = "http://localhost:8080/" + imgUrl;
+        }
+        String description = nullToEmpty(product.getDescription());
+        SearchHitDTO hit = SearchHitDTO.builder()
+                .type(SearchHitDTO.TYPE_PRODUCT)
+                .id(product.getProductId())
+                .name(product.getName())
+                .detail(description.length() > DETAIL_LENGTH ? description.substring(0, DETAIL_LENGTH) + "…"
+                        : description)
+                .imageUrl(imgUrl)
+                .price(product.getPrice())
+                .providerId(product.getProvider().getId())
+                .build();
+        indexes.products.upsert(product.getProductId(), fields, hit);
+    }
+
+    private void apply(String key, Consumer<Indexes> update) {
+        synchronized (lock) {
+            update.accept(current);
+            if (building != null) {
+                update.accept(building);
+                touchedWhileBuilding.add(key);
+            }
+        }
+    }
+
+    private boolean isListed(UserEntity user) {
+        return "PROVIDER".equalsIgnoreCase(user.getRole()) && "APPROVED".equalsIgnoreCase(user.getVerificationStatus());
+    }
+
+    private String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private String joinNonBlank(String first, String second) {
+        if (first == null || first.isBlank()) {
+            return second;
+        }
+        return second == null || second.isBlank() ? first : first + " · " + second;
+    }
+}
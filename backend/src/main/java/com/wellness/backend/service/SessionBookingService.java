@@ -1,41 +1,95 @@
 package com.wellness.backend.service;
 
+import com.wellness.backend.dto.AvailabilityDayDTO;
+import com.wellness.backend.dto.CursorPageDTO;
+import com.wellness.backend.dto.DayBulkActionDTO;
+import com.wellness.backend.dto.DayBulkResultDTO;
+import com.wellness.backend.dto.OccupiedIntervalRow;
+import com.wellness.backend.dto.SeriesConflictDTO;
 import com.wellness.backend.dto.SessionBookingRequestDTO;
 import com.wellness.backend.dto.SessionBookingResponseDTO;
 import com.wellness.backend.dto.SessionRescheduleRequestDTO;
+import com.wellness.backend.dto.SessionSeriesRequestDTO;
+import com.wellness.backend.dto.SessionSeriesResponseDTO;
 import com.wellness.backend.dto.SessionStatusUpdateDTO;
 import com.wellness.backend.exception.ForbiddenActionException;
 import com.wellness.backend.exception.ResourceNotFoundException;
+import com.wellness.backend.model.SessionBookingArchiveEntity;
 import com.wellness.backend.model.SessionBookingEntity;
 import com.wellness.backend.model.SessionStatus;
+import com.wellness.backend.model.SlotHoldEntity;
 import com.wellness.backend.model.UserEntity;
-import com.wellness.backend.repository.ProviderAvailabilityRepository;
+import com.wellness.backend.repository.SessionBookingArchiveRepository;
 import com.wellness.backend.repository.SessionBookingRepository;
+import com.wellness.backend.repository.UnifiedBookingRepository;
 import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.util.KeysetCursor;
+import com.wellness.backend.util.OptimisticRetry;
+import com.wellness.backend.util.SlotBitmaps;
+import com.wellness.backend.util.SortedMerge;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SessionBookingService {
 
+    /** States a session never leaves; cancelling is refused from these. */
+    private static final Set<SessionStatus> FINAL_STATES = Set.of(SessionStatus.REJECTED, SessionStatus.CANCELLED,
+            SessionStatus.COMPLETED, SessionStatus.NOT_COMPLETED);
+
+    private static final Set<SessionStatus> CANCELLABLE = EnumSet.complementOf(EnumSet.copyOf(FINAL_STATES));
+
+    /** States in which a session is still going ahead and gets a reminder. */
+    private static final List<SessionStatus> REMINDER_STATUSES = List.of(SessionStatus.CONFIRMED,
+            SessionStatus.ACCEPTED);
+
+    /** Provider history order shared by the hot and archive queries, used to merge them. */
+    private static final Comparator<SessionBookingEntity> NEWEST_FIRST = Comparator
+            .comparing(SessionBookingEntity::getSessionDate, Comparator.reverseOrder())
+            .thenComparing(SessionBookingEntity::getStartTime, Comparator.reverseOrder())
+            .thenComparing(SessionBookingEntity::getId, Comparator.reverseOrder());
+
     private final SessionBookingRepository sessionBookingRepository;
-    private final ProviderAvailabilityRepository providerAvailabilityRepository;
+    private final SessionBookingArchiveRepository sessionBookingArchiveRepository;
+    private final DayStatusService dayStatusService;
+    private final SlotHoldService slotHoldService;
+    private final WaitlistService waitlistService;
+    private final AvailabilityService availabilityService;
+    private final UnifiedBookingRepository unifiedBookingRepository;
     private final NotificationService notificationService;
     private final EmailService emailService;
     private final UserRepository userRepository;
     private final ReminderService reminderService;
+    private final UnifiedBookingService unifiedBookingService;
+    private final OptimisticRetry optimisticRetry;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public SessionBookingResponseDTO bookSession(String clientEmail, SessionBookingRequestDTO request) {
@@ -46,6 +100,10 @@ public class SessionBookingService {
                 .orElseThrow(() -> new ResourceNotFoundException("Provider not found: " + request.getProviderId()));
 
         validateTimes(request.getSessionDate(), request.getStartTime(), request.getEndTime(), request.getDuration());
+        // Joins this transaction, so the provider stays locked until the session is saved
+        slotHoldService.claimForBooking(provider.getId(), client.getId(),
+                LocalDateTime.of(request.getSessionDate(), request.getStartTime()),
+                LocalDateTime.of(request.getSessionDate(), request.getEndTime()));
 
         SessionBookingEntity entity = new SessionBookingEntity();
         entity.setClient(client);
@@ -68,6 +126,10 @@ public class SessionBookingService {
         System.out.println("Saving session booking with status: " + entity.getStatus());
 
         SessionBookingEntity saved = sessionBookingRepository.save(entity);
+        unifiedBookingService.record(saved);
+        waitlistService.markFulfilled(provider.getId(), client.getId(),
+                LocalDateTime.of(saved.getSessionDate(), saved.getStartTime()),
+                LocalDateTime.of(saved.getSessionDate(), saved.getEndTime()));
         // NOTE: Reminder is NOT scheduled here. It is scheduled only when the session
         // reaches CONFIRMED status (in acceptSession / confirmReschedule).
         log.info("📅 New session booking created (PENDING) ID: {} — reminder deferred until confirmation.",
@@ -75,6 +137,136 @@ public class SessionBookingService {
         return toDto(saved);
     }
 
+    /**
+     * Books the same slot every {@code intervalWeeks} weeks. All occurrences
+     * are checked in one pass against published availability, existing
+     * bookings and other patients' holds, with one query each, and then
+     * inserted as a single batch. Availability is only enforced for providers
+     * who publish any in the series' range; bookSession never checks it.
+     */
+    @Transactional
+    public SessionSeriesResponseDTO bookSeries(String clientEmail, SessionSeriesRequestDTO request) {
+        UserEntity client = userRepository.findByEmail(clientEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Client not found: " + clientEmail));
+        UserEntity provider = userRepository.findById(request.getProviderId())
+                .filter(u -> "PROVIDER".equals(u.getRole()))
+                .orElseThrow(() -> new ResourceNotFoundException("Provider not found: " + request.getProviderId()));
+
+        LocalTime startTime = request.getStartTime();
+        LocalTime endTime = request.getEndTime();
+        validateTimes(request.getFirstDate(), startTime, endTime, null);
+
+        List<LocalDate> dates = Stream.iterate(request.getFirstDate(), d -> d.plusWeeks(request.getIntervalWeeks()))
+                .limit(request.getOccurrences())
+                .toList();
+        LocalDate first = dates.get(0);
+        LocalDate last = dates.get(dates.size() - 1);
+
+        List<AvailabilityDayDTO> days = availabilityService.getEffectiveAvailability(provider.getId(), first, last);
+        boolean publishesAvailability = days.stream()
+                .anyMatch(d -> !AvailabilityDayDTO.SOURCE_NONE.equals(d.getSource()) || !d.getBlocks().isEmpty());
+        Map<LocalDate, AvailabilityDayDTO> availabilityByDate = days.stream()
+                .collect(Collectors.toMap(AvailabilityDayDTO::getDate, d -> d));
+        Map<LocalDate, List<OccupiedIntervalRow>> occupiedByDate = unifiedBookingRepository
+                .findOccupiedIntervals(provider.getId(), first.atStartOfDay(), last.plusDays(1).atStartOfDay(),
+                        FreeSlotService.FREE_STATUSES)
+                .stream()
+                .collect(Collectors.groupingBy(o -> o.getStartAt().toLocalDate()));
+        List<SlotHoldEntity> holds = slotHoldService.lockAndFindActiveHolds(provider.getId(), first.atStartOfDay(),
+                last.plusDays(1).atStartOfDay());
+
+        List<LocalDate> free = new ArrayList<>();
+        List<SeriesConflictDTO> conflicts = new ArrayList<>();
+        Set<String> ownHolds = new HashSet<>();
+        for (LocalDate date : dates) {
+            LocalDateTime start = LocalDateTime.of(date, startTime);
+            LocalDateTime end = LocalDateTime.of(date, endTime);
+            List<SlotHoldEntity> overlappingHolds = holds.stream()
+                    .filter(h -> h.getStartAt().isBefore(end) && h.getEndAt().isAfter(start))
+                    .toList();
+
+            if (publishesAvailability && !fitsAvailability(availabilityByDate.get(date), startTime, endTime)) {
+                conflicts.add(new SeriesConflictDTO(date, SeriesConflictDTO.OUTSIDE_AVAILABILITY));
+            } else if (occupiedByDate.getOrDefault(date, List.of()).stream().anyMatch(o -> overlaps(o, start, end))) {
+                conflicts.add(new SeriesConflictDTO(date, SeriesConflictDTO.ALREADY_BOOKED));
+            } else if (overlappingHolds.stream().anyMatch(h -> !h.getClientId().equals(client.getId()))) {
+                conflicts.add(new SeriesConflictDTO(date, SeriesConflictDTO.HELD));
+            } else {
+                free.add(date);
+                overlappingHolds.forEach(h -> ownHolds.add(h.getToken()));
+            }
+        }
+
+        if (free.isEmpty() || (!conflicts.isEmpty() && !request.isAllowPartial())) {
+            log.info("⛔ Series booking for provider {} refused: {} of {} occurrences conflict", provider.getId(),
+                    conflicts.size(), dates.size());
+            return SessionSeriesResponseDTO.builder()
+                    .booked(List.of())
+                    .conflicts(conflicts)
+                    .build();
+        }
+
+        String seriesId = UUID.randomUUID().toString();
+        int duration = (int) ChronoUnit.MINUTES.between(startTime, endTime);
+        List<SessionBookingEntity> sessions = new ArrayList<>();
+        for (LocalDate date : free) {
+            SessionBookingEntity entity = new SessionBookingEntity();
+            entity.setClient(client);
+            entity.setProvider(provider);
+            entity.setSessionDate(date);
+            entity.setStartTime(startTime);
+            entity.setEndTime(endTime);
+            entity.setDuration(duration);
+            entity.setIssueDescription(request.getIssueDescription());
+            entity.setStatus(SessionStatus.PENDING);
+            entity.setReminderSent(false);
+            entity.setSeriesId(seriesId);
+            sessions.add(entity);
+        }
+
+        List<SessionBookingEntity> saved = sessionBookingRepository.saveAll(sessions);
+        unifiedBookingService.recordNew(saved);
+        slotHoldService.consume(ownHolds);
+        log.info("📅 Series {} created (PENDING): {} sessions, {} conflicts", seriesId, saved.size(),
+                conflicts.size());
+
+        return SessionSeriesResponseDTO.builder()
+                .seriesId(seriesId)
+                .booked(saved.stream().map(this::toDto).collect(Collectors.toList()))
+                .conflicts(conflicts)
+                .build();
+    }
+
+    /**
+     * Confirms every pending occurrence of a series at once and schedules
+     * their reminders in bulk.
+     */
+    @Transactional
+    public List<SessionBookingResponseDTO> acceptSeries(String seriesId, String providerEmail) {
+        List<SessionBookingEntity> sessions = sessionBookingRepository.findSeries(seriesId);
+        if (sessions.isEmpty()) {
+            throw new ResourceNotFoundException("Series not found: " + seriesId);
+        }
+        if (!sessions.get(0).getProvider().getEmail().equalsIgnoreCase(providerEmail)) {
+            throw new ForbiddenActionException("You are not allowed to modify this series");
+        }
+
+        List<SessionBookingEntity> pending = sessions.stream()
+                .filter(s -> s.getStatus() == SessionStatus.PENDING)
+                .collect(Collectors.toList());
+        if (pending.isEmpty()) {
+            throw new IllegalStateException("This series has no pending sessions");
+        }
+
+        pending.forEach(s -> s.setStatus(SessionStatus.CONFIRMED));
+        sessionBookingRepository.saveAllAndFlush(pending);
+        pending.forEach(unifiedBookingService::record);
+        pending.forEach(notificationService::notifySessionConfirmedForClient);
+        reminderService.scheduleSeriesReminders(pending);
+
+        return sessions.stream().map(this::toDto).collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public List<SessionBookingResponseDTO> getSessionsForProvider(Long providerId) {
         LocalDateTime now = LocalDateTime.now();
@@ -105,17 +297,57 @@ public class SessionBookingService {
 
     @Transactional(readOnly = true)
     public List<SessionBookingResponseDTO> getSessionsHistoryForClient(Long clientId) {
-        return sessionBookingRepository.findByClient_Id(clientId).stream()
+        return SortedMerge.merge(
+                sessionBookingRepository.findHistoryByClient(clientId),
+                sessionBookingArchiveRepository.findHistoryByClient(clientId).stream()
+                        .map(this::fromArchive)
+                        .collect(Collectors.toList()),
+                NEWEST_FIRST).stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<SessionBookingResponseDTO> getSessionsHistoryForProvider(Long providerId) {
-        return sessionBookingRepository.findByProvider_Id(providerId).stream()
+        return SortedMerge.merge(
+                sessionBookingRepository.findHistoryByProvider(providerId),
+                sessionBookingArchiveRepository.findHistoryByProvider(providerId).stream()
+                        .map(this::fromArchive)
+                        .collect(Collectors.toList()),
+                NEWEST_FIRST).stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset-paginated provider history ordered by session start, newest first.
+     * The cursor carries the session start as its date component.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SessionBookingResponseDTO> getSessionsHistoryPageForProvider(Long providerId,
+            String cursor, Integer limit, SessionStatus status, LocalDate from, LocalDate to) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(limit);
+
+        LocalDate cursorDate = position != null ? position.getDate().toLocalDate() : null;
+        LocalTime cursorTime = position != null ? position.getDate().toLocalTime() : null;
+        Long cursorId = position != null ? position.getId() : null;
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+
+        // Each source contributes at most pageSize + 1 rows, so the merged head is exact
+        List<SessionBookingEntity> rows = SortedMerge.merge(
+                sessionBookingRepository.findProviderHistoryPage(providerId, status, from, to,
+                        cursorDate, cursorTime, cursorId, window),
+                sessionBookingArchiveRepository.findProviderHistoryPage(providerId, status, from, to,
+                        cursorDate, cursorTime, cursorId, window).stream()
+                        .map(this::fromArchive)
+                        .collect(Collectors.toList()),
+                NEWEST_FIRST);
+
+        return KeysetCursor.toPage(rows, pageSize, this::toDto,
+                s -> KeysetCursor.encode(LocalDateTime.of(s.getSessionDate(), s.getStartTime()), s.getId()));
+    }
+
     @Transactional
     public SessionBookingResponseDTO acceptSession(Long sessionId, String providerEmail, SessionStatusUpdateDTO body) {
         SessionBookingEntity session = loadAndValidateProviderOwnership(sessionId, providerEmail);
@@ -123,7 +355,8 @@ public class SessionBookingService {
         if (body != null && body.getProviderMessage() != null) {
             session.setProviderMessage(body.getProviderMessage());
         }
-        SessionBookingEntity saved = sessionBookingRepository.save(session);
+        SessionBookingEntity saved = sessionBookingRepository.saveAndFlush(session);
+        unifiedBookingService.record(saved);
         notificationService.notifySessionConfirmedForClient(saved);
         reminderService.scheduleSessionReminders(saved); // Re-schedule reminders in case of status change
         return toDto(saved);
@@ -148,7 +381,8 @@ public class SessionBookingService {
         session.setProviderMessage(body.getProviderMessage());
         session.setReminderSent(false);
 
-        SessionBookingEntity saved = sessionBookingRepository.save(session);
+        SessionBookingEntity saved = sessionBookingRepository.saveAndFlush(session);
+        unifiedBookingService.record(saved);
         notificationService.notifySessionRescheduleSuggested(saved);
         reminderService.scheduleSessionReminders(saved); // Re-schedule reminders for new time
         return toDto(saved);
@@ -162,27 +396,39 @@ public class SessionBookingService {
             session.setProviderMessage(body.getProviderMessage());
         }
         session.setReminderSent(false);
-        SessionBookingEntity saved = sessionBookingRepository.save(session);
+        SessionBookingEntity saved = sessionBookingRepository.saveAndFlush(session);
+        unifiedBookingService.record(saved);
         notificationService.notifySessionRejectedForClient(saved);
         reminderService.cancelSessionReminders(saved.getId()); // Cancel reminders for rejected session
         return toDto(saved);
     }
 
-    @Transactional
+    /**
+     * Not wrapped in a single transaction: a cancel that races another transition
+     * is retried in a fresh one, and notifications go out only after it commits.
+     */
     public SessionBookingResponseDTO cancelSession(Long sessionId, String cancellerEmail) {
-        SessionBookingEntity session = sessionBookingRepository.findById(sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
-
         UserEntity canceller = userRepository.findByEmail(cancellerEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + cancellerEmail));
 
-        // Check if canceller is part of this session
-        if (!isOwner(canceller, session)) {
-            throw new ForbiddenActionException("You are not allowed to cancel this session");
-        }
+        SessionBookingEntity saved = optimisticRetry.withRetry("session " + sessionId, () -> {
+            SessionBookingEntity session = sessionBookingRepository.findById(sessionId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
+
+            // Check if canceller is part of this session
+            if (!isOwner(canceller, session)) {
+                throw new ForbiddenActionException("You are not allowed to cancel this session");
+            }
+            if (FINAL_STATES.contains(session.getStatus())) {
+                throw new IllegalStateException(
+                        "Session can no longer be cancelled. Current status: " + session.getStatus());
+            }
 
-        session.setStatus(SessionStatus.CANCELLED);
-        SessionBookingEntity saved = sessionBookingRepository.save(session);
+            session.setStatus(SessionStatus.CANCELLED);
+            SessionBookingEntity updated = sessionBookingRepository.save(session);
+            unifiedBookingService.record(updated);
+            return updated;
+        });
 
         // Notify the other party
         try {
@@ -212,7 +458,8 @@ public class SessionBookingService {
         session.setStatus(SessionStatus.CONFIRMED);
         session.setReminderSent(false);
 
-        SessionBookingEntity saved = sessionBookingRepository.save(session);
+        SessionBookingEntity saved = sessionBookingRepository.saveAndFlush(session);
+        unifiedBookingService.record(saved);
         notificationService.notifySessionConfirmedForClient(saved);
         reminderService.scheduleSessionReminders(saved);
         return toDto(saved);
@@ -224,7 +471,7 @@ public class SessionBookingService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + email));
 
         List<SessionBookingEntity> candidates = sessionBookingRepository
-                .findByStatusInAndReminderSentFalse(List.of(SessionStatus.CONFIRMED, SessionStatus.ACCEPTED));
+                .findByStatusInAndReminderSentFalse(REMINDER_STATUSES);
 
         return candidates.stream()
                 .filter(s -> isOwner(user, s))
@@ -233,25 +480,43 @@ public class SessionBookingService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional
+    /**
+     * Sends in-app reminders, and the emails SendGrid did not schedule, for
+     * sessions starting soon. Each session is claimed with a conditional update
+     * that commits before anything is sent, so a session is reminded at most
+     * once and a failure on one does not undo the others.
+     */
     public void processSessionReminders() {
         LocalDateTime now = LocalDateTime.now();
 
         List<SessionBookingEntity> candidates = sessionBookingRepository
-                .findByStatusInAndReminderSentFalse(List.of(SessionStatus.CONFIRMED, SessionStatus.ACCEPTED));
+                .findByStatusInAndReminderSentFalse(REMINDER_STATUSES);
 
         log.info("🔍 Checking {} sessions for in-app reminders...", candidates.size());
 
-        for (SessionBookingEntity session : candidates) {
-            if (isReminderDue(session, now)) {
+        for (SessionBookingEntity candidate : candidates) {
+            if (isReminderDue(candidate, now)) {
                 try {
+                    SessionBookingEntity session = transactionTemplate.execute(status -> {
+                        SessionBookingEntity current = sessionBookingRepository
+                                .findWithPartiesById(candidate.getId()).orElse(null);
+                        return current != null
+                                && sessionBookingRepository.claimReminder(current.getId(), REMINDER_STATUSES) == 1
+                                        ? current : null;
+                    });
+                    if (session == null) {
+                        log.info("⏭ Skipping reminder for session {}: changed since it was read", candidate.getId());
+                        continue;
+                    }
                     log.info("📩 Sending in-app reminder for session ID: {}", session.getId());
-                    // Email is now handled by persistent SendGrid scheduler
                     notificationService.notifySessionReminder(session);
-                    session.setReminderSent(true);
-                    sessionBookingRepository.save(session);
+                    // Emails are scheduled with SendGrid unless the session was beyond its window then
+                    if (!session.isReminderEmailScheduled()) {
+                        emailService.sendSessionReminderToClient(session);
+                        emailService.sendSessionReminderToProvider(session);
+                    }
                 } catch (Exception e) {
-                    log.error("❌ Failed to send in-app reminder for session {}: {}", session.getId(), e.getMessage());
+                    log.error("❌ Failed to send in-app reminder for session {}: {}", candidate.getId(), e.getMessage());
                 }
             }
         }
@@ -259,9 +524,9 @@ public class SessionBookingService {
 
     /**
      * Finds confirmed sessions that have passed and moves them to
-     * PENDING_COMPLETION_ACTION
+     * PENDING_COMPLETION_ACTION. Each session commits on its own and is skipped
+     * if a user changed it concurrently.
      */
-    @Transactional
     public void autoProcessSessionCompletion() {
         LocalDateTime nowIst = LocalDateTime.now(ZoneId.of("Asia/Kolkata"));
         List<SessionBookingEntity> stale = sessionBookingRepository.findStaleConfirmedSessions(
@@ -270,9 +535,17 @@ public class SessionBookingService {
 
         if (!stale.isEmpty()) {
             log.info("⏳ Auto-completing {} stale sessions to PENDING_COMPLETION_ACTION...", stale.size());
-            for (SessionBookingEntity session : stale) {
-                session.setStatus(SessionStatus.PENDING_COMPLETION_ACTION);
-                sessionBookingRepository.save(session);
+            for (SessionBookingEntity candidate : stale) {
+                optimisticRetry.tryOnce("auto-completion of session " + candidate.getId(), () -> {
+                    SessionBookingEntity session = sessionBookingRepository.findById(candidate.getId()).orElse(null);
+                    if (session == null || (session.getStatus() != SessionStatus.CONFIRMED
+                            && session.getStatus() != SessionStatus.ACCEPTED)) {
+                        return;
+                    }
+                    session.setStatus(SessionStatus.PENDING_COMPLETION_ACTION);
+                    sessionBookingRepository.save(session);
+                    unifiedBookingService.record(session);
+                });
             }
         }
     }
@@ -288,7 +561,8 @@ public class SessionBookingService {
         }
 
         session.setStatus(SessionStatus.COMPLETED);
-        SessionBookingEntity saved = sessionBookingRepository.save(session);
+        SessionBookingEntity saved = sessionBookingRepository.saveAndFlush(session);
+        unifiedBookingService.record(saved);
 
         // Notify both parties
         notificationService.notifySessionCompleted(saved);
@@ -300,9 +574,6 @@ public class SessionBookingService {
             log.error("Failed to send session completed emails for session {}: {}", sessionId, e.getMessage());
         }
 
-        // Trigger calendar consistency
-        updateDateConsistency(saved.getSessionDate(), saved.getProvider().getId());
-
         return toDto(saved);
     }
 
@@ -318,7 +589,8 @@ public class SessionBookingService {
 
         session.setStatus(SessionStatus.NOT_COMPLETED);
         session.setRefunded(true);
-        SessionBookingEntity saved = sessionBookingRepository.save(session);
+        SessionBookingEntity saved = sessionBookingRepository.saveAndFlush(session);
+        unifiedBookingService.record(saved);
 
         // Notify both parties (already sends to both in EmailService)
         notificationService.notifySessionNotCompleted(saved);
@@ -328,34 +600,121 @@ public class SessionBookingService {
             log.error("Failed to send session not completed emails for session {}: {}", sessionId, e.getMessage());
         }
 
-        // Trigger calendar consistency
-        updateDateConsistency(saved.getSessionDate(), saved.getProvider().getId());
-
         return toDto(saved);
     }
 
-    private void updateDateConsistency(LocalDate date, Long practitionerId) {
-        List<SessionBookingEntity> sessions = sessionBookingRepository.findByProvider_IdAndSessionDate(practitionerId,
-                date);
-        if (sessions.isEmpty())
-            return;
+    /**
+     * Cancels all of a provider's open sessions on one date, or the listed
+     * subset, e.g. when the provider falls ill. One UPDATE moves every
+     * session; notifications go out as one batch insert and emails over one
+     * SMTP connection once the transaction commits.
+     */
+    @Transactional
+    public DayBulkResultDTO cancelDay(String providerEmail, DayBulkActionDTO request) {
+        UserEntity provider = loadProvider(providerEmail);
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> skipped = new ArrayList<>();
+        List<SessionBookingEntity> cancelled = transitionDay(provider, request, CANCELLABLE, SessionStatus.CANCELLED,
+                skipped, ids -> sessionBookingRepository.cancelAll(ids, CANCELLABLE, request.getProviderMessage(), now));
+
+        if (!cancelled.isEmpty()) {
+            cancelled.forEach(s -> {
+                s.setReminderSent(true);
+                if (request.getProviderMessage() != null) {
+                    s.setProviderMessage(request.getProviderMessage());
+                }
+            });
+            notificationService.notifySessionsCancelledByProvider(cancelled, provider);
+            afterCommit(() -> emailService.sendSessionCancelledEmails(cancelled, provider));
+        }
+        log.info("🚫 Provider {} cancelled {} sessions on {}", provider.getId(), cancelled.size(), request.getDate());
+        return toDayResult(request.getDate(), SessionStatus.CANCELLED, cancelled, skipped);
+    }
 
-        boolean anyNotCompleted = sessions.stream().anyMatch(s -> s.getStatus() == SessionStatus.NOT_COMPLETED);
-        boolean allCompleted = sessions.stream().allMatch(s -> s.getStatus() == SessionStatus.COMPLETED);
+    /** Marks every PENDING_COMPLETION_ACTION session of a day, or the listed subset, COMPLETED in one update. */
+    @Transactional
+    public DayBulkResultDTO completeDay(String providerEmail, DayBulkActionDTO request) {
+        UserEntity provider = loadProvider(providerEmail);
+        Set<SessionStatus> from = Set.of(SessionStatus.PENDING_COMPLETION_ACTION);
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> skipped = new ArrayList<>();
+        List<SessionBookingEntity> completed = transitionDay(provider, request, from, SessionStatus.COMPLETED,
+                skipped, ids -> sessionBookingRepository.transitionAll(ids, from, SessionStatus.COMPLETED, now));
 
-        String status = null;
-        if (anyNotCompleted) {
-            status = "YELLOW";
-        } else if (allCompleted) {
-            status = "GREEN";
+        if (!completed.isEmpty()) {
+            notificationService.notifySessionsCompleted(completed);
+            afterCommit(() -> emailService.sendSessionCompletedEmails(completed));
         }
+        log.info("✅ Provider {} closed out {} sessions on {}", provider.getId(), completed.size(), request.getDate());
+        return toDayResult(request.getDate(), SessionStatus.COMPLETED, completed, skipped);
+    }
 
-        List<com.wellness.backend.model.ProviderAvailabilityEntity> slots = providerAvailabilityRepository
-                .findByProviderIdAndAvailableDate(practitionerId, date);
-        for (com.wellness.backend.model.ProviderAvailabilityEntity slot : slots) {
-            slot.setDateStatus(status);
-            providerAvailabilityRepository.save(slot);
+    /**
+     * Selects the day's sessions in {@code from}, moves them with the given
+     * set-based update and mirrors the change once. A session that changed
+     * state between the read and the update fails the whole operation with
+     * a 409, like a single-session version conflict.
+     */
+    private List<SessionBookingEntity> transitionDay(UserEntity provider, DayBulkActionDTO request,
+            Set<SessionStatus> from, SessionStatus to, List<Long> skipped, ToIntFunction<List<Long>> update) {
+        List<SessionBookingEntity> sessions = sessionBookingRepository.findDaySessions(provider.getId(),
+                request.getDate(), from);
+        if (request.getSessionIds() != null) {
+            Set<Long> requested = new LinkedHashSet<>(request.getSessionIds());
+            sessions = sessions.stream().filter(s -> requested.contains(s.getId())).collect(Collectors.toList());
+            sessions.forEach(s -> requested.remove(s.getId()));
+            skipped.addAll(requested);
         }
+        if (sessions.isEmpty()) {
+            return sessions;
+        }
+
+        List<Long> ids = sessions.stream().map(SessionBookingEntity::getId).collect(Collectors.toList());
+        int updated = update.applyAsInt(ids);
+        if (updated != ids.size()) {
+            throw new ObjectOptimisticLockingFailureException(SessionBookingEntity.class, provider.getId());
+        }
+        // The sessions still hold their previous status, which the mirror moves away from
+        unifiedBookingService.recordDayTransition(provider.getId(), request.getDate(), sessions, to);
+        sessions.forEach(s -> {
+            s.setStatus(to);
+            // Rows written before the version column existed may still hold NULL
+            s.setVersion((s.getVersion() != null ? s.getVersion() : 0L) + 1);
+        });
+        return sessions;
+    }
+
+    private DayBulkResultDTO toDayResult(LocalDate date, SessionStatus status, List<SessionBookingEntity> sessions,
+            List<Long> skipped) {
+        return DayBulkResultDTO.builder()
+                .date(date)
+                .status(status)
+                .updated(sessions.size())
+                .sessions(sessions.stream().map(this::toDto).collect(Collectors.toList()))
+                .skippedSessionIds(skipped)
+                .build();
+    }
+
+    private UserEntity loadProvider(String providerEmail) {
+        UserEntity provider = userRepository.findByEmail(providerEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + providerEmail));
+        if (!"PROVIDER".equals(provider.getRole())) {
+            throw new ForbiddenActionException("Only providers can manage their day");
+        }
+        return provider;
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (Exception e) {
+                    log.error("Failed to send bulk session emails: {}", e.getMessage());
+                }
+            }
+        });
     }
 
     private boolean isOwner(UserEntity user, SessionBookingEntity session) {
@@ -389,6 +748,21 @@ public class SessionBookingService {
         return due;
     }
 
+    private boolean fitsAvailability(AvailabilityDayDTO day, LocalTime start, LocalTime end) {
+        int from = SlotBitmaps.minuteOfDay(start);
+        int to = SlotBitmaps.endMinuteOfDay(end);
+        return day.getWindows().stream().anyMatch(w -> SlotBitmaps.minuteOfDay(w.getStartTime()) <= from
+                && SlotBitmaps.endMinuteOfDay(w.getEndTime()) >= to)
+                && day.getBlocks().stream().noneMatch(b -> SlotBitmaps.minuteOfDay(b.getStartTime()) < to
+                        && SlotBitmaps.endMinuteOfDay(b.getEndTime()) > from);
+    }
+
+    private boolean overlaps(OccupiedIntervalRow occupied, LocalDateTime start, LocalDateTime end) {
+        int duration = occupied.getDuration() != null && occupied.getDuration() > 0 ? occupied.getDuration()
+                : FreeSlotService.DEFAULT_DURATION_MINUTES;
+        return occupied.getStartAt().isBefore(end) && occupied.getStartAt().plusMinutes(duration).isAfter(start);
+    }
+
     private SessionBookingEntity loadAndValidateProviderOwnership(Long sessionId, String providerEmail) {
         SessionBookingEntity session = sessionBookingRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
@@ -415,19 +789,35 @@ public class SessionBookingService {
         }
     }
 
+    /** Detached view of an archived session so the regular DTO mapping can be reused. */
+    private SessionBookingEntity fromArchive(SessionBookingArchiveEntity archived) {
+        SessionBookingEntity entity = new SessionBookingEntity();
+        entity.setId(archived.getId());
+        entity.setVersion(archived.getVersion());
+        entity.setClient(archived.getClient());
+        entity.setProvider(archived.getProvider());
+        entity.setSessionDate(archived.getSessionDate());
+        entity.setStartTime(archived.getStartTime());
+        entity.setEndTime(archived.getEndTime());
+        entity.setDuration(archived.getDuration());
+        entity.setIssueDescription(archived.getIssueDescription());
+        entity.setStatus(archived.getStatus());
+        entity.setProviderMessage(archived.getProviderMessage());
+        entity.setReminderSent(archived.isReminderSent());
+        entity.setSeriesId(archived.getSeriesId());
+        entity.setRefunded(archived.isRefunded());
+        entity.setCreatedAt(archived.getCreatedAt());
+        entity.setUpdatedAt(archived.getUpdatedAt());
+        return entity;
+    }
+
     private SessionBookingResponseDTO toDto(SessionBookingEntity entity) {
         String providerProfileImg = entity.getProvider().getProfileImage();
         if (providerProfileImg != null && !providerProfileImg.startsWith("http")) {
             providerProfileImg = "http://localhost:8080/uploads/" + providerProfileImg;
         }
 
-        // Fetch date status from availability slots (if any)
-        String dateStatus = null;
-        List<com.wellness.backend.model.ProviderAvailabilityEntity> slots = providerAvailabilityRepository
-                .findByProviderIdAndAvailableDate(entity.getProvider().getId(), entity.getSessionDate());
-        if (!slots.isEmpty()) {
-            dateStatus = slots.get(0).getDateStatus();
-        }
+        String dateStatus = dayStatusService.getStatus(entity.getProvider().getId(), entity.getSessionDate());
 
         return SessionBookingResponseDTO.builder()
                 .id(entity.getId())
@@ -446,6 +836,7 @@ public class SessionBookingService {
                 .status(entity.getStatus())
                 .providerMessage(entity.getProviderMessage())
                 .dateStatusColor(dateStatus)
+                .seriesId(entity.getSeriesId())
                 .reminderSent(entity.isReminderSent())
                 .refunded(entity.isRefunded())
                 .sessionFee(entity.getProvider().getSessionFee())
@@ -0,0 +1,370 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.SlotHoldDTO;
+import com.wellness.backend.dto.SlotHoldRequestDTO;
+import com.wellness.backend.event.SlotReleasedEvent;
+import com.wellness.backend.exception.BookingConflictException;
+import com.wellness.backend.exception.ForbiddenActionException;
+import com.wellness.backend.exception.ResourceNotFoundException;
+import com.wellness.backend.model.SlotHoldEntity;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.SlotHoldRepository;
+import com.wellness.backend.repository.UnifiedBookingRepository;
+import com.wellness.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived holds on a provider's time while a patient completes the
+ * booking form, so a competing patient is turned away when they open the
+ * slot rather than when they submit.
+ *
+ * Holds granted by this node live in memory for cheap conflict checks and
+ * in slot_holds for the other nodes. A single DelayQueue orders them by
+ * expiry; the sweeper drains it and deletes expired rows in bulk, so there
+ * is no timer per hold. Granting a hold and claiming time for a booking
+ * both lock the provider's users row first, so two nodes cannot grant
+ * overlapping holds, or a hold over time being booked, at once.
+ *
+ * Waitlist offers are holds too, with their own TTL; when one lapses
+ * unbooked the slot is released again for the next waiter.
+ */
+@Service
+@Slf4j
+public class SlotHoldService {
+
+    public static final int MAX_ACTIVE_HOLDS_PER_CLIENT = 3;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final SlotHoldRepository slotHoldRepository;
+    private final UserRepository userRepository;
+    private final UnifiedBookingRepository unifiedBookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate callerTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration ttl;
+
+    private final Map<String, Hold> byToken = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Hold>> byProvider = new ConcurrentHashMap<>();
+    private final DelayQueue<Hold> expiries = new DelayQueue<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public SlotHoldService(SlotHoldRepository slotHoldRepository, UserRepository userRepository,
+            UnifiedBookingRepository unifiedBookingRepository, PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher, @Value("${slots.hold.ttl:PT5M}") Duration ttl) {
+        this.slotHoldRepository = slotHoldRepository;
+        this.userRepository = userRepository;
+        this.unifiedBookingRepository = unifiedBookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.callerTransaction = new TransactionTemplate(transactionManager);
+        this.callerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_MANDATORY);
+        this.eventPublisher = eventPublisher;
+        this.ttl = ttl;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    private static final class Hold implements Delayed {
+        final String token;
+        final Long providerId;
+        final Long clientId;
+        final LocalDateTime startAt;
+        final LocalDateTime endAt;
+        final LocalDateTime expiresAt;
+        final long deadlineNanos;
+        final boolean offer;
+
+        Hold(SlotHoldEntity entity, Duration ttl, boolean offer) {
+            this.token = entity.getToken();
+            this.providerId = entity.getProviderId();
+            this.clientId = entity.getClientId();
+            this.startAt = entity.getStartAt();
+            this.endAt = entity.getEndAt();
+            this.expiresAt = entity.getExpiresAt();
+            this.deadlineNanos = System.nanoTime() + ttl.toNanos();
+            this.offer = offer;
+        }
+
+        boolean blocks(Long otherClientId, LocalDateTime start, LocalDateTime end) {
+            return !clientId.equals(otherClientId) && startAt.isBefore(end) && endAt.isAfter(start)
+                    && getDelay(TimeUnit.NANOSECONDS) > 0;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    /**
+     * Grants a hold on [startTime, endTime) of the given date. A patient's
+     * earlier holds overlapping the same time are replaced, which also
+     * renews a hold when the form is reopened.
+     */
+    public SlotHoldDTO hold(String clientEmail, SlotHoldRequestDTO request) {
+        UserEntity client = userRepository.findByEmail(clientEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + clientEmail));
+        UserEntity provider = userRepository.findById(request.getProviderId())
+                .filter(u -> "PROVIDER".equals(u.getRole()))
+                .orElseThrow(() -> new ResourceNotFoundException("Provider not found: " + request.getProviderId()));
+
+        LocalDateTime start = LocalDateTime.of(request.getDate(), request.getStartTime());
+        LocalDateTime end = LocalDateTime.of(request.getDate(), request.getEndTime());
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        if (start.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Cannot hold a slot that has already started");
+        }
+
+        Long providerId = provider.getId();
+        Long clientId = client.getId();
+        synchronized (lockFor(providerId)) {
+            if (heldLocally(providerId, clientId, start, end)) {
+                throw heldByAnother();
+            }
+
+            SlotHoldEntity saved = transactionTemplate.execute(status -> {
+                userRepository.lockById(providerId);
+                LocalDateTime now = LocalDateTime.now();
+                List<SlotHoldEntity> overlapping = slotHoldRepository.findActiveOverlapping(providerId, start, end,
+                        now);
+                if (overlapping.stream().anyMatch(h -> !h.getClientId().equals(clientId))) {
+                    throw heldByAnother();
+                }
+                if (isBooked(providerId, start, end)) {
+                    throw new BookingConflictException("This time slot is already booked.");
+                }
+                if (!overlapping.isEmpty()) {
+                    List<String> replaced = overlapping.stream().map(SlotHoldEntity::getToken).toList();
+                    slotHoldRepository.deleteByTokenIn(replaced);
+                    replaced.forEach(this::forgetAfterCommit);
+                }
+                if (slotHoldRepository.countByClientIdAndExpiresAtAfter(clientId, now) >= MAX_ACTIVE_HOLDS_PER_CLIENT) {
+                    throw new BookingConflictException("You can hold at most " + MAX_ACTIVE_HOLDS_PER_CLIENT
+                            + " slots at a time. Book or release one first.");
+                }
+                slotHoldRepository.deleteExpiredAt(providerId, start, now);
+
+                SlotHoldEntity entity = new SlotHoldEntity(UUID.randomUUID().toString(), providerId, clientId,
+                        start, end, now.plus(ttl));
+                return slotHoldRepository.saveAndFlush(entity);
+            });
+
+            return toDto(remember(new Hold(saved, ttl, false)));
+        }
+    }
+
+    /**
+     * Holds a released slot for a waitlisted patient for {@code offerTtl}.
+     * Returns null instead of failing when the slot has been booked or held
+     * again in the meantime; the caller then stops offering it.
+     */
+    public SlotHoldDTO offer(Long providerId, Long clientId, LocalDateTime start, LocalDateTime end,
+            Duration offerTtl) {
+        synchronized (lockFor(providerId)) {
+            if (heldLocally(providerId, clientId, start, end)) {
+                return null;
+            }
+            SlotHoldEntity saved;
+            try {
+                saved = transactionTemplate.execute(status -> {
+                    userRepository.lockById(providerId);
+                    LocalDateTime now = LocalDateTime.now();
+                    if (!slotHoldRepository.findActiveOverlapping(providerId, start, end, now).isEmpty()
+                            || isBooked(providerId, start, end)) {
+                        return null;
+                    }
+                    slotHoldRepository.deleteExpiredAt(providerId, start, now);
+                    return slotHoldRepository.saveAndFlush(new SlotHoldEntity(UUID.randomUUID().toString(),
+                            providerId, clientId, start, end, now.plus(offerTtl)));
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another node held the same start first
+                return null;
+            }
+            return saved != null ? toDto(remember(new Hold(saved, offerTtl, true))) : null;
+        }
+    }
+
+    public void release(String clientEmail, String token) {
+        UserEntity client = userRepository.findByEmail(clientEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + clientEmail));
+        transactionTemplate.executeWithoutResult(status -> {
+            SlotHoldEntity hold = slotHoldRepository.findById(token)
+                    .orElseThrow(() -> new ResourceNotFoundException("Hold not found or already expired"));
+            if (!hold.getClientId().equals(client.getId())) {
+                throw new ForbiddenActionException("You cannot release another patient's hold");
+            }
+            slotHoldRepository.delete(hold);
+            forgetAfterCommit(token);
+        });
+    }
+
+    /**
+     * Called by the booking flows inside the transaction that saves the
+     * booking. Fails if another patient holds any part of [start, end); the
+     * booking patient's own overlapping holds are consumed with the booking.
+     * The provider stays locked until the booking commits, so no hold can be
+     * granted over the time in between.
+     */
+    public void claimForBooking(Long providerId, Long clientId, LocalDateTime start, LocalDateTime end) {
+        if (heldLocally(providerId, clientId, start, end)) {
+            throw heldByAnother();
+        }
+        callerTransaction.executeWithoutResult(status -> {
+            userRepository.lockById(providerId);
+            List<SlotHoldEntity> overlapping = slotHoldRepository.findActiveOverlapping(providerId, start, end,
+                    LocalDateTime.now());
+            if (overlapping.stream().anyMatch(h -> !h.getClientId().equals(clientId))) {
+                throw heldByAnother();
+            }
+            if (!overlapping.isEmpty()) {
+                List<String> own = overlapping.stream().map(SlotHoldEntity::getToken).toList();
+                slotHoldRepository.deleteByTokenIn(own);
+                own.forEach(this::forgetAfterCommit);
+            }
+        });
+    }
+
+    /**
+     * Unexpired holds on a provider's time in [from, to), from every node.
+     * Locks the provider until the caller's transaction ends, as
+     * {@link #claimForBooking} does.
+     */
+    public List<SlotHoldEntity> lockAndFindActiveHolds(Long providerId, LocalDateTime from, LocalDateTime to) {
+        return callerTransaction.execute(status -> {
+            userRepository.lockById(providerId);
+            return slotHoldRepository.findActiveOverlapping(providerId, from, to, LocalDateTime.now());
+        });
+    }
+
+    /** Deletes holds that were turned into bookings; runs in the caller's transaction if there is one. */
+    public void consume(Collection<String> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            slotHoldRepository.deleteByTokenIn(tokens);
+            tokens.forEach(this::forgetAfterCommit);
+        });
+    }
+
+    /** Drops expired holds from memory and deletes every expired row, including other nodes'. */
+    public void expireHolds() {
+        int local = 0;
+        Hold hold;
+        while ((hold = expiries.poll()) != null) {
+            if (forget(hold.token)) {
+                local++;
+                if (hold.offer) {
+                    eventPublisher.publishEvent(new SlotReleasedEvent(hold.providerId, hold.startAt, hold.endAt,
+                            hold.token, System.nanoTime()));
+                }
+            }
+        }
+        Integer deleted = transactionTemplate.execute(
+                status -> slotHoldRepository.deleteExpired(LocalDateTime.now()));
+        if (local > 0 || (deleted != null && deleted > 0)) {
+            log.info("⌛ Expired {} local slot holds, deleted {} expired rows", local, deleted);
+        }
+    }
+
+    private Hold remember(Hold hold) {
+        byToken.put(hold.token, hold);
+        byProvider.compute(hold.providerId, (id, holds) -> {
+            Set<Hold> set = holds != null ? holds : ConcurrentHashMap.newKeySet();
+            set.add(hold);
+            return set;
+        });
+        expiries.add(hold);
+        return hold;
+    }
+
+    private boolean heldLocally(Long providerId, Long clientId, LocalDateTime start, LocalDateTime end) {
+        Set<Hold> holds = byProvider.get(providerId);
+        return holds != null && holds.stream().anyMatch(h -> h.blocks(clientId, start, end));
+    }
+
+    private boolean isBooked(Long providerId, LocalDateTime start, LocalDateTime end) {
+        return unifiedBookingRepository.findOccupiedIntervals(providerId, start.toLocalDate().atStartOfDay(), end,
+                FreeSlotService.FREE_STATUSES).stream()
+                .anyMatch(o -> {
+                    int duration = o.getDuration() != null && o.getDuration() > 0 ? o.getDuration()
+                            : FreeSlotService.DEFAULT_DURATION_MINUTES;
+                    return o.getStartAt().isBefore(end) && o.getStartAt().plusMinutes(duration).isAfter(start);
+                });
+    }
+
+    private void forgetAfterCommit(String token) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget(token);
+                }
+            });
+        } else {
+            forget(token);
+        }
+    }
+
+    // Entries already in the DelayQueue are left there; forgetting twice is harmless
+    private boolean forget(String token) {
+        Hold hold = byToken.remove(token);
+        if (hold == null) {
+            return false;
+        }
+        byProvider.computeIfPresent(hold.providerId, (id, holds) -> {
+            holds.remove(hold);
+            return holds.isEmpty() ? null : holds;
+        });
+        return true;
+    }
+
+    private Object lockFor(Long providerId) {
+        return locks[Math.floorMod(providerId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private BookingConflictException heldByAnother() {
+        return new BookingConflictException(
+                "This time slot is being booked by another patient. Please try again in a few minutes.");
+    }
+
+    private SlotHoldDTO toDto(Hold hold) {
+        return SlotHoldDTO.builder()
+                .token(hold.token)
+                .providerId(hold.providerId)
+                .startAt(hold.startAt)
+                .endAt(hold.endAt)
+                .expiresAt(hold.expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,327 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.event.SlotReleasedEvent;
+import com.wellness.backend.model.BookingEntity;
+import com.wellness.backend.model.BookingSource;
+import com.wellness.backend.model.BookingStatus;
+import com.wellness.backend.model.SessionBookingEntity;
+import com.wellness.backend.model.SessionStatus;
+import com.wellness.backend.model.UnifiedBookingEntity;
+import com.wellness.backend.repository.BookingRepository;
+import com.wellness.backend.repository.SessionBookingRepository;
+import com.wellness.backend.repository.UnifiedBookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the unified_bookings read model. The migration runs in three steps
+ * so it needs no downtime:
+ * <ol>
+ * <li>every booking and session mutation dual-writes its mirror row here;</li>
+ * <li>a chunked backfill inserts mirrors for rows that predate the dual
+ * write;</li>
+ * <li>dashboard reads query unified_bookings once instead of querying each
+ * legacy table.</li>
+ * </ol>
+ * The backfill only inserts missing rows and never overwrites existing ones,
+ * so it cannot clobber a newer dual write that happens while it is running,
+ * and a mirror inserted by such a write is skipped rather than failing it.
+ *
+ * Because every mutation passes through here with the previous state still
+ * in the mirror row, this is also where a {@link SlotReleasedEvent} is
+ * published when a booking stops taking up its provider's time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UnifiedBookingService {
+
+    public static final int BACKFILL_CHUNK_SIZE = 500;
+
+    private static final int TEXT_LIMIT = 2000;
+
+    private static final Set<BookingStatus> BOOKING_ATTENDED = Set.of(BookingStatus.ACCEPTED,
+            BookingStatus.CONFIRMED, BookingStatus.RESCHEDULED, BookingStatus.COMPLETED,
+            BookingStatus.PENDING_COMPLETION_ACTION);
+
+    private static final Set<SessionStatus> SESSION_ATTENDED = Set.of(SessionStatus.ACCEPTED,
+            SessionStatus.CONFIRMED, SessionStatus.RESCHEDULE_REQUESTED, SessionStatus.COMPLETED,
+            SessionStatus.PENDING_COMPLETION_ACTION);
+
+    private static final Set<SessionStatus> SESSION_BILLABLE = Set.of(SessionStatus.COMPLETED,
+            SessionStatus.PENDING_COMPLETION_ACTION);
+
+    private final UnifiedBookingRepository unifiedBookingRepository;
+    private final BookingRepository bookingRepository;
+    private final SessionBookingRepository sessionBookingRepository;
+    private final FreeSlotService freeSlotService;
+    private final DayStatusService dayStatusService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Dual write for the legacy booking flow. */
+    @Transactional
+    public void record(BookingEntity booking) {
+        UnifiedBookingEntity row = unifiedBookingRepository
+                .findBySourceAndSourceId(BookingSource.BOOKING, booking.getId())
+                .orElseGet(UnifiedBookingEntity::new);
+        refreshSlots(row);
+        Occupancy before = Occupancy.of(row);
+        apply(row, booking);
+        unifiedBookingRepository.save(row);
+        refreshSlots(row);
+        publishIfReleased(before, row);
+    }
+
+    /** Dual write for the session booking flow. */
+    @Transactional
+    public void record(SessionBookingEntity session) {
+        UnifiedBookingEntity row = unifiedBookingRepository
+                .findBySourceAndSourceId(BookingSource.SESSION, session.getId())
+                .orElseGet(UnifiedBookingEntity::new);
+        refreshSlots(row);
+        // The mirror still holds the previous state, which the day counters move away from
+        boolean existed = row.getId() != null;
+        Long oldProviderId = existed ? row.getProvider().getId() : null;
+        LocalDate oldDate = existed ? row.getStartAt().toLocalDate() : null;
+        String oldStatus = row.getStatus();
+        Occupancy before = Occupancy.of(row);
+        apply(row, session);
+        unifiedBookingRepository.save(row);
+        refreshSlots(row);
+        publishIfReleased(before, row);
+        dayStatusService.recordTransition(oldProviderId, oldDate, oldStatus,
+                row.getProvider().getId(), session.getSessionDate(), row.getStatus());
+    }
+
+    /**
+     * Dual write for sessions created together, e.g. a recurring series: one
+     * batched insert, and one slot refresh covering all of their days.
+     */
+    @Transactional
+    public void recordNew(List<SessionBookingEntity> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        List<UnifiedBookingEntity> rows = new ArrayList<>();
+        for (SessionBookingEntity session : sessions) {
+            UnifiedBookingEntity row = new UnifiedBookingEntity();
+            apply(row, session);
+            rows.add(row);
+            dayStatusService.recordTransition(null, null, null, row.getProvider().getId(),
+                    session.getSessionDate(), row.getStatus());
+        }
+        unifiedBookingRepository.saveAll(rows);
+
+        LocalDate first = sessions.stream().map(SessionBookingEntity::getSessionDate).min(LocalDate::compareTo)
+                .orElseThrow();
+        LocalDate last = sessions.stream().map(SessionBookingEntity::getSessionDate).max(LocalDate::compareTo)
+                .orElseThrow();
+        freeSlotService.refreshAfterCommit(sessions.get(0).getProvider().getId(), first, last.plusDays(1));
+    }
+
+    /**
+     * Dual write for a bulk status change of one provider's sessions on one
+     * date. {@code sessions} still carry their previous status. The mirror
+     * rows, the day counters and the slot index are each updated once.
+     */
+    @Transactional
+    public void recordDayTransition(Long providerId, LocalDate date, List<SessionBookingEntity> sessions,
+            SessionStatus status) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        unifiedBookingRepository.updateSessionStatus(
+                sessions.stream().map(SessionBookingEntity::getId).collect(Collectors.toList()), status.name(),
+                SESSION_ATTENDED.contains(status), SESSION_BILLABLE.contains(status));
+        dayStatusService.recordDayTransition(providerId, date,
+                sessions.stream().map(s -> s.getStatus().name()).collect(Collectors.toList()), status.name());
+        freeSlotService.refreshAfterCommit(providerId, date);
+
+        if (FreeSlotService.FREE_STATUSES.contains(status.name())) {
+            sessions.stream()
+                    .filter(s -> !FreeSlotService.FREE_STATUSES.contains(s.getStatus().name()))
+                    .forEach(s -> {
+                        LocalDateTime start = LocalDateTime.of(date, s.getStartTime());
+                        int duration = s.getDuration() != null && s.getDuration() > 0 ? s.getDuration()
+                                : FreeSlotService.DEFAULT_DURATION_MINUTES;
+                        eventPublisher.publishEvent(SlotReleasedEvent.of(providerId, start, start.plusMinutes(duration)));
+                    });
+        }
+    }
+
+    /**
+     * Mirrors one chunk of bookings with id greater than {@code afterId}.
+     * Returns the last id read, or null once the table is exhausted.
+     *
+     * Missing mirrors are inserted in one batch. A dual write can mirror one of
+     * them between the existence check and the insert, which fails the batch on
+     * uk_unified_source; the chunk is then redone one row per transaction and
+     * a row that still collides is skipped, since its mirror exists. Must be
+     * called outside a transaction.
+     */
+    public Long backfillBookingsChunk(Long afterId) {
+        try {
+            return transactionTemplate.execute(status -> mirrorMissingBookings(bookingRepository
+                    .findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, BACKFILL_CHUNK_SIZE))));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("⚠️ Booking backfill chunk after id {} raced a dual write, retrying row by row", afterId);
+            List<Long> ids = transactionTemplate.execute(status -> bookingRepository
+                    .findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, BACKFILL_CHUNK_SIZE)).stream()
+                    .map(BookingEntity::getId).collect(Collectors.toList()));
+            ids.forEach(id -> mirrorRow(BookingSource.BOOKING, id, () -> bookingRepository.findById(id)
+                    .map(List::of).map(this::mirrorMissingBookings)));
+            return ids.isEmpty() ? null : ids.get(ids.size() - 1);
+        }
+    }
+
+    /** Session counterpart of {@link #backfillBookingsChunk(Long)}. */
+    public Long backfillSessionsChunk(Long afterId) {
+        try {
+            return transactionTemplate.execute(status -> mirrorMissingSessions(sessionBookingRepository
+                    .findBackfillChunk(afterId, PageRequest.of(0, BACKFILL_CHUNK_SIZE))));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("⚠️ Session backfill chunk after id {} raced a dual write, retrying row by row", afterId);
+            List<Long> ids = transactionTemplate.execute(status -> sessionBookingRepository
+                    .findBackfillChunk(afterId, PageRequest.of(0, BACKFILL_CHUNK_SIZE)).stream()
+                    .map(SessionBookingEntity::getId).collect(Collectors.toList()));
+            ids.forEach(id -> mirrorRow(BookingSource.SESSION, id, () -> sessionBookingRepository.findById(id)
+                    .map(List::of).map(this::mirrorMissingSessions)));
+            return ids.isEmpty() ? null : ids.get(ids.size() - 1);
+        }
+    }
+
+    private void mirrorRow(BookingSource source, Long id, Runnable insert) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert.run());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("⏭ {} {} was mirrored concurrently, skipping", source, id);
+        }
+    }
+
+    /** Inserts mirrors for the rows of {@code chunk} that have none; returns the last id, or null if empty. */
+    private Long mirrorMissingBookings(List<BookingEntity> chunk) {
+        if (chunk.isEmpty()) {
+            return null;
+        }
+        Set<Long> existing = new HashSet<>(unifiedBookingRepository.findExistingSourceIds(BookingSource.BOOKING,
+                chunk.stream().map(BookingEntity::getId).collect(Collectors.toList())));
+        List<UnifiedBookingEntity> missing = new ArrayList<>();
+        for (BookingEntity booking : chunk) {
+            if (!existing.contains(booking.getId())) {
+                UnifiedBookingEntity row = new UnifiedBookingEntity();
+                apply(row, booking);
+                missing.add(row);
+            }
+        }
+        unifiedBookingRepository.saveAll(missing);
+        // Flushed here so a unique-key violation surfaces inside the caller's try
+        unifiedBookingRepository.flush();
+        return chunk.get(chunk.size() - 1).getId();
+    }
+
+    private Long mirrorMissingSessions(List<SessionBookingEntity> chunk) {
+        if (chunk.isEmpty()) {
+            return null;
+        }
+        Set<Long> existing = new HashSet<>(unifiedBookingRepository.findExistingSourceIds(BookingSource.SESSION,
+                chunk.stream().map(SessionBookingEntity::getId).collect(Collectors.toList())));
+        List<UnifiedBookingEntity> missing = new ArrayList<>();
+        for (SessionBookingEntity session : chunk) {
+            if (!existing.contains(session.getId())) {
+                UnifiedBookingEntity row = new UnifiedBookingEntity();
+                apply(row, session);
+                missing.add(row);
+            }
+        }
+        unifiedBookingRepository.saveAll(missing);
+        unifiedBookingRepository.flush();
+        return chunk.get(chunk.size() - 1).getId();
+    }
+
+    private void apply(UnifiedBookingEntity row, BookingEntity booking) {
+        BookingStatus status = booking.getStatus() != null ? booking.getStatus() : BookingStatus.PENDING;
+        boolean attended = BOOKING_ATTENDED.contains(status);
+
+        row.setSource(BookingSource.BOOKING);
+        row.setSourceId(booking.getId());
+        row.setClient(booking.getUser());
+        row.setProvider(booking.getPractitioner());
+        row.setStartAt(booking.getBookingDate());
+        row.setDuration(booking.getDuration());
+        row.setStatus(status.name());
+        row.setSessionFee(booking.getSessionFee());
+        row.setRefunded(booking.isRefunded());
+        row.setAttended(attended);
+        row.setBillable(attended && !booking.isRefunded());
+        row.setNotes(truncate(booking.getNotes()));
+        row.setProviderComment(truncate(booking.getPractitionerComment()));
+    }
+
+    private void apply(UnifiedBookingEntity row, SessionBookingEntity session) {
+        SessionStatus status = session.getStatus() != null ? session.getStatus() : SessionStatus.PENDING;
+
+        row.setSource(BookingSource.SESSION);
+        row.setSourceId(session.getId());
+        row.setClient(session.getClient());
+        row.setProvider(session.getProvider());
+        row.setStartAt(LocalDateTime.of(session.getSessionDate(), session.getStartTime()));
+        row.setDuration(session.getDuration());
+        row.setStatus(status.name());
+        // Sessions have no fee column; snapshot the provider's fee at write time
+        row.setSessionFee(session.getProvider().getSessionFee());
+        row.setRefunded(session.isRefunded());
+        row.setAttended(SESSION_ATTENDED.contains(status));
+        row.setBillable(SESSION_BILLABLE.contains(status));
+        row.setNotes(truncate(session.getIssueDescription()));
+        row.setProviderComment(truncate(session.getProviderMessage()));
+    }
+
+    /**
+     * Called with the row before and after a change, so both the old and the
+     * new day of a reschedule are recomputed.
+     */
+    private void refreshSlots(UnifiedBookingEntity row) {
+        if (row.getProvider() != null && row.getStartAt() != null) {
+            freeSlotService.refreshAfterCommit(row.getProvider().getId(), row.getStartAt().toLocalDate());
+        }
+    }
+
+    /** The slot a mirror row occupied before a change, or null if it occupied none. */
+    private record Occupancy(Long providerId, LocalDateTime startAt, LocalDateTime endAt) {
+        static Occupancy of(UnifiedBookingEntity row) {
+            if (row.getId() == null || row.getStartAt() == null
+                    || FreeSlotService.FREE_STATUSES.contains(row.getStatus())) {
+                return null;
+            }
+            int duration = row.getDuration() != null && row.getDuration() > 0 ? row.getDuration()
+                    : FreeSlotService.DEFAULT_DURATION_MINUTES;
+            return new Occupancy(row.getProvider().getId(), row.getStartAt(), row.getStartAt().plusMinutes(duration));
+        }
+    }
+
+    private void publishIfReleased(Occupancy before, UnifiedBookingEntity row) {
+        if (before == null || before.equals(Occupancy.of(row))) {
+            return;
+        }
+        eventPublisher.publishEvent(SlotReleasedEvent.of(before.providerId(), before.startAt(), before.endAt()));
+    }
+
+    private String truncate(String value) {
+        return value != null && value.length() > TEXT_LIMIT ? value.substring(0, TEXT_LIMIT) : value;
+    }
+}
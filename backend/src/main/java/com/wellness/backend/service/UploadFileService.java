@@ -0,0 +1,197 @@
+package com.wellness.backend.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes files from disk to the response with validators, caching and
+ * single byte-range support.
+ *
+ * Bodies above the sendfile threshold are handed to Tomcat's sendfile, which
+ * transfers the file straight from the page cache to the socket
+ * (FileChannel.transferTo) after the request returns; smaller bodies, and
+ * connectors without sendfile, are copied with FileChannel.transferTo onto
+ * the response stream.
+ *
+ * Files named by content hash (product image blobs) never change and are
+ * cached for a year; other uploads can be replaced in place (degree PDFs),
+ * so clients revalidate them with If-None-Match or If-Modified-Since.
+ */
+@Service
+@Slf4j
+public class UploadFileService {
+
+    public static final Path UPLOAD_ROOT = Paths.get("uploads").toAbsolutePath().normalize();
+
+    private static final Pattern CONTENT_HASHED = Pattern.compile("^([0-9a-f]{64})\\.[a-z0-9]+$");
+    private static final Pattern SINGLE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final long sendfileThreshold;
+
+    public UploadFileService(@Value("${uploads.sendfile-threshold-bytes:49152}") long sendfileThreshold) {
+        this.sendfileThreshold = sendfileThreshold;
+    }
+
+    /** Resolves a path below uploads/, or null when it escapes the directory or is not a regular file. */
+    public Path resolveUpload(String relativePath) {
+        Path file = UPLOAD_ROOT.resolve(relativePath).normalize();
+        if (!file.startsWith(UPLOAD_ROOT) || !Files.isRegularFile(file)) {
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * Serves {@code file}, honouring If-None-Match, If-Modified-Since, Range
+     * and If-Range, and a precompressed {@code .gz} sibling for clients that
+     * accept gzip. Headers the caller set beforehand (e.g.
+     * Content-Disposition) are kept.
+     */
+    public void serve(Path file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attrs.size();
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        String name = file.getFileName().toString();
+        Matcher hashed = CONTENT_HASHED.matcher(name);
+        String etag = hashed.matches()
+                ? "\"" + hashed.group(1) + "\""
+                : "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, (hashed.matches()
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache()).getHeaderValue());
+        response.setContentType(MediaTypeFactory.getMediaType(name)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            Matcher m = SINGLE_RANGE.matcher(range.trim());
+            // Multiple ranges are answered with the whole file, which RFC 9110 allows
+            if (m.matches() && !(m.group(1).isEmpty() && m.group(2).isEmpty())) {
+                long start;
+                long end;
+                if (m.group(1).isEmpty()) {
+                    long suffix = Long.parseLong(m.group(2));
+                    start = Math.max(0, length - suffix);
+                    end = length - 1;
+                } else {
+                    start = Long.parseLong(m.group(1));
+                    end = m.group(2).isEmpty() ? length - 1 : Math.min(Long.parseLong(m.group(2)), length - 1);
+                }
+                if (start >= length || start > end) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                write(file, start, end - start + 1, request, response);
+                return;
+            }
+        }
+
+        Path gzipped = file.resolveSibling(name + ".gz");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(request) && Files.isRegularFile(gzipped)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            // A different representation needs its own strong validator
+            response.setHeader(HttpHeaders.ETAG, etag.substring(0, etag.length() - 1) + "-gzip\"");
+            write(gzipped, 0, Files.size(gzipped), request, response);
+            return;
+        }
+        write(file, 0, length, request, response);
+    }
+
+    private void write(Path file, long start, long count, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (count >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)
+                        || tag.equals(etag.substring(0, etag.length() - 1) + "-gzip\"")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try {
+            long since = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            // HTTP dates have second precision
+            return since >= 0 && lastModified / 1000 <= since / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return accept != null && accept.toLowerCase().contains("gzip");
+    }
+}
@@ -1,11 +1,16 @@
 package com.wellness.backend.service;
 
+import com.wellness.backend.event.MarketplaceChangedEvent;
+import com.wellness.backend.event.MarketplaceChangedEvent.Feed;
 import com.wellness.backend.model.UserEntity;
 import com.wellness.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
@@ -14,6 +19,15 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<UserEntity> getAllUsers() {
         return userRepository.findAll();
     }
@@ -33,6 +47,8 @@ public class UserService {
     public boolean deleteUser(Long id) {
         return userRepository.findById(id).map(user -> {
             userRepository.delete(user);
+            searchIndexService.removePractitioner(id);
+            eventPublisher.publishEvent(new MarketplaceChangedEvent(Feed.PRACTITIONERS));
             return true;
         }).orElse(false);
     }
@@ -41,15 +57,27 @@ public class UserService {
         return userRepository.findById(id).map(user -> {
             user.setName(updatedUser.getName()); // Use getName() instead of getFullName()
             user.setEmail(updatedUser.getEmail());
-            user.setRole(updatedUser.getRole());
+            // Stored upper-case: directory queries match 'PROVIDER' and 'APPROVED' exactly
+            user.setRole(upperCase(updatedUser.getRole()));
             user.setSpecialization(updatedUser.getSpecialization());
             user.setCity(updatedUser.getCity());
             user.setCountry(updatedUser.getCountry());
             user.setDegreeFile(updatedUser.getDegreeFile());
-            user.setVerificationStatus(updatedUser.getVerificationStatus());
+            user.setVerificationStatus(upperCase(updatedUser.getVerificationStatus()));
             user.setSessionFee(updatedUser.getSessionFee());
             userRepository.save(user);
+            searchIndexService.indexPractitioner(user);
+            eventPublisher.publishEvent(new MarketplaceChangedEvent(Feed.PRACTITIONERS));
             return user;
         });
     }
+
+    private static String upperCase(String value) {
+        return value != null ? value.trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    /** Drops the second-level cache entry so the next read goes to the database. */
+    public void evictCachedUser(Long userId) {
+        entityManagerFactory.getCache().evict(UserEntity.class, userId);
+    }
 }
@@ -0,0 +1,334 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.SlotHoldDTO;
+import com.wellness.backend.dto.WaitlistEntryDTO;
+import com.wellness.backend.dto.WaitlistRequestDTO;
+import com.wellness.backend.dto.WaitlistStatsDTO;
+import com.wellness.backend.event.SlotReleasedEvent;
+import com.wellness.backend.exception.BookingConflictException;
+import com.wellness.backend.exception.ForbiddenActionException;
+import com.wellness.backend.exception.ResourceNotFoundException;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.model.WaitlistEntryEntity;
+import com.wellness.backend.model.WaitlistStatus;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.repository.WaitlistEntryRepository;
+import com.wellness.backend.util.SlotBitmaps;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Per-(provider, date) waitlists. When a slot is released the head of the
+ * matching queue is offered it as a slot hold lasting waitlist.offer.ttl; if
+ * the patient books, the entry is fulfilled, and if the hold lapses the slot
+ * is released again and offered to the next waiter.
+ *
+ * Matching is driven by {@link SlotReleasedEvent}s, delivered once the
+ * releasing transaction commits, and runs on a single matcher thread so the
+ * cancel request never waits for it and two releases on this node never
+ * race for the same waiter. Across nodes the slot hold's unique key and the
+ * conditional WAITING -> OFFERED update keep offers exclusive.
+ */
+@Service
+@Slf4j
+public class WaitlistService {
+
+    public static final int MAX_OPEN_ENTRIES_PER_CLIENT = 10;
+
+    private static final int QUEUE_SCAN_LIMIT = 50;
+    private static final int LAPSED_OFFER_BATCH = 100;
+    // Lapsed offers are normally closed by their hold's expiry event; this grace keeps the sweep out of its way
+    private static final Duration LAPSED_OFFER_GRACE = Duration.ofMinutes(1);
+    private static final List<WaitlistStatus> OPEN = List.of(WaitlistStatus.WAITING, WaitlistStatus.OFFERED);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final UserRepository userRepository;
+    private final SlotHoldService slotHoldService;
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration offerTtl;
+
+    private final ExecutorService matcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "waitlist-matcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder slotsReleased = new LongAdder();
+    private final LongAdder offersMade = new LongAdder();
+    private final LongAdder offersAccepted = new LongAdder();
+    private final LongAdder offersExpired = new LongAdder();
+    private final LongAdder releasesWithoutWaiter = new LongAdder();
+    private final LongAdder matchLatencyNanos = new LongAdder();
+    private final AtomicLong maxMatchLatencyNanos = new AtomicLong();
+
+    public WaitlistService(WaitlistEntryRepository waitlistEntryRepository, UserRepository userRepository,
+            SlotHoldService slotHoldService, NotificationService notificationService, EmailService emailService,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+            @Value("${waitlist.offer.ttl:PT15M}") Duration offerTtl) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.userRepository = userRepository;
+        this.slotHoldService = slotHoldService;
+        this.notificationService = notificationService;
+        this.emailService = emailService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.offerTtl = offerTtl;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        matcher.shutdownNow();
+    }
+
+    @Transactional
+    public WaitlistEntryDTO join(String clientEmail, WaitlistRequestDTO request) {
+        UserEntity client = userRepository.findByEmail(clientEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + clientEmail));
+        UserEntity provider = userRepository.findById(request.getProviderId())
+                .filter(u -> "PROVIDER".equals(u.getRole()))
+                .orElseThrow(() -> new ResourceNotFoundException("Provider not found: " + request.getProviderId()));
+
+        if (request.getEarliestStart() != null && request.getLatestEnd() != null
+                && SlotBitmaps.endMinuteOfDay(request.getLatestEnd())
+                        <= SlotBitmaps.minuteOfDay(request.getEarliestStart())) {
+            throw new IllegalArgumentException("latestEnd must be after earliestStart");
+        }
+        if (!waitlistEntryRepository.findOpen(provider.getId(), client.getId(), request.getDate(), OPEN).isEmpty()) {
+            throw new BookingConflictException("You are already on this practitioner's waitlist for "
+                    + request.getDate());
+        }
+        if (waitlistEntryRepository.countByClient_IdAndStatusIn(client.getId(), OPEN) >= MAX_OPEN_ENTRIES_PER_CLIENT) {
+            throw new BookingConflictException("You can be on at most " + MAX_OPEN_ENTRIES_PER_CLIENT
+                    + " waitlists at a time");
+        }
+
+        WaitlistEntryEntity entry = new WaitlistEntryEntity();
+        entry.setProvider(provider);
+        entry.setClient(client);
+        entry.setWaitDate(request.getDate());
+        entry.setEarliestStart(request.getEarliestStart());
+        entry.setLatestEnd(request.getLatestEnd());
+        entry.setStatus(WaitlistStatus.WAITING);
+        WaitlistEntryEntity saved = waitlistEntryRepository.saveAndFlush(entry);
+        log.info("📝 Client {} joined the waitlist of provider {} for {}", client.getId(), provider.getId(),
+                request.getDate());
+        return toDto(saved);
+    }
+
+    /** Leaves a waitlist; an open offer is withdrawn and passed on to the next waiter. */
+    @Transactional
+    public void leave(String clientEmail, Long entryId) {
+        UserEntity client = userRepository.findByEmail(clientEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + clientEmail));
+        WaitlistEntryEntity entry = waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found: " + entryId));
+        if (!entry.getClient().getId().equals(client.getId())) {
+            throw new ForbiddenActionException("You cannot change another patient's waitlist entry");
+        }
+        if (!OPEN.contains(entry.getStatus())) {
+            throw new IllegalStateException("This waitlist entry is already closed: " + entry.getStatus());
+        }
+
+        boolean hadOffer = entry.getStatus() == WaitlistStatus.OFFERED;
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        entry.setClosedAt(LocalDateTime.now());
+        waitlistEntryRepository.save(entry);
+        if (hadOffer) {
+            slotHoldService.consume(List.of(entry.getHoldToken()));
+            eventPublisher.publishEvent(SlotReleasedEvent.of(entry.getProvider().getId(), entry.getOfferedStart(),
+                    entry.getOfferedEnd()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDTO> getMyEntries(String clientEmail) {
+        UserEntity client = userRepository.findByEmail(clientEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + clientEmail));
+        return waitlistEntryRepository.findByClient(client.getId(), OPEN).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Called by the booking flows once a patient books [start, end) with a
+     * provider: their open entries for that date are fulfilled, whether or
+     * not they booked through an offer. An offer's hold is released, and if
+     * the booking does not cover the offered time, that time is released
+     * again for the next waiter.
+     */
+    @Transactional
+    public void markFulfilled(Long providerId, Long clientId, LocalDateTime start, LocalDateTime end) {
+        List<WaitlistEntryEntity> open = waitlistEntryRepository.findOpen(providerId, clientId,
+                start.toLocalDate(), OPEN);
+        if (open.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (WaitlistEntryEntity entry : open) {
+            if (entry.getStatus() == WaitlistStatus.OFFERED) {
+                offersAccepted.increment();
+                slotHoldService.consume(List.of(entry.getHoldToken()));
+                if (start.isAfter(entry.getOfferedStart()) || end.isBefore(entry.getOfferedEnd())) {
+                    eventPublisher.publishEvent(SlotReleasedEvent.of(providerId, entry.getOfferedStart(),
+                            entry.getOfferedEnd()));
+                }
+            }
+            entry.setStatus(WaitlistStatus.FULFILLED);
+            entry.setClosedAt(now);
+        }
+        waitlistEntryRepository.saveAll(open);
+    }
+
+    /** Runs after the releasing transaction commits, or at once when it was released outside one. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotReleased(SlotReleasedEvent event) {
+        matcher.execute(() -> {
+            try {
+                match(event);
+            } catch (Exception e) {
+                log.error("❌ Waitlist matching failed for provider {} at {}", event.getProviderId(),
+                        event.getStartAt(), e);
+            }
+        });
+    }
+
+    /**
+     * Safety net for offers whose hold lapsed on a node that restarted before
+     * its expiry event fired: closes them and releases their slots.
+     */
+    public void expireLapsedOffers() {
+        List<WaitlistEntryEntity> lapsed = waitlistEntryRepository.findLapsedOffers(
+                LocalDateTime.now().minus(LAPSED_OFFER_GRACE), PageRequest.of(0, LAPSED_OFFER_BATCH));
+        for (WaitlistEntryEntity entry : lapsed) {
+            onSlotReleased(new SlotReleasedEvent(entry.getProvider().getId(), entry.getOfferedStart(),
+                    entry.getOfferedEnd(), entry.getHoldToken(), System.nanoTime()));
+        }
+    }
+
+    public WaitlistStatsDTO getStats() {
+        long made = offersMade.sum();
+        return WaitlistStatsDTO.builder()
+                .slotsReleased(slotsReleased.sum())
+                .offersMade(made)
+                .offersAccepted(offersAccepted.sum())
+                .offersExpired(offersExpired.sum())
+                .releasesWithoutWaiter(releasesWithoutWaiter.sum())
+                .fillRate(made == 0 ? 0.0 : (double) offersAccepted.sum() / made)
+                .averageMatchLatencyMs(made == 0 ? 0.0 : matchLatencyNanos.sum() / 1e6 / made)
+                .maxMatchLatencyMs(maxMatchLatencyNanos.get() / 1e6)
+                .build();
+    }
+
+    private void match(SlotReleasedEvent event) {
+        if (event.getExpiredHoldToken() != null) {
+            Integer expired = transactionTemplate.execute(
+                    status -> waitlistEntryRepository.expireOffer(event.getExpiredHoldToken(), LocalDateTime.now()));
+            if (expired == null || expired == 0) {
+                // Not a waitlist offer, or it was accepted or withdrawn first
+                return;
+            }
+            offersExpired.increment();
+        }
+
+        LocalDateTime start = event.getStartAt();
+        LocalDateTime end = event.getEndAt();
+        if (!start.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        slotsReleased.increment();
+
+        List<WaitlistEntryEntity> queue = waitlistEntryRepository.findQueue(event.getProviderId(),
+                start.toLocalDate(), PageRequest.of(0, QUEUE_SCAN_LIMIT));
+        for (WaitlistEntryEntity entry : queue) {
+            if (!accepts(entry, start, end)) {
+                continue;
+            }
+            SlotHoldDTO hold = slotHoldService.offer(event.getProviderId(), entry.getClient().getId(), start, end,
+                    offerTtl);
+            if (hold == null) {
+                log.info("⏭️ Released slot {} of provider {} was taken before it could be offered", start,
+                        event.getProviderId());
+                return;
+            }
+            Integer claimed = transactionTemplate.execute(status -> waitlistEntryRepository.markOffered(entry.getId(),
+                    hold.getToken(), start, end, hold.getExpiresAt()));
+            if (claimed == null || claimed == 0) {
+                // The patient left the queue meanwhile; keep the slot for the next one
+                slotHoldService.consume(List.of(hold.getToken()));
+                continue;
+            }
+
+            recordLatency(System.nanoTime() - event.getReleasedAtNanos());
+            offersMade.increment();
+            entry.setStatus(WaitlistStatus.OFFERED);
+            entry.setHoldToken(hold.getToken());
+            entry.setOfferedStart(start);
+            entry.setOfferedEnd(end);
+            entry.setOfferExpiresAt(hold.getExpiresAt());
+            notifyOffer(entry);
+            log.info("🎟️ Offered slot {} of provider {} to waitlisted client {} until {}", start,
+                    event.getProviderId(), entry.getClient().getId(), hold.getExpiresAt());
+            return;
+        }
+        releasesWithoutWaiter.increment();
+    }
+
+    private boolean accepts(WaitlistEntryEntity entry, LocalDateTime start, LocalDateTime end) {
+        int from = SlotBitmaps.minuteOfDay(start.toLocalTime());
+        int to = SlotBitmaps.endMinuteOfDay(end.toLocalTime());
+        return (entry.getEarliestStart() == null || SlotBitmaps.minuteOfDay(entry.getEarliestStart()) <= from)
+                && (entry.getLatestEnd() == null || SlotBitmaps.endMinuteOfDay(entry.getLatestEnd()) >= to);
+    }
+
+    private void notifyOffer(WaitlistEntryEntity entry) {
+        try {
+            notificationService.notifyWaitlistOffer(entry);
+            emailService.sendWaitlistOfferEmail(entry);
+        } catch (Exception e) {
+            log.error("Failed to send waitlist offer notification for entry {}: {}", entry.getId(), e.getMessage());
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        matchLatencyNanos.add(nanos);
+        maxMatchLatencyNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private WaitlistEntryDTO toDto(WaitlistEntryEntity entry) {
+        boolean offered = entry.getStatus() == WaitlistStatus.OFFERED;
+        return WaitlistEntryDTO.builder()
+                .id(entry.getId())
+                .providerId(entry.getProvider().getId())
+                .providerName(entry.getProvider().getName())
+                .date(entry.getWaitDate())
+                .earliestStart(entry.getEarliestStart())
+                .latestEnd(entry.getLatestEnd())
+                .status(entry.getStatus())
+                .offeredStart(offered ? entry.getOfferedStart() : null)
+                .offeredEnd(offered ? entry.getOfferedEnd() : null)
+                .offerExpiresAt(offered ? entry.getOfferExpiresAt() : null)
+                .createdAt(entry.getCreatedAt())
+                .build();
+    }
+}
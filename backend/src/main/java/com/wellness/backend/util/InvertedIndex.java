@@ -0,0 +1,228 @@
+package com.wellness.backend.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Small in-memory inverted index with prefix and typo-tolerant matching.
+ * Each document is a set of weighted text fields plus a payload that is
+ * returned with its hits, so a search never touches the database.
+ *
+ * Every query token must match a document (exactly, as a prefix, or within
+ * one or two edits) for it to be returned. Scores add up per token, using the
+ * heaviest field the token matched in.
+ *
+ * Typo candidates are only the terms that start with the same character and
+ * are at most as many characters longer or shorter as the edits allowed, read
+ * from a (first character, length) bucket rather than a scan of every term.
+ * A typo in the first character is therefore not corrected.
+ */
+public class InvertedIndex<K, V> {
+
+    private static final float EXACT = 1.0f;
+    private static final float PREFIX = 0.6f;
+    private static final float ONE_EDIT = 0.4f;
+    private static final float TWO_EDITS = 0.25f;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit<V> {
+        private final V payload;
+        private final float score;
+    }
+
+    // term -> (document -> heaviest field weight the term appears in)
+    private final NavigableMap<String, Map<K, Float>> postings = new TreeMap<>();
+    // (first character, length) -> terms, the candidates for typo matching
+    private final Map<Long, Set<String>> termsByShape = new HashMap<>();
+    private final Map<K, Set<String>> termsByDocument = new HashMap<>();
+    private final Map<K, V> payloads = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Adds or replaces a document. {@code fields} maps text to its weight. */
+    public void upsert(K key, Map<String, Float> fields, V payload) {
+        Map<String, Float> weights = new HashMap<>();
+        fields.forEach((text, weight) -> {
+            for (String term : tokenize(text)) {
+                weights.merge(term, weight, Math::max);
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(key);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> {
+                termsByShape.computeIfAbsent(shape(t.charAt(0), t.length()), s -> new HashSet<>()).add(t);
+                return new HashMap<>();
+            }).put(key, weight));
+            termsByDocument.put(key, weights.keySet());
+            payloads.put(key, payload);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return payloads.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Best matches first, at most {@code limit} hits. */
+    public List<Hit<V>> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<K, Float> scores = null;
+            for (String token : tokens) {
+                Map<K, Float> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((key, score) -> score + tokenScores.get(key));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Hit<V>> hits = new ArrayList<>(scores.size());
+            scores.forEach((key, score) -> hits.add(new Hit<>(payloads.get(key), score)));
+            hits.sort(Comparator.comparing((Hit<V> h) -> h.getScore()).reversed());
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Lower-cased, accent-stripped alphanumeric words. */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String part : folded.split("[^\\p{Alnum}]+")) {
+            if (!part.isEmpty()) {
+                tokens.add(part);
+            }
+        }
+        return tokens;
+    }
+
+    private Map<K, Float> scoreToken(String token) {
+        Map<K, Float> scores = new HashMap<>();
+        boolean exactHit = false;
+
+        // Exact match and prefix completions share one sorted range scan
+        for (Map.Entry<String, Map<K, Float>> entry : postings.subMap(token, true, token + Character.MAX_VALUE, false)
+                .entrySet()) {
+            boolean exact = entry.getKey().length() == token.length();
+            exactHit |= exact;
+            addScores(scores, entry.getValue(), exact ? EXACT : PREFIX);
+        }
+
+        // Typo tolerance only kicks in when the word itself is unknown
+        int maxEdits = token.length() >= 8 ? 2 : token.length() >= 4 ? 1 : 0;
+        if (!exactHit && maxEdits > 0) {
+            for (int length = token.length() - maxEdits; length <= token.length() + maxEdits; length++) {
+                for (String term : termsByShape.getOrDefault(shape(token.charAt(0), length), Set.of())) {
+                    int distance = boundedEditDistance(token, term, maxEdits);
+                    if (distance > 0 && distance <= maxEdits) {
+                        addScores(scores, postings.get(term), distance == 1 ? ONE_EDIT : TWO_EDITS);
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static long shape(char head, int length) {
+        return ((long) head << 32) | length;
+    }
+
+    private void addScores(Map<K, Float> scores, Map<K, Float> documents, float matchQuality) {
+        documents.forEach((key, weight) -> scores.merge(key, weight * matchQuality, Math::max));
+    }
+
+    /** Levenshtein distance, or {@code max + 1} as soon as it is known to exceed {@code max}. */
+    private static int boundedEditDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private void removeUnlocked(K key) {
+        Set<String> terms = termsByDocument.remove(key);
+        payloads.remove(key);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<K, Float> documents = postings.get(term);
+            if (documents != null) {
+                documents.remove(key);
+                if (documents.isEmpty()) {
+                    postings.remove(term);
+                    Set<String> sameShape = termsByShape.get(shape(term.charAt(0), term.length()));
+                    sameShape.remove(term);
+                    if (sameShape.isEmpty()) {
+                        termsByShape.remove(shape(term.charAt(0), term.length()));
+                    }
+                }
+            }
+        }
+    }
+}
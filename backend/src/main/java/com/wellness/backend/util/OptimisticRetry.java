@@ -0,0 +1,60 @@
+package com.wellness.backend.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a versioned state transition in its own transaction. Each attempt must
+ * re-read the row and re-check its guards: a rolled-back attempt clears the
+ * persistence context, so the next read sees the winning writer's state.
+ *
+ * Callers must not already be inside a transaction, otherwise the attempt
+ * joins it and a conflict cannot be retried.
+ */
+@Component
+@Slf4j
+public class OptimisticRetry {
+
+    public static final int MAX_ATTEMPTS = 3;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Small random pause so racing writers do not collide again on the retry
+    private final RetryTemplate retryTemplate = RetryTemplate.builder()
+            .maxAttempts(MAX_ATTEMPTS)
+            .retryOn(ObjectOptimisticLockingFailureException.class)
+            .uniformRandomBackoff(10, 50)
+            .build();
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Retries up to {@link #MAX_ATTEMPTS} times, then lets the conflict surface as a 409. */
+    public <T> T withRetry(String label, Supplier<T> transition) {
+        return retryTemplate.execute(context -> {
+            if (context.getRetryCount() > 0) {
+                log.warn("🔁 Concurrent update on {}, retrying (attempt {}/{})", label,
+                        context.getRetryCount() + 1, MAX_ATTEMPTS);
+            }
+            return transactionTemplate.execute(status -> transition.get());
+        });
+    }
+
+    /** Single attempt; returns false if another writer got there first. */
+    public boolean tryOnce(String label, Runnable transition) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> transition.run());
+            return true;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("⏭ Skipping {}: it was updated concurrently", label);
+            return false;
+        }
+    }
+}
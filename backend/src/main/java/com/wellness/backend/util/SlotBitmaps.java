@@ -0,0 +1,94 @@
+package com.wellness.backend.util;
+
+import java.time.LocalTime;
+
+/**
+ * Bit operations on one day of 15-minute slots. A day is 96 slots held in two
+ * longs: slots 0-63 in the low word, 64-95 in the high word. Bit i stands for
+ * [i * 15, (i + 1) * 15) minutes after midnight.
+ */
+public final class SlotBitmaps {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int WORDS_PER_DAY = 2;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private SlotBitmaps() {
+    }
+
+    public static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /** Minute of day for a window end; midnight means the end of the day. */
+    public static int endMinuteOfDay(LocalTime time) {
+        int minute = minuteOfDay(time);
+        return minute == 0 ? MINUTES_PER_DAY : minute;
+    }
+
+    /** First slot that starts at or after {@code minute}. */
+    public static int ceilSlot(int minute) {
+        return Math.min(SLOTS_PER_DAY, (minute + SLOT_MINUTES - 1) / SLOT_MINUTES);
+    }
+
+    /** Slot containing {@code minute}. */
+    public static int floorSlot(int minute) {
+        return Math.min(SLOTS_PER_DAY, minute / SLOT_MINUTES);
+    }
+
+    public static LocalTime timeOf(int slot) {
+        return slot >= SLOTS_PER_DAY ? LocalTime.MAX : LocalTime.of(0, 0).plusMinutes((long) slot * SLOT_MINUTES);
+    }
+
+    /** Sets or clears slots [from, to) of the day stored at {@code words[offset]}. */
+    public static void setRange(long[] words, int offset, int from, int to, boolean value) {
+        for (int word = 0; word < WORDS_PER_DAY; word++) {
+            int lo = Math.max(from, word * 64);
+            int hi = Math.min(to, word * 64 + 64);
+            if (lo >= hi) {
+                continue;
+            }
+            long mask = rangeMask(lo - word * 64, hi - word * 64);
+            if (value) {
+                words[offset + word] |= mask;
+            } else {
+                words[offset + word] &= ~mask;
+            }
+        }
+    }
+
+    /**
+     * Bit i of the result is set when slots i .. i + length - 1 are all set in
+     * the input: the input is ANDed with itself shifted by one, length - 1
+     * times, carrying bits from the high word into the low word.
+     */
+    public static long[] runStarts(long low, long high, int length) {
+        for (int i = 1; i < length && (low | high) != 0; i++) {
+            low &= (low >>> 1) | (high << 63);
+            high &= high >>> 1;
+        }
+        return new long[] { low, high };
+    }
+
+    /** Lowest set slot in [from, to], or -1. */
+    public static int firstSetSlot(long low, long high, int from, int to) {
+        if (from > to) {
+            return -1;
+        }
+        long[] masked = new long[WORDS_PER_DAY];
+        masked[0] = low;
+        masked[1] = high;
+        setRange(masked, 0, 0, from, false);
+        setRange(masked, 0, to + 1, SLOTS_PER_DAY, false);
+        if (masked[0] != 0) {
+            return Long.numberOfTrailingZeros(masked[0]);
+        }
+        return masked[1] != 0 ? 64 + Long.numberOfTrailingZeros(masked[1]) : -1;
+    }
+
+    private static long rangeMask(int from, int to) {
+        long upper = to == 64 ? -1L : (1L << to) - 1;
+        return upper & -(1L << from);
+    }
+}
@@ -0,0 +1,58 @@
+package com.wellness.backend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Merges two sources that are already sorted by the same comparator, e.g. a
+ * hot table and its archive. Used to present both as one history.
+ */
+public final class SortedMerge {
+
+    private SortedMerge() {
+    }
+
+    public static <T> List<T> merge(List<T> first, List<T> second, Comparator<? super T> order) {
+        if (second.isEmpty()) {
+            return first;
+        }
+        if (first.isEmpty()) {
+            return second;
+        }
+        List<T> merged = new ArrayList<>(first.size() + second.size());
+        merge(first.iterator(), second.iterator(), order).forEachRemaining(merged::add);
+        return merged;
+    }
+
+    /** Lazy variant for streamed sources; neither iterator is read ahead by more than one row. */
+    public static <T> Iterator<T> merge(Iterator<T> first, Iterator<T> second, Comparator<? super T> order) {
+        return new Iterator<>() {
+            private T nextFirst = first.hasNext() ? first.next() : null;
+            private T nextSecond = second.hasNext() ? second.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextFirst != null || nextSecond != null;
+            }
+
+            @Override
+            public T next() {
+                T result;
+                if (nextSecond == null || (nextFirst != null && order.compare(nextFirst, nextSecond) <= 0)) {
+                    if (nextFirst == null) {
+                        throw new NoSuchElementException();
+                    }
+                    result = nextFirst;
+                    nextFirst = first.hasNext() ? first.next() : null;
+                } else {
+                    result = nextSecond;
+                    nextSecond = second.hasNext() ? second.next() : null;
+                }
+                return result;
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.wellness.backend.config;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Which requests the Idempotency-Key filter applies to, and how it replays the body it read. */
+class IdempotencyFilterTest {
+
+    private final IdempotencyFilter filter = new IdempotencyFilter(null);
+
+    @Test
+    void matchesCreateEndpointsBehindAContextPath() {
+        assertThat(filter.shouldNotFilter(post("/app", "/app/api/orders"))).isFalse();
+        assertThat(filter.shouldNotFilter(post("", "/api/sessions/book"))).isFalse();
+        assertThat(filter.shouldNotFilter(post("", "/api/%62ookings"))).isFalse();
+    }
+
+    @Test
+    void leavesOtherRequestsAlone() {
+        assertThat(filter.shouldNotFilter(post("/app", "/app/api/orders/7/cancel"))).isTrue();
+        assertThat(filter.shouldNotFilter(post("", "/app/api/orders"))).isTrue();
+
+        MockHttpServletRequest get = post("", "/api/orders");
+        get.setMethod("GET");
+        assertThat(filter.shouldNotFilter(get)).isTrue();
+
+        MockHttpServletRequest withoutKey = new MockHttpServletRequest("POST", "/api/orders");
+        assertThat(filter.shouldNotFilter(withoutKey)).isTrue();
+    }
+
+    @Test
+    void aNonBlockingReaderGetsTheCachedBodyThroughItsListener() throws IOException {
+        byte[] body = "{\"items\":[1]}".getBytes(StandardCharsets.UTF_8);
+        ServletInputStream in = new IdempotencyFilter.CachedBodyRequest(post("", "/api/orders"), body)
+                .getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> calls = new ArrayList<>();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                calls.add("data");
+                byte[] buffer = new byte[4];
+                int n;
+                while (in.isReady() && (n = in.read(buffer)) != -1) {
+                    read.write(buffer, 0, n);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                calls.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                calls.add("error");
+            }
+        });
+
+        assertThat(calls).containsExactly("data", "done");
+        assertThat(read.toByteArray()).isEqualTo(body);
+    }
+
+    private static MockHttpServletRequest post(String contextPath, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContextPath(contextPath);
+        request.addHeader(IdempotencyFilter.HEADER, "key-1");
+        return request;
+    }
+}
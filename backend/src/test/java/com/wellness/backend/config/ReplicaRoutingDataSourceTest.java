@@ -0,0 +1,132 @@
+package com.wellness.backend.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing against two separate H2 databases, each of which can tell which
+ * one answered.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(Duration.ofMinutes(1));
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primary,
+                ReplicaRoutingDataSource.Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        signIn("pat@test.io");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(answeredBy(readOnly)).isEqualTo("replica");
+        assertThat(answeredBy(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void workOutsideAnExplicitReadOnlyTransactionStaysOnThePrimary() {
+        assertThat(answeredBy()).isEqualTo("primary");
+
+        // A read-only SUPPORTS method called without a transaction
+        TransactionTemplate supports = new TransactionTemplate(readOnly.getTransactionManager());
+        supports.setReadOnly(true);
+        supports.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+        assertThat(answeredBy(supports)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsFollowACommittedWriteToThePrimary() {
+        readWrite.executeWithoutResult(status -> {
+            write();
+            // Not committed yet, so the replica is still good enough for this user
+            assertThat(readOnlyOnOtherConnection()).isEqualTo("replica");
+        });
+
+        assertThat(answeredBy(readOnly)).isEqualTo("primary");
+
+        signIn("someone-else@test.io");
+        assertThat(answeredBy(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void aRolledBackWriteDoesNotPinTheUser() {
+        readWrite.executeWithoutResult(status -> {
+            write();
+            status.setRollbackOnly();
+        });
+
+        assertThat(answeredBy(readOnly)).isEqualTo("replica");
+    }
+
+    private String answeredBy() {
+        return jdbc.queryForObject("SELECT name FROM which_database", String.class);
+    }
+
+    private String answeredBy(TransactionTemplate transaction) {
+        return transaction.execute(status -> answeredBy());
+    }
+
+    private void write() {
+        jdbc.update("UPDATE which_database SET writes = writes + 1");
+    }
+
+    /** A read-only transaction of the same user, started while the caller's is suspended. */
+    private String readOnlyOnOtherConnection() {
+        TransactionTemplate nested = new TransactionTemplate(readOnly.getTransactionManager());
+        nested.setReadOnly(true);
+        nested.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return answeredBy(nested);
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing_" + name + "_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE which_database (name VARCHAR(16), writes INT)");
+        setup.update("INSERT INTO which_database VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,84 @@
+package com.wellness.backend.repository;
+
+import com.wellness.backend.model.BookingEntity;
+import com.wellness.backend.model.BookingStatus;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.support.Benchmarks;
+import com.wellness.backend.support.BulkBookings;
+import com.wellness.backend.support.TestUsers;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Allocation per row of a patient's booking list: the BookingSummaryRow
+ * projection against the entity fetch-join it replaced. Both run in a
+ * transaction so the entity path pays for hydration, the persistence context
+ * and dirty-checking snapshots, as it did in the services.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingProjectionBenchmark {
+
+    private static final String ENTITY_QUERY = "SELECT b FROM BookingEntity b JOIN FETCH b.user JOIN FETCH b.practitioner "
+            + "WHERE b.user.id = :userId AND b.status IN :statuses ORDER BY b.bookingDate DESC";
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void projectionAllocatesLessThanEntities() throws Exception {
+        int rows = Benchmarks.intProperty("benchmark.projection.rows", 5_000);
+        UserEntity practitioner = TestUsers.provider(userRepository, "projection-prac@bench.io");
+        UserEntity client = TestUsers.client(userRepository, "projection-client@bench.io");
+        BulkBookings.insert(jdbcTemplate, 20_000_000L, practitioner.getId(), client.getId(), rows);
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<BookingStatus> statuses = List.of(BookingStatus.COMPLETED);
+        long entityBytes = perRow(rows, () -> tx.execute(status -> entityManager
+                .createQuery(ENTITY_QUERY, BookingEntity.class)
+                .setParameter("userId", client.getId())
+                .setParameter("statuses", statuses)
+                .getResultList()));
+        long projectionBytes = perRow(rows, () -> tx.execute(status -> bookingRepository
+                .findSummariesByUserAndStatusIn(client.getId(), statuses)));
+
+        Benchmarks.report("booking list entities", "%,d bytes/row", entityBytes);
+        Benchmarks.report("booking list projection", "%,d bytes/row", projectionBytes);
+        assertThat(projectionBytes).isLessThan(entityBytes);
+    }
+
+    private long perRow(int rows, Supplier<List<?>> query) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(query.get()).hasSize(rows);
+        }
+        long total = Benchmarks.allocatedBytes(() -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                query.get();
+            }
+        });
+        return total / ((long) ITERATIONS * rows);
+    }
+}
@@ -0,0 +1,108 @@
+package com.wellness.backend.repository;
+
+import com.wellness.backend.model.BookingStatus;
+import com.wellness.backend.support.RecordingStatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for each hot repository query
+ * and fails if H2 plans a full table scan, or does not seek an index on the
+ * query's leading filter column. A renamed column, a dropped index or a
+ * query rewritten so it can no longer use one shows up here rather than as
+ * a slow endpoint.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.wellness.backend.support.RecordingStatementInspector")
+@ActiveProfiles("test")
+class HotQueryPlanTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime END = START.plusMonths(1);
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UnifiedBookingRepository unifiedBookingRepository;
+    @Autowired
+    private SessionBookingRepository sessionBookingRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private record HotQuery(String name, String seekColumn, Runnable call) {
+    }
+
+    @TestFactory
+    Stream<DynamicTest> hotQueriesSeekAnIndex() {
+        List<BookingStatus> open = List.of(BookingStatus.COMPLETED, BookingStatus.NOT_COMPLETED);
+        PageRequest page = PageRequest.of(0, 21);
+        return Stream.of(
+                new HotQuery("practitioner directory", "ROLE", () -> userRepository
+                        .findDirectoryPage(null, null, null, null, null, null, null, page)),
+                new HotQuery("approved practitioners", "ROLE", () -> userRepository
+                        .findByRoleAndVerificationStatus("PROVIDER", "APPROVED")),
+                new HotQuery("patient calendar", "USER_ID", () -> bookingRepository
+                        .findSummariesByUserAndStatusIn(1L, List.of(BookingStatus.CONFIRMED))),
+                new HotQuery("patient upcoming bookings", "USER_ID", () -> bookingRepository
+                        .findUpcomingBookingsByUser(1L, START, open)),
+                new HotQuery("practitioner upcoming bookings", "PRACTITIONER_ID", () -> bookingRepository
+                        .findUpcomingBookingsByPractitioner(1L, START, open)),
+                new HotQuery("practitioner booking history page", "PROVIDER_ID", () -> unifiedBookingRepository
+                        .findBookingHistoryPageByProvider(1L, null, null, null, null, null, page)),
+                new HotQuery("patient booking history page", "CLIENT_ID", () -> unifiedBookingRepository
+                        .findBookingHistoryPageByClient(1L, null, null, null, null, null, page)),
+                new HotQuery("practitioner session revenue", "PROVIDER_ID", () -> unifiedBookingRepository
+                        .sumEarnedByProviderAndDateRange(1L, START, END)),
+                new HotQuery("patient session spend", "CLIENT_ID", () -> unifiedBookingRepository
+                        .sumSpentByClientAndDateRange(1L, START, END)),
+                new HotQuery("provider session history page", "PROVIDER_ID", () -> sessionBookingRepository
+                        .findProviderHistoryPage(1L, null, null, null, null, null, null, page)),
+                new HotQuery("provider session history", "PROVIDER_ID", () -> sessionBookingRepository
+                        .findHistoryByProvider(1L)),
+                new HotQuery("patient session history", "CLIENT_ID", () -> sessionBookingRepository
+                        .findHistoryByClient(1L)),
+                new HotQuery("patient product spend", "USER_ID", () -> orderRepository
+                        .sumProductSpentByPatientAndDateRange(1L, START, END)),
+                new HotQuery("patient orders", "USER_ID", () -> orderRepository.findByUser_Id(1L)),
+                new HotQuery("patient recent orders", "USER_ID", () -> orderRepository
+                        .findTop5ByUser_IdOrderByOrderDateDesc(1L)),
+                new HotQuery("provider products", "PROVIDER_ID", () -> productRepository.findByProvider_Id(1L)),
+                new HotQuery("notifications", "RECIPIENT_ID", () -> notificationRepository
+                        .findByRecipient_IdOrderByCreatedAtDesc(1L)))
+                .map(query -> DynamicTest.dynamicTest(query.name(), () -> assertSeeks(query)));
+    }
+
+    private void assertSeeks(HotQuery query) {
+        List<String> statements = RecordingStatementInspector.record(
+                () -> transactionTemplate.executeWithoutResult(status -> query.call().run()));
+        assertThat(statements).as("SQL sent by %s", query.name()).isNotEmpty();
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + statements.get(statements.size() - 1), String.class);
+        assertThat(plan).as("plan of %s", query.name())
+                .doesNotContain(".tableScan")
+                .containsPattern("/\\* PUBLIC\\.\\w+: [^*]*\\b" + query.seekColumn() + " =");
+    }
+}
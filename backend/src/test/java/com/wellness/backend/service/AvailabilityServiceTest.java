@@ -0,0 +1,172 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.AvailabilityBulkRequestDTO;
+import com.wellness.backend.dto.AvailabilityDayDTO;
+import com.wellness.backend.dto.DateAvailabilityDTO;
+import com.wellness.backend.dto.FreeSlotDTO;
+import com.wellness.backend.dto.TimeRangeDTO;
+import com.wellness.backend.dto.WeeklyAvailabilityDTO;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.support.TestUsers;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+/**
+ * Weekly templates are stored once and expanded when read; a date's own
+ * windows replace its template and its blocks are cut out of whichever
+ * applies. A bulk change is written in one transaction with batched inserts.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AvailabilityServiceTest {
+
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+    private static final LocalTime NOON = LocalTime.of(12, 0);
+
+    @Autowired
+    private AvailabilityService availabilityService;
+    @Autowired
+    private FreeSlotService freeSlotService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserEntity provider;
+    private LocalDate monday;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        provider = TestUsers.provider(userRepository, "availability-" + run + "@test.io");
+        provider.setSpecialization("availability-" + run);
+        provider = userRepository.save(provider);
+        monday = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+        AvailabilityBulkRequestDTO request = new AvailabilityBulkRequestDTO();
+        request.setWeekly(List.of(
+                weekly(DayOfWeek.MONDAY, NINE, NOON, null),
+                weekly(DayOfWeek.WEDNESDAY, LocalTime.of(14, 0), LocalTime.of(17, 0), monday.plusDays(2))));
+        availabilityService.bulkUpsert(provider.getEmail(), request);
+    }
+
+    @Test
+    void weeklyTemplatesAreStoredOnceAndExpandedOntoMatchingDates() {
+        List<AvailabilityDayDTO> days = availabilityService.getAvailability(provider.getId(), monday,
+                monday.plusDays(13));
+
+        assertThat(days).hasSize(14);
+        assertThat(days).filteredOn(d -> d.getSource().equals(AvailabilityDayDTO.SOURCE_TEMPLATE))
+                .extracting(AvailabilityDayDTO::getDate)
+                // The Wednesday window is valid for the first week only
+                .containsExactly(monday, monday.plusDays(2), monday.plusDays(7));
+        assertThat(days.get(0).getWindows()).containsExactly(new TimeRangeDTO(NINE, NOON));
+        assertThat(days.get(1).getSource()).isEqualTo(AvailabilityDayDTO.SOURCE_NONE);
+        assertThat(count("provider_availability_templates")).isEqualTo(2);
+        assertThat(count("provider_availability")).isZero();
+    }
+
+    @Test
+    void aDatesOwnWindowsAndBlocksBeatItsTemplate() {
+        AvailabilityBulkRequestDTO request = new AvailabilityBulkRequestDTO();
+        request.setDates(List.of(
+                date(monday, List.of(new TimeRangeDTO(LocalTime.of(15, 0), LocalTime.of(16, 0))), List.of()),
+                date(monday.plusDays(7), List.of(), List.of(new TimeRangeDTO(NINE, NOON)))));
+        availabilityService.bulkUpsert(provider.getEmail(), request);
+
+        List<AvailabilityDayDTO> days = availabilityService.getAvailability(provider.getId(), monday,
+                monday.plusDays(7));
+        assertThat(days.get(0).getSource()).isEqualTo(AvailabilityDayDTO.SOURCE_DATE);
+        assertThat(days.get(0).getWindows())
+                .containsExactly(new TimeRangeDTO(LocalTime.of(15, 0), LocalTime.of(16, 0)));
+        assertThat(days.get(7).getSource()).isEqualTo(AvailabilityDayDTO.SOURCE_TEMPLATE);
+        assertThat(days.get(7).getBlocks()).containsExactly(new TimeRangeDTO(NINE, NOON));
+
+        freeSlotService.rebuild();
+        assertThat(freeSlotService.findFreeSlots(provider.getSpecialization(), monday, 8, LocalTime.MIN,
+                LocalTime.MIDNIGHT, 60, 10))
+                .extracting(FreeSlotDTO::getDate, FreeSlotDTO::getStartTime)
+                .containsExactly(
+                        tuple(monday, LocalTime.of(15, 0)),
+                        tuple(monday.plusDays(2), LocalTime.of(14, 0)));
+    }
+
+    @Test
+    void aBulkChangeIsOneTransactionWithBatchedInserts() {
+        List<DateAvailabilityDTO> dates = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            dates.add(date(monday.plusDays(i), List.of(new TimeRangeDTO(NINE, NOON)),
+                    List.of(new TimeRangeDTO(LocalTime.of(10, 0), LocalTime.of(10, 30)))));
+        }
+        AvailabilityBulkRequestDTO request = new AvailabilityBulkRequestDTO();
+        request.setWeekly(List.of(weekly(DayOfWeek.FRIDAY, NINE, NOON, null)));
+        request.setDates(dates);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        availabilityService.bulkUpsert(provider.getEmail(), request);
+
+        assertThat(statistics.getTransactionCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(61);
+        // One statement per batch of 50 rows rather than one per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(15);
+        assertThat(count("provider_availability")).isEqualTo(60);
+        assertThat(count("provider_availability_templates")).isEqualTo(1);
+    }
+
+    @Test
+    void aRejectedBulkChangeLeavesEverythingAsItWas() {
+        AvailabilityBulkRequestDTO request = new AvailabilityBulkRequestDTO();
+        request.setWeekly(List.of(weekly(DayOfWeek.FRIDAY, NINE, NOON, null)));
+        request.setDates(List.of(
+                date(monday, List.of(new TimeRangeDTO(NINE, NOON)), List.of()),
+                date(LocalDate.now().minusDays(1), List.of(new TimeRangeDTO(NINE, NOON)), List.of())));
+
+        assertThatThrownBy(() -> availabilityService.bulkUpsert(provider.getEmail(), request))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(availabilityService.getWeeklyTemplate(provider.getId()))
+                .extracting(WeeklyAvailabilityDTO::getDayOfWeek)
+                .containsExactly(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY);
+        assertThat(count("provider_availability")).isZero();
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE provider_id = ?",
+                Integer.class, provider.getId());
+    }
+
+    private static WeeklyAvailabilityDTO weekly(DayOfWeek day, LocalTime start, LocalTime end, LocalDate until) {
+        return WeeklyAvailabilityDTO.builder().dayOfWeek(day).startTime(start).endTime(end).validUntil(until).build();
+    }
+
+    private static DateAvailabilityDTO date(LocalDate date, List<TimeRangeDTO> windows, List<TimeRangeDTO> blocks) {
+        DateAvailabilityDTO dto = new DateAvailabilityDTO();
+        dto.setDate(date);
+        dto.setWindows(windows);
+        dto.setBlocks(blocks);
+        return dto;
+    }
+}
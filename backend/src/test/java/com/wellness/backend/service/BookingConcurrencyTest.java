@@ -0,0 +1,176 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.BookingResponseDTO;
+import com.wellness.backend.model.BookingEntity;
+import com.wellness.backend.model.BookingStatus;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.BookingRepository;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.support.BulkBookings;
+import com.wellness.backend.support.TestUsers;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.mockito.stubbing.Answer;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Two transitions racing on one booking. The first writer is held between
+ * its read and its commit until the second has committed, so its version
+ * check fails every time rather than by chance.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingConcurrencyTest {
+
+    private static final AtomicLong NEXT_ID = new AtomicLong(31_000_000L);
+    private static final String RACER = "booking-racer";
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoSpyBean
+    private BookingRepository bookingRepository;
+
+    private final ExecutorService racer = Executors.newSingleThreadExecutor(r -> new Thread(r, RACER));
+    private final CountDownLatch racerRead = new CountDownLatch(1);
+    private final CountDownLatch winnerCommitted = new CountDownLatch(1);
+
+    private UserEntity client;
+    private long bookingId;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        UserEntity practitioner = TestUsers.provider(userRepository, "race-prac-" + run + "@test.io");
+        client = TestUsers.client(userRepository, "race-client-" + run + "@test.io");
+        bookingId = NEXT_ID.getAndIncrement();
+        BulkBookings.insert(jdbcTemplate, bookingId, practitioner.getId(), client.getId(), 1);
+
+        // Holds the racer's first read of the booking until the winner has committed
+        // (a repository spy delegates to the real bean through its default answer)
+        Answer<?> real = mockingDetails(bookingRepository).getMockCreationSettings().getDefaultAnswer();
+        AtomicBoolean held = new AtomicBoolean();
+        doAnswer(invocation -> {
+            Object result = real.answer(invocation);
+            if (Thread.currentThread().getName().equals(RACER) && held.compareAndSet(false, true)) {
+                racerRead.countDown();
+                assertThat(winnerCommitted.await(10, TimeUnit.SECONDS)).isTrue();
+            }
+            return result;
+        }).when(bookingRepository).findById(bookingId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        racer.shutdownNow();
+    }
+
+    @Test
+    void cancelRetriesAgainstTheWinnersState() throws Exception {
+        setStatus(BookingStatus.PENDING);
+
+        Future<BookingResponseDTO> cancel = racer.submit(() -> inRequest(
+                () -> bookingService.cancelBooking(bookingId, client.getEmail())));
+        winAfterRacerRead(() -> bookingService.acceptBooking(bookingId));
+
+        assertThat(cancel.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(BookingStatus.CANCELLED.name());
+        // The winner's read, then the racer's conflicting attempt and its retry
+        verify(bookingRepository, times(3)).findById(bookingId);
+        BookingEntity stored = bookingRepository.findById(bookingId).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(stored.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void cancelIsRejectedWhenTheWinnerFinalisedTheBooking() throws Exception {
+        setStatus(BookingStatus.CONFIRMED);
+
+        Future<BookingResponseDTO> cancel = racer.submit(() -> inRequest(
+                () -> bookingService.cancelBooking(bookingId, client.getEmail())));
+        winAfterRacerRead(() -> bookingService.completeBooking(bookingId));
+
+        // The retry re-checks the guards against the completed booking
+        assertThatThrownBy(() -> cancel.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("can no longer be cancelled");
+        assertThat(bookingRepository.findById(bookingId).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.COMPLETED);
+    }
+
+    @Test
+    void autoCompletionSkipsABookingChangedConcurrently() throws Exception {
+        setStatus(BookingStatus.CONFIRMED);
+
+        Future<?> autoCompletion = racer.submit(() -> inRequest(() -> {
+            bookingService.autoProcessSessionCompletion();
+            return null;
+        }));
+        winAfterRacerRead(() -> bookingService.cancelBooking(bookingId, client.getEmail()));
+
+        // A single attempt: the scheduler drops its change instead of retrying it
+        autoCompletion.get(10, TimeUnit.SECONDS);
+        BookingEntity stored = bookingRepository.findById(bookingId).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(stored.getVersion()).isEqualTo(1L);
+    }
+
+    private void winAfterRacerRead(Callable<?> winner) throws Exception {
+        assertThat(racerRead.await(10, TimeUnit.SECONDS)).isTrue();
+        try {
+            inRequest(winner);
+        } finally {
+            winnerCommitted.countDown();
+        }
+    }
+
+    /** Binds an EntityManager for the call, as open-in-view does for each web request. */
+    private <T> T inRequest(Callable<T> call) throws Exception {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return call.call();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private void setStatus(BookingStatus status) {
+        jdbcTemplate.update("UPDATE bookings SET status = ? WHERE id = ?", status.name(), bookingId);
+    }
+}
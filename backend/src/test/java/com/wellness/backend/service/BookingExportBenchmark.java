@@ -0,0 +1,90 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.support.Benchmarks;
+import com.wellness.backend.support.BulkBookings;
+import com.wellness.backend.support.TestUsers;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams a one-million-row history (override with -Dbenchmark.export.rows)
+ * and reports rows per second and how much live heap the export holds while
+ * it runs. The live heap must stay far below the size of the output, which
+ * would not hold if rows were buffered.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingExportBenchmark {
+
+    private static final long FIRST_ID = 10_000_000L;
+
+    @Autowired
+    private BookingExportService bookingExportService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void streamsLargeHistoryInBoundedMemory() throws Exception {
+        int rows = Benchmarks.intProperty("benchmark.export.rows", 1_000_000);
+        UserEntity practitioner = TestUsers.provider(userRepository, "export-prac@bench.io");
+        UserEntity client = TestUsers.client(userRepository, "export-client@bench.io");
+        BulkBookings.insert(jdbcTemplate, FIRST_ID, practitioner.getId(), client.getId(), rows);
+
+        // Timed without heap probes
+        long started = System.nanoTime();
+        long exported = bookingExportService.exportPractitionerHistory(practitioner.getId(),
+                BookingExportService.FORMAT_CSV, new CountingOutputStream(0));
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long baseline = Benchmarks.liveHeapBytes();
+        CountingOutputStream probed = new CountingOutputStream(16 << 20);
+        bookingExportService.exportPractitionerHistory(practitioner.getId(), BookingExportService.FORMAT_CSV, probed);
+        long liveGrowth = Math.max(0, probed.maxLiveHeap - baseline);
+
+        Benchmarks.report("export csv", "%,d rows, %,d bytes in %.2f s = %,.0f rows/s, live heap during export +%,d MB",
+                exported, probed.bytes, seconds, exported / seconds, liveGrowth >> 20);
+        assertThat(exported).isEqualTo(rows);
+        // The CSV is over 100 MB at a million rows
+        assertThat(liveGrowth).isLessThan(probed.bytes / 4);
+    }
+
+    /** Discards output; every {@code probeEvery} bytes it records the live heap. */
+    private static final class CountingOutputStream extends OutputStream {
+        private final long probeEvery;
+        private long bytes;
+        private long nextProbe;
+        private long maxLiveHeap;
+
+        CountingOutputStream(long probeEvery) {
+            this.probeEvery = probeEvery;
+            this.nextProbe = probeEvery;
+        }
+
+        @Override
+        public void write(int b) {
+            write(null, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            if (probeEvery > 0 && bytes >= nextProbe) {
+                nextProbe += probeEvery;
+                maxLiveHeap = Math.max(maxLiveHeap, Benchmarks.liveHeapBytes());
+            }
+        }
+    }
+}
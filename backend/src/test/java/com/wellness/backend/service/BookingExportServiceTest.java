@@ -0,0 +1,32 @@
+package com.wellness.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingExportServiceTest {
+
+    @Test
+    void plainValuesAreWrittenAsIs() {
+        assertThat(BookingExportService.csvEscape("Jane Doe")).isEqualTo("Jane Doe");
+        assertThat(BookingExportService.csvEscape("jane@example.com")).isEqualTo("jane@example.com");
+        assertThat(BookingExportService.csvEscape(null)).isEmpty();
+    }
+
+    @Test
+    void separatorsAndQuotesAreQuoted() {
+        assertThat(BookingExportService.csvEscape("Doe, Jane")).isEqualTo("\"Doe, Jane\"");
+        assertThat(BookingExportService.csvEscape("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(BookingExportService.csvEscape("line\nbreak")).isEqualTo("\"line\nbreak\"");
+    }
+
+    @Test
+    void formulaPrefixesAreNeutralised() {
+        assertThat(BookingExportService.csvEscape("=HYPERLINK(\"x\")")).isEqualTo("\"'=HYPERLINK(\"\"x\"\")\"");
+        assertThat(BookingExportService.csvEscape("+1 555")).isEqualTo("'+1 555");
+        assertThat(BookingExportService.csvEscape("-2+3")).isEqualTo("'-2+3");
+        assertThat(BookingExportService.csvEscape("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(BookingExportService.csvEscape("\tcmd")).isEqualTo("'\tcmd");
+        assertThat(BookingExportService.csvEscape("a=b")).isEqualTo("a=b");
+    }
+}
@@ -0,0 +1,33 @@
+package com.wellness.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Catalog counters need no seeded row: the first bump creates it. */
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogVersionServiceTest {
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Test
+    void concurrentFirstBumpsAllCount() {
+        String catalog = "c-" + UUID.randomUUID().toString().substring(0, 8);
+        assertThat(catalogVersionService.current(catalog)).isZero();
+
+        CompletableFuture.allOf(IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> catalogVersionService.bump(catalog)))
+                .toArray(CompletableFuture[]::new)).join();
+
+        assertThat(catalogVersionService.current(catalog)).isEqualTo(8);
+    }
+}
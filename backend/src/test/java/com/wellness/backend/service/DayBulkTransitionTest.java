@@ -0,0 +1,219 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.DayBulkActionDTO;
+import com.wellness.backend.dto.DayBulkResultDTO;
+import com.wellness.backend.dto.SessionBookingResponseDTO;
+import com.wellness.backend.model.SessionBookingEntity;
+import com.wellness.backend.model.SessionStatus;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.SessionBookingRepository;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Cancelling or closing out a provider's day moves only that provider's
+ * eligible sessions, bumps each version once, keeps unified_bookings and the
+ * day counters in step, and notifies everyone in one batch.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DayBulkTransitionTest {
+
+    private static final LocalDate DAY = LocalDate.of(2023, 6, 5);
+
+    @Autowired
+    private SessionBookingService sessionBookingService;
+    @Autowired
+    private UnifiedBookingService unifiedBookingService;
+    @Autowired
+    private DayStatusService dayStatusService;
+    @Autowired
+    private SessionBookingRepository sessionBookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private EmailService emailService;
+    @MockitoSpyBean
+    private NotificationService notificationService;
+
+    private UserEntity provider;
+    private UserEntity otherProvider;
+    private List<UserEntity> clients;
+    private SessionBookingEntity confirmed;
+    private SessionBookingEntity accepted;
+    private SessionBookingEntity completed;
+    private SessionBookingEntity pending;
+    private SessionBookingEntity otherProviders;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        provider = TestUsers.provider(userRepository, "day-prac-" + run + "@test.io");
+        otherProvider = TestUsers.provider(userRepository, "day-other-" + run + "@test.io");
+        clients = List.of(TestUsers.client(userRepository, "day-client1-" + run + "@test.io"),
+                TestUsers.client(userRepository, "day-client2-" + run + "@test.io"),
+                TestUsers.client(userRepository, "day-client3-" + run + "@test.io"));
+        doNothing().when(emailService).sendSessionCancelledEmails(anyList(), any(UserEntity.class));
+        doNothing().when(emailService).sendSessionCompletedEmails(anyList());
+
+        List<SessionBookingEntity> sessions = sessionBookingRepository.saveAll(List.of(
+                session(provider, clients.get(0), 9, SessionStatus.CONFIRMED),
+                session(provider, clients.get(1), 10, SessionStatus.ACCEPTED),
+                session(provider, clients.get(0), 11, SessionStatus.COMPLETED),
+                session(provider, clients.get(2), 12, SessionStatus.PENDING_COMPLETION_ACTION),
+                session(otherProvider, clients.get(1), 9, SessionStatus.CONFIRMED)));
+        unifiedBookingService.recordNew(sessions);
+        confirmed = sessions.get(0);
+        accepted = sessions.get(1);
+        completed = sessions.get(2);
+        pending = sessions.get(3);
+        otherProviders = sessions.get(4);
+    }
+
+    @Test
+    void cancelDayMovesOnlyTheProvidersOpenSessions() {
+        DayBulkResultDTO result = sessionBookingService.cancelDay(provider.getEmail(), request("Unwell today"));
+
+        assertThat(result.getUpdated()).isEqualTo(3);
+        assertThat(result.getSessions()).extracting(SessionBookingResponseDTO::getId)
+                .containsExactlyInAnyOrder(confirmed.getId(), accepted.getId(), pending.getId());
+        assertThat(statusAndVersion(confirmed)).containsExactly("CANCELLED", 1L);
+        assertThat(statusAndVersion(accepted)).containsExactly("CANCELLED", 1L);
+        assertThat(statusAndVersion(pending)).containsExactly("CANCELLED", 1L);
+        assertThat(statusAndVersion(completed)).containsExactly("COMPLETED", 0L);
+        assertThat(statusAndVersion(otherProviders)).containsExactly("CONFIRMED", 0L);
+        assertThat(mirroredStatus(confirmed)).isEqualTo("CANCELLED");
+        assertThat(mirroredStatus(pending)).isEqualTo("CANCELLED");
+        assertThat(mirroredStatus(completed)).isEqualTo("COMPLETED");
+        assertThat(mirroredStatus(otherProviders)).isEqualTo("CONFIRMED");
+        assertThat(jdbcTemplate.queryForObject("SELECT provider_message FROM session_bookings WHERE id = ?",
+                String.class, accepted.getId())).isEqualTo("Unwell today");
+        assertCountersMatchTheSessions();
+
+        verify(notificationService, times(1)).notifySessionsCancelledByProvider(
+                sessionsWithIds(confirmed, accepted, pending), any(UserEntity.class));
+        verify(emailService, times(1)).sendSessionCancelledEmails(sessionsWithIds(confirmed, accepted, pending),
+                any(UserEntity.class));
+        assertThat(notificationsByRecipient("SESSION_CANCELLED")).containsExactlyInAnyOrderEntriesOf(Map.of(
+                clients.get(0).getId(), 1L, clients.get(1).getId(), 1L, clients.get(2).getId(), 1L));
+    }
+
+    @Test
+    void completeDayClosesOutOnlyPendingSessions() {
+        DayBulkResultDTO result = sessionBookingService.completeDay(provider.getEmail(), request(null));
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(statusAndVersion(pending)).containsExactly("COMPLETED", 1L);
+        assertThat(statusAndVersion(confirmed)).containsExactly("CONFIRMED", 0L);
+        assertThat(statusAndVersion(completed)).containsExactly("COMPLETED", 0L);
+        assertThat(mirroredStatus(pending)).isEqualTo("COMPLETED");
+        assertThat(dayStatusService.getStatus(provider.getId(), DAY)).isNull();
+        assertCountersMatchTheSessions();
+
+        verify(notificationService, times(1)).notifySessionsCompleted(sessionsWithIds(pending));
+        verify(emailService, times(1)).sendSessionCompletedEmails(sessionsWithIds(pending));
+        assertThat(notificationsByRecipient("SESSION_COMPLETED")).containsExactlyInAnyOrderEntriesOf(Map.of(
+                clients.get(2).getId(), 1L, provider.getId(), 1L));
+    }
+
+    @Test
+    void requestedIdsOutsideTheDayOrStateAreSkipped() {
+        DayBulkActionDTO request = request(null);
+        request.setSessionIds(List.of(confirmed.getId(), completed.getId(), otherProviders.getId()));
+
+        DayBulkResultDTO result = sessionBookingService.cancelDay(provider.getEmail(), request);
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getSkippedSessionIds()).containsExactly(completed.getId(), otherProviders.getId());
+        assertThat(statusAndVersion(accepted)).containsExactly("ACCEPTED", 0L);
+        assertThat(statusAndVersion(otherProviders)).containsExactly("CONFIRMED", 0L);
+    }
+
+    /** Counters kept by deltas must equal what a reconcile computes from the sessions themselves. */
+    private void assertCountersMatchTheSessions() {
+        List<Map<String, Object>> before = counters();
+        dayStatusService.reconcile();
+        assertThat(counters()).isEqualTo(before);
+    }
+
+    private List<Map<String, Object>> counters() {
+        return jdbcTemplate.queryForList("SELECT provider_id, status_date, total, completed, not_completed "
+                + "FROM provider_day_status WHERE provider_id IN (?, ?) ORDER BY provider_id",
+                provider.getId(), otherProvider.getId());
+    }
+
+    private List<Object> statusAndVersion(SessionBookingEntity session) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT status, version FROM session_bookings WHERE id = ?",
+                session.getId());
+        return Arrays.asList(row.get("STATUS"), row.get("VERSION"));
+    }
+
+    private String mirroredStatus(SessionBookingEntity session) {
+        return jdbcTemplate.queryForObject(
+                "SELECT status FROM unified_bookings WHERE source = 'SESSION' AND source_id = ?", String.class,
+                session.getId());
+    }
+
+    private Map<Long, Long> notificationsByRecipient(String type) {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT recipient_id, COUNT(*) FROM notifications WHERE type = ? AND recipient_id IN "
+                + "(?, ?, ?, ?) GROUP BY recipient_id", rs -> {
+                    counts.put(rs.getLong(1), rs.getLong(2));
+                }, type, clients.get(0).getId(), clients.get(1).getId(), clients.get(2).getId(), provider.getId());
+        return counts;
+    }
+
+    private static List<SessionBookingEntity> sessionsWithIds(SessionBookingEntity... sessions) {
+        List<Long> ids = Arrays.stream(sessions).map(SessionBookingEntity::getId).toList();
+        return argThat((List<SessionBookingEntity> list) -> list != null
+                && list.stream().map(SessionBookingEntity::getId).sorted().toList()
+                        .equals(ids.stream().sorted().toList()));
+    }
+
+    private DayBulkActionDTO request(String message) {
+        DayBulkActionDTO request = new DayBulkActionDTO();
+        request.setDate(DAY);
+        request.setProviderMessage(message);
+        return request;
+    }
+
+    private static SessionBookingEntity session(UserEntity provider, UserEntity client, int hour,
+            SessionStatus status) {
+        SessionBookingEntity session = new SessionBookingEntity();
+        session.setProvider(provider);
+        session.setClient(client);
+        session.setSessionDate(DAY);
+        session.setStartTime(LocalTime.of(hour, 0));
+        session.setEndTime(LocalTime.of(hour + 1, 0));
+        session.setDuration(60);
+        session.setIssueDescription("day");
+        session.setStatus(status);
+        return session;
+    }
+}
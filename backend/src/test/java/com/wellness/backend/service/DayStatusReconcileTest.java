@@ -0,0 +1,106 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Reconcile rewrites drifted calendar counters from hot and archived sessions. */
+@SpringBootTest
+@ActiveProfiles("test")
+class DayStatusReconcileTest {
+
+    private static final AtomicLong NEXT_ID = new AtomicLong(33_000_000L);
+    private static final LocalDate DAY = LocalDate.of(2022, 5, 2);
+
+    @Autowired
+    private DayStatusService dayStatusService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity provider;
+    private UserEntity client;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        provider = TestUsers.provider(userRepository, "reconcile-prac-" + run + "@test.io");
+        client = TestUsers.client(userRepository, "reconcile-client-" + run + "@test.io");
+    }
+
+    @Test
+    void driftedCountersAreRewrittenFromTheSessions() {
+        insert("session_bookings", DAY, "COMPLETED");
+        insert("session_bookings_archive", DAY, "COMPLETED");
+        insert("session_bookings", DAY.plusDays(1), "NOT_COMPLETED");
+        insert("session_bookings_archive", DAY.plusDays(1), "CONFIRMED");
+
+        // A day that was never counted, one that drifted and one whose sessions are gone
+        setCounters(DAY.plusDays(1), 5, 0, 0);
+        setCounters(DAY.plusDays(2), 1, 1, 0);
+
+        dayStatusService.reconcile();
+
+        assertThat(counters(DAY)).containsExactly(2, 2, 0);
+        assertThat(counters(DAY.plusDays(1))).containsExactly(2, 0, 1);
+        assertThat(counters(DAY.plusDays(2))).containsExactly(0, 0, 0);
+        assertThat(dayStatusService.getStatus(provider.getId(), DAY)).isEqualTo(DayStatusService.GREEN);
+        assertThat(dayStatusService.getStatus(provider.getId(), DAY.plusDays(1))).isEqualTo(DayStatusService.YELLOW);
+    }
+
+    @Test
+    void reconcilingTwiceChangesNothing() {
+        insert("session_bookings", DAY, "COMPLETED");
+        insert("session_bookings", DAY, "CONFIRMED");
+
+        dayStatusService.reconcile();
+        dayStatusService.reconcile();
+
+        assertThat(counters(DAY)).containsExactly(2, 1, 0);
+    }
+
+    private int[] counters(LocalDate day) {
+        return jdbcTemplate.queryForObject("SELECT total, completed, not_completed FROM provider_day_status "
+                + "WHERE provider_id = ? AND status_date = ?",
+                (rs, row) -> new int[] { rs.getInt(1), rs.getInt(2), rs.getInt(3) },
+                provider.getId(), Date.valueOf(day));
+    }
+
+    private void setCounters(LocalDate day, int total, int completed, int notCompleted) {
+        jdbcTemplate.update("INSERT INTO provider_day_status (provider_id, status_date, total, completed, "
+                + "not_completed) VALUES (?, ?, ?, ?, ?)",
+                provider.getId(), Date.valueOf(day), total, completed, notCompleted);
+    }
+
+    private void insert(String table, LocalDate day, String status) {
+        boolean archive = table.endsWith("_archive");
+        LocalTime start = LocalTime.of(9, 0);
+        Object[] values = { NEXT_ID.getAndIncrement(), client.getId(), provider.getId(), Date.valueOf(day),
+                Time.valueOf(start), Time.valueOf(start.plusHours(1)), status,
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(LocalDateTime.now()) };
+        jdbcTemplate.update("INSERT INTO " + table + " (id, version, client_id, provider_id, session_date, start_time, "
+                + "end_time, duration, issue_description, status, reminder_sent, refunded, created_at"
+                + (archive ? ", archived_at" : "") + ") VALUES (?, 0, ?, ?, ?, ?, ?, 60, 'reconcile', ?, "
+                + "TRUE, FALSE, ?" + (archive ? ", ?" : "") + ")",
+                archive ? values : Arrays.copyOf(values, values.length - 1));
+    }
+}
@@ -0,0 +1,140 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.FreeSlotDTO;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.support.Benchmarks;
+import com.wellness.backend.support.TestUsers;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Free-slot index at the size its memory estimate was made for: 10k approved
+ * providers over the default 90-day horizon. Each provider works weekdays
+ * 09:00-17:00 from a weekly template, has one date-specific window on a
+ * Saturday and one booking every third day. Reports the rebuild time, the
+ * heap the index keeps and the latency of a two-week search.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class FreeSlotIndexBenchmark {
+
+    private static final long FIRST_ID = 40_000_000L;
+    private static final int BATCH = 5_000;
+    private static final int SEARCHES = 200;
+    private static final String[] SPECIALIZATIONS = { "yoga", "physiotherapy", "nutrition", "counselling" };
+
+    @Autowired
+    private FreeSlotService freeSlotService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rebuildAndSearchAtTenThousandProviders() {
+        int providers = Benchmarks.intProperty("benchmark.slots.providers", 10_000);
+        UserEntity client = TestUsers.client(userRepository, "slots-client@bench.io");
+        LocalDate today = LocalDate.now();
+        insertProviders(providers);
+        insertTemplates(providers);
+        insertSaturdayWindows(providers, today);
+        int bookings = insertBookings(providers, client.getId(), today);
+
+        long heapBefore = Benchmarks.liveHeapBytes();
+        long started = System.nanoTime();
+        freeSlotService.rebuild();
+        long rebuildMillis = (System.nanoTime() - started) / 1_000_000;
+        long indexBytes = Benchmarks.liveHeapBytes() - heapBefore;
+
+        LocalDate monday = today.plusDays(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        List<FreeSlotDTO> found = List.of();
+        started = System.nanoTime();
+        for (int i = 0; i < SEARCHES; i++) {
+            found = freeSlotService.findFreeSlots(SPECIALIZATIONS[i % SPECIALIZATIONS.length], monday, 14,
+                    LocalTime.of(9, 0), LocalTime.of(17, 0), 60, 20);
+        }
+        double searchMicros = (System.nanoTime() - started) / 1_000.0 / SEARCHES;
+        started = System.nanoTime();
+        for (int i = 0; i < SEARCHES; i++) {
+            freeSlotService.findFreeSlots(null, monday, 14, LocalTime.of(9, 0), LocalTime.of(17, 0), 60, 20);
+        }
+        double unfilteredMicros = (System.nanoTime() - started) / 1_000.0 / SEARCHES;
+
+        Benchmarks.report("free-slot rebuild", "%,d ms (%,d providers x 90 days, %,d bookings)", rebuildMillis,
+                providers, bookings);
+        Benchmarks.report("free-slot index heap", "%,.1f MB", indexBytes / 1e6);
+        Benchmarks.report("free-slot search by specialty", "%,.0f us (14 days)", searchMicros);
+        Benchmarks.report("free-slot search all providers", "%,.0f us (14 days)", unfilteredMicros);
+        assertThat(found).hasSize(20);
+        // Two longs per provider-day plus per-provider overhead; an order of magnitude above means a leak
+        assertThat(indexBytes).isLessThan(150L * 1024 * 1024);
+    }
+
+    private void insertProviders(int providers) {
+        batches(providers, i -> new Object[] { FIRST_ID + i, "Provider " + i, "slots-" + i + "@bench.io",
+                SPECIALIZATIONS[i % SPECIALIZATIONS.length], "City " + (i % 50) },
+                "INSERT INTO users (id, name, email, password, role, specialization, city, verification_status, "
+                        + "verified, email_verified, session_fee) "
+                        + "VALUES (?, ?, ?, '{noop}secret', 'PROVIDER', ?, ?, 'APPROVED', TRUE, TRUE, 500.00)");
+    }
+
+    private void insertTemplates(int providers) {
+        DayOfWeek[] weekdays = { DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY,
+                DayOfWeek.FRIDAY };
+        batches(providers * weekdays.length, i -> new Object[] { FIRST_ID + i, FIRST_ID + i / weekdays.length,
+                weekdays[i % weekdays.length].name() },
+                "INSERT INTO provider_availability_templates (id, provider_id, day_of_week, start_time, end_time) "
+                        + "VALUES (?, ?, ?, TIME '09:00:00', TIME '17:00:00')");
+    }
+
+    private void insertSaturdayWindows(int providers, LocalDate today) {
+        LocalDate saturday = today.with(TemporalAdjusters.next(DayOfWeek.SATURDAY));
+        batches(providers, i -> new Object[] { FIRST_ID + i, FIRST_ID + i,
+                Date.valueOf(saturday.plusWeeks(i % 12)) },
+                "INSERT INTO provider_availability (id, provider_id, available_date, start_time, end_time, is_blocked) "
+                        + "VALUES (?, ?, ?, TIME '10:00:00', TIME '14:00:00', FALSE)");
+    }
+
+    private int insertBookings(int providers, long clientId, LocalDate today) {
+        int perProvider = 30;
+        batches(providers * perProvider, i -> {
+            int provider = i / perProvider;
+            LocalDate day = today.plusDays(1 + (i % perProvider) * 3L);
+            LocalTime start = LocalTime.of(9 + (provider + i) % 8, 0);
+            return new Object[] { FIRST_ID + i, FIRST_ID + i, clientId, FIRST_ID + provider,
+                    Timestamp.valueOf(day.atTime(start)) };
+        }, "INSERT INTO unified_bookings (id, source, source_id, client_id, provider_id, start_at, duration, status, "
+                + "refunded, attended, billable) VALUES (?, 'BOOKING', ?, ?, ?, ?, 60, 'CONFIRMED', FALSE, FALSE, FALSE)");
+        return providers * perProvider;
+    }
+
+    private void batches(int rows, IntFunction<Object[]> row, String sql) {
+        for (int from = 0; from < rows; from += BATCH) {
+            List<Object[]> batch = new ArrayList<>(BATCH);
+            for (int i = from; i < Math.min(rows, from + BATCH); i++) {
+                batch.add(row.apply(i));
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.service.IdempotencyService.Claim;
+import com.wellness.backend.service.IdempotencyService.Outcome;
+import com.wellness.backend.service.IdempotencyService.StoredResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** A duplicate waiting on a request that fails takes the key over instead of getting a 409. */
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    private final ExecutorService duplicate = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        duplicate.shutdownNow();
+    }
+
+    @Test
+    void aWaiterRunsTheRequestWhenTheFirstOneFails() throws Exception {
+        String id = UUID.randomUUID().toString();
+        assertThat(idempotencyService.claim(id, "hash").outcome()).isEqualTo(Outcome.PROCEED);
+
+        Future<Claim> waiter = duplicate.submit(() -> idempotencyService.claim(id, "hash"));
+        assertThatThrownBy(() -> waiter.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        idempotencyService.abandon(id);
+        assertThat(waiter.get(10, TimeUnit.SECONDS).outcome()).isEqualTo(Outcome.PROCEED);
+
+        idempotencyService.complete(id, new StoredResponse("hash", 201, "application/json", "{}"));
+        assertThat(idempotencyService.claim(id, "hash").outcome()).isEqualTo(Outcome.REPLAY);
+    }
+
+    @Test
+    void aWaiterReplaysTheFirstResponse() throws Exception {
+        String id = UUID.randomUUID().toString();
+        assertThat(idempotencyService.claim(id, "hash").outcome()).isEqualTo(Outcome.PROCEED);
+
+        Future<Claim> waiter = duplicate.submit(() -> idempotencyService.claim(id, "hash"));
+        assertThatThrownBy(() -> waiter.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        idempotencyService.complete(id, new StoredResponse("hash", 201, "application/json", "{\"id\":1}"));
+        Claim claim = waiter.get(10, TimeUnit.SECONDS);
+        assertThat(claim.outcome()).isEqualTo(Outcome.REPLAY);
+        assertThat(claim.response().body()).isEqualTo("{\"id\":1}");
+    }
+}
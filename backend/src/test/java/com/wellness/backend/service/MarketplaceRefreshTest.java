@@ -0,0 +1,112 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.ProductRequestDTO;
+import com.wellness.backend.event.MarketplaceChangedEvent;
+import com.wellness.backend.event.MarketplaceChangedEvent.Feed;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.ProductRepository;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.service.MarketplaceSnapshotService.Snapshot;
+import com.wellness.backend.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Product writes refresh the marketplace feed once they commit; a write that
+ * rolls back leaves the feed alone.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MarketplaceRefreshTest {
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoSpyBean
+    private MarketplaceSnapshotService snapshotService;
+
+    private UserEntity provider;
+    private String name;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        provider = TestUsers.provider(userRepository, "market-" + run + "@test.io");
+        name = "Snapshot balm " + run;
+    }
+
+    @Test
+    void aCommittedProductChangeServesANewEtagAndBody() throws IOException, InterruptedException {
+        Snapshot before = snapshotService.get(Feed.PRODUCTS);
+
+        productService.createProduct(request());
+
+        verify(snapshotService).onMarketplaceChanged(new MarketplaceChangedEvent(Feed.PRODUCTS));
+        Snapshot after = awaitFeedContaining(name);
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(snapshotService.serve(Feed.PRODUCTS, before.etag(), null).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(snapshotService.serve(Feed.PRODUCTS, after.etag(), null).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void aRolledBackProductChangeDoesNotRefresh() {
+        long products = productRepository.count();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                productService.createProduct(request());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            status.setRollbackOnly();
+        });
+
+        verify(snapshotService, never()).onMarketplaceChanged(any());
+        assertThat(productRepository.count()).isEqualTo(products);
+    }
+
+    private Snapshot awaitFeedContaining(String text) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Snapshot current = snapshotService.get(Feed.PRODUCTS);
+            if (new String(current.json(), StandardCharsets.UTF_8).contains(text)) {
+                return current;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Feed never showed " + text);
+    }
+
+    private ProductRequestDTO request() {
+        ProductRequestDTO request = new ProductRequestDTO();
+        request.setName(name);
+        request.setDescription("Soothing balm");
+        request.setPrice(new BigDecimal("199.00"));
+        request.setProviderId(provider.getId());
+        return request;
+    }
+}
@@ -0,0 +1,100 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.event.MarketplaceChangedEvent;
+import com.wellness.backend.event.MarketplaceChangedEvent.Feed;
+import com.wellness.backend.model.ProductEntity;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.ProductRepository;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.service.MarketplaceSnapshotService.Snapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/** Feeds are answered from the snapshot bytes and rebuilt when the catalog changes. */
+class MarketplaceSnapshotServiceTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductService productService = new ProductService(productRepository, mock(UserRepository.class),
+            mock(SearchIndexService.class), mock(CatalogVersionService.class), mock(ProductImageService.class),
+            mock(ApplicationEventPublisher.class));
+    private final MarketplaceSnapshotService service = new MarketplaceSnapshotService(mock(UserRepository.class),
+            productService, Jackson2ObjectMapperBuilder.json().build(), mock(PlatformTransactionManager.class));
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void aMatchingIfNoneMatchIsAnsweredWithoutTheRepository() {
+        when(productRepository.findAll()).thenReturn(List.of(product(1L, "Calm tea")));
+        Snapshot snapshot = service.get(Feed.PRODUCTS);
+        clearInvocations(productRepository);
+
+        ResponseEntity<byte[]> plain = service.serve(Feed.PRODUCTS, snapshot.etag(), null);
+        ResponseEntity<byte[]> gzip = service.serve(Feed.PRODUCTS, "W/" + snapshot.gzipEtag(), "gzip, br");
+
+        assertThat(plain.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(plain.getBody()).isNull();
+        assertThat(plain.getHeaders().getETag()).isEqualTo(snapshot.etag());
+        assertThat(gzip.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(gzip.getHeaders().getETag()).isEqualTo(snapshot.gzipEtag());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void aChangeEventRebuildsTheFeedWithANewEtagAndBody() throws InterruptedException {
+        when(productRepository.findAll()).thenReturn(List.of(product(1L, "Calm tea")));
+        Snapshot before = service.get(Feed.PRODUCTS);
+
+        when(productRepository.findAll()).thenReturn(List.of(product(1L, "Calm tea"), product(2L, "Rose oil")));
+        service.onMarketplaceChanged(new MarketplaceChangedEvent(Feed.PRODUCTS));
+        Snapshot after = awaitNewSnapshot(before);
+
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(new String(after.json(), StandardCharsets.UTF_8)).contains("Rose oil");
+        ResponseEntity<byte[]> stale = service.serve(Feed.PRODUCTS, before.etag(), null);
+        assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(stale.getBody()).isEqualTo(after.json());
+        assertThat(stale.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    private Snapshot awaitNewSnapshot(Snapshot before) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Snapshot current = service.get(Feed.PRODUCTS);
+            if (current != before) {
+                return current;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Feed was not rebuilt");
+    }
+
+    private static ProductEntity product(Long id, String name) {
+        UserEntity provider = new UserEntity();
+        provider.setId(9L);
+        ProductEntity product = new ProductEntity();
+        product.setProductId(id);
+        product.setName(name);
+        product.setDescription("Loose leaf");
+        product.setPrice(new BigDecimal("250.00"));
+        product.setProvider(provider);
+        return product;
+    }
+}
@@ -0,0 +1,118 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.PatientAnalyticsDTO;
+import com.wellness.backend.dto.PatientDashboardDTO;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sections load in parallel and each reports its own time; one that throws,
+ * overruns the timeout or finds the pool full is left null and listed as
+ * failed while the others are still returned.
+ */
+class PatientDashboardServiceTest {
+
+    private static final String EMAIL = "dashboard@test.io";
+    private static final long USER_ID = 42L;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final BookingService bookingService = mock(BookingService.class);
+    private final SessionBookingService sessionBookingService = mock(SessionBookingService.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final AnalyticsService analyticsService = mock(AnalyticsService.class);
+    private final OrderService orderService = mock(OrderService.class);
+
+    private PatientDashboardService service;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity user = new UserEntity();
+        user.setId(USER_ID);
+        user.setName("Asha");
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(bookingService.getClientUpcomingBookings(USER_ID)).thenAnswer(after(200, List.of()));
+        when(sessionBookingService.getSessionsForClient(USER_ID)).thenAnswer(after(200, List.of()));
+        when(notificationService.getNotificationsForUserId(USER_ID)).thenAnswer(after(200, List.of()));
+        when(analyticsService.getPatientAnalytics(USER_ID)).thenAnswer(after(200, new PatientAnalyticsDTO()));
+        when(orderService.getOrdersByUserId(USER_ID)).thenAnswer(after(200, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void sectionsLoadInParallelAndReportTheirTimings() {
+        service = service(8, 200, Duration.ofSeconds(5));
+
+        PatientDashboardDTO dashboard = service.getDashboard(EMAIL);
+
+        assertThat(dashboard.getUserId()).isEqualTo(USER_ID);
+        assertThat(dashboard.getBookings()).isEmpty();
+        assertThat(dashboard.getAnalytics()).isNotNull();
+        assertThat(dashboard.getMeta().getFailedSections()).isEmpty();
+        assertThat(dashboard.getMeta().getSectionMillis())
+                .containsOnlyKeys("bookings", "sessions", "notifications", "analytics", "orders")
+                .allSatisfy((section, millis) -> assertThat(millis).isGreaterThanOrEqualTo(190));
+        // Five 200 ms sections one after another would take a second
+        assertThat(dashboard.getMeta().getTotalMillis()).isLessThan(600);
+    }
+
+    @Test
+    void aThrowingOrSlowSectionIsListedAsFailedAndTheRestAreReturned() {
+        when(notificationService.getNotificationsForUserId(USER_ID))
+                .thenThrow(new IllegalStateException("replica down"));
+        when(orderService.getOrdersByUserId(USER_ID)).thenAnswer(after(5_000, List.of()));
+        service = service(8, 200, Duration.ofMillis(500));
+
+        PatientDashboardDTO dashboard = service.getDashboard(EMAIL);
+
+        assertThat(dashboard.getNotifications()).isNull();
+        assertThat(dashboard.getOrders()).isNull();
+        assertThat(dashboard.getBookings()).isEmpty();
+        assertThat(dashboard.getSessions()).isEmpty();
+        assertThat(dashboard.getMeta().getFailedSections()).containsExactly("notifications", "orders");
+        assertThat(dashboard.getMeta().getSectionMillis()).containsOnlyKeys("bookings", "sessions", "analytics");
+        assertThat(dashboard.getMeta().getTotalMillis()).isLessThan(1_500);
+    }
+
+    @Test
+    void aSaturatedPoolRejectsSectionsInsteadOfRunningThemOnTheCaller() {
+        // One worker and one queue slot: bookings runs, sessions waits, the rest have no room
+        service = service(1, 1, Duration.ofSeconds(5));
+
+        PatientDashboardDTO dashboard = service.getDashboard(EMAIL);
+
+        assertThat(dashboard.getBookings()).isEmpty();
+        assertThat(dashboard.getSessions()).isEmpty();
+        assertThat(dashboard.getMeta().getFailedSections()).containsExactly("notifications", "analytics", "orders");
+        assertThat(dashboard.getMeta().getSectionMillis()).containsOnlyKeys("bookings", "sessions");
+        verifyNoInteractions(notificationService, analyticsService, orderService);
+    }
+
+    private PatientDashboardService service(int threads, int queueCapacity, Duration timeout) {
+        return new PatientDashboardService(userRepository, bookingService, sessionBookingService,
+                notificationService, analyticsService, orderService, threads, queueCapacity, timeout);
+    }
+
+    private static <T> Answer<T> after(long millis, T value) {
+        return invocation -> {
+            Thread.sleep(millis);
+            return value;
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.wellness.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Uploads must decode as images, and oversized ones are refused from their header alone. */
+class ProductImageServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final ProductImageService service = new ProductImageService("unused", 1L << 20, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void acceptsAnImage() throws IOException {
+        Path png = write("ok.png", png(40, 30));
+
+        assertThatCode(() -> service.verifyImage(png, "png")).doesNotThrowAnyException();
+        assertThat(service.decode(png, 1).getWidth()).isEqualTo(40);
+    }
+
+    @Test
+    void refusesContentThatIsNotAnImage() throws IOException {
+        Path html = write("page.png", "<html><script>alert(1)</script></html>".getBytes(StandardCharsets.UTF_8));
+        Path webp = write("page.webp", "<html></html>".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> service.verifyImage(html, "png")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not a valid image");
+        assertThatThrownBy(() -> service.verifyImage(webp, "webp")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("WebP");
+    }
+
+    @Test
+    void refusesATruncatedImage() throws IOException {
+        byte[] full = png(400, 400);
+        Path truncated = write("cut.png", Arrays.copyOf(full, full.length / 2));
+
+        assertThatThrownBy(() -> service.verifyImage(truncated, "png")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("could not be decoded");
+    }
+
+    @Test
+    void refusesOversizedDimensionsWithoutDecoding() throws IOException {
+        // A valid header for 20000 x 20000 pixels (1.6 GB decoded) in a few dozen bytes
+        Path bomb = write("bomb.png", pngHeaderOnly(20_000, 20_000));
+
+        assertThatThrownBy(() -> service.verifyImage(bomb, "png")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("too large");
+        assertThat(service.decode(bomb, 1)).isNull();
+    }
+
+    private Path write(String name, byte[] content) throws IOException {
+        return Files.write(dir.resolve(name), content);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] pngHeaderOnly(int width, int height) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' });
+        ByteArrayOutputStream ihdr = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(ihdr);
+        data.writeInt(width);
+        data.writeInt(height);
+        data.write(new byte[] { 8, 2, 0, 0, 0 });
+        chunk(out, "IHDR", ihdr.toByteArray());
+        chunk(out, "IEND", new byte[0]);
+        return bytes.toByteArray();
+    }
+
+    private static void chunk(DataOutputStream out, String type, byte[] data) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        out.writeInt(data.length);
+        out.write(typeBytes);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+}
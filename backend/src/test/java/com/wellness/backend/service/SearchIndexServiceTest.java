@@ -0,0 +1,90 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.SearchHitDTO;
+import com.wellness.backend.model.ProductEntity;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.ProductRepository;
+import com.wellness.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Practitioners leave the search index when deleted or no longer approved; products when deleted. */
+class SearchIndexServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final SearchIndexService service = new SearchIndexService(userRepository, productRepository);
+
+    @Test
+    void findsAnApprovedPractitionerBySpecializationPrefixAndNameTypo() {
+        service.indexPractitioner(practitioner(1L, "Meera Iyer", "APPROVED"));
+
+        assertThat(service.search("physio", null, null)).extracting(SearchHitDTO::getId).containsExactly(1L);
+        assertThat(service.search("meara", null, null)).extracting(SearchHitDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    void unApprovingAPractitionerRemovesThem() {
+        UserEntity practitioner = practitioner(1L, "Meera Iyer", "APPROVED");
+        service.indexPractitioner(practitioner);
+
+        practitioner.setVerificationStatus("REJECTED");
+        service.indexPractitioner(practitioner);
+
+        assertThat(service.search("meera", null, null)).isEmpty();
+    }
+
+    @Test
+    void deletedPractitionersAndProductsAreRemoved() {
+        service.indexPractitioner(practitioner(1L, "Meera Iyer", "APPROVED"));
+        service.indexProduct(product(7L, "Meera's herbal balm"));
+
+        service.removePractitioner(1L);
+        assertThat(service.search("meera", null, null)).extracting(SearchHitDTO::getType)
+                .containsExactly(SearchHitDTO.TYPE_PRODUCT);
+
+        service.removeProduct(7L);
+        assertThat(service.search("meera", null, null)).isEmpty();
+    }
+
+    @Test
+    void rebuildListsOnlyApprovedPractitionersAndFiltersByType() {
+        when(userRepository.findByRoleAndVerificationStatus("PROVIDER", "APPROVED"))
+                .thenReturn(List.of(practitioner(1L, "Meera Iyer", "APPROVED")));
+        when(productRepository.findAll()).thenReturn(List.of(product(7L, "Meera's herbal balm")));
+
+        service.rebuild();
+
+        assertThat(service.search("meera", SearchHitDTO.TYPE_PRACTITIONER, null)).extracting(SearchHitDTO::getId)
+                .containsExactly(1L);
+        assertThat(service.search("meera", SearchHitDTO.TYPE_PRODUCT, null)).extracting(SearchHitDTO::getId)
+                .containsExactly(7L);
+    }
+
+    private static UserEntity practitioner(Long id, String name, String status) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setName(name);
+        user.setRole("PROVIDER");
+        user.setVerificationStatus(status);
+        user.setSpecialization("Physiotherapy");
+        user.setCity("Pune");
+        return user;
+    }
+
+    private static ProductEntity product(Long id, String name) {
+        ProductEntity product = new ProductEntity();
+        product.setProductId(id);
+        product.setName(name);
+        product.setDescription("Soothing balm for tired muscles");
+        product.setPrice(new BigDecimal("250.00"));
+        product.setProvider(practitioner(1L, "Meera Iyer", "APPROVED"));
+        return product;
+    }
+}
@@ -0,0 +1,103 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.SessionBookingResponseDTO;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Full session histories read the hot table and the archive as one list, newest first. */
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionHistoryTest {
+
+    private static final AtomicLong NEXT_ID = new AtomicLong(32_000_000L);
+    private static final LocalDate DAY = LocalDate.of(2021, 3, 1);
+
+    @Autowired
+    private SessionBookingService sessionBookingService;
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity provider;
+    private UserEntity client;
+    private long firstId;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        provider = TestUsers.provider(userRepository, "history-prac-" + run + "@test.io");
+        client = TestUsers.client(userRepository, "history-client-" + run + "@test.io");
+        firstId = NEXT_ID.getAndAdd(10);
+
+        // Hot and archived sessions interleave by day, and two share a start
+        insert("session_bookings", firstId, DAY, LocalTime.of(9, 0));
+        insert("session_bookings_archive", firstId + 1, DAY.plusDays(1), LocalTime.of(9, 0));
+        insert("session_bookings", firstId + 2, DAY.plusDays(2), LocalTime.of(14, 0));
+        insert("session_bookings_archive", firstId + 3, DAY.plusDays(2), LocalTime.of(10, 0));
+        insert("session_bookings_archive", firstId + 4, DAY.plusDays(3), LocalTime.of(9, 0));
+        insert("session_bookings", firstId + 5, DAY.plusDays(3), LocalTime.of(9, 0));
+    }
+
+    @Test
+    void clientHistoryIsNewestFirstAcrossTheArchive() {
+        assertThat(sessionBookingService.getSessionsHistoryForClient(client.getId()))
+                .extracting(SessionBookingResponseDTO::getId)
+                .containsExactly(firstId + 5, firstId + 4, firstId + 2, firstId + 3, firstId + 1, firstId);
+    }
+
+    @Test
+    void providerHistoryIsNewestFirstAcrossTheArchive() {
+        assertThat(sessionBookingService.getSessionsHistoryForProvider(provider.getId()))
+                .extracting(SessionBookingResponseDTO::getId)
+                .containsExactly(firstId + 5, firstId + 4, firstId + 2, firstId + 3, firstId + 1, firstId);
+    }
+
+    @Test
+    void archivingKeepsTheSeriesId() {
+        jdbcTemplate.update("UPDATE session_bookings SET series_id = ? WHERE id = ?", "series-" + firstId, firstId);
+
+        bookingArchiveService.archiveSessionsChunk(DAY.plusDays(1));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT series_id FROM session_bookings_archive WHERE id = ?",
+                String.class, firstId)).isEqualTo("series-" + firstId);
+        assertThat(sessionBookingService.getSessionsHistoryForClient(client.getId()))
+                .filteredOn(s -> s.getId() == firstId)
+                .extracting(SessionBookingResponseDTO::getSeriesId)
+                .containsExactly("series-" + firstId);
+    }
+
+    private void insert(String table, long id, LocalDate day, LocalTime start) {
+        boolean archive = table.endsWith("_archive");
+        jdbcTemplate.update("INSERT INTO " + table + " (id, version, client_id, provider_id, session_date, start_time, "
+                + "end_time, duration, issue_description, status, reminder_sent, refunded, created_at"
+                + (archive ? ", archived_at" : "") + ") VALUES (?, 0, ?, ?, ?, ?, ?, 60, 'history', 'COMPLETED', "
+                + "TRUE, FALSE, ?" + (archive ? ", ?" : "") + ")",
+                archive
+                        ? new Object[] { id, client.getId(), provider.getId(), Date.valueOf(day), Time.valueOf(start),
+                                Time.valueOf(start.plusHours(1)), Timestamp.valueOf(day.atStartOfDay()),
+                                Timestamp.valueOf(LocalDateTime.now()) }
+                        : new Object[] { id, client.getId(), provider.getId(), Date.valueOf(day), Time.valueOf(start),
+                                Time.valueOf(start.plusHours(1)), Timestamp.valueOf(day.atStartOfDay()) });
+    }
+}
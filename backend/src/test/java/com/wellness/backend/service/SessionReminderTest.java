@@ -0,0 +1,156 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.model.SessionBookingEntity;
+import com.wellness.backend.model.SessionStatus;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.SessionBookingRepository;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * SendGrid only schedules sends up to 72 hours ahead. Series occurrences
+ * beyond that are emailed by the reminder poller when they come due.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionReminderTest {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    @Autowired
+    private ReminderService reminderService;
+    @Autowired
+    private SessionBookingService sessionBookingService;
+    @Autowired
+    private SessionBookingRepository sessionBookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoSpyBean
+    private EmailService emailService;
+    @MockitoSpyBean
+    private NotificationService notificationService;
+
+    private UserEntity provider;
+    private UserEntity client;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        provider = TestUsers.provider(userRepository, "remind-prac-" + run + "@test.io");
+        client = TestUsers.client(userRepository, "remind-client-" + run + "@test.io");
+        doReturn("msg-1").when(emailService).sendScheduledReminderBatch(anyString(), anyString(), anyString(),
+                anyList());
+        doNothing().when(emailService).sendSessionReminderToClient(any(SessionBookingEntity.class));
+        doNothing().when(emailService).sendSessionReminderToProvider(any(SessionBookingEntity.class));
+    }
+
+    @Test
+    void onlyOccurrencesWithinSendGridsWindowAreScheduled() {
+        LocalDateTime tomorrow = LocalDateTime.now(IST).plusDays(1).withNano(0);
+        List<SessionBookingEntity> series = sessionBookingRepository.saveAll(List.of(
+                session(tomorrow), session(tomorrow.plusWeeks(1)), session(tomorrow.plusWeeks(2))));
+
+        reminderService.scheduleSeriesReminders(series);
+
+        assertThat(sessionBookingRepository.findAllById(series.stream().map(SessionBookingEntity::getId).toList()))
+                .extracting(SessionBookingEntity::isReminderEmailScheduled)
+                .containsExactlyInAnyOrder(true, false, false);
+    }
+
+    @Test
+    void sendTimesBeyondSeventyTwoHoursAreNotSchedulable() {
+        long soon = Instant.now().plusSeconds(71 * 3600).getEpochSecond();
+        long later = Instant.now().plusSeconds(73 * 3600).getEpochSecond();
+
+        assertThat(EmailService.isSchedulable(soon)).isTrue();
+        assertThat(EmailService.isSchedulable(later)).isFalse();
+    }
+
+    @Test
+    void thePollerEmailsDueSessionsSendGridDidNotSchedule() {
+        LocalDateTime soon = LocalDateTime.now(IST).plusMinutes(20).withSecond(0).withNano(0);
+        SessionBookingEntity unscheduled = session(soon);
+        SessionBookingEntity scheduled = session(soon);
+        scheduled.setReminderEmailScheduled(true);
+        sessionBookingRepository.saveAll(List.of(unscheduled, scheduled));
+
+        sessionBookingService.processSessionReminders();
+
+        verify(emailService).sendSessionReminderToClient(sessionWithId(unscheduled.getId()));
+        verify(emailService).sendSessionReminderToProvider(sessionWithId(unscheduled.getId()));
+        verify(emailService, never()).sendSessionReminderToClient(sessionWithId(scheduled.getId()));
+        assertThat(sessionBookingRepository.findById(unscheduled.getId()).orElseThrow())
+                .extracting(SessionBookingEntity::isReminderSent, SessionBookingEntity::isReminderEmailScheduled)
+                .containsExactly(true, true);
+    }
+
+    @Test
+    void aTransitionRacingThePollerNeitherConflictsNorResendsTheReminder() {
+        LocalDateTime soon = LocalDateTime.now(IST).plusMinutes(20).withSecond(0).withNano(0);
+        SessionBookingEntity saved = sessionBookingRepository.save(session(soon));
+        long version = sessionBookingRepository.findById(saved.getId()).orElseThrow().getVersion();
+
+        // The user's transition reads the session, the poller reminds it, then the transition commits
+        transactionTemplate.executeWithoutResult(status -> {
+            SessionBookingEntity session = sessionBookingRepository.findById(saved.getId()).orElseThrow();
+            CompletableFuture.runAsync(sessionBookingService::processSessionReminders).join();
+            session.setStatus(SessionStatus.ACCEPTED);
+            session.setProviderMessage("See you soon");
+        });
+        sessionBookingService.processSessionReminders();
+
+        SessionBookingEntity after = sessionBookingRepository.findById(saved.getId()).orElseThrow();
+        assertThat(after.getStatus()).isEqualTo(SessionStatus.ACCEPTED);
+        assertThat(after.isReminderSent()).isTrue();
+        assertThat(after.getVersion()).isEqualTo(version + 1);
+        verify(emailService, times(1)).sendSessionReminderToClient(sessionWithId(saved.getId()));
+        verify(notificationService, times(1)).notifySessionReminder(sessionWithId(saved.getId()));
+    }
+
+    private static SessionBookingEntity sessionWithId(Long id) {
+        return argThat((SessionBookingEntity s) -> s != null && id.equals(s.getId()));
+    }
+
+    private SessionBookingEntity session(LocalDateTime start) {
+        SessionBookingEntity session = new SessionBookingEntity();
+        session.setClient(client);
+        session.setProvider(provider);
+        session.setSessionDate(start.toLocalDate());
+        session.setStartTime(start.toLocalTime());
+        session.setEndTime(start.toLocalTime().plusHours(1));
+        session.setDuration(60);
+        session.setIssueDescription("reminders");
+        session.setStatus(SessionStatus.CONFIRMED);
+        session.setSeriesId("series-" + client.getId());
+        return session;
+    }
+}
@@ -0,0 +1,145 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.SlotHoldDTO;
+import com.wellness.backend.dto.SlotHoldRequestDTO;
+import com.wellness.backend.exception.BookingConflictException;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Holds and booking claims on the same provider are serialised by the provider's row lock. */
+@SpringBootTest
+@ActiveProfiles("test")
+class SlotHoldServiceTest {
+
+    private static final AtomicLong NEXT_ID = new AtomicLong(34_000_000L);
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ExecutorService other = Executors.newSingleThreadExecutor();
+
+    private UserEntity provider;
+    private UserEntity booker;
+    private UserEntity holder;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        provider = TestUsers.provider(userRepository, "hold-prac-" + run + "@test.io");
+        booker = TestUsers.client(userRepository, "hold-booker-" + run + "@test.io");
+        holder = TestUsers.client(userRepository, "hold-holder-" + run + "@test.io");
+        start = LocalDate.now().plusDays(3).atTime(10, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        other.shutdownNow();
+    }
+
+    @Test
+    void claimMustJoinTheBookingTransaction() {
+        assertThatThrownBy(() -> slotHoldService.claimForBooking(provider.getId(), booker.getId(), start,
+                start.plusHours(1)))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void anOverlappingHoldWaitsForTheBookingAndThenSeesIt() throws Exception {
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> booking = other.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            slotHoldService.claimForBooking(provider.getId(), booker.getId(), start, start.plusHours(1));
+            claimed.countDown();
+            await(release);
+            insertBooking(start);
+        }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Starts half an hour later, so the unique (provider, start) key would not catch it
+        ExecutorService second = Executors.newSingleThreadExecutor();
+        try {
+            Future<SlotHoldDTO> hold = second.submit(() -> slotHoldService.hold(holder.getEmail(),
+                    request(start.toLocalTime().plusMinutes(30), start.toLocalTime().plusMinutes(90))));
+            assertThatThrownBy(() -> hold.get(300, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            release.countDown();
+            booking.get(10, TimeUnit.SECONDS);
+            assertThatThrownBy(() -> hold.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isInstanceOf(BookingConflictException.class)
+                    .hasMessageContaining("already booked");
+        } finally {
+            second.shutdownNow();
+        }
+    }
+
+    @Test
+    void aClaimIsRefusedOverAnotherPatientsHold() {
+        slotHoldService.hold(holder.getEmail(), request(start.toLocalTime(), start.toLocalTime().plusHours(1)));
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> slotHoldService
+                .claimForBooking(provider.getId(), booker.getId(), start.plusMinutes(30), start.plusMinutes(90))))
+                .isInstanceOf(BookingConflictException.class);
+    }
+
+    private SlotHoldRequestDTO request(LocalTime from, LocalTime to) {
+        SlotHoldRequestDTO request = new SlotHoldRequestDTO();
+        request.setProviderId(provider.getId());
+        request.setDate(start.toLocalDate());
+        request.setStartTime(from);
+        request.setEndTime(to);
+        return request;
+    }
+
+    private void insertBooking(LocalDateTime at) {
+        long id = NEXT_ID.getAndIncrement();
+        jdbcTemplate.update("INSERT INTO unified_bookings (id, source, source_id, client_id, provider_id, start_at, "
+                + "duration, status, refunded, attended, billable) "
+                + "VALUES (?, 'BOOKING', ?, ?, ?, ?, 60, 'CONFIRMED', FALSE, FALSE, FALSE)",
+                id, id, booker.getId(), provider.getId(), Timestamp.valueOf(at));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.BookingResponseDTO;
+import com.wellness.backend.dto.CursorPageDTO;
+import com.wellness.backend.model.BookingSource;
+import com.wellness.backend.model.BookingStatus;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.BookingRepository;
+import com.wellness.backend.repository.UnifiedBookingRepository;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.support.BulkBookings;
+import com.wellness.backend.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UnifiedBookingServiceTest {
+
+    private static final AtomicLong NEXT_ID = new AtomicLong(30_000_000L);
+
+    @Autowired
+    private UnifiedBookingService unifiedBookingService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoSpyBean
+    private UnifiedBookingRepository unifiedBookingRepository;
+
+    private UserEntity practitioner;
+    private UserEntity client;
+    private long firstId;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        practitioner = TestUsers.provider(userRepository, "unified-prac-" + run + "@test.io");
+        client = TestUsers.client(userRepository, "unified-client-" + run + "@test.io");
+        firstId = NEXT_ID.getAndAdd(10);
+        BulkBookings.insert(jdbcTemplate, firstId, practitioner.getId(), client.getId(), 3);
+    }
+
+    @Test
+    void backfillSkipsRowsMirroredByAConcurrentDualWrite() {
+        // The dual write lands after the chunk looked for existing mirrors
+        transactionTemplate.executeWithoutResult(status -> unifiedBookingService
+                .record(bookingRepository.findById(firstId + 1).orElseThrow()));
+        doReturn(List.of()).when(unifiedBookingRepository)
+                .findExistingSourceIds(eq(BookingSource.BOOKING), any());
+
+        Long cursor = firstId - 1;
+        assertThat(unifiedBookingService.backfillBookingsChunk(cursor)).isEqualTo(firstId + 2);
+
+        for (long id = firstId; id < firstId + 3; id++) {
+            assertThat(unifiedBookingRepository.findBySourceAndSourceId(BookingSource.BOOKING, id)).isPresent();
+        }
+    }
+
+    @Test
+    void historyReadsCoverArchivedBookings() {
+        unifiedBookingService.backfillBookingsChunk(firstId - 1);
+        while (bookingArchiveService.archiveBookingsChunk(LocalDateTime.now()) > 0) {
+            // drain
+        }
+        assertThat(bookingRepository.findById(firstId)).isEmpty();
+
+        CursorPageDTO<BookingResponseDTO> page = bookingService.getPractitionerHistoryPage(practitioner.getId(),
+                null, 2, null, null, null);
+        assertThat(page.getItems()).extracting(BookingResponseDTO::getId).containsExactly(firstId + 2, firstId + 1);
+
+        CursorPageDTO<BookingResponseDTO> next = bookingService.getPractitionerHistoryPage(practitioner.getId(),
+                page.getNextCursor(), 2, null, null, null);
+        assertThat(next.getItems()).extracting(BookingResponseDTO::getId).containsExactly(firstId);
+        assertThat(bookingService.getClientHistory(client.getId())).hasSize(3);
+    }
+
+    @Test
+    void failedMirrorRollsBackTheBookingChange() {
+        unifiedBookingService.backfillBookingsChunk(firstId - 1);
+        jdbcTemplate.update("UPDATE bookings SET status = 'CONFIRMED' WHERE id = ?", firstId);
+        doThrow(new IllegalStateException("mirror failed")).when(unifiedBookingRepository).save(any());
+
+        assertThatThrownBy(() -> bookingService.completeBooking(firstId)).hasMessage("mirror failed");
+
+        assertThat(bookingRepository.findById(firstId).orElseThrow().getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+    }
+}
@@ -0,0 +1,140 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.support.Benchmarks;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requests per second of UploadFileService.serve against the resource
+ * handler /uploads/** used before (addResourceLocations("file:uploads/")),
+ * for a thumbnail-sized and a PDF-sized file and for a 64 KB range of the
+ * larger one. Bodies go to a stream that only counts bytes, so the numbers
+ * are the per-request work of each path rather than the cost of buffering the
+ * body; sendfile needs a real connector and is not exercised.
+ */
+@Tag("benchmark")
+class UploadFileServeBenchmark {
+
+    @TempDir
+    Path dir;
+
+    private final UploadFileService service = new UploadFileService(49_152);
+    private final ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        handler.setLocations(List.of(new FileSystemResource(dir.toString() + "/")));
+        handler.setServletContext(new MockServletContext());
+        handler.afterPropertiesSet();
+    }
+
+    @Test
+    void serveAgainstTheResourceHandler() throws Exception {
+        int requests = Benchmarks.intProperty("benchmark.uploads.requests", 20_000);
+        compare("thumb.webp", 8 * 1024, null, requests);
+        compare("degree.pdf", 1024 * 1024, null, requests / 10);
+        compare("degree.pdf", 1024 * 1024, "bytes=65536-131071", requests);
+    }
+
+    private void compare(String name, int size, String range, int requests) throws Exception {
+        Path file = dir.resolve(name);
+        if (!Files.exists(file)) {
+            byte[] content = new byte[size];
+            new Random(size).nextBytes(content);
+            Files.write(file, content);
+        }
+        long expected = range == null ? size : 65_536;
+        ServeCall viaService = request -> {
+            CountingResponse response = new CountingResponse();
+            service.serve(file, request, response);
+            return response;
+        };
+        ServeCall viaHandler = request -> {
+            request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, name);
+            CountingResponse response = new CountingResponse();
+            handler.handleRequest(request, response);
+            return response;
+        };
+
+        double served = requestsPerSecond(viaService, range, expected, requests);
+        double handled = requestsPerSecond(viaHandler, range, expected, requests);
+        String label = name + (range == null ? "" : " range");
+        Benchmarks.report("uploads serve " + label, "%,.0f req/s (%,d bytes)", served, expected);
+        Benchmarks.report("uploads handler " + label, "%,.0f req/s (%,d bytes)", handled, expected);
+        // Both copy the same bytes; an order of magnitude behind means serve() took a slow path
+        assertThat(served).isGreaterThan(handled / 10);
+    }
+
+    private double requestsPerSecond(ServeCall call, String range, long expected, int requests) throws Exception {
+        for (int i = 0; i < requests / 5; i++) {
+            call.serve(request(range));
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            assertThat(call.serve(request(range)).written).isEqualTo(expected);
+        }
+        return requests / ((System.nanoTime() - started) / 1e9);
+    }
+
+    private MockHttpServletRequest request(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/file");
+        if (range != null) {
+            request.addHeader(HttpHeaders.RANGE, range);
+        }
+        return request;
+    }
+
+    @FunctionalInterface
+    private interface ServeCall {
+        CountingResponse serve(MockHttpServletRequest request) throws Exception;
+    }
+
+    private static final class CountingResponse extends MockHttpServletResponse {
+
+        private long written;
+
+        private final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                written++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                written += len;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+    }
+}
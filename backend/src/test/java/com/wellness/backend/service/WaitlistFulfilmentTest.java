@@ -0,0 +1,97 @@
+package com.wellness.backend.service;
+
+import com.wellness.backend.dto.SlotHoldDTO;
+import com.wellness.backend.event.SlotReleasedEvent;
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.model.WaitlistEntryEntity;
+import com.wellness.backend.model.WaitlistStatus;
+import com.wellness.backend.repository.SlotHoldRepository;
+import com.wellness.backend.repository.UserRepository;
+import com.wellness.backend.repository.WaitlistEntryRepository;
+import com.wellness.backend.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Booking closes the patient's offer: its hold is freed, and an unused offered slot goes back to the queue. */
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class WaitlistFulfilmentTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+    @Autowired
+    private SlotHoldService slotHoldService;
+    @Autowired
+    private SlotHoldRepository slotHoldRepository;
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ApplicationEvents events;
+
+    private UserEntity provider;
+    private UserEntity client;
+    private LocalDateTime offeredStart;
+    private WaitlistEntryEntity entry;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        provider = TestUsers.provider(userRepository, "wait-prac-" + run + "@test.io");
+        client = TestUsers.client(userRepository, "wait-client-" + run + "@test.io");
+        offeredStart = LocalDate.now().plusDays(2).atTime(10, 0);
+
+        SlotHoldDTO hold = slotHoldService.offer(provider.getId(), client.getId(), offeredStart,
+                offeredStart.plusHours(1), Duration.ofMinutes(15));
+        entry = new WaitlistEntryEntity();
+        entry.setProvider(provider);
+        entry.setClient(client);
+        entry.setWaitDate(offeredStart.toLocalDate());
+        entry.setStatus(WaitlistStatus.OFFERED);
+        entry.setHoldToken(hold.getToken());
+        entry.setOfferedStart(offeredStart);
+        entry.setOfferedEnd(offeredStart.plusHours(1));
+        entry.setOfferExpiresAt(hold.getExpiresAt());
+        entry = waitlistEntryRepository.saveAndFlush(entry);
+    }
+
+    @Test
+    void bookingAnotherTimeReleasesTheOfferedSlot() {
+        LocalDateTime booked = offeredStart.plusHours(3);
+
+        waitlistService.markFulfilled(provider.getId(), client.getId(), booked, booked.plusHours(1));
+
+        assertThat(slotHoldRepository.existsById(entry.getHoldToken())).isFalse();
+        assertThat(waitlistEntryRepository.findById(entry.getId()).orElseThrow().getStatus())
+                .isEqualTo(WaitlistStatus.FULFILLED);
+        assertThat(events.stream(SlotReleasedEvent.class))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getProviderId()).isEqualTo(provider.getId());
+                    assertThat(event.getStartAt()).isEqualTo(offeredStart);
+                    assertThat(event.getEndAt()).isEqualTo(offeredStart.plusHours(1));
+                });
+    }
+
+    @Test
+    void bookingTheOfferedSlotReleasesNothing() {
+        waitlistService.markFulfilled(provider.getId(), client.getId(), offeredStart, offeredStart.plusHours(1));
+
+        assertThat(slotHoldRepository.existsById(entry.getHoldToken())).isFalse();
+        assertThat(events.stream(SlotReleasedEvent.class)).isEmpty();
+    }
+}
@@ -0,0 +1,57 @@
+package com.wellness.backend.support;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Small helpers for the opt-in benchmarks (tagged "benchmark", run with
+ * {@code mvn test -Dgroups=benchmark -DexcludedGroups=}). Results are printed
+ * rather than asserted, apart from coarse bounds that catch regressions of
+ * an order of magnitude.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger(name, defaultValue);
+    }
+
+    public static void report(String name, String format, Object... args) {
+        System.out.printf("[benchmark] %-32s " + format + "%n", prepend(name, args));
+    }
+
+    private static Object[] prepend(Object first, Object[] rest) {
+        Object[] all = new Object[rest.length + 1];
+        all[0] = first;
+        System.arraycopy(rest, 0, all, 1, rest.length);
+        return all;
+    }
+
+    /** Heap still in use after a full collection, i.e. what the application is actually holding on to. */
+    public static long liveHeapBytes() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /** Bytes allocated by the current thread while {@code task} runs (HotSpot only; -1 elsewhere). */
+    public static long allocatedBytes(ThrowingRunnable task) throws Exception {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean hotspot)
+                || !hotspot.isThreadAllocatedMemorySupported()) {
+            task.run();
+            return -1;
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = hotspot.getThreadAllocatedBytes(threadId);
+        task.run();
+        return hotspot.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
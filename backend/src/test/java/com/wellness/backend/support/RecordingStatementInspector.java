@@ -0,0 +1,37 @@
+package com.wellness.backend.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures the SQL Hibernate sends from one thread, so tests can inspect the
+ * exact statements a repository method runs. Enabled per test through
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    private static volatile Thread recording;
+
+    /** Runs {@code action} and returns the statements it sent, in order. */
+    public static synchronized List<String> record(Runnable action) {
+        STATEMENTS.clear();
+        recording = Thread.currentThread();
+        try {
+            action.run();
+        } finally {
+            recording = null;
+        }
+        return List.copyOf(STATEMENTS);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (Thread.currentThread() == recording) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,32 @@
+package com.wellness.backend.support;
+
+import com.wellness.backend.model.UserEntity;
+import com.wellness.backend.repository.UserRepository;
+
+/** Users for tests that run against the in-memory database. */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static UserEntity provider(UserRepository users, String email) {
+        UserEntity user = build(email, "PROVIDER");
+        user.setVerificationStatus("APPROVED");
+        user.setVerified(true);
+        return users.save(user);
+    }
+
+    public static UserEntity client(UserRepository users, String email) {
+        return users.save(build(email, "CLIENT"));
+    }
+
+    private static UserEntity build(String email, String role) {
+        UserEntity user = new UserEntity();
+        user.setName(email.substring(0, email.indexOf('@')));
+        user.setEmail(email);
+        user.setPassword("{noop}secret");
+        user.setRole(role);
+        user.setEmailVerified(true);
+        return user;
+    }
+}
@@ -0,0 +1,68 @@
+package com.wellness.backend.util;
+
+import com.wellness.backend.support.Benchmarks;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search latency over a large catalog: 50k documents drawn from a dictionary
+ * of 100k random words. Half-typed and misspelt queries have no exact term,
+ * so each one runs the typo lookup; it must stay in single-digit milliseconds.
+ */
+@Tag("benchmark")
+class InvertedIndexBenchmark {
+
+    private static final int WORDS = 100_000;
+    private static final int QUERIES = 2_000;
+
+    @Test
+    void typoTolerantSearchOverFiftyThousandDocuments() {
+        int documents = Benchmarks.intProperty("benchmark.search.documents", 50_000);
+        Random random = new Random(7);
+        String[] words = new String[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            words[i] = word(random, 4 + random.nextInt(8));
+        }
+        InvertedIndex<Long, Long> index = new InvertedIndex<>();
+        for (long id = 0; id < documents; id++) {
+            String name = words[random.nextInt(WORDS)] + " " + words[random.nextInt(WORDS)];
+            String description = words[random.nextInt(WORDS)] + " " + words[random.nextInt(WORDS)] + " "
+                    + words[random.nextInt(WORDS)];
+            index.upsert(id, Map.of(name, 3.0f, description, 1.0f), id);
+        }
+
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String word = words[random.nextInt(WORDS)];
+            // Alternate a half-typed word and one with its last letter replaced
+            queries[i] = i % 2 == 0 ? word.substring(0, word.length() - 1)
+                    : word.substring(0, word.length() - 1) + (char) ('a' + random.nextInt(26));
+        }
+        for (String query : queries) {
+            index.search(query, 20);
+        }
+        long started = System.nanoTime();
+        int hits = 0;
+        for (String query : queries) {
+            hits += index.search(query, 20).size();
+        }
+        double micros = (System.nanoTime() - started) / 1_000.0 / QUERIES;
+
+        Benchmarks.report("search typo lookup", "%,.0f us (%,d documents, %,d hits)", micros, documents, hits);
+        assertThat(hits).isPositive();
+        assertThat(micros).isLessThan(10_000);
+    }
+
+    private static String word(Random random, int length) {
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,96 @@
+package com.wellness.backend.util;
+
+import com.wellness.backend.util.InvertedIndex.Hit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tokenizing, prefix and typo matching, ranking and removal of the in-memory search index. */
+class InvertedIndexTest {
+
+    private final InvertedIndex<Long, String> index = new InvertedIndex<>();
+
+    @Test
+    void tokenizesIntoLowerCaseWordsWithoutAccents() {
+        assertThat(InvertedIndex.tokenize("  Ayurvédic  Massage-Oil, 250ml! ")).containsExactly("ayurvedic",
+                "massage", "oil", "250ml");
+        assertThat(InvertedIndex.tokenize("  ")).isEmpty();
+        assertThat(InvertedIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void matchesAHalfTypedWordAsAPrefix() {
+        index.upsert(1L, Map.of("Physiotherapy", 1.0f), "physio");
+        index.upsert(2L, Map.of("Psychology", 1.0f), "psych");
+
+        assertThat(payloads(index.search("physi", 10))).containsExactly("physio");
+    }
+
+    @Test
+    void toleratesOneEditInAShortWord() {
+        index.upsert(1L, Map.of("Yoga retreat", 1.0f), "yoga");
+
+        assertThat(payloads(index.search("yogs", 10))).containsExactly("yoga");
+        assertThat(payloads(index.search("yoag", 10))).isEmpty();
+        // Words under four characters must match exactly or as a prefix
+        assertThat(payloads(index.search("yig", 10))).isEmpty();
+    }
+
+    @Test
+    void toleratesTwoEditsInALongWordButNotAWrongFirstLetter() {
+        index.upsert(1L, Map.of("Counselling", 1.0f), "counselling");
+
+        assertThat(payloads(index.search("counsiling", 10))).containsExactly("counselling");
+        assertThat(payloads(index.search("kounselling", 10))).isEmpty();
+    }
+
+    @Test
+    void ranksExactAbovePrefixAndHeavierFieldsFirst() {
+        index.upsert(1L, Map.of("Calm tea", 3.0f), "exact name");
+        index.upsert(2L, Map.of("Calming drops", 3.0f), "prefix name");
+        index.upsert(3L, Map.of("Herbal blend", 3.0f, "calm evenings", 1.0f), "exact description");
+
+        assertThat(payloads(index.search("calm", 10)))
+                .containsExactly("exact name", "prefix name", "exact description");
+    }
+
+    @Test
+    void ranksTyposBelowPrefixesInTheSameField() {
+        index.upsert(1L, Map.of("Minty balm", 3.0f), "prefix name");
+        index.upsert(2L, Map.of("Mind tonic", 3.0f), "typo name");
+        index.upsert(3L, Map.of("Tea", 3.0f, "mintleaf", 1.0f), "prefix description");
+        index.upsert(4L, Map.of("Gold dust", 3.0f, "mine", 1.0f), "typo description");
+
+        assertThat(payloads(index.search("mint", 10)))
+                .containsExactly("prefix name", "typo name", "prefix description", "typo description");
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        index.upsert(1L, Map.of("Anita Rao", 3.0f, "Yoga", 2.0f), "anita yoga");
+        index.upsert(2L, Map.of("Anita Shah", 3.0f, "Nutrition", 2.0f), "anita nutrition");
+
+        assertThat(payloads(index.search("anita yoga", 10))).containsExactly("anita yoga");
+    }
+
+    @Test
+    void removedAndReplacedDocumentsStopMatchingTheirOldTerms() {
+        index.upsert(1L, Map.of("Lavender oil", 1.0f), "lavender");
+        index.upsert(2L, Map.of("Lavender soap", 1.0f), "soap");
+
+        index.remove(1L);
+        index.upsert(2L, Map.of("Rose soap", 1.0f), "rose");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("lavender", 10)).isEmpty();
+        assertThat(index.search("lavendar", 10)).isEmpty();
+        assertThat(payloads(index.search("rose", 10))).containsExactly("rose");
+    }
+
+    private static List<String> payloads(List<Hit<String>> hits) {
+        return hits.stream().map(Hit::getPayload).toList();
+    }
+}